@@ -0,0 +1,51 @@
+package com.tech_mel.tech_mel.application.jobs;
+
+import com.tech_mel.tech_mel.domain.port.input.MeasurementHistoryUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MeasurementHistoryScheduler {
+
+    private final MeasurementHistoryUseCase measurementHistoryUseCase;
+
+    @Scheduled(fixedDelayString = "${app.measurement-history.flush-interval:PT1S}")
+    public void flushPendingMeasurements() {
+        try {
+            int flushed = measurementHistoryUseCase.flush();
+            if (flushed > 0) {
+                log.debug("Archived {} measurements to history", flushed);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao gravar medições no histórico: {}", e.getMessage(), e);
+        }
+    }
+
+    // Executa todos os dias às 0:30 AM
+    @Scheduled(cron = "0 30 0 * * *")
+    public void maintainPartitions() {
+        log.info("Iniciando manutenção das partições do histórico de medições");
+
+        try {
+            measurementHistoryUseCase.compact();
+        } catch (Exception e) {
+            log.error("Erro durante a compactação do histórico: {}", e.getMessage(), e);
+        }
+
+        try {
+            measurementHistoryUseCase.maintainPartitions();
+        } catch (Exception e) {
+            log.error("Erro durante a manutenção das partições do histórico: {}", e.getMessage(), e);
+        }
+    }
+
+    // Executa na inicialização da aplicação (apenas uma vez)
+    @Scheduled(initialDelay = 30000, fixedDelay = Long.MAX_VALUE)
+    public void initialPartitionMaintenance() {
+        maintainPartitions();
+    }
+}
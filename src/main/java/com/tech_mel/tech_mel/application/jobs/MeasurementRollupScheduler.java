@@ -0,0 +1,45 @@
+package com.tech_mel.tech_mel.application.jobs;
+
+import com.tech_mel.tech_mel.domain.port.input.MeasurementRollupUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MeasurementRollupScheduler {
+
+    private final MeasurementRollupUseCase measurementRollupUseCase;
+
+    // Executa a cada hora, aos 5 minutos (após o flush do histórico)
+    @Scheduled(cron = "0 5 * * * *")
+    public void refreshHourlyRollups() {
+        try {
+            measurementRollupUseCase.refreshHourly();
+        } catch (Exception e) {
+            log.error("Erro ao atualizar os rollups horários: {}", e.getMessage(), e);
+        }
+    }
+
+    // Executa todos os dias às 2:00 AM, depois do cálculo das médias diárias
+    @Scheduled(cron = "0 0 2 * * *")
+    public void refreshCalendarRollups() {
+        log.info("Iniciando atualização dos rollups semanais e mensais");
+
+        try {
+            measurementRollupUseCase.refreshWeeklyAndMonthly();
+            measurementRollupUseCase.applyRetention();
+        } catch (Exception e) {
+            log.error("Erro durante a atualização dos rollups: {}", e.getMessage(), e);
+        }
+    }
+
+    // Executa na inicialização da aplicação (apenas uma vez)
+    @Scheduled(initialDelay = 120000, fixedDelay = Long.MAX_VALUE)
+    public void initialRollups() {
+        refreshHourlyRollups();
+        refreshCalendarRollups();
+    }
+}
@@ -4,22 +4,28 @@ import com.tech_mel.tech_mel.application.exception.BadRequestException;
 import com.tech_mel.tech_mel.application.exception.NotFoundException;
 import com.tech_mel.tech_mel.domain.model.Alert;
 import com.tech_mel.tech_mel.domain.model.Hive;
-import com.tech_mel.tech_mel.domain.model.Measurement;
-import com.tech_mel.tech_mel.domain.model.Threshold;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
 import com.tech_mel.tech_mel.domain.port.input.AlertUseCase;
 import com.tech_mel.tech_mel.domain.port.output.AlertRepositoryPort;
 import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
-import com.tech_mel.tech_mel.domain.port.output.ThresholdRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.LiveEventPublisherPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,29 +33,136 @@ import java.util.UUID;
 public class AlertService implements AlertUseCase {
 
     private final AlertRepositoryPort alertRepositoryPort;
-    private final ThresholdRepositoryPort thresholdRepositoryPort;
+    private final ThresholdEvaluatorCache thresholdEvaluatorCache;
     private final HiveRepositoryPort hiveRepositoryPort;
+    private final AlertWriteBuffer alertWriteBuffer;
+    private final AlertStateTracker alertStateTracker;
+    private final LiveEventPublisherPort liveEventPublisherPort;
+
+    // Largura dos intervalos de measuredAt avaliados juntos num lote: a mesma janela do agrupamento da ingestão
+    @Value("${app.ingest.coalescing.window:PT0.25S}")
+    private Duration evaluationWindow;
 
     @Override
-    public void saveAlert(Measurement measurement, Hive hive, LocalDateTime timestamp) {
-        Threshold threshold = thresholdRepositoryPort.findByHiveId(hive.getId())
+    public void saveAlerts(MeasurementReadings readings, Hive hive) {
+        if (readings.isEmpty()) {
+            return;
+        }
+
+        ThresholdEvaluator evaluator = thresholdEvaluatorCache.get(hive.getId())
                 .orElseThrow(() -> new NotFoundException("Threshold not configured"));
+        ThresholdEvaluator.RuleState state = thresholdEvaluatorCache.stateFor(hive.getId());
+
+        // As leituras vão em ordem de measuredAt para intervalos da janela de agrupamento; cada intervalo vira uma
+        // avaliação com o pior valor de cada métrica e o instante da sua leitura mais recente. Leituras medidas
+        // na mesma janela continuam sendo uma avaliação, e um lote acumulado offline é avaliado ao longo do tempo
+        // em que foi medido, então as regras de taxa e de duração enxergam o período inteiro
+        int[] order = byMeasuredAt(readings);
+        long windowMillis = Math.max(evaluationWindow.toMillis(), 1);
 
+        double[] worst = new double[ThresholdEvaluator.METRICS];
+        double[] worstDeviation = new double[ThresholdEvaluator.METRICS];
         List<Alert> alerts = new ArrayList<>();
 
-        if (measurement.getTemperature() < threshold.getTemperatureMin() || measurement.getTemperature() > threshold.getTemperatureMax()) {
-            alerts.add(buildAlert(hive, timestamp, Alert.AlertType.TEMPERATURE, measurement.getTemperature(), threshold));
+        synchronized (state) {
+            int start = 0;
+            while (start < order.length) {
+                long bucket = Math.floorDiv(readings.measuredAt(order[start]), windowMillis);
+                Arrays.fill(worstDeviation, Double.NEGATIVE_INFINITY);
+
+                int end = start;
+                while (end < order.length && Math.floorDiv(readings.measuredAt(order[end]), windowMillis) == bucket) {
+                    keepWorst(evaluator, readings, order[end++], worst, worstDeviation);
+                }
+
+                long latest = readings.measuredAt(order[end - 1]);
+                LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(latest), ZoneOffset.UTC);
+                evaluateValues(worst, hive, timestamp, evaluator, state, alerts);
+                start = end;
+            }
         }
 
-        if (measurement.getHumidity() < threshold.getHumidityMin() || measurement.getHumidity() > threshold.getHumidityMax()) {
-            alerts.add(buildAlert(hive, timestamp, Alert.AlertType.HUMIDITY, measurement.getHumidity(), threshold));
+        if (!alerts.isEmpty()) {
+            alertWriteBuffer.add(alerts);
+            liveEventPublisherPort.publishAlerts(hive.getId(), alerts);
         }
+    }
 
-        if (measurement.getCo2() < threshold.getCo2Min() || measurement.getCo2() > threshold.getCo2Max()) {
-            alerts.add(buildAlert(hive, timestamp, Alert.AlertType.CO2, measurement.getCo2(), threshold));
+    // Índices das leituras em ordem de measuredAt; o caso comum (já em ordem) não ordena nada
+    private static int[] byMeasuredAt(MeasurementReadings readings) {
+        boolean sorted = true;
+        for (int i = 1; i < readings.size() && sorted; i++) {
+            sorted = readings.measuredAt(i - 1) <= readings.measuredAt(i);
         }
 
-        alerts.forEach(alertRepositoryPort::save);
+        if (sorted) {
+            return IntStream.range(0, readings.size()).toArray();
+        }
+        return IntStream.range(0, readings.size())
+                .boxed()
+                .sorted(Comparator.comparingLong(readings::measuredAt))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static void keepWorst(
+            ThresholdEvaluator evaluator,
+            MeasurementReadings readings,
+            int i,
+            double[] worst,
+            double[] worstDeviation
+    ) {
+        keepWorst(evaluator, ThresholdEvaluator.TEMPERATURE, readings.temperature(i), worst, worstDeviation);
+        keepWorst(evaluator, ThresholdEvaluator.HUMIDITY, readings.humidity(i), worst, worstDeviation);
+        keepWorst(evaluator, ThresholdEvaluator.CO2, readings.co2(i), worst, worstDeviation);
+    }
+
+    private static void keepWorst(
+            ThresholdEvaluator evaluator,
+            int metric,
+            double value,
+            double[] worst,
+            double[] worstDeviation
+    ) {
+        double deviation = evaluator.deviation(metric, value);
+        if (deviation >= worstDeviation[metric]) {
+            worst[metric] = value;
+            worstDeviation[metric] = deviation;
+        }
+    }
+
+    private void evaluateValues(
+            double[] values,
+            Hive hive,
+            LocalDateTime timestamp,
+            ThresholdEvaluator evaluator,
+            ThresholdEvaluator.RuleState state,
+            List<Alert> alerts
+    ) {
+        int result = evaluator.evaluate(
+                values[ThresholdEvaluator.TEMPERATURE],
+                values[ThresholdEvaluator.HUMIDITY],
+                values[ThresholdEvaluator.CO2],
+                timestamp.toInstant(ZoneOffset.UTC).toEpochMilli(),
+                state
+        );
+
+        for (int metric = 0; metric < ThresholdEvaluator.METRICS; metric++) {
+            int outcome = ThresholdEvaluator.outcome(result, metric);
+            Alert.AlertType type = ThresholdEvaluator.alertType(metric);
+            Alert changed;
+
+            if (ThresholdEvaluator.isViolation(outcome)) {
+                changed = alertStateTracker.outOfRange(hive, type, values[metric], evaluator.min(metric),
+                        evaluator.max(metric), ThresholdEvaluator.severity(outcome), timestamp);
+            } else {
+                changed = alertStateTracker.inRange(hive, type, outcome == ThresholdEvaluator.CLEAR, timestamp);
+            }
+
+            if (changed != null) {
+                alerts.add(changed);
+            }
+        }
     }
 
     @Override
@@ -93,53 +206,9 @@ public class AlertService implements AlertUseCase {
 
         alert.setStatus(status);
         alertRepositoryPort.save(alert);
-    }
-
-    private Alert buildAlert(Hive hive, LocalDateTime timestamp, Alert.AlertType type, Double value, Threshold threshold) {
-        return Alert.builder()
-                .hive(hive)
-                .timestamp(timestamp)
-                .type(type)
-                .severity(calculateSeverity(type, value, threshold))
-                .value(value)
-                .status(Alert.AlertStatus.NEW)
-                .build();
-    }
-
-    private Alert.AlertSeverity calculateSeverity(Alert.AlertType type, Double value, Threshold threshold) {
-        double min, max;
-
-        switch (type) {
-            case TEMPERATURE:
-                min = threshold.getTemperatureMin();
-                max = threshold.getTemperatureMax();
-                break;
-            case HUMIDITY:
-                min = threshold.getHumidityMin();
-                max = threshold.getHumidityMax();
-                break;
-            case CO2:
-                min = threshold.getCo2Min();
-                max = threshold.getCo2Max();
-                break;
-            default:
-                throw new BadRequestException("Unknown alert type: " + type);
-        }
-
-        if (value >= min && value <= max) {
-            return null; // Sem alerta — valor dentro do intervalo
-        }
-
-        double distance = value < min ? min - value : value - max;
-        double range = max - min;
-        double percentage = (range == 0) ? 100 : (distance / range) * 100; // proteção contra divisão por zero
 
-        if (percentage <= 10) {
-            return Alert.AlertSeverity.LOW;
-        } else if (percentage <= 30) {
-            return Alert.AlertSeverity.MEDIUM;
-        } else {
-            return Alert.AlertSeverity.HIGH;
+        if (status == Alert.AlertStatus.RESOLVED) {
+            alertStateTracker.forget(hive.getId(), alertId);
         }
     }
 }
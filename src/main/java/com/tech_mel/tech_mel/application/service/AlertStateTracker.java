@@ -0,0 +1,237 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.Alert;
+import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.port.output.AlertRepositoryPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Estado dos alertas abertos por colmeia e tipo. Um alerta é aberto quando o valor sai da faixa, tem
+// pico e severidade atualizados enquanto continua fora e só é resolvido depois de ficar dentro da faixa
+// (com margem de histerese) pelo tempo configurado. O estado perdido no reinício é reconstruído a partir do
+// último alerta aberto de cada tipo no banco. Com o limite de colmeias atingido só saem colmeias sem alerta
+// aberto: uma com alerta aberto pode ter atualizações ainda no AlertWriteBuffer, e recarregar o estado do
+// banco nesse caso abriria o alerta de novo. max-hives é um limite brando.
+@Component
+@Slf4j
+public class AlertStateTracker {
+    private static final Alert.AlertType[] TYPES = Alert.AlertType.values();
+
+    private final AlertRepositoryPort alertRepositoryPort;
+    private final Map<UUID, HiveAlertState> states = new ConcurrentHashMap<>();
+    private final int maxHives;
+    private final Duration clearAfter;
+
+    // Tamanho que dispara a próxima varredura; acima do limite ela só volta a cada ~10% de crescimento
+    private volatile int scanAt;
+
+    public AlertStateTracker(
+            AlertRepositoryPort alertRepositoryPort,
+            MeterRegistry meterRegistry,
+            @Value("${app.alerts.state.max-hives:50000}") int maxHives,
+            @Value("${app.alerts.hysteresis.clear-after:PT5M}") Duration clearAfter
+    ) {
+        this.alertRepositoryPort = alertRepositoryPort;
+        this.maxHives = maxHives;
+        this.clearAfter = clearAfter;
+        this.scanAt = maxHives;
+
+        Gauge.builder("alerts.state.hives", states, Map::size)
+                .description("Colmeias com estado de alertas em memória")
+                .register(meterRegistry);
+    }
+
+    // Retorna o alerta a gravar (novo ou com pico atualizado) ou null se nada mudou
+    public Alert outOfRange(
+            Hive hive,
+            Alert.AlertType type,
+            double value,
+            double min,
+            double max,
+            Alert.AlertSeverity severity,
+            LocalDateTime timestamp
+    ) {
+        HiveAlertState state = stateFor(hive.getId());
+
+        synchronized (state) {
+            OpenAlert open = state.open[type.ordinal()];
+
+            if (open == null) {
+                open = new OpenAlert(UUID.randomUUID(), timestamp, value, severity, Alert.AlertStatus.NEW);
+                state.open[type.ordinal()] = open;
+                return open.toAlert(hive, type);
+            }
+
+            open.backInRangeSince = null;
+
+            if (deviation(value, min, max) <= deviation(open.peakValue, min, max)) {
+                return null;
+            }
+
+            open.peakValue = value;
+            open.severity = severity;
+            return open.toAlert(hive, type);
+        }
+    }
+
+    // clearOfMargin indica se o valor está dentro da faixa descontada a margem de histerese.
+    // Retorna o alerta resolvido ou null se nada mudou
+    public Alert inRange(Hive hive, Alert.AlertType type, boolean clearOfMargin, LocalDateTime timestamp) {
+        HiveAlertState state = stateFor(hive.getId());
+
+        synchronized (state) {
+            OpenAlert open = state.open[type.ordinal()];
+
+            if (open == null) {
+                return null;
+            }
+
+            if (!clearOfMargin) {
+                open.backInRangeSince = null;
+                return null;
+            }
+
+            if (open.backInRangeSince == null) {
+                open.backInRangeSince = timestamp;
+            }
+
+            if (Duration.between(open.backInRangeSince, timestamp).compareTo(clearAfter) < 0) {
+                return null;
+            }
+
+            state.open[type.ordinal()] = null;
+            open.status = Alert.AlertStatus.RESOLVED;
+            return open.toAlert(hive, type);
+        }
+    }
+
+    // Chamado quando o usuário resolve o alerta manualmente; a próxima leitura fora da faixa abre outro
+    public void forget(UUID hiveId, UUID alertId) {
+        HiveAlertState state = states.get(hiveId);
+        if (state == null) {
+            return;
+        }
+
+        synchronized (state) {
+            for (int i = 0; i < state.open.length; i++) {
+                if (state.open[i] != null && state.open[i].id.equals(alertId)) {
+                    state.open[i] = null;
+                }
+            }
+        }
+    }
+
+    private HiveAlertState stateFor(UUID hiveId) {
+        HiveAlertState state = states.get(hiveId);
+        if (state != null) {
+            return state;
+        }
+
+        ensureCapacity();
+
+        // Carrega fora do mapa para não segurar o lock do ConcurrentHashMap durante a consulta
+        HiveAlertState loaded = loadState(hiveId);
+        HiveAlertState existing = states.putIfAbsent(hiveId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private HiveAlertState loadState(UUID hiveId) {
+        HiveAlertState state = new HiveAlertState();
+
+        for (Alert alert : alertRepositoryPort.findLatestOpenByHiveId(hiveId)) {
+            state.open[alert.getType().ordinal()] = new OpenAlert(
+                    alert.getId(),
+                    alert.getTimestamp(),
+                    alert.getValue(),
+                    alert.getSeverity(),
+                    alert.getStatus()
+            );
+        }
+
+        return state;
+    }
+
+    private void ensureCapacity() {
+        if (states.size() < scanAt) {
+            return;
+        }
+
+        states.values().removeIf(HiveAlertState::isIdle);
+
+        if (states.size() < maxHives) {
+            scanAt = maxHives;
+            return;
+        }
+
+        scanAt = states.size() + Math.max(maxHives / 10, 1);
+        log.warn("Alert state holds {} hives with open alerts, above the limit of {}", states.size(), maxHives);
+    }
+
+    private static double deviation(double value, double min, double max) {
+        if (value < min) {
+            return min - value;
+        }
+        if (value > max) {
+            return value - max;
+        }
+        return 0;
+    }
+
+    private static final class HiveAlertState {
+        private final OpenAlert[] open = new OpenAlert[TYPES.length];
+
+        private synchronized boolean isIdle() {
+            for (OpenAlert alert : open) {
+                if (alert != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class OpenAlert {
+        private final UUID id;
+        private final LocalDateTime openedAt;
+        private double peakValue;
+        private Alert.AlertSeverity severity;
+        private Alert.AlertStatus status;
+        private LocalDateTime backInRangeSince;
+
+        private OpenAlert(
+                UUID id,
+                LocalDateTime openedAt,
+                double peakValue,
+                Alert.AlertSeverity severity,
+                Alert.AlertStatus status
+        ) {
+            this.id = id;
+            this.openedAt = openedAt;
+            this.peakValue = peakValue;
+            this.severity = severity;
+            this.status = status;
+        }
+
+        // Cópia para o buffer de escrita; o estado continua mudando depois de enfileirado
+        private Alert toAlert(Hive hive, Alert.AlertType type) {
+            return Alert.builder()
+                    .id(id)
+                    .hive(hive)
+                    .timestamp(openedAt)
+                    .type(type)
+                    .severity(severity)
+                    .value(peakValue)
+                    .status(status)
+                    .build();
+        }
+    }
+}
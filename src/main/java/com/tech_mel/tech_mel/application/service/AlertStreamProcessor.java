@@ -0,0 +1,44 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.input.AlertUseCase;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementStreamProcessor;
+import com.tech_mel.tech_mel.domain.port.output.HiveLookupCachePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+// Com app.iot.storage=stream os alertas são avaliados a partir do log. Um lote reprocessado passa pelo
+// AlertStateTracker, que atualiza o alerta ainda aberto em vez de abrir outro.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertStreamProcessor implements MeasurementStreamProcessor {
+    private final HiveLookupCachePort hiveLookupCachePort;
+    private final ThresholdEvaluatorCache thresholdEvaluatorCache;
+    private final AlertUseCase alertUseCase;
+
+    @Override
+    public String getGroupName() {
+        return "alerts";
+    }
+
+    @Override
+    public void process(String apiKey, List<Measurement> measurements) {
+        Optional<HiveDescriptor> hive = hiveLookupCachePort.findByApiKey(apiKey);
+        if (hive.isEmpty()) {
+            log.warn("Skipping {} streamed measurements of unknown API key for alerts", measurements.size());
+            return;
+        }
+
+        // Colmeias sem threshold configurado não geram alertas
+        if (thresholdEvaluatorCache.get(hive.get().getId()).isPresent()) {
+            alertUseCase.saveAlerts(MeasurementReadings.from(measurements), hive.get().toHive());
+        }
+    }
+}
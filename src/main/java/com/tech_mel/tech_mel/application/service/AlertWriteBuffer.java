@@ -0,0 +1,146 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.Alert;
+import com.tech_mel.tech_mel.domain.port.output.AlertRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Acumula alertas e grava em lote: quando o buffer atinge o tamanho do lote ou a cada intervalo de flush.
+// Alertas recusados pelo banco voltam ao buffer para o próximo ciclo e são descartados depois de max-attempts
+// falhas (ver IsolatingBatchWriter).
+@Component
+@Slf4j
+public class AlertWriteBuffer {
+    private final AlertRepositoryPort alertRepositoryPort;
+
+    private final BlockingQueue<Alert> pending;
+    private final int flushSize;
+    private final int maxAttempts;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final IsolatingBatchWriter<Alert> batchWriter;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter rejected;
+
+    public AlertWriteBuffer(
+            AlertRepositoryPort alertRepositoryPort,
+            MeterRegistry meterRegistry,
+            @Value("${app.alerts.write-buffer.capacity:50000}") int capacity,
+            @Value("${app.alerts.write-buffer.flush-size:500}") int flushSize,
+            @Value("${app.alerts.write-buffer.max-attempts:3}") int maxAttempts
+    ) {
+        this.alertRepositoryPort = alertRepositoryPort;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.flushSize = flushSize;
+        this.maxAttempts = maxAttempts;
+        this.batchWriter = new IsolatingBatchWriter<>(alertRepositoryPort::saveAll, maxAttempts);
+
+        this.written = Counter.builder("alerts.write.buffer.written")
+                .description("Alertas gravados pelo buffer de escrita")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("alerts.write.buffer.dropped")
+                .description("Alertas descartados por buffer de escrita cheio")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("alerts.write.buffer.rejected")
+                .description("Alertas descartados depois de recusados pelo banco em todas as tentativas")
+                .register(meterRegistry);
+        Gauge.builder("alerts.write.buffer.pending", pending, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    public void add(List<Alert> alerts) {
+        int rejected = 0;
+
+        for (Alert alert : alerts) {
+            if (!pending.offer(alert)) {
+                rejected++;
+            }
+        }
+
+        if (rejected > 0) {
+            dropped.increment(rejected);
+            log.warn("Alert write buffer full, dropped {} alerts", rejected);
+        }
+
+        // Lote cheio: quem chegou primeiro grava; os demais seguem sem esperar
+        if (pending.size() >= flushSize && flushLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.alerts.write-buffer.flush-interval:PT1S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Alertas que falharam só voltam ao buffer no fim, para a nova tentativa ficar para o próximo ciclo
+    private void drain() {
+        List<Alert> batch = new ArrayList<>(flushSize);
+        List<Alert> retry = new ArrayList<>();
+
+        while (pending.drainTo(batch, flushSize) > 0) {
+            IsolatingBatchWriter.Outcome<Alert> outcome = batchWriter.write(batch);
+            written.increment(outcome.written());
+            retry.addAll(outcome.retry());
+
+            if (!outcome.rejected().isEmpty()) {
+                rejected.increment(outcome.rejected().size());
+                log.error("Discarding {} alerts rejected by the database {} times: {}",
+                        outcome.rejected().size(), maxAttempts, outcome.failure().getMessage());
+            }
+            if (outcome.failure() != null && !outcome.retry().isEmpty()) {
+                log.error("Failed to write {} alerts, retrying on the next flush: {}",
+                        outcome.retry().size(), outcome.failure().getMessage(), outcome.failure());
+            }
+
+            batch.clear();
+            if (outcome.unavailable()) {
+                break;
+            }
+        }
+
+        requeue(retry);
+    }
+
+    private void requeue(List<Alert> alerts) {
+        List<Alert> lost = new ArrayList<>();
+        for (Alert alert : alerts) {
+            if (!pending.offer(alert)) {
+                lost.add(alert);
+            }
+        }
+
+        if (!lost.isEmpty()) {
+            batchWriter.forget(lost);
+            dropped.increment(lost.size());
+            log.warn("Alert write buffer full, dropped {} alerts waiting for retry", lost.size());
+        }
+    }
+}
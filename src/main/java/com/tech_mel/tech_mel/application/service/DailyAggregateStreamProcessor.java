@@ -0,0 +1,39 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementStreamProcessor;
+import com.tech_mel.tech_mel.domain.port.output.DailyMeasurementAggregatePort;
+import com.tech_mel.tech_mel.domain.port.output.HiveLookupCachePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+// Com app.iot.storage=stream os agregados diários saem do log em vez do pipeline. A entrega é pelo menos uma
+// vez: um lote reprocessado depois de uma falha é somado de novo ao agregado do dia.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyAggregateStreamProcessor implements MeasurementStreamProcessor {
+    private final HiveLookupCachePort hiveLookupCachePort;
+    private final DailyMeasurementAggregatePort dailyMeasurementAggregatePort;
+
+    @Override
+    public String getGroupName() {
+        return "aggregation";
+    }
+
+    @Override
+    public void process(String apiKey, List<Measurement> measurements) {
+        Optional<HiveDescriptor> hive = hiveLookupCachePort.findByApiKey(apiKey);
+        if (hive.isEmpty()) {
+            log.warn("Skipping {} streamed measurements of unknown API key for aggregation", measurements.size());
+            return;
+        }
+
+        dailyMeasurementAggregatePort.record(hive.get().getId(), measurements);
+    }
+}
@@ -0,0 +1,272 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.DailyAverageCheckpoint;
+import com.tech_mel.tech_mel.domain.model.DailyMeasurementAggregate;
+import com.tech_mel.tech_mel.domain.model.DailyMeasurementAverage;
+import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.port.input.DailyAverageUseCase;
+import com.tech_mel.tech_mel.domain.port.output.DailyAverageCheckpointRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.DailyMeasurementAggregatePort;
+import com.tech_mel.tech_mel.domain.port.output.DailyMeasurementAverageRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Finaliza as médias diárias em trechos de colmeias lidos por paginação por chave (ordem de ID).
+// Cada trecho roda em uma transação própria em um pool limitado; o checkpoint só avança sobre trechos
+// concluídos em sequência, então após uma queda o processamento recomeça do primeiro trecho pendente.
+// Trechos refeitos não duplicam médias (o insert ignora colmeias que já têm a média do dia).
+// Os agregados ficam no Redis até o ttl. Medições que chegam depois da conclusão do dia (reenvio offline,
+// gateway binário) marcam a colmeia como alterada e a próxima execução refaz a média dela a partir do agregado
+// completo; dias fora da janela de recuperação não são revisitados e essas medições ficam fora das médias.
+@Service
+@Slf4j
+public class DailyAverageService implements DailyAverageUseCase {
+    private final HiveRepositoryPort hiveRepositoryPort;
+    private final DailyMeasurementAggregatePort dailyMeasurementAggregatePort;
+    private final DailyMeasurementAverageRepositoryPort dailyMeasurementAverageRepositoryPort;
+    private final DailyAverageCheckpointRepositoryPort dailyAverageCheckpointRepositoryPort;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int catchUpDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DailyAverageService(
+            HiveRepositoryPort hiveRepositoryPort,
+            DailyMeasurementAggregatePort dailyMeasurementAggregatePort,
+            DailyMeasurementAverageRepositoryPort dailyMeasurementAverageRepositoryPort,
+            DailyAverageCheckpointRepositoryPort dailyAverageCheckpointRepositoryPort,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.daily-averages.chunk-size:500}") int chunkSize,
+            @Value("${app.daily-averages.parallelism:4}") int parallelism,
+            @Value("${app.daily-averages.catch-up-days:3}") int catchUpDays
+    ) {
+        this.hiveRepositoryPort = hiveRepositoryPort;
+        this.dailyMeasurementAggregatePort = dailyMeasurementAggregatePort;
+        this.dailyMeasurementAverageRepositoryPort = dailyMeasurementAverageRepositoryPort;
+        this.dailyAverageCheckpointRepositoryPort = dailyAverageCheckpointRepositoryPort;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.catchUpDays = catchUpDays;
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "daily-averages");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void processPendingDays() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Daily average processing already running, skipping");
+            return;
+        }
+
+        try {
+            // Agregados mais antigos que a janela já expiraram no Redis
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            for (LocalDate date = yesterday.minusDays(catchUpDays - 1L); !date.isAfter(yesterday); date = date.plusDays(1)) {
+                processDay(date);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public boolean processDay(LocalDate date) {
+        DailyAverageCheckpoint checkpoint = dailyAverageCheckpointRepositoryPort.findByDate(date)
+                .orElseGet(() -> DailyAverageCheckpoint.builder().date(date).build());
+
+        if (checkpoint.isCompleted()) {
+            reprocessChanged(date);
+            return true;
+        }
+
+        // A passada completa lê os agregados depois desta limpeza; só o que chegar depois dela é refeito
+        if (checkpoint.getLastHiveId() == null) {
+            dailyMeasurementAggregatePort.clearChanged(date);
+        }
+
+        log.info("Processing daily averages for {} (resuming after hive {})", date, checkpoint.getLastHiveId());
+
+        Deque<Future<Integer>> inFlight = new ArrayDeque<>();
+        Deque<UUID> chunkEnds = new ArrayDeque<>();
+        UUID cursor = checkpoint.getLastHiveId();
+        boolean failed = false;
+        int saved = 0;
+
+        while (true) {
+            List<UUID> hiveIds = hiveRepositoryPort.findIdsAfter(cursor, chunkSize);
+            if (hiveIds.isEmpty()) {
+                break;
+            }
+
+            cursor = hiveIds.get(hiveIds.size() - 1);
+            inFlight.addLast(executor.submit(() -> processChunk(date, hiveIds, false)));
+            chunkEnds.addLast(cursor);
+
+            // Janela limitada de trechos em andamento; espera sempre o mais antigo para manter o checkpoint contíguo
+            if (inFlight.size() >= parallelism) {
+                Integer result = awaitOldest(date, inFlight, chunkEnds, checkpoint, failed);
+                failed |= result == null;
+                saved += result == null ? 0 : result;
+            }
+
+            if (hiveIds.size() < chunkSize) {
+                break;
+            }
+        }
+
+        while (!inFlight.isEmpty()) {
+            Integer result = awaitOldest(date, inFlight, chunkEnds, checkpoint, failed);
+            failed |= result == null;
+            saved += result == null ? 0 : result;
+        }
+
+        if (failed) {
+            log.warn("Daily averages for {} incomplete ({} saved); will resume from hive {}",
+                    date, saved, checkpoint.getLastHiveId());
+            return false;
+        }
+
+        checkpoint.setCompleted(true);
+        saveCheckpoint(checkpoint);
+        log.info("Daily averages for {} processed: {} hives with measurements", date, saved);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // null quando o trecho falhou; depois de uma falha o checkpoint deixa de avançar
+    private Integer awaitOldest(
+            LocalDate date,
+            Deque<Future<Integer>> inFlight,
+            Deque<UUID> chunkEnds,
+            DailyAverageCheckpoint checkpoint,
+            boolean failedBefore
+    ) {
+        Future<Integer> future = inFlight.removeFirst();
+        UUID chunkEnd = chunkEnds.removeFirst();
+
+        try {
+            int saved = future.get();
+            if (!failedBefore) {
+                checkpoint.setLastHiveId(chunkEnd);
+                saveCheckpoint(checkpoint);
+            }
+            return saved;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            log.error("Failed to process daily averages for {} up to hive {}: {}",
+                    date, chunkEnd, e.getCause().getMessage(), e.getCause());
+            return null;
+        }
+    }
+
+    // Colmeias que receberam medições do dia depois da conclusão; uma falha devolve o trecho ao conjunto
+    private void reprocessChanged(LocalDate date) {
+        int updated = 0;
+
+        while (true) {
+            Set<UUID> hiveIds = dailyMeasurementAggregatePort.takeChanged(date, chunkSize);
+            if (hiveIds.isEmpty()) {
+                break;
+            }
+
+            try {
+                updated += processChunk(date, hiveIds, true);
+            } catch (RuntimeException e) {
+                dailyMeasurementAggregatePort.markChanged(hiveIds, date);
+                log.error("Failed to update daily averages for {} with late measurements of {} hives: {}",
+                        date, hiveIds.size(), e.getMessage(), e);
+                return;
+            }
+        }
+
+        if (updated > 0) {
+            log.info("Daily averages for {} updated with late measurements: {} hives", date, updated);
+        }
+    }
+
+    private int processChunk(LocalDate date, Collection<UUID> hiveIds, boolean replace) {
+        Map<UUID, DailyMeasurementAggregate> aggregates = dailyMeasurementAggregatePort.findAll(hiveIds, date);
+
+        List<DailyMeasurementAverage> averages = new ArrayList<>(aggregates.size());
+        for (DailyMeasurementAggregate aggregate : aggregates.values()) {
+            if (aggregate.getCount() > 0) {
+                averages.add(toDailyAverage(aggregate));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (replace) {
+                dailyMeasurementAverageRepositoryPort.replaceAll(averages);
+            } else {
+                dailyMeasurementAverageRepositoryPort.saveAll(averages);
+            }
+        });
+        return averages.size();
+    }
+
+    private void saveCheckpoint(DailyAverageCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        dailyAverageCheckpointRepositoryPort.save(checkpoint);
+    }
+
+    private static DailyMeasurementAverage toDailyAverage(DailyMeasurementAggregate aggregate) {
+        long count = aggregate.getCount();
+        DailyMeasurementAggregate.MetricStats temperature = aggregate.getTemperature();
+        DailyMeasurementAggregate.MetricStats humidity = aggregate.getHumidity();
+        DailyMeasurementAggregate.MetricStats co2 = aggregate.getCo2();
+
+        return DailyMeasurementAverage.builder()
+                .id(UUID.randomUUID())
+                .hive(Hive.builder().id(aggregate.getHiveId()).build())
+                .date(aggregate.getDate())
+                .sampleCount(count)
+                .avgTemperature(temperature.mean(count))
+                .minTemperature(temperature.min())
+                .maxTemperature(temperature.max())
+                .stddevTemperature(temperature.stddev(count))
+                .avgHumidity(humidity.mean(count))
+                .minHumidity(humidity.min())
+                .maxHumidity(humidity.max())
+                .stddevHumidity(humidity.stddev(count))
+                .avgCo2(co2.mean(count))
+                .minCo2(co2.min())
+                .maxCo2(co2.max())
+                .stddevCo2(co2.stddev(count))
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.DailyMeasurementAverage;
+import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.model.HiveDashboard;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementTrend;
+import com.tech_mel.tech_mel.domain.model.Threshold;
+import com.tech_mel.tech_mel.domain.port.input.DashboardUseCase;
+import com.tech_mel.tech_mel.domain.port.output.AlertRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.DailyMeasurementAverageRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.RedisIotPort;
+import com.tech_mel.tech_mel.domain.port.output.ThresholdRepositoryPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Painel de todas as colmeias do usuário: a lista de colmeias é carregada uma vez e as demais consultas
+// (Redis e Postgres, todas em lote por colmeia) rodam em paralelo, então a latência é a da mais lenta.
+// Uma fonte que falha ou estoura o timeout deixa seus campos vazios em vez de derrubar o painel inteiro.
+// A tendência recente vem da janela quente em memória, sem ir ao Redis.
+@Service
+@Slf4j
+public class DashboardService implements DashboardUseCase {
+    private final HiveRepositoryPort hiveRepositoryPort;
+    private final RedisIotPort redisIotPort;
+    private final ThresholdRepositoryPort thresholdRepositoryPort;
+    private final AlertRepositoryPort alertRepositoryPort;
+    private final DailyMeasurementAverageRepositoryPort dailyMeasurementAverageRepositoryPort;
+    private final MeasurementHotWindow measurementHotWindow;
+
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final Duration trendWindow;
+
+    public DashboardService(
+            HiveRepositoryPort hiveRepositoryPort,
+            RedisIotPort redisIotPort,
+            ThresholdRepositoryPort thresholdRepositoryPort,
+            AlertRepositoryPort alertRepositoryPort,
+            DailyMeasurementAverageRepositoryPort dailyMeasurementAverageRepositoryPort,
+            MeasurementHotWindow measurementHotWindow,
+            @Value("${app.dashboard.pool-size:16}") int poolSize,
+            @Value("${app.dashboard.queue-capacity:200}") int queueCapacity,
+            @Value("${app.dashboard.timeout:PT3S}") Duration timeout,
+            @Value("${app.dashboard.trend-window:PT1H}") Duration trendWindow
+    ) {
+        this.hiveRepositoryPort = hiveRepositoryPort;
+        this.redisIotPort = redisIotPort;
+        this.thresholdRepositoryPort = thresholdRepositoryPort;
+        this.alertRepositoryPort = alertRepositoryPort;
+        this.dailyMeasurementAverageRepositoryPort = dailyMeasurementAverageRepositoryPort;
+        this.measurementHotWindow = measurementHotWindow;
+        this.timeoutMillis = timeout.toMillis();
+        this.trendWindow = trendWindow;
+
+        // Com a fila cheia a própria thread da requisição executa a consulta
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Override
+    public List<HiveDashboard> getDashboard(UUID ownerId) {
+        List<Hive> hives = hiveRepositoryPort.findByOwnerId(ownerId, Pageable.unpaged()).getContent();
+
+        if (hives.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> hiveIds = hives.stream()
+                .map(Hive::getId)
+                .toList();
+        List<String> apiKeys = hives.stream()
+                .map(Hive::getApiKey)
+                .filter(Objects::nonNull)
+                .toList();
+
+        CompletableFuture<Map<String, Measurement>> latestMeasurements = fetch("latest measurements",
+                () -> redisIotPort.getLatestMeasurementsForMultipleHives(apiKeys));
+        CompletableFuture<Map<UUID, Threshold>> thresholds = fetch("thresholds",
+                () -> thresholdRepositoryPort.findAllByHiveIds(hiveIds));
+        CompletableFuture<Map<UUID, Long>> openAlerts = fetch("open alerts",
+                () -> alertRepositoryPort.countOpenByHiveIds(hiveIds));
+        CompletableFuture<Map<UUID, DailyMeasurementAverage>> dailyAverages = fetch("daily averages",
+                () -> dailyMeasurementAverageRepositoryPort.findLatestByHiveIds(hiveIds));
+
+        CompletableFuture.allOf(latestMeasurements, thresholds, openAlerts, dailyAverages).join();
+
+        long toMillis = System.currentTimeMillis();
+        long fromMillis = toMillis - trendWindow.toMillis();
+
+        return hives.stream()
+                .map(hive -> HiveDashboard.builder()
+                        .hive(hive)
+                        .threshold(thresholds.join().get(hive.getId()))
+                        .latestMeasurement(hive.getApiKey() != null
+                                ? latestMeasurements.join().get(hive.getApiKey())
+                                : null)
+                        .openAlerts(openAlerts.join().getOrDefault(hive.getId(), 0L))
+                        .lastDailyAverage(dailyAverages.join().get(hive.getId()))
+                        .recentTrend(trend(hive.getId(), fromMillis, toMillis))
+                        .build())
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // A janela guarda measuredAt como UTC, a mesma referência de System.currentTimeMillis
+    private MeasurementTrend trend(UUID hiveId, long fromMillis, long toMillis) {
+        int sampleCount = measurementHotWindow.count(hiveId, fromMillis, toMillis);
+        if (sampleCount == 0) {
+            return null;
+        }
+
+        return MeasurementTrend.builder()
+                .window(trendWindow)
+                .sampleCount(sampleCount)
+                .avgTemperature(average(hiveId, ThresholdEvaluator.TEMPERATURE, fromMillis, toMillis))
+                .avgHumidity(average(hiveId, ThresholdEvaluator.HUMIDITY, fromMillis, toMillis))
+                .avgCo2(average(hiveId, ThresholdEvaluator.CO2, fromMillis, toMillis))
+                .temperatureRate(rate(hiveId, ThresholdEvaluator.TEMPERATURE, fromMillis, toMillis))
+                .humidityRate(rate(hiveId, ThresholdEvaluator.HUMIDITY, fromMillis, toMillis))
+                .co2Rate(rate(hiveId, ThresholdEvaluator.CO2, fromMillis, toMillis))
+                .build();
+    }
+
+    private Double average(UUID hiveId, int metric, long fromMillis, long toMillis) {
+        return orNull(measurementHotWindow.average(hiveId, metric, fromMillis, toMillis));
+    }
+
+    private Double rate(UUID hiveId, int metric, long fromMillis, long toMillis) {
+        return orNull(measurementHotWindow.ratePerMinute(hiveId, metric, fromMillis, toMillis));
+    }
+
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private <K, V> CompletableFuture<Map<K, V>> fetch(String source, Supplier<Map<K, V>> query) {
+        return CompletableFuture.supplyAsync(query, executor)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Dashboard query for {} failed: {}", source, e.getMessage());
+                    return Map.of();
+                });
+    }
+}
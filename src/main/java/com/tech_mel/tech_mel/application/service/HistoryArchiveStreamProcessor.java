@@ -0,0 +1,39 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementHistoryUseCase;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementStreamProcessor;
+import com.tech_mel.tech_mel.domain.port.output.HiveLookupCachePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+// Com app.iot.storage=stream o histórico no Postgres é alimentado pelo log. O XACK sai quando as medições
+// entram no buffer do histórico, não quando são gravadas; um lote reprocessado grava linhas repetidas.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryArchiveStreamProcessor implements MeasurementStreamProcessor {
+    private final HiveLookupCachePort hiveLookupCachePort;
+    private final MeasurementHistoryUseCase measurementHistoryUseCase;
+
+    @Override
+    public String getGroupName() {
+        return "archival";
+    }
+
+    @Override
+    public void process(String apiKey, List<Measurement> measurements) {
+        Optional<HiveDescriptor> hive = hiveLookupCachePort.findByApiKey(apiKey);
+        if (hive.isEmpty()) {
+            log.warn("Skipping {} streamed measurements of unknown API key for archival", measurements.size());
+            return;
+        }
+
+        measurementHistoryUseCase.archive(hive.get().getId(), measurements);
+    }
+}
@@ -6,6 +6,7 @@ import com.tech_mel.tech_mel.application.exception.NotFoundException;
 import com.tech_mel.tech_mel.domain.model.Hive;
 import com.tech_mel.tech_mel.domain.model.User;
 import com.tech_mel.tech_mel.domain.port.input.HiveUseCase;
+import com.tech_mel.tech_mel.domain.port.output.HiveLookupCachePort;
 import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
 import com.tech_mel.tech_mel.domain.port.output.UserRepositoryPort;
 import com.tech_mel.tech_mel.infrastructure.api.dto.request.hive.CreateHiveRequest;
@@ -25,6 +26,8 @@ import java.util.UUID;
 public class HiveService implements HiveUseCase {
     private final HiveRepositoryPort hiveRepositoryPort;
     private final UserRepositoryPort userRepositoryPort;
+    private final HiveLookupCachePort hiveLookupCachePort;
+    private final MeasurementHotWindow measurementHotWindow;
 
     @Override
     @Transactional
@@ -46,6 +49,7 @@ public class HiveService implements HiveUseCase {
                 .build();
 
         Hive savedHive = hiveRepositoryPort.save(hive);
+        hiveLookupCachePort.evict(savedHive.getApiKey());
 
         owner.setAvailableHives(owner.getAvailableHives() - 1);
         userRepositoryPort.save(owner);
@@ -106,10 +110,15 @@ public class HiveService implements HiveUseCase {
         Hive hive = hiveRepositoryPort.findById(hiveId)
                 .orElseThrow(() -> new NotFoundException("Hive não encontrada"));
 
+        String oldApiKey = hive.getApiKey();
         hive.setApiKey(newApiKey);
 
         hiveRepositoryPort.save(hive);
 
+        // A chave antiga deixa de ser válida e a nova pode estar no cache negativo
+        hiveLookupCachePort.evict(oldApiKey);
+        hiveLookupCachePort.evict(newApiKey);
+
         log.info("Chave de api da hive {} mudada para {}", hive.getId(), hive.getApiKey());
     }
 
@@ -122,6 +131,7 @@ public class HiveService implements HiveUseCase {
         hive.setHiveStatus(hiveStatus);
 
         hiveRepositoryPort.save(hive);
+        hiveLookupCachePort.evict(hive.getApiKey());
 
         log.info("Status de atividade da hive {} mudada para {}", hive.getId(), hive.getHiveStatus());
     }
@@ -137,6 +147,8 @@ public class HiveService implements HiveUseCase {
         userRepositoryPort.save(owner);
 
         hiveRepositoryPort.deleteById(hive.getId());
+        hiveLookupCachePort.evict(hive.getApiKey());
+        measurementHotWindow.evict(hive.getId());
 
         log.info("hive {} deletada", hiveId);
     }
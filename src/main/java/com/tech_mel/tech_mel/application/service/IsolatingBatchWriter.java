@@ -0,0 +1,100 @@
+package com.tech_mel.tech_mel.application.service;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Gravação em lote para os buffers de escrita que isola as linhas recusadas pelo banco. Se o lote falha, ele
+// é dividido ao meio até sobrar a linha culpada; as demais são gravadas. Uma linha que falha max-attempts vezes
+// (FK de colmeia apagada, por exemplo) é recusada em vez de voltar ao buffer e travar os lotes seguintes.
+// Falhas de conexão ou timeout não são culpa das linhas: o lote inteiro volta sem contar tentativa e a divisão
+// para, sem martelar o banco fora do ar.
+final class IsolatingBatchWriter<T> {
+    private final Consumer<List<T>> writer;
+    private final int maxAttempts;
+
+    // Só linhas que já falharam sozinhas; identidade porque os itens do buffer não definem equals
+    private final Map<T, Integer> attempts = new IdentityHashMap<>();
+
+    IsolatingBatchWriter(Consumer<List<T>> writer, int maxAttempts) {
+        this.writer = writer;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+    }
+
+    // written: gravadas; retry: devolver ao buffer; rejected: descartar; failure: primeira falha do lote
+    record Outcome<T>(int written, List<T> retry, List<T> rejected, RuntimeException failure, boolean unavailable) {
+    }
+
+    synchronized Outcome<T> write(List<T> batch) {
+        int written = 0;
+        List<T> retry = new ArrayList<>();
+        List<T> rejected = new ArrayList<>();
+        RuntimeException failure = null;
+        boolean unavailable = false;
+
+        Deque<List<T>> parts = new ArrayDeque<>();
+        parts.push(batch);
+
+        while (!parts.isEmpty()) {
+            List<T> part = parts.pop();
+            if (unavailable) {
+                retry.addAll(part);
+                continue;
+            }
+
+            try {
+                writer.accept(part);
+                written += part.size();
+                forget(part);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+
+                if (isUnavailable(e)) {
+                    unavailable = true;
+                    retry.addAll(part);
+                } else if (part.size() == 1) {
+                    T row = part.get(0);
+                    int failures = attempts.merge(row, 1, Integer::sum);
+                    if (failures >= maxAttempts) {
+                        attempts.remove(row);
+                        rejected.add(row);
+                    } else {
+                        retry.add(row);
+                    }
+                } else {
+                    // Metade da esquerda primeiro, mantendo a ordem de gravação
+                    int middle = part.size() / 2;
+                    parts.push(part.subList(middle, part.size()));
+                    parts.push(part.subList(0, middle));
+                }
+            }
+        }
+
+        return new Outcome<>(written, retry, rejected, failure, unavailable);
+    }
+
+    // Linhas que saíram do buffer por outro caminho (buffer cheio ao devolver)
+    synchronized void forget(List<T> rows) {
+        if (!attempts.isEmpty()) {
+            rows.forEach(attempts::remove);
+        }
+    }
+
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+}
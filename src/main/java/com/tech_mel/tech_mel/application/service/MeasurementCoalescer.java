@@ -0,0 +1,284 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.application.exception.TooManyRequestsException;
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Agrupa as leituras de cada colmeia que chegam dentro da janela e manda o grupo ao pipeline como um único
+// evento: uma escrita no Redis e uma avaliação de alertas por lote em vez de uma por requisição. O lote sai
+// quando a janela do primeiro item vence ou quando atinge max-batch-readings. Um único thread envia os lotes,
+// então a ordem de chegada de cada colmeia se mantém. Com durability flush-async a requisição é confirmada ao
+// entrar no lote e as leituras ainda podem se perder (queda da instância antes de gravar, fila de
+// reprocessamento do pipeline cheia); com flush-on-ack ela espera o estágio de armazenamento gravar o lote.
+// A sequência da ingestão é emitida aqui, uma por requisição ao entrar no lote, porque a do pipeline só existe
+// no envio e é do lote inteiro. Janela PT0S desliga o agrupamento e a sequência volta a ser a do pipeline.
+@Component
+@Slf4j
+public class MeasurementCoalescer {
+    private static final long MIN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MeasurementIngestPipeline measurementIngestPipeline;
+
+    private final Map<UUID, PendingBatch> pending = new ConcurrentHashMap<>();
+    private final Queue<PendingBatch> full = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingReadings = new AtomicLong();
+    private final AtomicLong sequences = new AtomicLong(-1);
+    private final Thread flusher;
+
+    private final long windowNanos;
+    private final int maxBatchReadings;
+    private final long maxPendingReadings;
+    private final boolean flushOnAck;
+    private final long ackTimeoutNanos;
+
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSizes;
+    private final Counter windowFlushes;
+    private final Counter sizeFlushes;
+    private final Counter rejected;
+
+    public MeasurementCoalescer(
+            MeasurementIngestPipeline measurementIngestPipeline,
+            MeterRegistry meterRegistry,
+            @Value("${app.ingest.coalescing.window:PT0.25S}") Duration window,
+            @Value("${app.ingest.coalescing.max-batch-readings:256}") int maxBatchReadings,
+            @Value("${app.ingest.coalescing.max-pending-readings:100000}") long maxPendingReadings,
+            @Value("${app.ingest.coalescing.durability:flush-async}") String durability,
+            @Value("${app.ingest.coalescing.ack-timeout:PT5S}") Duration ackTimeout
+    ) {
+        this.measurementIngestPipeline = measurementIngestPipeline;
+        this.windowNanos = window.toNanos();
+        this.maxBatchReadings = maxBatchReadings;
+        this.maxPendingReadings = maxPendingReadings;
+        this.flushOnAck = switch (durability) {
+            case "flush-on-ack" -> true;
+            case "flush-async" -> false;
+            default -> throw new IllegalArgumentException(
+                    "app.ingest.coalescing.durability must be flush-on-ack or flush-async");
+        };
+        this.ackTimeoutNanos = ackTimeout.toNanos();
+
+        this.flusher = new Thread(this::run, "ingest-coalescer");
+        this.flusher.setDaemon(true);
+
+        this.batchSizes = DistributionSummary.builder("ingest.coalescer.batch.size")
+                .description("Leituras por lote agrupado enviado ao pipeline de ingestão")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.windowFlushes = Counter.builder("ingest.coalescer.flushes")
+                .description("Lotes enviados ao pipeline, por motivo do envio")
+                .tag("reason", "window")
+                .register(meterRegistry);
+        this.sizeFlushes = Counter.builder("ingest.coalescer.flushes")
+                .description("Lotes enviados ao pipeline, por motivo do envio")
+                .tag("reason", "size")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ingest.coalescer.rejected")
+                .description("Requisições recusadas com o limite de leituras aguardando agrupamento atingido")
+                .register(meterRegistry);
+        Gauge.builder("ingest.coalescer.pending", pendingReadings, AtomicLong::get)
+                .description("Leituras aguardando a janela de agrupamento")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (windowNanos > 0) {
+            flusher.start();
+            log.info("Ingest coalescing enabled with a {} ms window ({})",
+                    TimeUnit.NANOSECONDS.toMillis(windowNanos), flushOnAck ? "flush-on-ack" : "flush-async");
+        }
+    }
+
+    // Devolve a sequência da ingestão desta requisição, crescente na instância em qualquer modo
+    public long submit(HiveDescriptor hive, String apiKey, MeasurementReadings readings) {
+        if (windowNanos == 0) {
+            CompletableFuture<Long> stored = flushOnAck ? new CompletableFuture<>() : null;
+            long sequence = measurementIngestPipeline.enqueue(hive, apiKey, readings, stored);
+            batchSizes.record(readings.size());
+            return flushOnAck ? await(stored) : sequence;
+        }
+
+        if (!accepting) {
+            throw new TooManyRequestsException("Ingestion is shutting down, try again later.");
+        }
+        if (pendingReadings.addAndGet(readings.size()) > maxPendingReadings) {
+            pendingReadings.addAndGet(-readings.size());
+            rejected.increment();
+            throw new TooManyRequestsException("Ingestion coalescing buffer is full, try again later.");
+        }
+
+        CompletableFuture<Long> stored;
+        long sequence;
+        while (true) {
+            PendingBatch batch = pending.computeIfAbsent(hive.getId(), id -> new PendingBatch(hive, apiKey));
+            synchronized (batch) {
+                // Lote fechado pelo flusher entre o get e o lock: o próximo computeIfAbsent cria outro
+                if (batch.closed) {
+                    continue;
+                }
+
+                // Emitida sob o lock do lote: a ordem das sequências de uma colmeia é a ordem das leituras no lote
+                batch.readings.addAll(readings);
+                sequence = sequences.incrementAndGet();
+                stored = batch.stored;
+
+                // Na fila antes de sair do mapa: quando existe um lote mais novo da colmeia, este já está na fila
+                if (batch.readings.size() >= maxBatchReadings) {
+                    batch.closed = true;
+                    full.add(batch);
+                    pending.remove(hive.getId(), batch);
+                    LockSupport.unpark(flusher);
+                }
+            }
+            break;
+        }
+
+        if (flushOnAck) {
+            await(stored);
+        }
+        return sequence;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (windowNanos == 0) {
+            return;
+        }
+
+        // O pipeline ainda aceita: ele depende deste componente para ser destruído depois
+        accepting = false;
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        if (pendingReadings.get() > 0) {
+            log.warn("Ingest coalescer stopped with {} measurements not sent to the pipeline", pendingReadings.get());
+        }
+    }
+
+    private void run() {
+        while (running || !pending.isEmpty() || !full.isEmpty()) {
+            flushFull();
+
+            long now = System.nanoTime();
+            long nextDeadline = now + windowNanos;
+
+            for (PendingBatch candidate : pending.values()) {
+                long deadline = candidate.openedAt + windowNanos;
+                if (!running || deadline - now <= 0) {
+                    if (close(candidate)) {
+                        // Um lote cheio da mesma colmeia pode ter entrado na fila depois do flushFull acima
+                        flushFull();
+                        flush(candidate, windowFlushes);
+                    }
+                } else if (deadline - nextDeadline < 0) {
+                    nextDeadline = deadline;
+                }
+            }
+
+            if (running) {
+                LockSupport.parkNanos(Math.max(nextDeadline - System.nanoTime(), MIN_PARK_NANOS));
+            }
+        }
+    }
+
+    private void flushFull() {
+        PendingBatch batch;
+        while ((batch = full.poll()) != null) {
+            flush(batch, sizeFlushes);
+        }
+    }
+
+    private boolean close(PendingBatch batch) {
+        synchronized (batch) {
+            if (batch.closed) {
+                return false;
+            }
+            batch.closed = true;
+        }
+        pending.remove(batch.hive.getId(), batch);
+        return true;
+    }
+
+    // Com o anel cheio insiste até conseguir: as leituras já foram confirmadas. A fila de quem espera fica
+    // limitada por max-pending-readings, que passa a recusar novas requisições.
+    private void flush(PendingBatch batch, Counter reason) {
+        int size = batch.readings.size();
+
+        while (true) {
+            try {
+                measurementIngestPipeline.enqueue(batch.hive, batch.apiKey, batch.readings, batch.stored);
+                break;
+            } catch (TooManyRequestsException e) {
+                if (!running) {
+                    log.error("Dropped {} coalesced measurements of hive {} on shutdown: {}",
+                            size, batch.hive.getId(), e.getMessage());
+                    if (batch.stored != null) {
+                        batch.stored.completeExceptionally(e);
+                    }
+                    break;
+                }
+            }
+        }
+
+        pendingReadings.addAndGet(-size);
+        batchSizes.record(size);
+        reason.increment();
+    }
+
+    private Long await(CompletableFuture<Long> stored) {
+        try {
+            return stored.get(ackTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new TooManyRequestsException("Measurement was not stored in time, try again later.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
+            throw new IllegalStateException("Measurement could not be stored", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the measurement to be stored", e);
+        }
+    }
+
+    // Lote aberto de uma colmeia; fechado (closed) ele não recebe mais leituras e sai do mapa
+    private final class PendingBatch {
+        private final HiveDescriptor hive;
+        private final String apiKey;
+        private final long openedAt = System.nanoTime();
+        private final MeasurementReadings readings = new MeasurementReadings(16);
+        private final CompletableFuture<Long> stored = flushOnAck ? new CompletableFuture<>() : null;
+        private boolean closed;
+
+        PendingBatch(HiveDescriptor hive, String apiKey) {
+            this.hive = hive;
+            this.apiKey = apiKey;
+        }
+    }
+}
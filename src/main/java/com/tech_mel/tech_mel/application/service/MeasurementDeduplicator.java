@@ -0,0 +1,350 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementDeduplicationPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Descarta reenvios de leituras já recebidas antes de entrarem no pipeline, então uma repetição não é gravada
+// nem avaliada de novo. A chave da leitura é a sequência do dispositivo junto com o measuredAt quando ele manda
+// uma sequência (o contador recomeça quando o dispositivo reinicia), senão só o measuredAt. Cada colmeia tem
+// uma janela local com as últimas chaves vistas nesta instância (bitmap deslizante, exato e de tamanho fixo,
+// com o measuredAt de cada sequência): chave na janela é repetição certa e nem consulta o Redis. As demais
+// passam pelo SET NX com ttl do Redis, que decide entre instâncias. measuredAt com fração de segundo fica fora
+// da janela local, que conta segundos, e vai sempre ao Redis. Com o Redis indisponível as leituras seguem
+// como novas: duplicar é melhor que perder medição.
+@Component
+@Slf4j
+public class MeasurementDeduplicator {
+    private final MeasurementDeduplicationPort measurementDeduplicationPort;
+
+    private final Map<UUID, HiveFilter> filters = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int windowSize;
+    private final int maxHives;
+
+    private final Counter checked;
+    private final Counter localDuplicates;
+    private final Counter redisDuplicates;
+    private final Counter redisFailures;
+
+    // Taxa de repetição do último intervalo de manutenção, para o gauge
+    private double lastChecked;
+    private double lastDuplicates;
+    private volatile double duplicateRatio;
+
+    public MeasurementDeduplicator(
+            MeasurementDeduplicationPort measurementDeduplicationPort,
+            MeterRegistry meterRegistry,
+            @Value("${app.ingest.dedup.enabled:true}") boolean enabled,
+            @Value("${app.ingest.dedup.ttl:PT15M}") Duration ttl,
+            @Value("${app.ingest.dedup.window:1024}") int windowSize,
+            @Value("${app.ingest.dedup.max-hives:10000}") int maxHives
+    ) {
+        if (windowSize < 64 || Integer.bitCount(windowSize) != 1) {
+            throw new IllegalArgumentException("app.ingest.dedup.window must be a power of two of at least 64");
+        }
+
+        this.measurementDeduplicationPort = measurementDeduplicationPort;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.windowSize = windowSize;
+        this.maxHives = maxHives;
+
+        this.checked = Counter.builder("ingest.dedup.checked")
+                .description("Leituras verificadas pela deduplicação da ingestão")
+                .register(meterRegistry);
+        this.localDuplicates = Counter.builder("ingest.dedup.duplicates")
+                .description("Leituras repetidas confirmadas sem novo processamento")
+                .tag("source", "local")
+                .register(meterRegistry);
+        this.redisDuplicates = Counter.builder("ingest.dedup.duplicates")
+                .description("Leituras repetidas confirmadas sem novo processamento")
+                .tag("source", "redis")
+                .register(meterRegistry);
+        this.redisFailures = Counter.builder("ingest.dedup.redis.failures")
+                .description("Lotes aceitos sem consulta ao Redis por falha na deduplicação")
+                .register(meterRegistry);
+        Gauge.builder("ingest.dedup.duplicate.ratio", this, deduplicator -> deduplicator.duplicateRatio)
+                .description("Fração das leituras verificadas que eram repetidas, no último intervalo")
+                .register(meterRegistry);
+        Gauge.builder("ingest.dedup.hives", filters, Map::size)
+                .description("Colmeias com janela local de deduplicação")
+                .register(meterRegistry);
+    }
+
+    // Remove do lote as leituras já recebidas, mantendo a ordem das demais, e devolve quantas saíram
+    public int removeDuplicates(UUID hiveId, MeasurementReadings readings) {
+        if (!enabled || readings.isEmpty()) {
+            return 0;
+        }
+
+        int size = readings.size();
+        checked.increment(size);
+
+        HiveFilter filter = filterFor(hiveId);
+        boolean[] duplicate = new boolean[size];
+        int[] unknown = new int[size];
+        int unknownCount = 0;
+        int local = 0;
+
+        synchronized (filter) {
+            for (int i = 0; i < size; i++) {
+                if (filter.contains(readings, i)) {
+                    duplicate[i] = true;
+                    local++;
+                } else {
+                    unknown[unknownCount++] = i;
+                }
+            }
+        }
+
+        int remote = 0;
+        if (unknownCount > 0) {
+            List<String> keys = new ArrayList<>(unknownCount);
+            for (int j = 0; j < unknownCount; j++) {
+                keys.add(readingKey(readings, unknown[j]));
+            }
+
+            boolean[] claimed = claim(hiveId, keys);
+
+            synchronized (filter) {
+                for (int j = 0; j < unknownCount; j++) {
+                    if (claimed != null && !claimed[j]) {
+                        duplicate[unknown[j]] = true;
+                        remote++;
+                    }
+                    filter.add(readings, unknown[j]);
+                }
+            }
+        }
+
+        int duplicates = local + remote;
+        if (duplicates > 0) {
+            localDuplicates.increment(local);
+            redisDuplicates.increment(remote);
+            readings.removeMarked(duplicate);
+        }
+        return duplicates;
+    }
+
+    // Desfaz a marca das leituras do lote que não foram aceitas (pipeline cheio, falha ao gravar), para que
+    // o reenvio do dispositivo seja processado
+    public void release(UUID hiveId, MeasurementReadings readings) {
+        if (!enabled || readings.isEmpty()) {
+            return;
+        }
+
+        HiveFilter filter = filters.get(hiveId);
+        if (filter != null) {
+            synchronized (filter) {
+                for (int i = 0; i < readings.size(); i++) {
+                    filter.remove(readings, i);
+                }
+            }
+        }
+
+        List<String> keys = new ArrayList<>(readings.size());
+        for (int i = 0; i < readings.size(); i++) {
+            keys.add(readingKey(readings, i));
+        }
+
+        try {
+            measurementDeduplicationPort.release(hiveId, keys);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release deduplication keys of {} measurements for hive {}: {}",
+                    keys.size(), hiveId, e.getMessage());
+        }
+    }
+
+    // Depois do ttl o Redis já esqueceu as chaves; a janela local da colmeia ociosa vai junto
+    @Scheduled(fixedDelayString = "${app.ingest.dedup.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        filters.values().removeIf(filter -> filter.lastUsedMillis < cutoff);
+
+        double checkedNow = checked.count();
+        double duplicatesNow = localDuplicates.count() + redisDuplicates.count();
+        double checkedDelta = checkedNow - lastChecked;
+        duplicateRatio = checkedDelta > 0 ? (duplicatesNow - lastDuplicates) / checkedDelta : 0;
+        lastChecked = checkedNow;
+        lastDuplicates = duplicatesNow;
+    }
+
+    private boolean[] claim(UUID hiveId, List<String> keys) {
+        try {
+            return measurementDeduplicationPort.claim(hiveId, keys, ttl);
+        } catch (RuntimeException e) {
+            redisFailures.increment();
+            log.warn("Deduplication check failed for {} measurements of hive {}, accepting them: {}",
+                    keys.size(), hiveId, e.getMessage());
+            return null;
+        }
+    }
+
+    private HiveFilter filterFor(UUID hiveId) {
+        HiveFilter filter = filters.get(hiveId);
+        if (filter == null) {
+            if (filters.size() >= maxHives) {
+                evictIdlest();
+            }
+            filter = filters.computeIfAbsent(hiveId, id -> new HiveFilter(windowSize));
+        }
+        filter.lastUsedMillis = System.currentTimeMillis();
+        return filter;
+    }
+
+    private void evictIdlest() {
+        UUID idlest = null;
+        long oldestUse = Long.MAX_VALUE;
+
+        for (Map.Entry<UUID, HiveFilter> entry : filters.entrySet()) {
+            long lastUsed = entry.getValue().lastUsedMillis;
+            if (lastUsed < oldestUse) {
+                oldestUse = lastUsed;
+                idlest = entry.getKey();
+            }
+        }
+
+        if (idlest != null) {
+            filters.remove(idlest);
+        }
+    }
+
+    private static String readingKey(MeasurementReadings readings, int index) {
+        long sequence = readings.deviceSequence(index);
+        return sequence != MeasurementReadings.NO_SEQUENCE
+                ? "s" + sequence + ":" + readings.measuredAt(index)
+                : "t" + readings.measuredAt(index);
+    }
+
+    // Janelas de uma colmeia: sequências do dispositivo e segundos de measuredAt, criadas no primeiro uso.
+    // A janela de sequências guarda o measuredAt de cada sequência: a leitura só é repetida quando o par
+    // (sequência, measuredAt) é o mesmo da chave do Redis. Um contador que recomeçou com o relógio atrasado
+    // reaproveita a sequência com outro measuredAt e passa. O acesso é serializado pelo chamador.
+    static final class HiveFilter {
+        private final int windowSize;
+        private SlidingWindow sequences;
+        private SlidingWindow seconds;
+        private volatile long lastUsedMillis;
+
+        HiveFilter(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        boolean contains(MeasurementReadings readings, int index) {
+            long sequence = readings.deviceSequence(index);
+            if (sequence != MeasurementReadings.NO_SEQUENCE) {
+                return sequences != null && sequences.contains(sequence, readings.measuredAt(index));
+            }
+
+            long measuredAt = readings.measuredAt(index);
+            return measuredAt % 1000 == 0 && seconds != null && seconds.contains(measuredAt / 1000, 0);
+        }
+
+        void add(MeasurementReadings readings, int index) {
+            long sequence = readings.deviceSequence(index);
+            if (sequence != MeasurementReadings.NO_SEQUENCE) {
+                if (sequences == null) {
+                    sequences = new SlidingWindow(windowSize, true);
+                }
+                sequences.add(sequence, readings.measuredAt(index));
+                return;
+            }
+
+            long measuredAt = readings.measuredAt(index);
+            if (measuredAt % 1000 == 0) {
+                if (seconds == null) {
+                    seconds = new SlidingWindow(windowSize, false);
+                }
+                seconds.add(measuredAt / 1000, 0);
+            }
+        }
+
+        void remove(MeasurementReadings readings, int index) {
+            long sequence = readings.deviceSequence(index);
+            if (sequence != MeasurementReadings.NO_SEQUENCE) {
+                if (sequences != null) {
+                    sequences.remove(sequence, readings.measuredAt(index));
+                }
+                return;
+            }
+
+            long measuredAt = readings.measuredAt(index);
+            if (measuredAt % 1000 == 0 && seconds != null) {
+                seconds.remove(measuredAt / 1000, 0);
+            }
+        }
+    }
+
+    // Bitmap das chaves em (highest - size, highest], como a janela anti-replay do IPsec. Uma chave maior
+    // desliza a janela; uma muito anterior a ela (dispositivo reiniciado, reenvio antigo) recomeça a janela.
+    // Com values, cada posição guarda também um valor que precisa bater (o measuredAt da sequência); uma chave
+    // repetida com outro valor substitui o anterior.
+    static final class SlidingWindow {
+        private final long[] bits;
+        private final long[] values;
+        private final int size;
+        private long highest;
+        private boolean empty = true;
+
+        SlidingWindow(int size, boolean withValues) {
+            this.size = size;
+            this.bits = new long[size / Long.SIZE];
+            this.values = withValues ? new long[size] : null;
+        }
+
+        boolean contains(long key, long value) {
+            if (empty || key > highest || key <= highest - size) {
+                return false;
+            }
+            int bit = (int) (key & (size - 1));
+            return (bits[bit >>> 6] & (1L << bit)) != 0 && (values == null || values[bit] == value);
+        }
+
+        void add(long key, long value) {
+            if (empty || key <= highest - size || key - highest >= size) {
+                Arrays.fill(bits, 0);
+                highest = key;
+                empty = false;
+            } else if (key > highest) {
+                // Limpa as posições que a janela passa a cobrir
+                for (long cleared = highest + 1; cleared < key; cleared++) {
+                    int bit = (int) (cleared & (size - 1));
+                    bits[bit >>> 6] &= ~(1L << bit);
+                }
+                int bit = (int) (key & (size - 1));
+                bits[bit >>> 6] &= ~(1L << bit);
+                highest = key;
+            }
+
+            int bit = (int) (key & (size - 1));
+            bits[bit >>> 6] |= 1L << bit;
+            if (values != null) {
+                values[bit] = value;
+            }
+        }
+
+        // Só desfaz a marca se ela ainda for desta leitura
+        void remove(long key, long value) {
+            if (contains(key, value)) {
+                int bit = (int) (key & (size - 1));
+                bits[bit >>> 6] &= ~(1L << bit);
+            }
+        }
+    }
+}
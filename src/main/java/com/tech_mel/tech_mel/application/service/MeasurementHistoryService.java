@@ -0,0 +1,402 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.ArchivedMeasurement;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementRangeQuery;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementHistoryUseCase;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementChunkRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementHistoryRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+// Cada medição vai para o formato do seu mês: partição bruta na janela mantida por maintainPartitions (de
+// compact-after-months atrás até PARTITIONS_AHEAD à frente), merge no chunk do dia para meses já compactados e
+// recusa fora da retenção ou além das partições criadas à frente (relógio do dispositivo errado). A partição
+// nunca é criada a partir de um measuredAt fora da janela.
+@Service
+@Slf4j
+public class MeasurementHistoryService implements MeasurementHistoryUseCase {
+    private static final int PARTITIONS_AHEAD = 2;
+
+    private final MeasurementHistoryRepositoryPort measurementHistoryRepositoryPort;
+    private final MeasurementChunkRepositoryPort measurementChunkRepositoryPort;
+    private final TransactionTemplate transactionTemplate;
+
+    // A ingestão só enfileira; a gravação no Postgres acontece no flush em segundo plano
+    private final BlockingQueue<ArchivedMeasurement> pending;
+    private final int flushBatchSize;
+    private final int maxAttempts;
+    private final IsolatingBatchWriter<ArchivedMeasurement> batchWriter;
+    private final IsolatingBatchWriter<ArchivedMeasurement> chunkWriter;
+    private final int retentionMonths;
+    private final int compactAfterMonths;
+
+    private final Counter archived;
+    private final Counter compacted;
+    private final Counter dropped;
+    private final Counter rejected;
+    private final Counter outOfRange;
+
+    public MeasurementHistoryService(
+            MeasurementHistoryRepositoryPort measurementHistoryRepositoryPort,
+            MeasurementChunkRepositoryPort measurementChunkRepositoryPort,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.measurement-history.buffer-capacity:100000}") int bufferCapacity,
+            @Value("${app.measurement-history.flush-batch-size:5000}") int flushBatchSize,
+            @Value("${app.measurement-history.max-attempts:3}") int maxAttempts,
+            @Value("${app.measurement-history.retention-months:12}") int retentionMonths,
+            @Value("${app.measurement-history.compact-after-months:2}") int compactAfterMonths
+    ) {
+        this.measurementHistoryRepositoryPort = measurementHistoryRepositoryPort;
+        this.measurementChunkRepositoryPort = measurementChunkRepositoryPort;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pending = new ArrayBlockingQueue<>(bufferCapacity);
+        this.flushBatchSize = flushBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.batchWriter = new IsolatingBatchWriter<>(measurementHistoryRepositoryPort::saveAll, maxAttempts);
+        this.chunkWriter = new IsolatingBatchWriter<>(this::mergeIntoChunks, maxAttempts);
+        this.retentionMonths = retentionMonths;
+        this.compactAfterMonths = compactAfterMonths;
+
+        this.archived = Counter.builder("measurement.history.archived")
+                .description("Medições gravadas no histórico")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("measurement.history.dropped")
+                .description("Medições descartadas por buffer do histórico cheio")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("measurement.history.rejected")
+                .description("Medições descartadas depois de recusadas pelo banco em todas as tentativas")
+                .register(meterRegistry);
+        this.outOfRange = Counter.builder("measurement.history.out.of.range")
+                .description("Medições recusadas por measuredAt fora da retenção ou das partições mantidas")
+                .register(meterRegistry);
+        this.compacted = Counter.builder("measurement.history.compacted")
+                .description("Medições movidas do histórico bruto para chunks comprimidos")
+                .register(meterRegistry);
+        Gauge.builder("measurement.history.pending", pending, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void archive(UUID hiveId, List<Measurement> measurements) {
+        int rejected = 0;
+
+        for (Measurement measurement : measurements) {
+            if (!pending.offer(new ArchivedMeasurement(hiveId, measurement))) {
+                rejected++;
+            }
+        }
+
+        if (rejected > 0) {
+            dropped.increment(rejected);
+            log.warn("Measurement history buffer full, dropped {} measurements for hive: {}", rejected, hiveId);
+        }
+    }
+
+    // Linhas recusadas pelo banco são isoladas e voltam ao buffer só no fim, para a nova tentativa ficar para o
+    // próximo ciclo; depois de max-attempts falhas são descartadas (ver IsolatingBatchWriter)
+    @Override
+    public int flush() {
+        int total = 0;
+        List<ArchivedMeasurement> batch = new ArrayList<>(flushBatchSize);
+        List<ArchivedMeasurement> retry = new ArrayList<>();
+
+        Routing routing = new Routing(YearMonth.now());
+
+        while (pending.drainTo(batch, flushBatchSize) > 0) {
+            List<ArchivedMeasurement> raw = new ArrayList<>(batch.size());
+            List<ArchivedMeasurement> late = new ArrayList<>();
+            int rejectedByDate = 0;
+
+            for (ArchivedMeasurement measurement : batch) {
+                switch (routing.route(YearMonth.from(measurement.getMeasurement().getMeasuredAt()))) {
+                    case RAW -> raw.add(measurement);
+                    case CHUNK -> late.add(measurement);
+                    case REJECT -> rejectedByDate++;
+                }
+            }
+
+            if (rejectedByDate > 0) {
+                outOfRange.increment(rejectedByDate);
+                log.warn("Discarding {} measurements measured outside the history window {} to {}",
+                        rejectedByDate, routing.oldestKept, routing.newestPartition);
+            }
+
+            IsolatingBatchWriter.Outcome<ArchivedMeasurement> outcome = write(batchWriter, raw, retry);
+            boolean unavailable = outcome.unavailable();
+            total += outcome.written();
+            if (unavailable) {
+                retry.addAll(late);
+            } else {
+                outcome = write(chunkWriter, late, retry);
+                unavailable = outcome.unavailable();
+                total += outcome.written();
+            }
+
+            batch.clear();
+            if (unavailable) {
+                break;
+            }
+        }
+
+        requeue(retry);
+        return total;
+    }
+
+    private IsolatingBatchWriter.Outcome<ArchivedMeasurement> write(
+            IsolatingBatchWriter<ArchivedMeasurement> writer,
+            List<ArchivedMeasurement> rows,
+            List<ArchivedMeasurement> retry
+    ) {
+        if (rows.isEmpty()) {
+            return new IsolatingBatchWriter.Outcome<>(0, List.of(), List.of(), null, false);
+        }
+
+        IsolatingBatchWriter.Outcome<ArchivedMeasurement> outcome = writer.write(rows);
+        archived.increment(outcome.written());
+        retry.addAll(outcome.retry());
+
+        if (!outcome.rejected().isEmpty()) {
+            rejected.increment(outcome.rejected().size());
+            log.error("Discarding {} measurements rejected by the history table {} times: {}",
+                    outcome.rejected().size(), maxAttempts, outcome.failure().getMessage());
+        }
+        if (outcome.failure() != null && !outcome.retry().isEmpty()) {
+            log.error("Failed to archive {} measurements, retrying on the next flush: {}",
+                    outcome.retry().size(), outcome.failure().getMessage(), outcome.failure());
+        }
+        return outcome;
+    }
+
+    private void requeue(List<ArchivedMeasurement> measurements) {
+        List<ArchivedMeasurement> lost = new ArrayList<>();
+        for (ArchivedMeasurement measurement : measurements) {
+            if (!pending.offer(measurement)) {
+                lost.add(measurement);
+            }
+        }
+
+        if (!lost.isEmpty()) {
+            batchWriter.forget(lost);
+            chunkWriter.forget(lost);
+            dropped.increment(lost.size());
+            log.warn("Measurement history buffer full, dropped {} measurements waiting for retry", lost.size());
+        }
+    }
+
+    // Move os meses mais antigos que compact-after-months para chunks comprimidos (um por colmeia e dia) e apaga
+    // a partição na mesma transação, então cada mês está sempre em exatamente um dos dois formatos
+    @Override
+    public int compact() {
+        if (compactAfterMonths <= 0) {
+            return 0;
+        }
+
+        YearMonth boundary = YearMonth.now().minusMonths(compactAfterMonths);
+        List<YearMonth> months = measurementHistoryRepositoryPort.findPartitions().stream()
+                .filter(month -> month.isBefore(boundary))
+                .sorted()
+                .toList();
+
+        int total = 0;
+        for (YearMonth month : months) {
+            Integer rows = transactionTemplate.execute(status -> {
+                int monthRows = 0;
+                for (LocalDate day = month.atDay(1); !day.isAfter(month.atEndOfMonth()); day = day.plusDays(1)) {
+                    monthRows += compactDay(day);
+                }
+                measurementHistoryRepositoryPort.dropPartition(month);
+                return monthRows;
+            });
+
+            total += Objects.requireNonNullElse(rows, 0);
+            compacted.increment(Objects.requireNonNullElse(rows, 0));
+            log.info("Compacted measurement history partition {} into chunks ({} measurements)", month, rows);
+        }
+
+        return total;
+    }
+
+    @Override
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+
+        // Mês anterior cobre dispositivos com relógio levemente atrasado; os dois seguintes evitam criar no insert
+        measurementHistoryRepositoryPort.createPartitions(current.minusMonths(1), current.plusMonths(PARTITIONS_AHEAD));
+
+        List<YearMonth> dropped = measurementHistoryRepositoryPort
+                .dropPartitionsBefore(current.minusMonths(retentionMonths));
+
+        if (!dropped.isEmpty()) {
+            log.info("Dropped measurement history partitions beyond {} months retention: {}", retentionMonths, dropped);
+        }
+
+        int deletedChunks = measurementChunkRepositoryPort.deleteBefore(current.minusMonths(retentionMonths).atDay(1));
+        if (deletedChunks > 0) {
+            log.info("Deleted {} measurement chunks beyond {} months retention", deletedChunks, retentionMonths);
+        }
+    }
+
+    // Meses compactados estão só nos chunks e os demais só no histórico bruto, e os chunks são sempre os mais
+    // antigos: ler os chunks primeiro mantém a ordem por measuredAt
+    @Override
+    public List<Measurement> getHistory(UUID hiveId, LocalDateTime start, LocalDateTime end, int limit) {
+        List<Measurement> history = new ArrayList<>();
+        measurementChunkRepositoryPort.streamRange(hiveId, start, end, measurement -> {
+            history.add(measurement);
+            return history.size() < limit;
+        });
+
+        if (history.size() < limit) {
+            history.addAll(measurementHistoryRepositoryPort.findByHiveIdAndPeriod(
+                    hiveId, start, end, limit - history.size()));
+        }
+        return history;
+    }
+
+    @Override
+    public int streamHistory(MeasurementRangeQuery query, Consumer<Measurement> consumer) {
+        LocalDateTime after = query.getAfterMeasuredAt();
+        LocalDateTime chunkStart = after != null && after.isAfter(query.getFrom()) ? after : query.getFrom();
+        int[] count = {0};
+        boolean[] pastCursor = {after == null};
+
+        measurementChunkRepositoryPort.streamRange(query.getHiveId(), chunkStart, query.getTo(), measurement -> {
+            if (!pastCursor[0]) {
+                int comparison = measurement.getMeasuredAt().compareTo(after);
+                if (comparison < 0) {
+                    return true;
+                }
+                if (comparison == 0) {
+                    // No instante do cursor, pula até a própria medição do cursor (IDs dos chunks são determinísticos)
+                    pastCursor[0] = measurement.getId().equals(query.getAfterId());
+                    return true;
+                }
+                pastCursor[0] = true;
+            }
+
+            consumer.accept(measurement);
+            return ++count[0] < query.getLimit();
+        });
+
+        if (count[0] >= query.getLimit()) {
+            return count[0];
+        }
+
+        return count[0] + measurementHistoryRepositoryPort.streamRange(MeasurementRangeQuery.builder()
+                .hiveId(query.getHiveId())
+                .from(query.getFrom())
+                .to(query.getTo())
+                .afterMeasuredAt(after)
+                .afterId(query.getAfterId())
+                .limit(query.getLimit() - count[0])
+                .build(), consumer);
+    }
+
+    // Leituras atrasadas de meses já compactados entram no chunk do dia, mescladas com o que já está lá
+    private void mergeIntoChunks(List<ArchivedMeasurement> measurements) {
+        Map<UUID, Map<LocalDate, List<Measurement>>> chunks = new HashMap<>();
+        for (ArchivedMeasurement archived : measurements) {
+            Measurement measurement = archived.getMeasurement();
+            chunks.computeIfAbsent(archived.getHiveId(), hive -> new TreeMap<>())
+                    .computeIfAbsent(measurement.getMeasuredAt().toLocalDate(), day -> new ArrayList<>())
+                    .add(measurement);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> chunks.forEach((hiveId, days) -> days.forEach((day, chunk) -> {
+            chunk.sort(Comparator.comparing(Measurement::getMeasuredAt));
+            measurementChunkRepositoryPort.saveChunk(hiveId, day, chunk);
+        })));
+    }
+
+    private int compactDay(LocalDate day) {
+        List<Measurement> chunk = new ArrayList<>();
+        UUID[] chunkHive = new UUID[1];
+        int[] rows = {0};
+
+        measurementHistoryRepositoryPort.streamPeriod(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), archived -> {
+            if (!archived.getHiveId().equals(chunkHive[0])) {
+                saveChunk(chunkHive[0], day, chunk);
+                chunkHive[0] = archived.getHiveId();
+            }
+            chunk.add(archived.getMeasurement());
+            rows[0]++;
+        });
+        saveChunk(chunkHive[0], day, chunk);
+
+        return rows[0];
+    }
+
+    private void saveChunk(UUID hiveId, LocalDate day, List<Measurement> chunk) {
+        if (hiveId != null && !chunk.isEmpty()) {
+            measurementChunkRepositoryPort.saveChunk(hiveId, day, chunk);
+        }
+        chunk.clear();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        log.info("Flushed {} pending measurements to history on shutdown", flushed);
+    }
+
+    private enum Destination {
+        RAW,
+        CHUNK,
+        REJECT
+    }
+
+    // Janela de meses de um flush. Meses anteriores ao limite de compactação que ainda têm partição (o job
+    // ainda não passou por eles) continuam no bruto; a lista de partições só é lida quando aparece um desses.
+    private final class Routing {
+        private final YearMonth oldestKept;
+        private final YearMonth oldestRaw;
+        private final YearMonth newestPartition;
+        private Set<YearMonth> partitions;
+
+        Routing(YearMonth current) {
+            this.oldestKept = current.minusMonths(retentionMonths);
+            this.oldestRaw = compactAfterMonths > 0 ? current.minusMonths(compactAfterMonths) : oldestKept;
+            this.newestPartition = current.plusMonths(PARTITIONS_AHEAD);
+        }
+
+        Destination route(YearMonth month) {
+            if (month.isBefore(oldestKept) || month.isAfter(newestPartition)) {
+                return Destination.REJECT;
+            }
+            if (!month.isBefore(oldestRaw)) {
+                return Destination.RAW;
+            }
+
+            if (partitions == null) {
+                partitions = new HashSet<>(measurementHistoryRepositoryPort.findPartitions());
+            }
+            return partitions.contains(month) ? Destination.RAW : Destination.CHUNK;
+        }
+    }
+}
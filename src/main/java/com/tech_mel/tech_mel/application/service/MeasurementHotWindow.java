@@ -0,0 +1,240 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Janela quente em memória com as leituras mais recentes de cada colmeia, preenchida pela ingestão.
+// Cada colmeia tem um anel de tamanho fixo em estrutura de arrays (long[] de instantes e um double[] por
+// métrica), então a memória fica limitada a max-hives × capacity leituras e as consultas não alocam nada
+// por leitura. Colmeias sem leituras há mais de idle-ttl saem da janela; com o limite de colmeias atingido,
+// a mais ociosa dá lugar à nova. Cada instância só enxerga as leituras que ela própria recebeu.
+@Component
+public class MeasurementHotWindow {
+    private final Map<UUID, HiveWindow> windows = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final int maxHives;
+    private final long idleTtlMillis;
+
+    private final Counter evictions;
+
+    public MeasurementHotWindow(
+            MeterRegistry meterRegistry,
+            @Value("${app.hot-window.capacity:512}") int capacity,
+            @Value("${app.hot-window.max-hives:10000}") int maxHives,
+            @Value("${app.hot-window.idle-ttl:PT2H}") Duration idleTtl
+    ) {
+        this.capacity = capacity;
+        this.maxHives = maxHives;
+        this.idleTtlMillis = idleTtl.toMillis();
+
+        this.evictions = Counter.builder("measurement.hot-window.evictions")
+                .description("Colmeias removidas da janela quente por ociosidade ou limite")
+                .register(meterRegistry);
+        Gauge.builder("measurement.hot-window.hives", windows, Map::size)
+                .description("Colmeias com leituras na janela quente")
+                .register(meterRegistry);
+    }
+
+    // Visitante das leituras por intervalo: recebe primitivos, então visitar não aloca
+    @FunctionalInterface
+    public interface ReadingVisitor {
+        void visit(long timestampMillis, double temperature, double humidity, double co2);
+    }
+
+    public void record(UUID hiveId, MeasurementReadings readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+
+        HiveWindow window = windows.get(hiveId);
+        if (window == null) {
+            if (windows.size() >= maxHives) {
+                evictIdlest();
+            }
+            window = windows.computeIfAbsent(hiveId, id -> new HiveWindow(capacity));
+        }
+
+        window.append(readings, System.currentTimeMillis());
+    }
+
+    public boolean contains(UUID hiveId) {
+        return windows.containsKey(hiveId);
+    }
+
+    // Visita as leituras em [from, to] na ordem de chegada e devolve quantas foram visitadas
+    public int forEach(UUID hiveId, long fromMillis, long toMillis, ReadingVisitor visitor) {
+        HiveWindow window = windows.get(hiveId);
+        return window == null ? 0 : window.forEach(fromMillis, toMillis, visitor);
+    }
+
+    public int count(UUID hiveId, long fromMillis, long toMillis) {
+        HiveWindow window = windows.get(hiveId);
+        return window == null ? 0 : window.count(fromMillis, toMillis);
+    }
+
+    // Média da métrica (ThresholdEvaluator.TEMPERATURE, HUMIDITY ou CO2) em [from, to]; NaN sem leituras
+    public double average(UUID hiveId, int metric, long fromMillis, long toMillis) {
+        HiveWindow window = windows.get(hiveId);
+        return window == null ? Double.NaN : window.average(metric, fromMillis, toMillis);
+    }
+
+    // Inclinação por mínimos quadrados da métrica em [from, to], em unidades por minuto; NaN com menos de
+    // duas leituras ou todas no mesmo instante
+    public double ratePerMinute(UUID hiveId, int metric, long fromMillis, long toMillis) {
+        HiveWindow window = windows.get(hiveId);
+        return window == null ? Double.NaN : window.ratePerMinute(metric, fromMillis, toMillis);
+    }
+
+    public void evict(UUID hiveId) {
+        if (windows.remove(hiveId) != null) {
+            evictions.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.hot-window.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTtlMillis;
+        windows.entrySet().removeIf(entry -> {
+            boolean idle = entry.getValue().lastWriteMillis < cutoff;
+            if (idle) {
+                evictions.increment();
+            }
+            return idle;
+        });
+    }
+
+    private void evictIdlest() {
+        UUID idlest = null;
+        long oldestWrite = Long.MAX_VALUE;
+
+        for (Map.Entry<UUID, HiveWindow> entry : windows.entrySet()) {
+            long lastWrite = entry.getValue().lastWriteMillis;
+            if (lastWrite < oldestWrite) {
+                oldestWrite = lastWrite;
+                idlest = entry.getKey();
+            }
+        }
+
+        if (idlest != null) {
+            evict(idlest);
+        }
+    }
+
+    // Anel de uma colmeia: a posição i das quatro arrays é a mesma leitura. Valores NaN são ignorados nas
+    // médias e taxas.
+    static final class HiveWindow {
+        private final long[] timestamps;
+        private final double[][] values;
+        private int next;
+        private int size;
+        private volatile long lastWriteMillis;
+
+        HiveWindow(int capacity) {
+            this.timestamps = new long[capacity];
+            this.values = new double[ThresholdEvaluator.METRICS][capacity];
+        }
+
+        synchronized void append(MeasurementReadings readings, long now) {
+            for (int i = 0; i < readings.size(); i++) {
+                timestamps[next] = readings.measuredAt(i);
+                values[ThresholdEvaluator.TEMPERATURE][next] = readings.temperature(i);
+                values[ThresholdEvaluator.HUMIDITY][next] = readings.humidity(i);
+                values[ThresholdEvaluator.CO2][next] = readings.co2(i);
+
+                next = next + 1 == timestamps.length ? 0 : next + 1;
+                if (size < timestamps.length) {
+                    size++;
+                }
+            }
+            lastWriteMillis = now;
+        }
+
+        synchronized int forEach(long fromMillis, long toMillis, ReadingVisitor visitor) {
+            int visited = 0;
+            for (int i = 0, slot = oldest(); i < size; i++, slot = advance(slot)) {
+                long timestamp = timestamps[slot];
+                if (timestamp >= fromMillis && timestamp <= toMillis) {
+                    visitor.visit(timestamp,
+                            values[ThresholdEvaluator.TEMPERATURE][slot],
+                            values[ThresholdEvaluator.HUMIDITY][slot],
+                            values[ThresholdEvaluator.CO2][slot]);
+                    visited++;
+                }
+            }
+            return visited;
+        }
+
+        synchronized int count(long fromMillis, long toMillis) {
+            int count = 0;
+            for (int slot = 0; slot < size; slot++) {
+                if (timestamps[slot] >= fromMillis && timestamps[slot] <= toMillis) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        synchronized double average(int metric, long fromMillis, long toMillis) {
+            double[] metricValues = values[metric];
+            double sum = 0;
+            int count = 0;
+
+            for (int slot = 0; slot < size; slot++) {
+                double value = metricValues[slot];
+                if (timestamps[slot] >= fromMillis && timestamps[slot] <= toMillis && !Double.isNaN(value)) {
+                    sum += value;
+                    count++;
+                }
+            }
+
+            return count == 0 ? Double.NaN : sum / count;
+        }
+
+        // x em minutos desde fromMillis, para não perder precisão com instantes em milissegundos de época
+        synchronized double ratePerMinute(int metric, long fromMillis, long toMillis) {
+            double[] metricValues = values[metric];
+            double sumX = 0;
+            double sumY = 0;
+            double sumXY = 0;
+            double sumXX = 0;
+            int count = 0;
+
+            for (int slot = 0; slot < size; slot++) {
+                double value = metricValues[slot];
+                long timestamp = timestamps[slot];
+                if (timestamp >= fromMillis && timestamp <= toMillis && !Double.isNaN(value)) {
+                    double x = (timestamp - fromMillis) / 60_000.0;
+                    sumX += x;
+                    sumY += value;
+                    sumXY += x * value;
+                    sumXX += x * x;
+                    count++;
+                }
+            }
+
+            double denominator = count * sumXX - sumX * sumX;
+            if (count < 2 || denominator <= 1e-12 * count * sumXX) {
+                return Double.NaN;
+            }
+            return (count * sumXY - sumX * sumY) / denominator;
+        }
+
+        private int oldest() {
+            return size < timestamps.length ? 0 : next;
+        }
+
+        private int advance(int slot) {
+            return slot + 1 == timestamps.length ? 0 : slot + 1;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.application.exception.TooManyRequestsException;
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.input.AlertUseCase;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementHistoryUseCase;
+import com.tech_mel.tech_mel.domain.port.output.DailyMeasurementAggregatePort;
+import com.tech_mel.tech_mel.domain.port.output.LiveEventPublisherPort;
+import com.tech_mel.tech_mel.domain.port.output.RedisIotPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Ingestão em estágios sobre um anel pré-alocado, no estilo do disruptor. A thread da requisição só reserva
+// uma posição, preenche e publica; cada estágio (armazenamento, alertas, agregação e eventos ao vivo) tem
+// thread e sequência próprias, consome em lote tudo o que já foi publicado e agrupa por colmeia. Uma posição
+// só é reaproveitada depois que todos os estágios passaram por ela, então um estágio lento segura os
+// produtores em vez de perder medições; com o anel cheio por mais de enqueue-timeout a requisição recebe 429.
+// Medições aceitas ficam só em memória até o estágio de armazenamento gravá-las; no desligamento o pipeline
+// para de aceitar e espera os estágios esvaziarem o anel.
+// As leituras são copiadas para arrays da própria posição (lotes pequenos) e o armazenamento no Redis, os
+// agregados, os alertas e a janela quente trabalham direto nos primitivos; histórico e eventos ao vivo ainda
+// recebem Measurement. Quem precisa confirmar a gravação passa um future, completado pelo estágio de
+// armazenamento com a sequência do evento.
+// Quem não espera a gravação (flush-async) já recebeu 202: se o armazenamento falha, as leituras do evento
+// ficam numa fila de reprocessamento (dead-letter-capacity eventos) regravada a cada dead-letter-retry-interval,
+// e as chaves de deduplicação são liberadas para o reenvio do dispositivo passar. Com a fila cheia ou no
+// desligamento essas leituras se perdem. Uma falha qualquer do estágio (inclusive Error) só marca o lote como
+// falho: a thread do estágio não pode morrer, senão o anel para de andar e toda ingestão recebe 429.
+// Com app.iot.storage=stream histórico, alertas e agregados diários ficam com os consumer groups do log global
+// (MeasurementStreamProcessor) e o pipeline só grava no Redis, mantém a janela quente e publica ao vivo.
+@Component
+@Slf4j
+public class MeasurementIngestPipeline {
+    // Lotes maiores ganham arrays próprios em vez de fazer crescer os da posição, que vivem para sempre
+    private static final int SLOT_READINGS_CAPACITY = 16;
+
+    private final RedisIotPort redisIotPort;
+    private final MeasurementHistoryUseCase measurementHistoryUseCase;
+    private final AlertUseCase alertUseCase;
+    private final ThresholdEvaluatorCache thresholdEvaluatorCache;
+    private final DailyMeasurementAggregatePort dailyMeasurementAggregatePort;
+    private final MeasurementHotWindow measurementHotWindow;
+    private final LiveEventPublisherPort liveEventPublisherPort;
+    private final MeasurementDeduplicator measurementDeduplicator;
+
+    private final IngestEvent[] ring;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Stage> stages;
+    private final BlockingQueue<HiveBatch> deadLetters;
+
+    private final boolean streamProcessing;
+    private final int batchSize;
+    private final long enqueueTimeoutNanos;
+    private final long drainTimeoutMillis;
+    private final long idleWaitNanos;
+
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    private final Counter rejected;
+    private final Counter deadLettered;
+    private final Counter deadLettersDropped;
+
+    public MeasurementIngestPipeline(
+            RedisIotPort redisIotPort,
+            MeasurementHistoryUseCase measurementHistoryUseCase,
+            AlertUseCase alertUseCase,
+            ThresholdEvaluatorCache thresholdEvaluatorCache,
+            DailyMeasurementAggregatePort dailyMeasurementAggregatePort,
+            MeasurementHotWindow measurementHotWindow,
+            LiveEventPublisherPort liveEventPublisherPort,
+            MeasurementDeduplicator measurementDeduplicator,
+            MeterRegistry meterRegistry,
+            @Value("${app.iot.storage:list}") String storage,
+            @Value("${app.ingest.pipeline.buffer-size:8192}") int bufferSize,
+            @Value("${app.ingest.pipeline.batch-size:256}") int batchSize,
+            @Value("${app.ingest.pipeline.enqueue-timeout:PT0.1S}") Duration enqueueTimeout,
+            @Value("${app.ingest.pipeline.drain-timeout:PT30S}") Duration drainTimeout,
+            @Value("${app.ingest.pipeline.idle-wait:PT0.001S}") Duration idleWait,
+            @Value("${app.ingest.pipeline.dead-letter-capacity:1024}") int deadLetterCapacity
+    ) {
+        if (Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("app.ingest.pipeline.buffer-size must be a power of two");
+        }
+
+        this.redisIotPort = redisIotPort;
+        this.measurementHistoryUseCase = measurementHistoryUseCase;
+        this.alertUseCase = alertUseCase;
+        this.thresholdEvaluatorCache = thresholdEvaluatorCache;
+        this.dailyMeasurementAggregatePort = dailyMeasurementAggregatePort;
+        this.measurementHotWindow = measurementHotWindow;
+        this.liveEventPublisherPort = liveEventPublisherPort;
+        this.measurementDeduplicator = measurementDeduplicator;
+
+        this.ring = new IngestEvent[bufferSize];
+        this.published = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new IngestEvent();
+            published.set(i, -1);
+        }
+        this.mask = bufferSize - 1;
+
+        this.streamProcessing = "stream".equals(storage);
+        this.batchSize = batchSize;
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.drainTimeoutMillis = drainTimeout.toMillis();
+        this.idleWaitNanos = idleWait.toNanos();
+
+        List<Stage> stages = new ArrayList<>();
+        stages.add(new Stage("storage", this::store, true, meterRegistry));
+        if (!streamProcessing) {
+            stages.add(new Stage("alerts", this::evaluateAlerts, false, meterRegistry));
+        }
+        stages.add(new Stage("aggregation", this::aggregate, false, meterRegistry));
+        stages.add(new Stage("live", this::publishLive, false, meterRegistry));
+        this.stages = List.copyOf(stages);
+        this.deadLetters = new ArrayBlockingQueue<>(Math.max(deadLetterCapacity, 1));
+
+        this.rejected = Counter.builder("ingest.pipeline.rejected")
+                .description("Requisições recusadas com o anel de ingestão cheio")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("ingest.pipeline.dead.letters")
+                .description("Medições já confirmadas que falharam ao gravar e aguardam nova tentativa")
+                .register(meterRegistry);
+        this.deadLettersDropped = Counter.builder("ingest.pipeline.dead.letters.dropped")
+                .description("Medições já confirmadas perdidas com a fila de reprocessamento cheia")
+                .register(meterRegistry);
+        Gauge.builder("ingest.pipeline.dead.letters.pending", deadLetters, BlockingQueue::size)
+                .description("Eventos aguardando nova tentativa de gravação")
+                .register(meterRegistry);
+        Gauge.builder("ingest.pipeline.pending", this, pipeline -> pipeline.claimed.get() - pipeline.minimumSequence())
+                .description("Eventos no anel ainda não processados por todos os estágios")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        stages.forEach(stage -> stage.thread.start());
+        log.info("Ingest pipeline started with {} slots and {} stages", ring.length, stages.size());
+    }
+
+    // Copia as leituras (o chamador pode reaproveitar o lote) e devolve o número de sequência da ingestão
+    // nesta instância
+    public long enqueue(HiveDescriptor hive, String apiKey, MeasurementReadings readings) {
+        return enqueue(hive, apiKey, readings, null);
+    }
+
+    public long enqueue(
+            HiveDescriptor hive,
+            String apiKey,
+            MeasurementReadings readings,
+            CompletableFuture<Long> stored
+    ) {
+        if (!accepting) {
+            throw new TooManyRequestsException("Ingestion is shutting down, try again later.");
+        }
+
+        long sequence = claim();
+        int slot = (int) sequence & mask;
+
+        IngestEvent event = ring[slot];
+        event.hive = hive;
+        event.apiKey = apiKey;
+        event.readings = readings.size() <= SLOT_READINGS_CAPACITY
+                ? event.slotReadings
+                : new MeasurementReadings(readings.size());
+        event.readings.clear();
+        event.readings.addAll(readings);
+        event.stored = stored;
+        event.enqueuedAt = System.nanoTime();
+
+        // Escrita volátil: os estágios que enxergam a sequência publicada enxergam os campos acima
+        published.set(slot, sequence);
+        return sequence;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        accepting = false;
+
+        long deadline = System.currentTimeMillis() + drainTimeoutMillis;
+        while (minimumSequence() < claimed.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        running = false;
+        for (Stage stage : stages) {
+            stage.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        long pending = claimed.get() - minimumSequence();
+        if (pending > 0) {
+            log.warn("Ingest pipeline stopped with {} events not processed by every stage", pending);
+        } else {
+            log.info("Ingest pipeline drained");
+        }
+
+        retryDeadLetters();
+        if (!deadLetters.isEmpty()) {
+            log.error("Ingest pipeline stopped with {} acknowledged events that could not be stored",
+                    deadLetters.size());
+        }
+    }
+
+    // Regrava na ordem em que falharam e para na primeira falha: o Redis provavelmente continua fora
+    @Scheduled(fixedDelayString = "${app.ingest.pipeline.dead-letter-retry-interval:PT5S}")
+    public synchronized void retryDeadLetters() {
+        HiveBatch batch;
+        while ((batch = deadLetters.peek()) != null) {
+            try {
+                store(batch);
+            } catch (RuntimeException e) {
+                log.warn("Retry of {} dead-lettered events failed: {}", deadLetters.size(), e.getMessage());
+                return;
+            }
+            deadLetters.remove();
+            log.info("Stored {} dead-lettered measurements of hive {}", batch.readings().size(), batch.hive().getId());
+        }
+    }
+
+    // Uma posição está livre quando todos os estágios já passaram pela volta anterior dela
+    private long claim() {
+        long deadline = System.nanoTime() + enqueueTimeoutNanos;
+
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+
+            if (next - ring.length > minimumSequence()) {
+                if (System.nanoTime() - deadline > 0) {
+                    rejected.increment();
+                    throw new TooManyRequestsException("Ingestion pipeline is full, try again later.");
+                }
+                LockSupport.parkNanos(idleWaitNanos);
+                continue;
+            }
+
+            if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long minimumSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Stage stage : stages) {
+            minimum = Math.min(minimum, stage.sequence.get());
+        }
+        return minimum;
+    }
+
+    // Maior sequência publicada sem lacunas a partir de next, limitada ao tamanho do lote
+    private long highestPublished(long next) {
+        long limit = Math.min(claimed.get(), next + batchSize - 1);
+        long sequence = next;
+        while (sequence <= limit && published.get((int) sequence & mask) == sequence) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    // Evento já confirmado cuja gravação falhou: copia as leituras (a posição vai ser reaproveitada) e libera
+    // as chaves de deduplicação; duplicar com o reenvio do dispositivo é melhor que perder a medição
+    private void deadLetter(IngestEvent event) {
+        MeasurementReadings readings = new MeasurementReadings(event.readings.size());
+        readings.addAll(event.readings);
+        measurementDeduplicator.release(event.hive.getId(), readings);
+
+        if (deadLetters.offer(new HiveBatch(event.hive, event.apiKey, readings))) {
+            deadLettered.increment(readings.size());
+        } else {
+            deadLettersDropped.increment(readings.size());
+            log.error("Dead letter queue full, lost {} acknowledged measurements of hive {}",
+                    readings.size(), event.hive.getId());
+        }
+    }
+
+    private void store(HiveBatch batch) {
+        redisIotPort.saveReadings(batch.apiKey(), batch.readings());
+        if (!streamProcessing) {
+            measurementHistoryUseCase.archive(batch.hive().getId(), batch.readings().toMeasurements());
+        }
+    }
+
+    // Colmeias sem threshold configurado não geram alertas
+    private void evaluateAlerts(HiveBatch batch) {
+        if (thresholdEvaluatorCache.get(batch.hive().getId()).isPresent()) {
+            alertUseCase.saveAlerts(batch.readings(), batch.hive().toHive());
+        }
+    }
+
+    private void aggregate(HiveBatch batch) {
+        if (!streamProcessing) {
+            dailyMeasurementAggregatePort.record(batch.hive().getId(), batch.readings());
+        }
+        measurementHotWindow.record(batch.hive().getId(), batch.readings());
+    }
+
+    private void publishLive(HiveBatch batch) {
+        liveEventPublisherPort.publishMeasurements(batch.hive().getId(), batch.readings().toMeasurements());
+    }
+
+    // Posição do anel; reaproveitada a cada volta, nunca realocada
+    private static final class IngestEvent {
+        private final MeasurementReadings slotReadings = new MeasurementReadings(SLOT_READINGS_CAPACITY);
+        private HiveDescriptor hive;
+        private String apiKey;
+        private MeasurementReadings readings;
+        private CompletableFuture<Long> stored;
+        private long enqueuedAt;
+    }
+
+    // Leituras de uma colmeia dentro de um lote do estágio, na ordem de chegada
+    private record HiveBatch(HiveDescriptor hive, String apiKey, MeasurementReadings readings) {
+    }
+
+    // Estágio que confirma (armazenamento) completa os futures dos eventos e manda ao reprocessamento os eventos
+    // já confirmados de colmeias que falharam
+    private final class Stage {
+        private final String name;
+        private final Consumer<HiveBatch> handler;
+        private final boolean acknowledges;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+
+        private final Timer latency;
+        private final Counter failures;
+
+        Stage(String name, Consumer<HiveBatch> handler, boolean acknowledges, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.handler = handler;
+            this.acknowledges = acknowledges;
+            this.thread = new Thread(this::run, "ingest-" + name);
+            this.thread.setDaemon(true);
+
+            this.latency = Timer.builder("ingest.pipeline.stage.latency")
+                    .description("Tempo entre a publicação no anel e o processamento pelo estágio")
+                    .tag("stage", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.failures = Counter.builder("ingest.pipeline.stage.failures")
+                    .description("Medições que o estágio não conseguiu processar")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            Gauge.builder("ingest.pipeline.stage.lag", this, stage -> claimed.get() - stage.sequence.get())
+                    .description("Eventos publicados que o estágio ainda não processou")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+
+            while (true) {
+                long available = highestPublished(next);
+                if (available < next) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.parkNanos(idleWaitNanos);
+                    continue;
+                }
+
+                Set<UUID> failedHives = null;
+                for (HiveBatch batch : groupByHive(next, available)) {
+                    try {
+                        handler.accept(batch);
+                    } catch (Throwable e) {
+                        failures.increment(batch.readings().size());
+                        log.error("Ingest stage {} failed for {} measurements of hive {}: {}",
+                                name, batch.readings().size(), batch.hive().getId(), e.getMessage(), e);
+                        if (failedHives == null) {
+                            failedHives = new HashSet<>();
+                        }
+                        failedHives.add(batch.hive().getId());
+                    }
+                }
+
+                if (acknowledges) {
+                    acknowledge(next, available, failedHives);
+                }
+
+                long now = System.nanoTime();
+                for (long s = next; s <= available; s++) {
+                    latency.record(now - ring[(int) s & mask].enqueuedAt, TimeUnit.NANOSECONDS);
+                }
+
+                // Libera as posições para os produtores
+                sequence.set(available);
+                next = available + 1;
+            }
+        }
+
+        private void acknowledge(long from, long to, Set<UUID> failedHives) {
+            for (long s = from; s <= to; s++) {
+                IngestEvent event = ring[(int) s & mask];
+                boolean failed = failedHives != null && failedHives.contains(event.hive.getId());
+                if (event.stored == null) {
+                    if (failed) {
+                        deadLetter(event);
+                    }
+                    continue;
+                }
+                if (failed) {
+                    event.stored.completeExceptionally(new IllegalStateException(
+                            "Ingest stage " + name + " failed for hive " + event.hive.getId()));
+                } else {
+                    event.stored.complete(s);
+                }
+            }
+        }
+
+        private List<HiveBatch> groupByHive(long from, long to) {
+            Map<UUID, HiveBatch> batches = new LinkedHashMap<>();
+            for (long s = from; s <= to; s++) {
+                IngestEvent event = ring[(int) s & mask];
+                HiveBatch batch = batches.get(event.hive.getId());
+                if (batch == null) {
+                    batch = new HiveBatch(event.hive, event.apiKey, new MeasurementReadings(event.readings.size()));
+                    batches.put(event.hive.getId(), batch);
+                }
+                batch.readings().addAll(event.readings);
+            }
+            return new ArrayList<>(batches.values());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementResolution;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementRollupUseCase;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementRollupRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Slf4j
+public class MeasurementRollupService implements MeasurementRollupUseCase {
+    private final MeasurementRollupRepositoryPort measurementRollupRepositoryPort;
+    private final Duration hourlyLookback;
+    private final int rawRetentionMonths;
+
+    // Duração zero mantém a resolução para sempre
+    private final Map<MeasurementResolution, Duration> retention = new EnumMap<>(MeasurementResolution.class);
+
+    public MeasurementRollupService(
+            MeasurementRollupRepositoryPort measurementRollupRepositoryPort,
+            @Value("${app.rollups.hourly-lookback:PT3H}") Duration hourlyLookback,
+            @Value("${app.measurement-history.retention-months:12}") int rawRetentionMonths,
+            @Value("${app.rollups.retention.hourly:P90D}") Duration hourlyRetention,
+            @Value("${app.rollups.retention.daily:PT0S}") Duration dailyRetention,
+            @Value("${app.rollups.retention.weekly:P3650D}") Duration weeklyRetention,
+            @Value("${app.rollups.retention.monthly:PT0S}") Duration monthlyRetention
+    ) {
+        this.measurementRollupRepositoryPort = measurementRollupRepositoryPort;
+        this.hourlyLookback = hourlyLookback;
+        this.rawRetentionMonths = rawRetentionMonths;
+        this.retention.put(MeasurementResolution.HOURLY, hourlyRetention);
+        this.retention.put(MeasurementResolution.DAILY, dailyRetention);
+        this.retention.put(MeasurementResolution.WEEKLY, weeklyRetention);
+        this.retention.put(MeasurementResolution.MONTHLY, monthlyRetention);
+    }
+
+    // Recalcula as últimas horas inteiras: o histórico bruto chega com atraso do buffer e de dispositivos
+    // que reenviam lotes, e o upsert torna o recálculo idempotente
+    @Override
+    public void refreshHourly() {
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime from = to.minus(hourlyLookback).truncatedTo(ChronoUnit.HOURS);
+
+        int buckets = measurementRollupRepositoryPort.rollupHourly(from, to);
+        log.debug("Refreshed {} hourly rollups between {} and {}", buckets, from, to);
+    }
+
+    // Semana e mês anteriores são recalculados porque a média diária de ontem só existe depois da virada do dia
+    @Override
+    public void refreshWeeklyAndMonthly() {
+        LocalDate today = LocalDate.now();
+        LocalDate tomorrow = today.plusDays(1);
+
+        LocalDate weekFrom = today.minusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int weeks = measurementRollupRepositoryPort.rollupWeekly(weekFrom, tomorrow);
+
+        LocalDate monthFrom = today.minusMonths(1).withDayOfMonth(1);
+        int months = measurementRollupRepositoryPort.rollupMonthly(monthFrom, tomorrow);
+
+        log.info("Refreshed {} weekly rollups since {} and {} monthly rollups since {}", weeks, weekFrom, months, monthFrom);
+    }
+
+    @Override
+    public void applyRetention() {
+        for (Map.Entry<MeasurementResolution, Duration> entry : retention.entrySet()) {
+            Optional<LocalDateTime> cutoff = retainedSince(entry.getKey());
+            if (cutoff.isEmpty()) {
+                continue;
+            }
+
+            int deleted = measurementRollupRepositoryPort.deleteBefore(entry.getKey(), cutoff.get());
+            if (deleted > 0) {
+                log.info("Deleted {} {} rollups older than {}", deleted, entry.getKey(), cutoff.get());
+            }
+        }
+    }
+
+    @Override
+    public Optional<LocalDateTime> retainedSince(MeasurementResolution resolution) {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+
+        // O histórico bruto é apagado por partição mensal em MeasurementHistoryService.maintainPartitions
+        if (resolution == MeasurementResolution.RAW) {
+            return Optional.of(today.withDayOfMonth(1).minusMonths(rawRetentionMonths));
+        }
+
+        Duration duration = retention.get(resolution);
+        if (duration.isZero() || duration.isNegative()) {
+            return Optional.empty();
+        }
+        return Optional.of(today.minus(duration));
+    }
+}
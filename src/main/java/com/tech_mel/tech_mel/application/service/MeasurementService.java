@@ -1,61 +1,91 @@
 package com.tech_mel.tech_mel.application.service;
 
+import com.tech_mel.tech_mel.application.exception.BadRequestException;
 import com.tech_mel.tech_mel.application.exception.ConflictException;
 import com.tech_mel.tech_mel.application.exception.NotFoundException;
 import com.tech_mel.tech_mel.domain.model.DailyMeasurementAverage;
 import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
 import com.tech_mel.tech_mel.domain.model.Measurement;
-import com.tech_mel.tech_mel.domain.port.input.AlertUseCase;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.model.MeasurementRangeQuery;
+import com.tech_mel.tech_mel.domain.model.MeasurementResolution;
+import com.tech_mel.tech_mel.domain.model.MeasurementRollup;
+import com.tech_mel.tech_mel.domain.model.MeasurementSeries;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementHistoryUseCase;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementRollupUseCase;
 import com.tech_mel.tech_mel.domain.port.input.MeasurementUseCase;
 import com.tech_mel.tech_mel.domain.port.output.DailyMeasurementAverageRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.HiveLookupCachePort;
 import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementRollupRepositoryPort;
 import com.tech_mel.tech_mel.domain.port.output.RedisIotPort;
-import com.tech_mel.tech_mel.infrastructure.api.dto.request.measurement.CreateMeasurementRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MeasurementService implements MeasurementUseCase {
     private final HiveRepositoryPort hiveRepositoryPort;
+    private final HiveLookupCachePort hiveLookupCachePort;
     private final DailyMeasurementAverageRepositoryPort dailyMeasurementAverageRepositoryPort;
-    private final AlertUseCase alertUseCase;
+    private final MeasurementHistoryUseCase measurementHistoryUseCase;
+    private final MeasurementRollupUseCase measurementRollupUseCase;
+    private final MeasurementRollupRepositoryPort measurementRollupRepositoryPort;
     private final RedisIotPort redisIotPort;
+    private final MeasurementCoalescer measurementCoalescer;
+    private final MeasurementDeduplicator measurementDeduplicator;
 
-    @Override
-    public Measurement registerMeasurement(String apiKey, CreateMeasurementRequest request) {
-        Hive hive = hiveRepositoryPort.findByApiKey(apiKey)
-                .orElseThrow(() -> new NotFoundException("Hive not found for API key: " + apiKey));
+    @Value("${app.measurements.series.max-points:2000}")
+    private int maxSeriesPoints;
 
-        if (hive.getHiveStatus() == Hive.HiveStatus.INACTIVE) {
-            log.warn("Attempt to register measurement for inactive hive: {}", hive.getId());
-            throw new ConflictException("Cannot register measurement for an inactive hive.");
-        }
+    @Value("${app.measurements.series.max-raw-points:10000}")
+    private int maxRawSeriesPoints;
 
-        log.info("Registering measurement for hive: {}", hive.getId());
+    @Value("${app.measurements.range.max-limit:1000000}")
+    private int maxRangeLimit;
 
-        Measurement measurement = Measurement.builder()
-                .id(UUID.randomUUID())
-                .temperature(request.temperature())
-                .humidity(request.humidity())
-                .co2(request.co2())
-                .measuredAt(request.measuredAt())
-                .build();
+    @Override
+    public Long registerReadings(String apiKey, MeasurementReadings readings) {
+        HiveDescriptor hive = resolveActiveHive(apiKey);
+
+        if (readings.isEmpty()) {
+            return null;
+        }
 
-        redisIotPort.saveMeasurement(apiKey, measurement);
+        int duplicates = measurementDeduplicator.removeDuplicates(hive.getId(), readings);
+        if (duplicates > 0) {
+            log.info("Ignoring {} duplicate measurements for hive: {}", duplicates, hive.getId());
+        }
+        if (readings.isEmpty()) {
+            return null;
+        }
 
-        alertUseCase.saveAlert(measurement, hive, request.measuredAt());
+        log.info("Registering {} measurements for hive: {}", readings.size(), hive.getId());
 
-        return measurement;
+        try {
+            return measurementCoalescer.submit(hive, apiKey, readings);
+        } catch (RuntimeException e) {
+            measurementDeduplicator.release(hive.getId(), readings);
+            throw e;
+        }
     }
 
     @Override
@@ -75,7 +105,7 @@ public class MeasurementService implements MeasurementUseCase {
     }
 
     @Override
-    public Map<String, Measurement> getLatestMeasurementsGroupedByHive(UUID userId) {
+    public Map<Hive, Measurement> getLatestMeasurementsGroupedByHive(UUID userId) {
         List<Hive> hives = hiveRepositoryPort.findByOwnerId(userId, Pageable.unpaged())
                 .getContent();
 
@@ -94,7 +124,16 @@ public class MeasurementService implements MeasurementUseCase {
             throw new NotFoundException("No API keys found for the given user.");
         }
 
-        return redisIotPort.getLatestMeasurementsForMultipleHives(apiKeys);
+        Map<String, Measurement> latestByApiKey = redisIotPort.getLatestMeasurementsForMultipleHives(apiKeys);
+
+        Map<Hive, Measurement> latestByHive = new LinkedHashMap<>();
+        for (Hive hive : hives) {
+            Measurement latest = hive.getApiKey() != null ? latestByApiKey.get(hive.getApiKey()) : null;
+            if (latest != null) {
+                latestByHive.put(hive, latest);
+            }
+        }
+        return latestByHive;
     }
 
     @Override
@@ -121,4 +160,170 @@ public class MeasurementService implements MeasurementUseCase {
 
         return dailyAverages;
     }
+
+    @Override
+    public MeasurementSeries getMeasurementSeries(
+            UUID userId,
+            UUID hiveId,
+            LocalDateTime start,
+            LocalDateTime end,
+            int points
+    ) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new BadRequestException("Start must be before end.");
+        }
+
+        if (points < 1 || points > maxSeriesPoints) {
+            throw new BadRequestException("Points must be between 1 and " + maxSeriesPoints + ".");
+        }
+
+        Hive hive = hiveRepositoryPort.findById(hiveId)
+                .filter(h -> h.getOwner().getId().equals(userId))
+                .orElseThrow(() -> new NotFoundException("Hive not found"));
+
+        MeasurementResolution resolution = selectResolution(start, end, points);
+
+        List<MeasurementRollup> series;
+        if (resolution == MeasurementResolution.RAW) {
+            series = measurementHistoryUseCase.getHistory(hive.getId(), start, end, maxRawSeriesPoints).stream()
+                    .map(MeasurementService::toRollup)
+                    .toList();
+        } else {
+            series = measurementRollupRepositoryPort.findByHiveIdAndPeriod(hive.getId(), resolution, start, end);
+        }
+
+        return MeasurementSeries.builder()
+                .resolution(resolution)
+                .points(series)
+                .build();
+    }
+
+    @Override
+    public MeasurementRangeQuery prepareMeasurementRange(
+            UUID userId,
+            UUID hiveId,
+            LocalDateTime from,
+            LocalDateTime to,
+            String cursor,
+            int limit
+    ) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("From must be before to.");
+        }
+
+        if (limit < 1 || limit > maxRangeLimit) {
+            throw new BadRequestException("Limit must be between 1 and " + maxRangeLimit + ".");
+        }
+
+        Hive hive = hiveRepositoryPort.findById(hiveId)
+                .filter(h -> h.getOwner().getId().equals(userId))
+                .orElseThrow(() -> new NotFoundException("Hive not found"));
+
+        MeasurementRangeQuery.MeasurementRangeQueryBuilder query = MeasurementRangeQuery.builder()
+                .hiveId(hive.getId())
+                .from(from)
+                .to(to)
+                .limit(limit);
+
+        if (cursor != null && !cursor.isBlank()) {
+            ByteBuffer position = decodeCursor(cursor);
+            query.afterMeasuredAt(LocalDateTime.ofEpochSecond(position.getLong(), position.getInt(), ZoneOffset.UTC))
+                    .afterId(new UUID(position.getLong(), position.getLong()));
+        }
+
+        return query.build();
+    }
+
+    @Override
+    public String streamMeasurements(MeasurementRangeQuery query, Consumer<Measurement> consumer) {
+        Measurement[] last = new Measurement[1];
+
+        int count = measurementHistoryUseCase.streamHistory(query, measurement -> {
+            consumer.accept(measurement);
+            last[0] = measurement;
+        });
+
+        // Página cheia: pode haver mais linhas depois da última entregue
+        return count == query.getLimit() && last[0] != null ? encodeCursor(last[0]) : null;
+    }
+
+    // Cursor opaco: posição (measuredAt, id) da última medição entregue em base64 url-safe
+    private static String encodeCursor(Measurement measurement) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4 + 16);
+        buffer.putLong(measurement.getMeasuredAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(measurement.getMeasuredAt().getNano());
+        buffer.putLong(measurement.getId().getMostSignificantBits());
+        buffer.putLong(measurement.getId().getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static ByteBuffer decodeCursor(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length == 8 + 4 + 16) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                int nanos = buffer.getInt(8);
+                if (nanos >= 0 && nanos < 1_000_000_000) {
+                    return buffer;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // tratado abaixo como cursor inválido
+        }
+        throw new BadRequestException("Invalid cursor.");
+    }
+
+    // A mais grossa que ainda rende os pontos pedidos, entre as resoluções cuja retenção cobre o início do
+    // intervalo; se nenhuma rende pontos suficientes, a mais fina disponível
+    private MeasurementResolution selectResolution(LocalDateTime start, LocalDateTime end, int points) {
+        Duration range = Duration.between(start, end);
+        MeasurementResolution[] resolutions = MeasurementResolution.values();
+        MeasurementResolution selected = resolutions[resolutions.length - 1];
+
+        for (int i = resolutions.length - 1; i >= 0; i--) {
+            MeasurementResolution resolution = resolutions[i];
+            boolean retained = measurementRollupUseCase.retainedSince(resolution)
+                    .map(since -> !start.isBefore(since))
+                    .orElse(true);
+
+            if (!retained) {
+                continue;
+            }
+
+            selected = resolution;
+            if (resolution.estimatePoints(range) >= points) {
+                break;
+            }
+        }
+
+        return selected;
+    }
+
+    private static MeasurementRollup toRollup(Measurement measurement) {
+        return MeasurementRollup.builder()
+                .bucketStart(measurement.getMeasuredAt())
+                .sampleCount(1)
+                .avgTemperature(measurement.getTemperature())
+                .minTemperature(measurement.getTemperature())
+                .maxTemperature(measurement.getTemperature())
+                .avgHumidity(measurement.getHumidity())
+                .minHumidity(measurement.getHumidity())
+                .maxHumidity(measurement.getHumidity())
+                .avgCo2(measurement.getCo2())
+                .minCo2(measurement.getCo2())
+                .maxCo2(measurement.getCo2())
+                .build();
+    }
+
+    private HiveDescriptor resolveActiveHive(String apiKey) {
+        HiveDescriptor hive = hiveLookupCachePort.findByApiKey(apiKey)
+                .orElseThrow(() -> new NotFoundException("Hive not found for API key: " + apiKey));
+
+        if (hive.getHiveStatus() == Hive.HiveStatus.INACTIVE) {
+            log.warn("Attempt to register measurement for inactive hive: {}", hive.getId());
+            throw new ConflictException("Cannot register measurement for an inactive hive.");
+        }
+
+        return hive;
+    }
 }
@@ -0,0 +1,171 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.Alert;
+import com.tech_mel.tech_mel.domain.model.Threshold;
+
+// Regras de alerta de uma colmeia compiladas para primitivos. A instância é imutável e trocada por
+// inteiro quando o threshold muda; o estado que as regras de taxa e de duração precisam fica em
+// RuleState, um por colmeia. evaluate não aloca: o resultado das três métricas vem empacotado em um int.
+public final class ThresholdEvaluator {
+    public static final int TEMPERATURE = 0;
+    public static final int HUMIDITY = 1;
+    public static final int CO2 = 2;
+    public static final int METRICS = 3;
+
+    // Resultado por métrica (3 bits cada)
+    public static final int CLEAR = 0;          // dentro da faixa, fora da margem de histerese
+    public static final int HOLD = 1;           // dentro da margem ou violação ainda não sustentada
+    public static final int VIOLATION_LOW = 2;
+    public static final int VIOLATION_MEDIUM = 3;
+    public static final int VIOLATION_HIGH = 4;
+
+    private static final int BITS_PER_METRIC = 3;
+    private static final int METRIC_MASK = 0b111;
+
+    private static final Alert.AlertType[] ALERT_TYPES = {
+            Alert.AlertType.TEMPERATURE,
+            Alert.AlertType.HUMIDITY,
+            Alert.AlertType.CO2
+    };
+    private static final Alert.AlertSeverity[] SEVERITIES = {
+            null,
+            null,
+            Alert.AlertSeverity.LOW,
+            Alert.AlertSeverity.MEDIUM,
+            Alert.AlertSeverity.HIGH
+    };
+
+    private final double[] min = new double[METRICS];
+    private final double[] max = new double[METRICS];
+    private final double[] clearMin = new double[METRICS];
+    private final double[] clearMax = new double[METRICS];
+    private final double[] inverseRange = new double[METRICS];
+    private final double[] maxRatePerMinute = new double[METRICS];
+    private final long sustainMillis;
+
+    private ThresholdEvaluator(Threshold threshold, RuleSettings settings) {
+        set(TEMPERATURE, threshold.getTemperatureMin(), threshold.getTemperatureMax(), settings.hysteresisMarginPercent());
+        set(HUMIDITY, threshold.getHumidityMin(), threshold.getHumidityMax(), settings.hysteresisMarginPercent());
+        set(CO2, threshold.getCo2Min(), threshold.getCo2Max(), settings.hysteresisMarginPercent());
+
+        maxRatePerMinute[TEMPERATURE] = settings.temperatureMaxRatePerMinute();
+        maxRatePerMinute[HUMIDITY] = settings.humidityMaxRatePerMinute();
+        maxRatePerMinute[CO2] = settings.co2MaxRatePerMinute();
+        sustainMillis = settings.sustainMillis();
+    }
+
+    public static ThresholdEvaluator compile(Threshold threshold, RuleSettings settings) {
+        return new ThresholdEvaluator(threshold, settings);
+    }
+
+    public int evaluate(double temperature, double humidity, double co2, long timestampMillis, RuleState state) {
+        return evaluateMetric(TEMPERATURE, temperature, timestampMillis, state)
+                | evaluateMetric(HUMIDITY, humidity, timestampMillis, state) << BITS_PER_METRIC
+                | evaluateMetric(CO2, co2, timestampMillis, state) << (2 * BITS_PER_METRIC);
+    }
+
+    private int evaluateMetric(int metric, double value, long timestampMillis, RuleState state) {
+        int outcome;
+
+        if (value < min[metric] || value > max[metric]) {
+            double distance = value < min[metric] ? min[metric] - value : value - max[metric];
+            outcome = severityFor(distance * inverseRange[metric]);
+        } else if (exceedsRate(metric, value, timestampMillis, state)) {
+            outcome = VIOLATION_MEDIUM;
+        } else {
+            outcome = value >= clearMin[metric] && value <= clearMax[metric] ? CLEAR : HOLD;
+        }
+
+        state.lastValue[metric] = value;
+        state.lastTimestamp[metric] = timestampMillis;
+
+        if (outcome < VIOLATION_LOW) {
+            state.violatingSince[metric] = 0;
+            return outcome;
+        }
+
+        if (state.violatingSince[metric] == 0) {
+            state.violatingSince[metric] = timestampMillis;
+        }
+
+        return timestampMillis - state.violatingSince[metric] >= sustainMillis ? outcome : HOLD;
+    }
+
+    private boolean exceedsRate(int metric, double value, long timestampMillis, RuleState state) {
+        if (maxRatePerMinute[metric] <= 0 || state.lastTimestamp[metric] == 0) {
+            return false;
+        }
+
+        long elapsed = timestampMillis - state.lastTimestamp[metric];
+        if (elapsed <= 0) {
+            return false;
+        }
+
+        return Math.abs(value - state.lastValue[metric]) * 60_000d / elapsed > maxRatePerMinute[metric];
+    }
+
+    private static int severityFor(double fractionOfRange) {
+        if (fractionOfRange <= 0.10) {
+            return VIOLATION_LOW;
+        }
+        return fractionOfRange <= 0.30 ? VIOLATION_MEDIUM : VIOLATION_HIGH;
+    }
+
+    private void set(int metric, double metricMin, double metricMax, double marginPercent) {
+        double range = metricMax - metricMin;
+        double margin = range * marginPercent / 100;
+
+        min[metric] = metricMin;
+        max[metric] = metricMax;
+        clearMin[metric] = metricMin + margin;
+        clearMax[metric] = metricMax - margin;
+        // Faixa de largura zero: qualquer desvio conta como 100% (mesma proteção do cálculo anterior)
+        inverseRange[metric] = range == 0 ? Double.POSITIVE_INFINITY : 1 / range;
+    }
+
+    // Distância com sinal até a borda mais próxima da faixa: positiva fora dela, negativa dentro. O maior
+    // valor é o pior de um lote, inclusive para a margem de histerese.
+    public double deviation(int metric, double value) {
+        return Math.max(min[metric] - value, value - max[metric]);
+    }
+
+    public double min(int metric) {
+        return min[metric];
+    }
+
+    public double max(int metric) {
+        return max[metric];
+    }
+
+    public static int outcome(int result, int metric) {
+        return (result >>> (metric * BITS_PER_METRIC)) & METRIC_MASK;
+    }
+
+    public static boolean isViolation(int outcome) {
+        return outcome >= VIOLATION_LOW;
+    }
+
+    public static Alert.AlertSeverity severity(int outcome) {
+        return SEVERITIES[outcome];
+    }
+
+    public static Alert.AlertType alertType(int metric) {
+        return ALERT_TYPES[metric];
+    }
+
+    public record RuleSettings(
+            double hysteresisMarginPercent,
+            double temperatureMaxRatePerMinute,
+            double humidityMaxRatePerMinute,
+            double co2MaxRatePerMinute,
+            long sustainMillis
+    ) {
+    }
+
+    // Estado mutável por colmeia; o chamador serializa o acesso
+    public static final class RuleState {
+        private final double[] lastValue = new double[METRICS];
+        private final long[] lastTimestamp = new long[METRICS];
+        private final long[] violatingSince = new long[METRICS];
+    }
+}
@@ -0,0 +1,77 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.Threshold;
+import com.tech_mel.tech_mel.domain.port.output.ThresholdRepositoryPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Avaliadores compilados por colmeia. ThresholdService troca o avaliador ao criar ou atualizar um
+// threshold; o TTL cobre alterações feitas por outras instâncias da aplicação.
+@Component
+public class ThresholdEvaluatorCache {
+    private final ThresholdRepositoryPort thresholdRepositoryPort;
+    private final ThresholdEvaluator.RuleSettings settings;
+    private final long ttlNanos;
+
+    private final Map<UUID, Entry> evaluators = new ConcurrentHashMap<>();
+    private final Map<UUID, ThresholdEvaluator.RuleState> states = new ConcurrentHashMap<>();
+
+    public ThresholdEvaluatorCache(
+            ThresholdRepositoryPort thresholdRepositoryPort,
+            @Value("${app.alerts.hysteresis.margin-percent:5}") double hysteresisMarginPercent,
+            @Value("${app.alerts.rules.temperature-max-rate-per-minute:0}") double temperatureMaxRatePerMinute,
+            @Value("${app.alerts.rules.humidity-max-rate-per-minute:0}") double humidityMaxRatePerMinute,
+            @Value("${app.alerts.rules.co2-max-rate-per-minute:0}") double co2MaxRatePerMinute,
+            @Value("${app.alerts.rules.sustained-for:PT0S}") Duration sustainedFor,
+            @Value("${app.alerts.rules.evaluator-ttl:PT5M}") Duration ttl
+    ) {
+        this.thresholdRepositoryPort = thresholdRepositoryPort;
+        this.settings = new ThresholdEvaluator.RuleSettings(
+                hysteresisMarginPercent,
+                temperatureMaxRatePerMinute,
+                humidityMaxRatePerMinute,
+                co2MaxRatePerMinute,
+                sustainedFor.toMillis()
+        );
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    // Vazio quando a colmeia não tem threshold configurado
+    public Optional<ThresholdEvaluator> get(UUID hiveId) {
+        long now = System.nanoTime();
+        Entry entry = evaluators.get(hiveId);
+
+        if (entry == null || now - entry.loadedAt() > ttlNanos) {
+            ThresholdEvaluator evaluator = thresholdRepositoryPort.findByHiveId(hiveId)
+                    .map(threshold -> ThresholdEvaluator.compile(threshold, settings))
+                    .orElse(null);
+            entry = new Entry(evaluator, now);
+            evaluators.put(hiveId, entry);
+        }
+
+        return Optional.ofNullable(entry.evaluator());
+    }
+
+    public ThresholdEvaluator.RuleState stateFor(UUID hiveId) {
+        return states.computeIfAbsent(hiveId, id -> new ThresholdEvaluator.RuleState());
+    }
+
+    public void refresh(Threshold threshold) {
+        evaluators.put(threshold.getHive().getId(),
+                new Entry(ThresholdEvaluator.compile(threshold, settings), System.nanoTime()));
+    }
+
+    public void evict(UUID hiveId) {
+        evaluators.remove(hiveId);
+        states.remove(hiveId);
+    }
+
+    private record Entry(ThresholdEvaluator evaluator, long loadedAt) {
+    }
+}
@@ -21,6 +21,7 @@ import java.util.UUID;
 public class ThresholdService implements ThresholdUseCase {
     private final ThresholdRepositoryPort thresholdRepositoryPort;
     private final HiveRepositoryPort hiveRepositoryPort;
+    private final ThresholdEvaluatorCache thresholdEvaluatorCache;
 
     @Override
     public Threshold createThreshold(CreateThresholdRequest request, UUID ownerId) {
@@ -53,7 +54,10 @@ public class ThresholdService implements ThresholdUseCase {
                 .hive(hive)
                 .build();
 
-        return thresholdRepositoryPort.save(threshold);
+        Threshold savedThreshold = thresholdRepositoryPort.save(threshold);
+        thresholdEvaluatorCache.refresh(savedThreshold);
+
+        return savedThreshold;
     }
 
     @Override
@@ -117,8 +121,15 @@ public class ThresholdService implements ThresholdUseCase {
         threshold.setHumidityMax(request.humidityMax());
         threshold.setCo2Min(request.co2Min());
         threshold.setCo2Max(request.co2Max());
+
+        UUID previousHiveId = threshold.getHive().getId();
         threshold.setHive(hive);
 
         thresholdRepositoryPort.save(threshold);
+
+        if (!previousHiveId.equals(hive.getId())) {
+            thresholdEvaluatorCache.evict(previousHiveId);
+        }
+        thresholdEvaluatorCache.refresh(threshold);
     }
 }
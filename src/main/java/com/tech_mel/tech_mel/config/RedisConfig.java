@@ -1,15 +1,16 @@
 package com.tech_mel.tech_mel.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.infrastructure.cache.serializer.MeasurementRedisSerializer;
 
 @Configuration
 public class RedisConfig {
@@ -37,21 +38,28 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisTemplate<String, Object> iotRedisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
+    public RedisTemplate<String, Measurement> iotRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Measurement> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
-        
-        // Configurar ObjectMapper para suportar Java 8 Time API (específico para IoT)
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-        template.setValueSerializer(jsonSerializer);
+
+        // Medições em formato binário compacto (específico para IoT); ainda lê entradas antigas em JSON
+        MeasurementRedisSerializer measurementSerializer = new MeasurementRedisSerializer();
+        template.setValueSerializer(measurementSerializer);
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setHashValueSerializer(jsonSerializer);
+        template.setHashValueSerializer(measurementSerializer);
         template.afterPropertiesSet();
         return template;
     }
+
+    // Barramento de eventos ao vivo entre instâncias; os canais são assinados sob demanda
+    @Bean
+    @ConditionalOnProperty(name = "app.live.bus", havingValue = "redis")
+    public RedisMessageListenerContainer liveEventListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // Entrega na própria thread de I/O: o listener só enfileira, e a ordem por canal é preservada
+        container.setTaskExecutor(Runnable::run);
+        return container;
+    }
 }
@@ -5,6 +5,7 @@ import com.tech_mel.tech_mel.infrastructure.security.filter.JwtAuthenticationFil
 import com.tech_mel.tech_mel.infrastructure.security.filter.RateLimitFilter;
 import com.tech_mel.tech_mel.infrastructure.security.oauth2.OAuth2AuthenticationFailureHandler;
 import com.tech_mel.tech_mel.infrastructure.security.oauth2.OAuth2AuthenticationSuccessHandler;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -64,12 +65,15 @@ public class SecurityConfig {
                         })
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // Dispatch assíncrono do SSE (/api/live) já foi autorizado na requisição original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/auth/logout").authenticated()
                         .requestMatchers("/oauth2/**").permitAll()
                         .requestMatchers("/api/purchases/webhook").permitAll()
                         .requestMatchers("/login/oauth2/code/**").permitAll()
                         .requestMatchers("/api/measurements/iot").permitAll()
+                        .requestMatchers("/api/measurements/iot/batch").permitAll()
                         .requestMatchers("/api/technician/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_TECHNICIAN")
                         .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/api/purchases/webhook/**").permitAll()
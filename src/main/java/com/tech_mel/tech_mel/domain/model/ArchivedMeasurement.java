@@ -0,0 +1,14 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import java.util.UUID;
+
+import lombok.*;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ArchivedMeasurement {
+    private UUID hiveId;
+
+    private Measurement measurement;
+}
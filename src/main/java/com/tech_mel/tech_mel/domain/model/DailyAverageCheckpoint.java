@@ -0,0 +1,25 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Progresso do cálculo das médias de um dia: colmeias até lastHiveId (em ordem de ID) já foram gravadas
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class DailyAverageCheckpoint {
+    private LocalDate date;
+
+    private UUID lastHiveId;
+
+    private boolean completed;
+
+    private LocalDateTime updatedAt;
+}
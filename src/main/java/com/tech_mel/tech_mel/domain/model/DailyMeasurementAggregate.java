@@ -0,0 +1,39 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Agregado parcial do dia de uma colmeia, mantido durante a ingestão; média e desvio padrão
+// saem de count, soma e soma dos quadrados sem precisar reler as medições
+@Getter
+@Builder
+@AllArgsConstructor
+public class DailyMeasurementAggregate {
+    private UUID hiveId;
+
+    private LocalDate date;
+
+    private long count;
+
+    private MetricStats temperature;
+
+    private MetricStats humidity;
+
+    private MetricStats co2;
+
+    public record MetricStats(double sum, double min, double max, double sumOfSquares) {
+        public double mean(long count) {
+            return sum / count;
+        }
+
+        // Desvio padrão populacional; max(0, ...) absorve o erro de arredondamento quando a variância é ~0
+        public double stddev(long count) {
+            double mean = mean(count);
+            return Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean));
+        }
+    }
+}
@@ -15,5 +15,16 @@ public class DailyMeasurementAverage {
     private double avgHumidity;
     private double avgCo2;
     private LocalDate date;
+    // Estatísticas completas do dia; nulas em médias calculadas antes dos agregados incrementais
+    private Long sampleCount;
+    private Double minTemperature;
+    private Double maxTemperature;
+    private Double stddevTemperature;
+    private Double minHumidity;
+    private Double maxHumidity;
+    private Double stddevHumidity;
+    private Double minCo2;
+    private Double maxCo2;
+    private Double stddevCo2;
     private Hive hive;
 }
@@ -0,0 +1,23 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+// Resumo de uma colmeia para o painel; threshold, última medição, média diária e tendência podem ser nulos
+@Getter
+@Builder
+@AllArgsConstructor
+public class HiveDashboard {
+    private Hive hive;
+
+    private Threshold threshold;
+
+    private Measurement latestMeasurement;
+
+    private long openAlerts;
+
+    private DailyMeasurementAverage lastDailyAverage;
+
+    private MeasurementTrend recentTrend;
+}
@@ -0,0 +1,30 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class HiveDescriptor {
+    private UUID id;
+
+    private String apiKey;
+
+    private Hive.HiveStatus hiveStatus;
+
+    private UUID ownerId;
+
+    // Hive mínima (apenas identificadores) usada para vincular alertas sem carregar o dono da colmeia
+    public Hive toHive() {
+        return Hive.builder()
+                .id(id)
+                .apiKey(apiKey)
+                .hiveStatus(hiveStatus)
+                .owner(User.builder().id(ownerId).build())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class MeasurementIngestResult {
+    private int index;
+
+    private Status status;
+
+    private String error;
+
+    public enum Status {
+        ACCEPTED,
+        REJECTED
+    }
+}
@@ -0,0 +1,22 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Leitura de medições brutas de uma colmeia em [from, to), ordenadas por (measuredAt, id).
+// afterMeasuredAt/afterId vêm do cursor da página anterior e são nulos na primeira página.
+@Getter
+@Builder
+@AllArgsConstructor
+public class MeasurementRangeQuery {
+    private UUID hiveId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime afterMeasuredAt;
+    private UUID afterId;
+    private int limit;
+}
@@ -0,0 +1,196 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Lote de leituras em estrutura de arrays (id em dois longs, measuredAt em epoch millis UTC e um double por
+// métrica), reaproveitável entre requisições: clear() só zera o tamanho. Todas as métricas são obrigatórias,
+// então não há nulos; a sequência do dispositivo é opcional (NO_SEQUENCE). toMeasurements() existe para os
+// consumidores que ainda trabalham com Measurement.
+public final class MeasurementReadings {
+    public static final long NO_SEQUENCE = -1;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private int size;
+    private long[] idMostSignificantBits;
+    private long[] idLeastSignificantBits;
+    private long[] measuredAt;
+    private long[] deviceSequence;
+    private double[] temperature;
+    private double[] humidity;
+    private double[] co2;
+
+    public MeasurementReadings(int capacity) {
+        int initialCapacity = Math.max(capacity, 1);
+        idMostSignificantBits = new long[initialCapacity];
+        idLeastSignificantBits = new long[initialCapacity];
+        measuredAt = new long[initialCapacity];
+        deviceSequence = new long[initialCapacity];
+        temperature = new double[initialCapacity];
+        humidity = new double[initialCapacity];
+        co2 = new double[initialCapacity];
+    }
+
+    // Para os consumidores que recebem Measurement (log do stream); sem sequência do dispositivo
+    public static MeasurementReadings from(Collection<Measurement> measurements) {
+        MeasurementReadings readings = new MeasurementReadings(measurements.size());
+        for (Measurement measurement : measurements) {
+            UUID id = measurement.getId();
+            readings.add(
+                    id != null ? id.getMostSignificantBits() : 0,
+                    id != null ? id.getLeastSignificantBits() : 0,
+                    measurement.getMeasuredAt().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                    measurement.getTemperature(),
+                    measurement.getHumidity(),
+                    measurement.getCo2()
+            );
+        }
+        return readings;
+    }
+
+    public void add(long idMsb, long idLsb, long measuredAtMillis, double temperature, double humidity, double co2) {
+        add(idMsb, idLsb, measuredAtMillis, NO_SEQUENCE, temperature, humidity, co2);
+    }
+
+    public void add(
+            long idMsb,
+            long idLsb,
+            long measuredAtMillis,
+            long deviceSequence,
+            double temperature,
+            double humidity,
+            double co2
+    ) {
+        ensureCapacity(size + 1);
+        this.idMostSignificantBits[size] = idMsb;
+        this.idLeastSignificantBits[size] = idLsb;
+        this.measuredAt[size] = measuredAtMillis;
+        this.deviceSequence[size] = deviceSequence;
+        this.temperature[size] = temperature;
+        this.humidity[size] = humidity;
+        this.co2[size] = co2;
+        size++;
+    }
+
+    public void addAll(MeasurementReadings other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.idMostSignificantBits, 0, idMostSignificantBits, size, other.size);
+        System.arraycopy(other.idLeastSignificantBits, 0, idLeastSignificantBits, size, other.size);
+        System.arraycopy(other.measuredAt, 0, measuredAt, size, other.size);
+        System.arraycopy(other.deviceSequence, 0, deviceSequence, size, other.size);
+        System.arraycopy(other.temperature, 0, temperature, size, other.size);
+        System.arraycopy(other.humidity, 0, humidity, size, other.size);
+        System.arraycopy(other.co2, 0, co2, size, other.size);
+        size += other.size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Remove as leituras marcadas mantendo a ordem das demais
+    public void removeMarked(boolean[] marked) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (marked[i]) {
+                continue;
+            }
+            if (kept != i) {
+                idMostSignificantBits[kept] = idMostSignificantBits[i];
+                idLeastSignificantBits[kept] = idLeastSignificantBits[i];
+                measuredAt[kept] = measuredAt[i];
+                deviceSequence[kept] = deviceSequence[i];
+                temperature[kept] = temperature[i];
+                humidity[kept] = humidity[i];
+                co2[kept] = co2[i];
+            }
+            kept++;
+        }
+        size = kept;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return measuredAt.length;
+    }
+
+    public long idMostSignificantBits(int index) {
+        return idMostSignificantBits[index];
+    }
+
+    public long idLeastSignificantBits(int index) {
+        return idLeastSignificantBits[index];
+    }
+
+    public long measuredAt(int index) {
+        return measuredAt[index];
+    }
+
+    public long deviceSequence(int index) {
+        return deviceSequence[index];
+    }
+
+    // Dia UTC da leitura em dias desde a época, sem criar LocalDate
+    public long epochDay(int index) {
+        return Math.floorDiv(measuredAt[index], MILLIS_PER_DAY);
+    }
+
+    public double temperature(int index) {
+        return temperature[index];
+    }
+
+    public double humidity(int index) {
+        return humidity[index];
+    }
+
+    public double co2(int index) {
+        return co2[index];
+    }
+
+    public Measurement measurement(int index) {
+        return Measurement.builder()
+                .id(new UUID(idMostSignificantBits[index], idLeastSignificantBits[index]))
+                .temperature(temperature[index])
+                .humidity(humidity[index])
+                .co2(co2[index])
+                .measuredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(measuredAt[index]), ZoneOffset.UTC))
+                .build();
+    }
+
+    public List<Measurement> toMeasurements() {
+        List<Measurement> measurements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            measurements.add(measurement(i));
+        }
+        return measurements;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= measuredAt.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(required, measuredAt.length * 2);
+        idMostSignificantBits = Arrays.copyOf(idMostSignificantBits, newCapacity);
+        idLeastSignificantBits = Arrays.copyOf(idLeastSignificantBits, newCapacity);
+        measuredAt = Arrays.copyOf(measuredAt, newCapacity);
+        deviceSequence = Arrays.copyOf(deviceSequence, newCapacity);
+        temperature = Arrays.copyOf(temperature, newCapacity);
+        humidity = Arrays.copyOf(humidity, newCapacity);
+        co2 = Arrays.copyOf(co2, newCapacity);
+    }
+}
@@ -0,0 +1,28 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import java.time.Duration;
+
+// Resoluções disponíveis para séries históricas, da mais fina para a mais grossa.
+// A duração é nominal (mês = 30 dias) e serve apenas para estimar quantos pontos um intervalo rende.
+public enum MeasurementResolution {
+    RAW(Duration.ZERO),
+    HOURLY(Duration.ofHours(1)),
+    DAILY(Duration.ofDays(1)),
+    WEEKLY(Duration.ofDays(7)),
+    MONTHLY(Duration.ofDays(30));
+
+    private final Duration bucket;
+
+    MeasurementResolution(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    // Pontos que o intervalo rende nesta resolução; RAW depende da frequência do dispositivo
+    public long estimatePoints(Duration range) {
+        return this == RAW ? Long.MAX_VALUE : range.dividedBy(bucket);
+    }
+}
@@ -0,0 +1,28 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Um ponto de série histórica: estatísticas das medições de uma colmeia em um intervalo (hora, dia, semana, mês)
+@Getter
+@Builder
+@AllArgsConstructor
+public class MeasurementRollup {
+    private LocalDateTime bucketStart;
+    private long sampleCount;
+    private double avgTemperature;
+    private double minTemperature;
+    private double maxTemperature;
+    private double stddevTemperature;
+    private double avgHumidity;
+    private double minHumidity;
+    private double maxHumidity;
+    private double stddevHumidity;
+    private double avgCo2;
+    private double minCo2;
+    private double maxCo2;
+    private double stddevCo2;
+}
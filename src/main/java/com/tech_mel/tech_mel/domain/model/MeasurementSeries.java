@@ -0,0 +1,15 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class MeasurementSeries {
+    private MeasurementResolution resolution;
+    private List<MeasurementRollup> points;
+}
@@ -0,0 +1,31 @@
+package com.tech_mel.tech_mel.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+// Resumo das leituras recentes de uma colmeia; médias e taxas são nulas quando a métrica não tem leituras
+// suficientes na janela
+@Getter
+@Builder
+@AllArgsConstructor
+public class MeasurementTrend {
+    private Duration window;
+
+    private int sampleCount;
+
+    private Double avgTemperature;
+
+    private Double avgHumidity;
+
+    private Double avgCo2;
+
+    // Unidades por minuto
+    private Double temperatureRate;
+
+    private Double humidityRate;
+
+    private Double co2Rate;
+}
@@ -2,15 +2,16 @@ package com.tech_mel.tech_mel.domain.port.input;
 
 import com.tech_mel.tech_mel.domain.model.Alert;
 import com.tech_mel.tech_mel.domain.model.Hive;
-import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface AlertUseCase {
-    void saveAlert(Measurement measurement, Hive hive, LocalDateTime timestamp);
+    // Avalia o lote por intervalos de measuredAt da janela de agrupamento, com o pior valor de cada métrica do
+    // intervalo e o instante da sua leitura mais recente
+    void saveAlerts(MeasurementReadings readings, Hive hive);
 
     Alert getAlertById(UUID alertId, UUID ownerId);
 
@@ -0,0 +1,12 @@
+package com.tech_mel.tech_mel.domain.port.input;
+
+import java.time.LocalDate;
+
+public interface DailyAverageUseCase {
+    // Processa os dias ainda não concluídos dentro da janela de recuperação, do mais antigo para o mais recente,
+    // e refaz as médias de colmeias que receberam medições atrasadas em dias já concluídos
+    void processPendingDays();
+
+    // Retorna true quando o dia foi concluído
+    boolean processDay(LocalDate date);
+}
@@ -0,0 +1,10 @@
+package com.tech_mel.tech_mel.domain.port.input;
+
+import com.tech_mel.tech_mel.domain.model.HiveDashboard;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface DashboardUseCase {
+    List<HiveDashboard> getDashboard(UUID ownerId);
+}
@@ -0,0 +1,24 @@
+package com.tech_mel.tech_mel.domain.port.input;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementRangeQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface MeasurementHistoryUseCase {
+    void archive(UUID hiveId, List<Measurement> measurements);
+
+    int flush();
+
+    // Retorna quantas medições foram movidas para chunks comprimidos
+    int compact();
+
+    void maintainPartitions();
+
+    List<Measurement> getHistory(UUID hiveId, LocalDateTime start, LocalDateTime end, int limit);
+
+    int streamHistory(MeasurementRangeQuery query, Consumer<Measurement> consumer);
+}
@@ -0,0 +1,17 @@
+package com.tech_mel.tech_mel.domain.port.input;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementResolution;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface MeasurementRollupUseCase {
+    void refreshHourly();
+
+    void refreshWeeklyAndMonthly();
+
+    void applyRetention();
+
+    // Data mais antiga ainda disponível na resolução; vazio quando não há limite
+    Optional<LocalDateTime> retainedSince(MeasurementResolution resolution);
+}
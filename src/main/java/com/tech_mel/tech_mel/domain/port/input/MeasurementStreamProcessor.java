@@ -0,0 +1,13 @@
+package com.tech_mel.tech_mel.domain.port.input;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+
+import java.util.List;
+
+public interface MeasurementStreamProcessor {
+    // Nome do consumer group; cada processador avança no log no seu próprio ritmo
+    String getGroupName();
+
+    // Medições entregues mais de uma vez (reprocessamento após falha ou reinício) devem ser toleradas
+    void process(String apiKey, List<Measurement> measurements);
+}
@@ -1,20 +1,46 @@
 package com.tech_mel.tech_mel.domain.port.input;
 
 import com.tech_mel.tech_mel.domain.model.DailyMeasurementAverage;
+import com.tech_mel.tech_mel.domain.model.Hive;
 import com.tech_mel.tech_mel.domain.model.Measurement;
-import com.tech_mel.tech_mel.infrastructure.api.dto.request.measurement.CreateMeasurementRequest;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.model.MeasurementRangeQuery;
+import com.tech_mel.tech_mel.domain.model.MeasurementSeries;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface MeasurementUseCase {
-    Measurement registerMeasurement(String apiKey, CreateMeasurementRequest request);
+    // Valida a colmeia e enfileira as leituras já validadas; o armazenamento, os alertas e os eventos ao vivo
+    // acontecem depois, fora da requisição. Devolve a sequência da ingestão, ou null sem leituras aceitas.
+    // Leituras já recebidas saem de readings e são confirmadas sem novo processamento.
+    Long registerReadings(String apiKey, MeasurementReadings readings);
 
     Measurement getLatestMeasurementByApiKey(UUID userId, UUID hiveId);
 
-    Map<String, Measurement> getLatestMeasurementsGroupedByHive(UUID userId);
+    // Mantém a ordem das colmeias do usuário; colmeias sem medição recente ficam fora do mapa
+    Map<Hive, Measurement> getLatestMeasurementsGroupedByHive(UUID userId);
 
     Page<DailyMeasurementAverage> getDailyMeasurementAverages(UUID userId, UUID hiveId, Pageable pageable);
+
+    // Escolhe a resolução mais grossa que ainda rende pelo menos `points` pontos no intervalo [start, end)
+    MeasurementSeries getMeasurementSeries(UUID userId, UUID hiveId, LocalDateTime start, LocalDateTime end, int points);
+
+    // Valida o pedido e a posse da colmeia antes de a resposta começar a ser escrita
+    MeasurementRangeQuery prepareMeasurementRange(
+            UUID userId,
+            UUID hiveId,
+            LocalDateTime from,
+            LocalDateTime to,
+            String cursor,
+            int limit
+    );
+
+    // Retorna o cursor da próxima página, ou null quando o intervalo terminou
+    String streamMeasurements(MeasurementRangeQuery query, Consumer<Measurement> consumer);
 }
@@ -4,12 +4,17 @@ import com.tech_mel.tech_mel.domain.model.Alert;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface AlertRepositoryPort {
     Alert save(Alert alert);
 
+    List<Alert> saveAll(List<Alert> alerts);
+
     Optional<Alert> findById(UUID alertId);
 
     Page<Alert> findAllByHiveId(UUID hiveId, Pageable pageable);
@@ -19,4 +24,10 @@ public interface AlertRepositoryPort {
             Alert.AlertStatus status,
             Pageable pageable
     );
+
+    // Alerta NEW ou VIEWED mais recente de cada tipo, em uma consulta; não carrega a colmeia
+    List<Alert> findLatestOpenByHiveId(UUID hiveId);
+
+    // Alertas NEW ou VIEWED por colmeia; colmeias sem alertas abertos ficam fora do mapa
+    Map<UUID, Long> countOpenByHiveIds(Collection<UUID> hiveIds);
 }
@@ -0,0 +1,12 @@
+package com.tech_mel.tech_mel.domain.port.output;
+
+import com.tech_mel.tech_mel.domain.model.DailyAverageCheckpoint;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface DailyAverageCheckpointRepositoryPort {
+    DailyAverageCheckpoint save(DailyAverageCheckpoint checkpoint);
+
+    Optional<DailyAverageCheckpoint> findByDate(LocalDate date);
+}
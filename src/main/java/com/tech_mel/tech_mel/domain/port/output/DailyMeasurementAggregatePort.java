@@ -0,0 +1,29 @@
+package com.tech_mel.tech_mel.domain.port.output;
+
+import com.tech_mel.tech_mel.domain.model.DailyMeasurementAggregate;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface DailyMeasurementAggregatePort {
+    // Soma as medições aos agregados do dia de cada uma (data de measuredAt)
+    void record(UUID hiveId, Collection<Measurement> measurements);
+
+    void record(UUID hiveId, MeasurementReadings readings);
+
+    // Colmeias sem medições no dia ficam fora do mapa
+    Map<UUID, DailyMeasurementAggregate> findAll(Collection<UUID> hiveIds, LocalDate date);
+
+    // Retira até count colmeias do conjunto das que receberam medições do dia desde a última retirada
+    Set<UUID> takeChanged(LocalDate date, int count);
+
+    // Devolve ao conjunto colmeias retiradas que não puderam ser processadas
+    void markChanged(Collection<UUID> hiveIds, LocalDate date);
+
+    void clearChanged(LocalDate date);
+}
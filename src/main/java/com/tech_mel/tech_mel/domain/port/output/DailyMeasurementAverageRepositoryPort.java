@@ -4,15 +4,27 @@ import com.tech_mel.tech_mel.domain.model.DailyMeasurementAverage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface DailyMeasurementAverageRepositoryPort {
     DailyMeasurementAverage save(DailyMeasurementAverage dailyMeasurementAverage);
 
+    // Insert em lote; colmeias que já têm média na data são ignoradas
+    void saveAll(List<DailyMeasurementAverage> averages);
+
+    // Upsert em lote; uma média existente só é substituída por outra com pelo menos tantas amostras
+    void replaceAll(List<DailyMeasurementAverage> averages);
+
     Optional<DailyMeasurementAverage> findById(UUID id);
 
     Page<DailyMeasurementAverage> findAllByHiveId(UUID hiveId, Pageable pageable);
 
+    // Média mais recente por colmeia (chave = ID da colmeia); não carrega a colmeia
+    Map<UUID, DailyMeasurementAverage> findLatestByHiveIds(Collection<UUID> hiveIds);
+
     void deleteById(UUID id);
 }
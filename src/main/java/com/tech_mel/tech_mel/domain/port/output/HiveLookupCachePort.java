@@ -0,0 +1,11 @@
+package com.tech_mel.tech_mel.domain.port.output;
+
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+
+import java.util.Optional;
+
+public interface HiveLookupCachePort {
+    Optional<HiveDescriptor> findByApiKey(String apiKey);
+
+    void evict(String apiKey);
+}
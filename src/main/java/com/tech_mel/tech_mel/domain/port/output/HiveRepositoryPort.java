@@ -1,9 +1,11 @@
 package com.tech_mel.tech_mel.domain.port.output;
 
 import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,9 +16,14 @@ public interface HiveRepositoryPort {
 
     Optional<Hive> findByApiKey(String apiKey);
 
+    Optional<HiveDescriptor> findDescriptorByApiKey(String apiKey);
+
     Page<Hive> findByOwnerId(UUID ownerId, Pageable pageable);
 
     Page<Hive> findAllHives(Pageable pageable);
 
+    // Paginação por chave: IDs em ordem crescente depois de afterId (null = desde o início)
+    List<UUID> findIdsAfter(UUID afterId, int limit);
+
     void deleteById(UUID hiveId);
 }
@@ -0,0 +1,13 @@
+package com.tech_mel.tech_mel.domain.port.output;
+
+import com.tech_mel.tech_mel.domain.model.Alert;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface LiveEventPublisherPort {
+    void publishMeasurements(UUID hiveId, List<Measurement> measurements);
+
+    void publishAlerts(UUID hiveId, List<Alert> alerts);
+}
@@ -0,0 +1,20 @@
+package com.tech_mel.tech_mel.domain.port.output;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+// Armazenamento frio das medições brutas: um chunk comprimido por colmeia e dia
+public interface MeasurementChunkRepositoryPort {
+    // Medições em ordem de measuredAt; se o chunk do dia já existe (dados atrasados), as duas são mescladas
+    void saveChunk(UUID hiveId, LocalDate day, List<Measurement> measurements);
+
+    // Entrega em ordem de measuredAt as medições em [start, end); para quando o consumidor retorna false
+    void streamRange(UUID hiveId, LocalDateTime start, LocalDateTime end, Predicate<Measurement> consumer);
+
+    int deleteBefore(LocalDate day);
+}
@@ -0,0 +1,14 @@
+package com.tech_mel.tech_mel.domain.port.output;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+public interface MeasurementDeduplicationPort {
+    // Marca as chaves de leitura como vistas por ttl; true onde a chave ainda não existia (leitura nova).
+    // Chaves repetidas no mesmo lote: só a primeira é nova.
+    boolean[] claim(UUID hiveId, List<String> readingKeys, Duration ttl);
+
+    // Desfaz a marca de leituras que não chegaram a ser aceitas, para que o reenvio não seja descartado
+    void release(UUID hiveId, List<String> readingKeys);
+}
@@ -0,0 +1,32 @@
+package com.tech_mel.tech_mel.domain.port.output;
+
+import com.tech_mel.tech_mel.domain.model.ArchivedMeasurement;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementRangeQuery;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface MeasurementHistoryRepositoryPort {
+    void saveAll(List<ArchivedMeasurement> measurements);
+
+    // Ordenadas por measuredAt crescente; start inclusivo, end exclusivo
+    List<Measurement> findByHiveIdAndPeriod(UUID hiveId, LocalDateTime start, LocalDateTime end, int limit);
+
+    // Entrega as linhas ao consumidor conforme chegam do banco, sem materializar a página; retorna quantas entregou
+    int streamRange(MeasurementRangeQuery query, Consumer<Measurement> consumer);
+
+    // Todas as medições de todas as colmeias em [start, end), ordenadas por colmeia e measuredAt
+    void streamPeriod(LocalDateTime start, LocalDateTime end, Consumer<ArchivedMeasurement> consumer);
+
+    void createPartitions(YearMonth from, YearMonth to);
+
+    List<YearMonth> findPartitions();
+
+    void dropPartition(YearMonth month);
+
+    List<YearMonth> dropPartitionsBefore(YearMonth month);
+}
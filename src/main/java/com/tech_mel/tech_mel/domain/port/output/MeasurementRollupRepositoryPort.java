@@ -0,0 +1,29 @@
+package com.tech_mel.tech_mel.domain.port.output;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementResolution;
+import com.tech_mel.tech_mel.domain.model.MeasurementRollup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface MeasurementRollupRepositoryPort {
+    // Recalcula as horas do intervalo a partir do histórico bruto (idempotente)
+    int rollupHourly(LocalDateTime from, LocalDateTime to);
+
+    // Recalculam semanas/meses que começam no intervalo a partir das médias diárias (idempotente)
+    int rollupWeekly(LocalDate from, LocalDate to);
+
+    int rollupMonthly(LocalDate from, LocalDate to);
+
+    // Não aceita RAW; pontos em ordem crescente de bucketStart
+    List<MeasurementRollup> findByHiveIdAndPeriod(
+            UUID hiveId,
+            MeasurementResolution resolution,
+            LocalDateTime start,
+            LocalDateTime end
+    );
+
+    int deleteBefore(MeasurementResolution resolution, LocalDateTime cutoff);
+}
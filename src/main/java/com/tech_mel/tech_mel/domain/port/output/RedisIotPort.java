@@ -1,15 +1,27 @@
 package com.tech_mel.tech_mel.domain.port.output;
 
 import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 public interface RedisIotPort {
     void saveMeasurement(String apiKey, Measurement measurement);
 
+    void saveMeasurements(String apiKey, List<Measurement> measurements);
+
+    // Adaptadores que gravam direto dos primitivos sobrescrevem; o padrão passa por Measurement
+    default void saveReadings(String apiKey, MeasurementReadings readings) {
+        saveMeasurements(apiKey, readings.toMeasurements());
+    }
+
     List<Measurement> getMeasurements(String apiKey, int limit);
 
+    // Medições retidas com measuredAt em [start, end), em ordem de chegada
+    List<Measurement> getMeasurementsBetween(String apiKey, LocalDateTime start, LocalDateTime end, int limit);
+
     Map<String, Measurement> getLatestMeasurementsForMultipleHives(List<String> apiKeys);
 
     Measurement getLatestMeasurement(String apiKey);
@@ -2,6 +2,8 @@ package com.tech_mel.tech_mel.domain.port.output;
 
 import com.tech_mel.tech_mel.domain.model.Threshold;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,7 @@ public interface ThresholdRepositoryPort {
     Optional<Threshold> findById(UUID thresholdId);
 
     Optional<Threshold> findByHiveId(UUID hiveId);
+
+    // Chave = ID da colmeia; não carrega a colmeia
+    Map<UUID, Threshold> findAllByHiveIds(Collection<UUID> hiveIds);
 }
@@ -0,0 +1,125 @@
+package com.tech_mel.tech_mel.infrastructure.api.controller;
+
+import com.tech_mel.tech_mel.domain.model.DailyMeasurementAverage;
+import com.tech_mel.tech_mel.domain.model.HiveDashboard;
+import com.tech_mel.tech_mel.domain.model.MeasurementTrend;
+import com.tech_mel.tech_mel.domain.model.Threshold;
+import com.tech_mel.tech_mel.domain.port.input.DashboardUseCase;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.dashboard.HiveDashboardResponse;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.DailyMeasurementAveragesResponse;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.MeasurementTrendResponse;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.threshold.ThresholdResponse;
+import com.tech_mel.tech_mel.infrastructure.security.util.AuthenticationUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "Dashboard", description = "Visão agregada das colmeias do usuário")
+@SecurityRequirement(name = "bearerAuth")
+public class DashboardController {
+    private final DashboardUseCase dashboardUseCase;
+    private final AuthenticationUtil authenticationUtil;
+
+    @Operation(
+            summary = "Painel das colmeias do usuário",
+            description = "Retorna, em uma única chamada, cada colmeia do usuário autenticado com seus limiares, "
+                    + "a última medição, a quantidade de alertas abertos e a média diária mais recente.",
+            tags = {"Dashboard"},
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Painel retornado com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = HiveDashboardResponse.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Token de acesso inválido ou expirado",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping
+    public ResponseEntity<List<HiveDashboardResponse>> getDashboard() {
+        UUID ownerId = authenticationUtil.getCurrentUserId();
+
+        List<HiveDashboardResponse> response = dashboardUseCase.getDashboard(ownerId).stream()
+                .map(this::toResponse)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    private HiveDashboardResponse toResponse(HiveDashboard dashboard) {
+        Threshold threshold = dashboard.getThreshold();
+        DailyMeasurementAverage dailyAverage = dashboard.getLastDailyAverage();
+        MeasurementTrend trend = dashboard.getRecentTrend();
+        UUID hiveId = dashboard.getHive().getId();
+
+        return HiveDashboardResponse.builder()
+                .id(hiveId)
+                .name(dashboard.getHive().getName())
+                .location(dashboard.getHive().getLocation())
+                .hiveStatus(dashboard.getHive().getHiveStatus())
+                .threshold(threshold == null ? null : ThresholdResponse.builder()
+                        .id(threshold.getId())
+                        .temperatureMin(threshold.getTemperatureMin())
+                        .temperatureMax(threshold.getTemperatureMax())
+                        .humidityMin(threshold.getHumidityMin())
+                        .humidityMax(threshold.getHumidityMax())
+                        .co2Min(threshold.getCo2Min())
+                        .co2Max(threshold.getCo2Max())
+                        .hiveId(hiveId)
+                        .build())
+                .latestMeasurement(dashboard.getLatestMeasurement())
+                .openAlerts(dashboard.getOpenAlerts())
+                .lastDailyAverage(dailyAverage == null ? null : DailyMeasurementAveragesResponse.builder()
+                        .id(dailyAverage.getId())
+                        .avgTemperature(dailyAverage.getAvgTemperature())
+                        .avgHumidity(dailyAverage.getAvgHumidity())
+                        .avgCo2(dailyAverage.getAvgCo2())
+                        .sampleCount(dailyAverage.getSampleCount())
+                        .minTemperature(dailyAverage.getMinTemperature())
+                        .maxTemperature(dailyAverage.getMaxTemperature())
+                        .stddevTemperature(dailyAverage.getStddevTemperature())
+                        .minHumidity(dailyAverage.getMinHumidity())
+                        .maxHumidity(dailyAverage.getMaxHumidity())
+                        .stddevHumidity(dailyAverage.getStddevHumidity())
+                        .minCo2(dailyAverage.getMinCo2())
+                        .maxCo2(dailyAverage.getMaxCo2())
+                        .stddevCo2(dailyAverage.getStddevCo2())
+                        .date(dailyAverage.getDate())
+                        .hiveId(hiveId)
+                        .build())
+                .recentTrend(trend == null ? null : MeasurementTrendResponse.builder()
+                        .window(trend.getWindow().toString())
+                        .sampleCount(trend.getSampleCount())
+                        .avgTemperature(trend.getAvgTemperature())
+                        .avgHumidity(trend.getAvgHumidity())
+                        .avgCo2(trend.getAvgCo2())
+                        .temperatureRate(trend.getTemperatureRate())
+                        .humidityRate(trend.getHumidityRate())
+                        .co2Rate(trend.getCo2Rate())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.tech_mel.tech_mel.infrastructure.api.controller;
+
+import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.port.input.HiveUseCase;
+import com.tech_mel.tech_mel.infrastructure.live.SseLiveEventRegistry;
+import com.tech_mel.tech_mel.infrastructure.security.util.AuthenticationUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+@Tag(name = "Live", description = "Streaming em tempo real de medições e alertas")
+@SecurityRequirement(name = "bearerAuth")
+public class LiveController {
+    private final SseLiveEventRegistry sseLiveEventRegistry;
+    private final HiveUseCase hiveUseCase;
+    private final AuthenticationUtil authenticationUtil;
+
+    @Operation(
+            summary = "Assinar eventos em tempo real",
+            description = "Abre uma conexão Server-Sent Events com as medições (evento \"measurement\") e os alertas "
+                    + "(evento \"alert\") das colmeias do usuário autenticado. Sem o parâmetro hiveId, assina todas as "
+                    + "colmeias do usuário. Clientes lentos perdem os eventos mais antigos.",
+            tags = {"Live"},
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Conexão aberta",
+                    content = @Content(mediaType = "text/event-stream")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Token de acesso inválido ou expirado",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Colmeia não encontrada",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Limite de conexões em tempo real atingido",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "ID de uma colmeia específica (opcional)")
+            @RequestParam(required = false) UUID hiveId) {
+        UUID ownerId = authenticationUtil.getCurrentUserId();
+
+        Set<UUID> hiveIds;
+        if (hiveId != null) {
+            hiveIds = Set.of(hiveUseCase.getHiveById(hiveId, ownerId).getId());
+        } else {
+            hiveIds = hiveUseCase.listHivesByOwner(ownerId, Pageable.unpaged()).stream()
+                    .map(Hive::getId)
+                    .collect(Collectors.toSet());
+        }
+
+        return sseLiveEventRegistry.subscribe(ownerId, hiveIds);
+    }
+}
@@ -1,14 +1,26 @@
 package com.tech_mel.tech_mel.infrastructure.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.tech_mel.tech_mel.domain.model.DailyMeasurementAverage;
 import com.tech_mel.tech_mel.domain.model.Hive;
 import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementIngestResult;
+import com.tech_mel.tech_mel.domain.model.MeasurementRangeQuery;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.model.MeasurementSeries;
 import com.tech_mel.tech_mel.domain.port.input.MeasurementUseCase;
 import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
+import com.tech_mel.tech_mel.infrastructure.api.dto.request.measurement.CreateMeasurementBatchRequest;
 import com.tech_mel.tech_mel.infrastructure.api.dto.request.measurement.CreateMeasurementRequest;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.CreateMeasurementBatchResponse;
 import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.CreateMeasurementResponse;
 import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.DailyMeasurementAveragesResponse;
 import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.LatestHiveMeasurementResponse;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.MeasurementBatchItemResponse;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.MeasurementSeriesResponse;
+import com.tech_mel.tech_mel.infrastructure.api.reader.MeasurementJsonReader;
 import com.tech_mel.tech_mel.infrastructure.security.util.AuthenticationUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,14 +30,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -38,7 +57,14 @@ import java.util.UUID;
         description = "Endpoints para comunicação com dispositivos IoT das colmeias e para opreções de medições"
 )
 public class MeasurementController {
+    private static final String NDJSON = "application/x-ndjson";
+
+    // Linhas escritas entre flushes da resposta; casa com o fetch size da leitura do histórico
+    private static final int STREAM_FLUSH_ROWS = 1000;
+
     private final MeasurementUseCase measurementUseCase;
+    private final MeasurementJsonReader measurementJsonReader;
+    private final ObjectMapper objectMapper;
     private final AuthenticationUtil authenticationUtil;
     private final HiveRepositoryPort hiveRepositoryPort;
 
@@ -50,8 +76,8 @@ public class MeasurementController {
     )
     @ApiResponses(value = {
             @ApiResponse(
-                    responseCode = "201",
-                    description = "Medição registrada com sucesso",
+                    responseCode = "202",
+                    description = "Medição aceita; o armazenamento e os alertas são processados em seguida",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = CreateMeasurementResponse.class)
@@ -72,6 +98,11 @@ public class MeasurementController {
                     description = "Colmeia não encontrada para a API Key fornecida",
                     content = @Content(mediaType = "application/json")
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Fila de ingestão cheia; reenviar mais tarde",
+                    content = @Content(mediaType = "application/json")
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Erro interno do servidor",
@@ -86,21 +117,129 @@ public class MeasurementController {
             )
             @RequestHeader("X-API-Key") String apiKey,
 
-            @Parameter(
+            // Lido em streaming pelo MeasurementJsonReader; o schema fica só para a documentação
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Dados das medições dos sensores",
-                    required = true
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CreateMeasurementRequest.class)
+                    )
             )
-            @Valid @RequestBody CreateMeasurementRequest request
+            InputStream body
     ) {
-        Measurement measurement = measurementUseCase.registerMeasurement(apiKey, request);
-
+        MeasurementReadings readings = measurementJsonReader.readSingle(body);
         CreateMeasurementResponse response = CreateMeasurementResponse.builder()
-                .temperature(measurement.getTemperature())
-                .humidity(measurement.getHumidity())
-                .co2(measurement.getCo2())
+                .temperature(readings.temperature(0))
+                .humidity(readings.humidity(0))
+                .co2(readings.co2(0))
                 .build();
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        // Reenvio de uma medição já recebida sai do lote e é confirmado do mesmo jeito
+        response.setSequence(measurementUseCase.registerReadings(apiKey, readings));
+        response.setDuplicate(readings.isEmpty());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @PostMapping("/iot/batch")
+    @Operation(
+            summary = "Registra um lote de medições dos sensores",
+            description = "Endpoint para dispositivos IoT reenviarem, em uma única requisição, as medições acumuladas enquanto estavam offline. " +
+                    "Cada item recebe sua própria situação para que o dispositivo reenvie apenas o que foi rejeitado.",
+            security = @SecurityRequirement(name = "apiKey")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Todas as medições do lote foram aceitas para processamento",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CreateMeasurementBatchResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "207",
+                    description = "Parte das medições foi rejeitada; consulte a situação de cada item",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CreateMeasurementBatchResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lote vazio ou maior que o tamanho máximo permitido",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Colmeia não encontrada para a API Key fornecida",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Colmeia inativa",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Fila de ingestão cheia; reenviar o lote mais tarde",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<CreateMeasurementBatchResponse> saveMeasurementBatch(
+            @Parameter(
+                    description = "Chave API do dispositivo IoT da colmeia",
+                    required = true,
+                    example = "hive_12345_api_key_abcdef"
+            )
+            @RequestHeader("X-API-Key") String apiKey,
+
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Lote de medições dos sensores",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CreateMeasurementBatchRequest.class)
+                    )
+            )
+            InputStream body
+    ) {
+        List<MeasurementIngestResult> rejected = new ArrayList<>();
+        MeasurementReadings readings = measurementJsonReader.readBatch(body, rejected);
+        int accepted = readings.size();
+        Long sequence = measurementUseCase.registerReadings(apiKey, readings);
+
+        // Os rejeitados vêm em ordem de índice; os demais itens do lote foram aceitos, inclusive os reenvios
+        int total = accepted + rejected.size();
+        List<MeasurementBatchItemResponse> items = new ArrayList<>(total);
+        for (int index = 0, next = 0; index < total; index++) {
+            if (next < rejected.size() && rejected.get(next).getIndex() == index) {
+                MeasurementIngestResult result = rejected.get(next++);
+                items.add(MeasurementBatchItemResponse.builder()
+                        .index(index)
+                        .status(result.getStatus().name())
+                        .error(result.getError())
+                        .build());
+            } else {
+                items.add(MeasurementBatchItemResponse.builder()
+                        .index(index)
+                        .status(MeasurementIngestResult.Status.ACCEPTED.name())
+                        .build());
+            }
+        }
+
+        CreateMeasurementBatchResponse response = CreateMeasurementBatchResponse.builder()
+                .sequence(sequence)
+                .accepted(accepted)
+                .duplicates(accepted - readings.size())
+                .rejected(rejected.size())
+                .items(items)
+                .build();
+
+        HttpStatus status = rejected.isEmpty() ? HttpStatus.ACCEPTED : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(response);
     }
 
     @GetMapping("/latest/{hiveId}")
@@ -174,14 +313,12 @@ public class MeasurementController {
     })
     public ResponseEntity<List<LatestHiveMeasurementResponse>> getLatestMeasurements() {
         UUID userId = authenticationUtil.getCurrentUserId();
-        Map<String, Measurement> latestMeasurements = measurementUseCase.getLatestMeasurementsGroupedByHive(userId);
-        List<Hive> userHives = hiveRepositoryPort.findByOwnerId(userId, Pageable.unpaged()).getContent();
-        List<LatestHiveMeasurementResponse> response = userHives.stream()
-            .filter(hive -> latestMeasurements.containsKey(hive.getApiKey()))
-            .map(hive -> LatestHiveMeasurementResponse.builder()
-                .hiveId(hive.getId())
-                .hiveName(hive.getName())
-                .latestMeasurement(latestMeasurements.get(hive.getApiKey()))
+        Map<Hive, Measurement> latestMeasurements = measurementUseCase.getLatestMeasurementsGroupedByHive(userId);
+        List<LatestHiveMeasurementResponse> response = latestMeasurements.entrySet().stream()
+            .map(entry -> LatestHiveMeasurementResponse.builder()
+                .hiveId(entry.getKey().getId())
+                .hiveName(entry.getKey().getName())
+                .latestMeasurement(entry.getValue())
                 .build())
             .toList();
         return ResponseEntity.ok(response);
@@ -241,9 +378,178 @@ public class MeasurementController {
                 .avgTemperature(average.getAvgTemperature())
                 .avgHumidity(average.getAvgHumidity())
                 .avgCo2(average.getAvgCo2())
+                .sampleCount(average.getSampleCount())
+                .minTemperature(average.getMinTemperature())
+                .maxTemperature(average.getMaxTemperature())
+                .stddevTemperature(average.getStddevTemperature())
+                .minHumidity(average.getMinHumidity())
+                .maxHumidity(average.getMaxHumidity())
+                .stddevHumidity(average.getStddevHumidity())
+                .minCo2(average.getMinCo2())
+                .maxCo2(average.getMaxCo2())
+                .stddevCo2(average.getStddevCo2())
                 .date(average.getDate())
                 .hiveId(hiveId)
                 .build());
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("series/{hiveId}")
+    @Operation(
+        summary = "Buscar série histórica das medições de uma colmeia",
+        description = "Retorna a série de temperatura, umidade e CO2 no intervalo informado, na resolução mais grossa "
+            + "(mensal, semanal, diária, horária ou bruta) que ainda rende pelo menos a quantidade de pontos pedida "
+            + "e cujo período de retenção cobre o início do intervalo.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        parameters = {
+            @Parameter(
+                name = "hiveId",
+                description = "ID da colmeia",
+                required = true,
+                example = "f47ac10b-58cc-4372-a567-0e02b2c3d479"
+            ),
+            @Parameter(
+                name = "start",
+                description = "Início do intervalo (inclusivo)",
+                required = true,
+                example = "2024-07-01T00:00:00"
+            ),
+            @Parameter(
+                name = "end",
+                description = "Fim do intervalo (exclusivo)",
+                required = true,
+                example = "2024-08-01T00:00:00"
+            ),
+            @Parameter(
+                name = "points",
+                description = "Quantidade mínima de pontos desejada",
+                example = "30"
+            )
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Série encontrada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MeasurementSeriesResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Intervalo ou quantidade de pontos inválidos", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "401", description = "Token inválido ou expirado", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "404", description = "Colmeia não encontrada", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<MeasurementSeriesResponse> getMeasurementSeries(
+        @PathVariable UUID hiveId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+        @RequestParam(defaultValue = "100") int points
+    ) {
+        UUID userId = authenticationUtil.getCurrentUserId();
+        MeasurementSeries series = measurementUseCase.getMeasurementSeries(userId, hiveId, start, end, points);
+        return ResponseEntity.ok(MeasurementSeriesResponse.builder()
+            .hiveId(hiveId)
+            .resolution(series.getResolution().name())
+            .points(series.getPoints())
+            .build());
+    }
+
+    @GetMapping(value = "/{hiveId}", produces = NDJSON)
+    @Operation(
+        summary = "Exportar medições brutas de uma colmeia",
+        description = "Transmite as medições do intervalo [from, to) em NDJSON (um objeto JSON por linha), em ordem "
+            + "cronológica, à medida que são lidas do histórico. Quando o limite é atingido, a última linha é "
+            + "{\"nextCursor\": \"...\"}; envie esse valor no parâmetro cursor para continuar de onde parou.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        parameters = {
+            @Parameter(
+                name = "hiveId",
+                description = "ID da colmeia",
+                required = true,
+                example = "f47ac10b-58cc-4372-a567-0e02b2c3d479"
+            ),
+            @Parameter(
+                name = "from",
+                description = "Início do intervalo (inclusivo)",
+                required = true,
+                example = "2024-07-01T00:00:00"
+            ),
+            @Parameter(
+                name = "to",
+                description = "Fim do intervalo (exclusivo)",
+                required = true,
+                example = "2024-08-01T00:00:00"
+            ),
+            @Parameter(
+                name = "cursor",
+                description = "Cursor opaco retornado pela página anterior"
+            ),
+            @Parameter(
+                name = "limit",
+                description = "Quantidade máxima de medições nesta página",
+                example = "1000"
+            )
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Medições transmitidas",
+            content = @Content(
+                mediaType = NDJSON,
+                examples = {
+                    @io.swagger.v3.oas.annotations.media.ExampleObject(
+                        value = "{\"id\": \"c47ac10b-58cc-4372-a567-0e02b2c3d479\", \"temperature\": 34.2, \"humidity\": 78.5, \"co2\": 420.0, \"measuredAt\": \"2024-07-15T14:30:00\"}\n{\"nextCursor\": \"AAAAAGaVMGgAAAAAxHrBC1jMQ3KlZw4CssPUeQ\"}"
+                    )
+                }
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Intervalo, limite ou cursor inválidos", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "401", description = "Token inválido ou expirado", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "404", description = "Colmeia não encontrada", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<StreamingResponseBody> streamMeasurements(
+        @PathVariable UUID hiveId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "1000") int limit
+    ) {
+        UUID userId = authenticationUtil.getCurrentUserId();
+        MeasurementRangeQuery query = measurementUseCase.prepareMeasurementRange(userId, hiveId, from, to, cursor, limit);
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream)) {
+                int[] written = {0};
+
+                String nextCursor = measurementUseCase.streamMeasurements(query, measurement -> {
+                    try {
+                        writer.write(measurement);
+                        if (++written[0] % STREAM_FLUSH_ROWS == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        // Cliente desconectou: interrompe a leitura do banco
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                if (nextCursor != null) {
+                    writer.write(Map.of("nextCursor", nextCursor));
+                }
+                if (written[0] > 0) {
+                    writer.flush();
+                    outputStream.write('\n');
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON))
+            .body(body);
+    }
 }
@@ -0,0 +1,18 @@
+package com.tech_mel.tech_mel.infrastructure.api.dto.request.measurement;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Lote de medições acumuladas pelo dispositivo IoT da colmeia")
+public record CreateMeasurementBatchRequest(
+        @ArraySchema(
+                arraySchema = @Schema(description = "Medições em ordem cronológica (da mais antiga para a mais recente)"),
+                schema = @Schema(implementation = CreateMeasurementRequest.class),
+                maxItems = 500
+        )
+        @NotNull
+        List<CreateMeasurementRequest> measurements
+) {
+}
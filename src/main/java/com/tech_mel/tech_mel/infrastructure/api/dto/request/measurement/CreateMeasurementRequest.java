@@ -39,6 +39,16 @@ public record CreateMeasurementRequest(
                 pattern = "yyyy-MM-ddTHH:mm:ss"
         )
         @NotNull
-        LocalDateTime measuredAt
+        LocalDateTime measuredAt,
+
+        @Schema(
+                description = "Número de sequência da leitura no dispositivo (opcional). Reenvios com a mesma "
+                        + "sequência, ou sem sequência e com o mesmo measuredAt, são confirmados sem novo "
+                        + "processamento",
+                example = "1042",
+                minimum = "0",
+                nullable = true
+        )
+        Long sequence
 ) {
 }
@@ -0,0 +1,48 @@
+package com.tech_mel.tech_mel.infrastructure.api.dto.response.dashboard;
+
+import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.DailyMeasurementAveragesResponse;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement.MeasurementTrendResponse;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.threshold.ThresholdResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumo de uma colmeia para o painel do usuário")
+public class HiveDashboardResponse {
+    @Schema(description = "ID da colmeia", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+    private UUID id;
+
+    @Schema(description = "Nome da colmeia", example = "Colmeia Principal")
+    private String name;
+
+    @Schema(description = "Localização da colmeia", example = "Apiário Norte - Setor A1")
+    private String location;
+
+    @Schema(description = "Status da colmeia", example = "ACTIVE")
+    private Hive.HiveStatus hiveStatus;
+
+    @Schema(description = "Limiares configurados (nulo se a colmeia não tiver)")
+    private ThresholdResponse threshold;
+
+    @Schema(description = "Última medição registrada (nula se não houver medições recentes)")
+    private Measurement latestMeasurement;
+
+    @Schema(description = "Quantidade de alertas abertos (NEW ou VIEWED)", example = "2")
+    private long openAlerts;
+
+    @Schema(description = "Média diária mais recente (nula se ainda não calculada)")
+    private DailyMeasurementAveragesResponse lastDailyAverage;
+
+    @Schema(description = "Médias e tendência da última janela de leituras (nula se a colmeia não enviou leituras recentes)")
+    private MeasurementTrendResponse recentTrend;
+}
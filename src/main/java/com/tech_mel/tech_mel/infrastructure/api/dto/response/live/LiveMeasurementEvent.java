@@ -0,0 +1,23 @@
+package com.tech_mel.tech_mel.infrastructure.api.dto.response.live;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Evento SSE \"measurement\": nova medição recebida de uma colmeia")
+public class LiveMeasurementEvent {
+    @Schema(description = "ID da colmeia", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+    private UUID hiveId;
+
+    @Schema(description = "Medição recebida")
+    private Measurement measurement;
+}
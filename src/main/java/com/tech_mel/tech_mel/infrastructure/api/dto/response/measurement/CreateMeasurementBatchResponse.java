@@ -0,0 +1,39 @@
+package com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resposta do registro de um lote de medições")
+public class CreateMeasurementBatchResponse {
+    @Schema(
+            description = "Número de sequência da ingestão do lote na instância que o recebeu (nulo se nenhuma "
+                    + "medição nova foi aceita)",
+            example = "1024"
+    )
+    private Long sequence;
+
+    @Schema(description = "Quantidade de medições aceitas", example = "98")
+    private int accepted;
+
+    @Schema(
+            description = "Quantidade de medições aceitas que já tinham sido recebidas antes e foram confirmadas "
+                    + "sem novo processamento",
+            example = "3"
+    )
+    private int duplicates;
+
+    @Schema(description = "Quantidade de medições rejeitadas", example = "2")
+    private int rejected;
+
+    @Schema(description = "Situação de cada medição, na mesma ordem do lote enviado")
+    private List<MeasurementBatchItemResponse> items;
+}
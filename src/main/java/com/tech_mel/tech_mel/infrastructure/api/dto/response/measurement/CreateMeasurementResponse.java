@@ -10,8 +10,15 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Schema(description = "Resposta com os dados da medição registrada")
+@Schema(description = "Resposta com os dados da medição aceita para processamento")
 public class CreateMeasurementResponse {
+    @Schema(
+            description = "Número de sequência da ingestão na instância que recebeu a medição (nulo se a medição "
+                    + "já tinha sido recebida)",
+            example = "1024"
+    )
+    private Long sequence;
+
     @Schema(
             description = "Temperatura registrada em graus Celsius",
             example = "25.5"
@@ -30,4 +37,10 @@ public class CreateMeasurementResponse {
     )
     private Double co2;
 
+    @Schema(
+            description = "Indica que a medição já tinha sido recebida antes e foi confirmada sem novo processamento",
+            example = "false"
+    )
+    private boolean duplicate;
+
 }
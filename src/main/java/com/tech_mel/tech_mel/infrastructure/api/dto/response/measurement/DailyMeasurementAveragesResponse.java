@@ -27,6 +27,26 @@ public class DailyMeasurementAveragesResponse {
     private double avgCo2;
     @Schema(description = "Data da média (formato ISO).", example = "2024-07-15")
     private LocalDate date;
+    @Schema(description = "Quantidade de medições do dia.", example = "2880")
+    private Long sampleCount;
+    @Schema(description = "Temperatura mínima do dia (°C).", example = "31.2")
+    private Double minTemperature;
+    @Schema(description = "Temperatura máxima do dia (°C).", example = "35.8")
+    private Double maxTemperature;
+    @Schema(description = "Desvio padrão da temperatura do dia (°C).", example = "0.9")
+    private Double stddevTemperature;
+    @Schema(description = "Umidade mínima do dia (%).", example = "68.0")
+    private Double minHumidity;
+    @Schema(description = "Umidade máxima do dia (%).", example = "81.4")
+    private Double maxHumidity;
+    @Schema(description = "Desvio padrão da umidade do dia (%).", example = "2.7")
+    private Double stddevHumidity;
+    @Schema(description = "CO2 mínimo do dia (ppm).", example = "380.0")
+    private Double minCo2;
+    @Schema(description = "CO2 máximo do dia (ppm).", example = "455.0")
+    private Double maxCo2;
+    @Schema(description = "Desvio padrão do CO2 do dia (ppm).", example = "14.2")
+    private Double stddevCo2;
     @Schema(description = "ID da colmeia.", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
     private UUID hiveId;
 }
@@ -0,0 +1,23 @@
+package com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Situação de uma medição dentro do lote enviado")
+public class MeasurementBatchItemResponse {
+    @Schema(description = "Posição da medição no lote enviado", example = "0")
+    private int index;
+
+    @Schema(description = "Situação da medição", example = "ACCEPTED")
+    private String status;
+
+    @Schema(description = "Motivo da rejeição, quando houver", example = "measuredAt is required")
+    private String error;
+}
@@ -0,0 +1,28 @@
+package com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementRollup;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    description = "Série histórica de uma colmeia na resolução escolhida para o intervalo.",
+    example = "{\"hiveId\": \"f47ac10b-58cc-4372-a567-0e02b2c3d479\", \"resolution\": \"DAILY\", \"points\": [{\"bucketStart\": \"2024-07-15T00:00:00\", \"sampleCount\": 2880, \"avgTemperature\": 33.5, \"minTemperature\": 31.2, \"maxTemperature\": 35.8, \"stddevTemperature\": 0.9, \"avgHumidity\": 75.2, \"minHumidity\": 70.1, \"maxHumidity\": 80.4, \"stddevHumidity\": 2.1, \"avgCo2\": 410.0, \"minCo2\": 395.0, \"maxCo2\": 430.0, \"stddevCo2\": 8.3}]}"
+)
+public class MeasurementSeriesResponse {
+    @Schema(description = "ID da colmeia.", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+    UUID hiveId;
+    @Schema(description = "Resolução dos pontos (RAW, HOURLY, DAILY, WEEKLY ou MONTHLY).", example = "DAILY")
+    String resolution;
+    @Schema(description = "Pontos da série em ordem cronológica.")
+    List<MeasurementRollup> points;
+}
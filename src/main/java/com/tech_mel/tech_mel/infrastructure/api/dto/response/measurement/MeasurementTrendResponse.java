@@ -0,0 +1,38 @@
+package com.tech_mel.tech_mel.infrastructure.api.dto.response.measurement;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Médias e tendência das leituras recentes de uma colmeia")
+public class MeasurementTrendResponse {
+    @Schema(description = "Duração da janela considerada (ISO-8601)", example = "PT1H")
+    private String window;
+
+    @Schema(description = "Quantidade de leituras na janela", example = "120")
+    private int sampleCount;
+
+    @Schema(description = "Temperatura média na janela (°C)", example = "34.2")
+    private Double avgTemperature;
+
+    @Schema(description = "Umidade média na janela (%)", example = "72.5")
+    private Double avgHumidity;
+
+    @Schema(description = "CO2 médio na janela (ppm)", example = "415.0")
+    private Double avgCo2;
+
+    @Schema(description = "Variação da temperatura em °C por minuto (nula com menos de duas leituras)", example = "0.02")
+    private Double temperatureRate;
+
+    @Schema(description = "Variação da umidade em pontos percentuais por minuto", example = "-0.1")
+    private Double humidityRate;
+
+    @Schema(description = "Variação do CO2 em ppm por minuto", example = "1.5")
+    private Double co2Rate;
+}
@@ -0,0 +1,349 @@
+package com.tech_mel.tech_mel.infrastructure.api.reader;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tech_mel.tech_mel.application.exception.BadRequestException;
+import com.tech_mel.tech_mel.domain.model.MeasurementIngestResult;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Lê o corpo das requisições de ingestão com o JsonParser de streaming direto para os primitivos de um
+// MeasurementReadings da thread, sem CreateMeasurementRequest, Double nem LocalDateTime por leitura.
+// O lote devolvido é reaproveitado na próxima requisição da mesma thread: quem precisa guardá-lo copia.
+// Aceita os mesmos formatos do databind: números (ou strings numéricas) e measuredAt ISO-8601 sem fuso.
+@Component
+public class MeasurementJsonReader {
+    private static final int READINGS_CAPACITY = 16;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    static final long INVALID_TIMESTAMP = Long.MIN_VALUE + 1;
+    private static final long INVALID_SEQUENCE = -2;
+
+    private final JsonFactory jsonFactory;
+    private final int maxBatchSize;
+    private final ThreadLocal<MeasurementReadings> buffers =
+            ThreadLocal.withInitial(() -> new MeasurementReadings(READINGS_CAPACITY));
+
+    public MeasurementJsonReader(
+            ObjectMapper objectMapper,
+            @Value("${app.measurements.batch.max-size:500}") int maxBatchSize
+    ) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    // Corpo com uma medição; qualquer campo inválido recusa a requisição
+    public MeasurementReadings readSingle(InputStream body) {
+        MeasurementReadings readings = buffers.get();
+        readings.clear();
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            String error = parser.nextToken() == JsonToken.START_OBJECT
+                    ? readReading(parser, readings)
+                    : "measurement is required";
+            if (error != null) {
+                throw new BadRequestException("Invalid measurement: " + error + ".");
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed measurement payload.");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return readings;
+    }
+
+    // Corpo {"measurements": [...]}; itens inválidos vão para rejected com o índice no lote e o restante segue
+    public MeasurementReadings readBatch(InputStream body, List<MeasurementIngestResult> rejected) {
+        MeasurementReadings readings = buffers.get();
+        readings.clear();
+        int items = 0;
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BadRequestException("Malformed measurement payload.");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken value = parser.nextToken();
+                if (!"measurements".equals(parser.currentName()) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                JsonToken item;
+                while ((item = parser.nextToken()) != JsonToken.END_ARRAY && item != null) {
+                    if (items == maxBatchSize) {
+                        throw new BadRequestException("Measurement batch exceeds the maximum size of "
+                                + maxBatchSize + " items.");
+                    }
+
+                    String error;
+                    if (item == JsonToken.START_OBJECT) {
+                        error = readReading(parser, readings);
+                    } else {
+                        parser.skipChildren();
+                        error = "measurement is required";
+                    }
+
+                    if (error != null) {
+                        rejected.add(MeasurementIngestResult.builder()
+                                .index(items)
+                                .status(MeasurementIngestResult.Status.REJECTED)
+                                .error(error)
+                                .build());
+                    }
+                    items++;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed measurement payload.");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (items == 0) {
+            throw new BadRequestException("Measurement batch cannot be empty.");
+        }
+
+        return readings;
+    }
+
+    // Parser posicionado no START_OBJECT da medição; termina no END_OBJECT correspondente
+    private String readReading(JsonParser parser, MeasurementReadings readings) throws IOException {
+        double temperature = Double.NaN;
+        double humidity = Double.NaN;
+        double co2 = Double.NaN;
+        long measuredAt = NO_TIMESTAMP;
+        long sequence = MeasurementReadings.NO_SEQUENCE;
+        String error = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "temperature" -> {
+                    temperature = number(parser, value);
+                    error = error != null ? error : invalidNumber(value, temperature, "temperature");
+                }
+                case "humidity" -> {
+                    humidity = number(parser, value);
+                    error = error != null ? error : invalidNumber(value, humidity, "humidity");
+                }
+                case "co2" -> {
+                    co2 = number(parser, value);
+                    error = error != null ? error : invalidNumber(value, co2, "co2");
+                }
+                case "measuredAt" -> {
+                    measuredAt = timestamp(parser, value);
+                    if (error == null && measuredAt == INVALID_TIMESTAMP) {
+                        error = "measuredAt must be an ISO-8601 date-time";
+                    }
+                }
+                case "sequence" -> {
+                    sequence = sequence(parser, value);
+                    if (error == null && sequence == INVALID_SEQUENCE) {
+                        error = "sequence must be a non-negative integer";
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (error != null) {
+            return error;
+        }
+        if (Double.isNaN(temperature)) {
+            return "temperature is required";
+        }
+        if (Double.isNaN(humidity)) {
+            return "humidity is required";
+        }
+        if (Double.isNaN(co2)) {
+            return "co2 is required";
+        }
+        if (measuredAt == NO_TIMESTAMP) {
+            return "measuredAt is required";
+        }
+
+        // UUID versão 4 a partir de ThreadLocalRandom: o id não é segredo e UUID.randomUUID() passa pelo
+        // SecureRandom compartilhado
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long idMsb = random.nextLong() & ~0xF000L | 0x4000L;
+        long idLsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+        readings.add(idMsb, idLsb, measuredAt, sequence, temperature, humidity, co2);
+        return null;
+    }
+
+    private static double number(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_STRING -> parseDouble(parser.getText());
+            default -> {
+                parser.skipChildren();
+                yield Double.NaN;
+            }
+        };
+    }
+
+    private static String invalidNumber(JsonToken token, double value, String field) {
+        return token != JsonToken.VALUE_NULL && Double.isNaN(value) ? field + " must be a number" : null;
+    }
+
+    private static double parseDouble(String text) {
+        try {
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // Opcional: null ou ausente vira NO_SEQUENCE
+    private static long sequence(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return MeasurementReadings.NO_SEQUENCE;
+        }
+
+        long value = switch (token) {
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? INVALID_SEQUENCE
+                    : parser.getLongValue();
+            case VALUE_STRING -> parseLong(parser.getText());
+            default -> {
+                parser.skipChildren();
+                yield INVALID_SEQUENCE;
+            }
+        };
+        return value < 0 ? INVALID_SEQUENCE : value;
+    }
+
+    private static long parseLong(String text) {
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return INVALID_SEQUENCE;
+        }
+    }
+
+    private static long timestamp(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return NO_TIMESTAMP;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return INVALID_TIMESTAMP;
+        }
+
+        long millis = parseIsoLocalDateTime(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        if (millis != INVALID_TIMESTAMP) {
+            return millis;
+        }
+
+        // Formatos menos comuns que o LocalDateTime também aceita
+        try {
+            return LocalDateTime.parse(parser.getText()).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return INVALID_TIMESTAMP;
+        }
+    }
+
+    // yyyy-MM-ddTHH:mm[:ss[.fração]][Z] direto do buffer de caracteres do parser, como UTC
+    static long parseIsoLocalDateTime(char[] text, int offset, int length) {
+        int end = offset + length;
+        if (length > 0 && text[end - 1] == 'Z') {
+            end--;
+        }
+        if (end - offset < 16
+                || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+                || text[offset + 13] != ':') {
+            return INVALID_TIMESTAMP;
+        }
+
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = 0;
+        int millis = 0;
+
+        int position = offset + 16;
+        if (position < end) {
+            if (text[position] != ':' || end - position < 3) {
+                return INVALID_TIMESTAMP;
+            }
+            second = digits(text, position + 1, 2);
+            position += 3;
+
+            if (position < end) {
+                if (text[position] != '.' || end - position < 2 || end - position > 10) {
+                    return INVALID_TIMESTAMP;
+                }
+                int scale = 100;
+                for (int i = position + 1; i < end; i++) {
+                    int digit = text[i] - '0';
+                    if (digit < 0 || digit > 9) {
+                        return INVALID_TIMESTAMP;
+                    }
+                    millis += digit * scale;
+                    scale /= 10;
+                }
+            }
+        }
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID_TIMESTAMP;
+        }
+
+        return epochDay(year, month, day) * MILLIS_PER_DAY
+                + hour * 3_600_000L + minute * 60_000L + second * 1_000L + millis;
+    }
+
+    // -1 quando algum caractere não é dígito
+    private static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Dias desde 1970-01-01 no calendário gregoriano proléptico (mesma conta do LocalDate.toEpochDay)
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+}
@@ -0,0 +1,172 @@
+package com.tech_mel.tech_mel.infrastructure.cache.adapter;
+
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.port.output.HiveLookupCachePort;
+import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class InMemoryHiveLookupCacheAdapter implements HiveLookupCachePort {
+    private final HiveRepositoryPort hiveRepositoryPort;
+
+    // Chaves conhecidas e desconhecidas ficam em mapas separados para que dispositivos mal configurados
+    // não consigam expulsar do cache as colmeias válidas
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> unknownKeys = new ConcurrentHashMap<>();
+
+    // Incrementado a cada invalidação; cargas iniciadas antes dela não são gravadas no cache
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final int maxEntries;
+    private final int maxUnknownKeys;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public InMemoryHiveLookupCacheAdapter(
+            HiveRepositoryPort hiveRepositoryPort,
+            MeterRegistry meterRegistry,
+            @Value("${app.hive-cache.max-entries:10000}") int maxEntries,
+            @Value("${app.hive-cache.max-unknown-keys:10000}") int maxUnknownKeys,
+            @Value("${app.hive-cache.ttl:PT5M}") Duration ttl,
+            @Value("${app.hive-cache.negative-ttl:PT1M}") Duration negativeTtl
+    ) {
+        this.hiveRepositoryPort = hiveRepositoryPort;
+        this.maxEntries = maxEntries;
+        this.maxUnknownKeys = maxUnknownKeys;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+
+        this.hits = Counter.builder("hive.apikey.cache.requests")
+                .description("Resoluções de API key atendidas pelo cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.negativeHits = Counter.builder("hive.apikey.cache.requests")
+                .description("Resoluções de API key desconhecida atendidas pelo cache negativo")
+                .tag("result", "negative_hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("hive.apikey.cache.requests")
+                .description("Resoluções de API key que precisaram consultar o banco")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("hive.apikey.cache.evictions")
+                .description("Entradas removidas do cache por limite de tamanho")
+                .register(meterRegistry);
+
+        Gauge.builder("hive.apikey.cache.size", entries, Map::size)
+                .tag("type", "known")
+                .register(meterRegistry);
+        Gauge.builder("hive.apikey.cache.size", unknownKeys, Map::size)
+                .tag("type", "unknown")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<HiveDescriptor> findByApiKey(String apiKey) {
+        long now = System.nanoTime();
+
+        CacheEntry entry = entries.get(apiKey);
+        if (entry != null && entry.expiresAt() - now > 0) {
+            hits.increment();
+            return Optional.of(entry.descriptor());
+        }
+
+        Long unknownUntil = unknownKeys.get(apiKey);
+        if (unknownUntil != null && unknownUntil - now > 0) {
+            negativeHits.increment();
+            return Optional.empty();
+        }
+
+        misses.increment();
+
+        long generation = invalidations.get();
+        Optional<HiveDescriptor> descriptor = hiveRepositoryPort.findDescriptorByApiKey(apiKey);
+
+        if (generation == invalidations.get()) {
+            if (descriptor.isPresent()) {
+                unknownKeys.remove(apiKey);
+                ensureCapacity(entries, maxEntries);
+                entries.put(apiKey, new CacheEntry(descriptor.get(), now + ttlNanos));
+            } else {
+                entries.remove(apiKey);
+                ensureCapacity(unknownKeys, maxUnknownKeys);
+                unknownKeys.put(apiKey, now + negativeTtlNanos);
+            }
+        }
+
+        return descriptor;
+    }
+
+    @Override
+    public void evict(String apiKey) {
+        if (apiKey == null) {
+            return;
+        }
+
+        invalidate(apiKey);
+
+        // Dentro de uma transação, uma leitura concorrente ainda pode ver o valor antigo até o commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(apiKey);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.hive-cache.cleanup-interval:PT1M}")
+    public void removeExpiredEntries() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+        unknownKeys.values().removeIf(expiresAt -> expiresAt - now <= 0);
+    }
+
+    private void invalidate(String apiKey) {
+        invalidations.incrementAndGet();
+        entries.remove(apiKey);
+        unknownKeys.remove(apiKey);
+    }
+
+    private void ensureCapacity(Map<String, ?> map, int maxSize) {
+        if (map.size() < maxSize) {
+            return;
+        }
+
+        removeExpiredEntries();
+
+        // Ainda cheio: descarta ~10% das entradas para abrir espaço sem fazer isso a cada inserção
+        int toRemove = map.size() - (int) (maxSize * 0.9);
+        Iterator<String> iterator = map.keySet().iterator();
+
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private record CacheEntry(HiveDescriptor descriptor, long expiresAt) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.tech_mel.tech_mel.infrastructure.cache.adapter;
+
+import com.tech_mel.tech_mel.domain.model.DailyMeasurementAggregate;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.output.DailyMeasurementAggregatePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Agregados diários por colmeia em hashes do Redis (n, <métrica>_sum, _min, _max, _sq). A aplicação
+// resume o lote por dia e o script soma o resumo ao hash, então o custo por requisição independe do
+// tamanho do lote e a atualização é atômica mesmo com várias instâncias gravando a mesma colmeia.
+// Cada gravação também põe a colmeia no conjunto das alteradas do dia; os hashes ficam até o ttl, então o job
+// refaz a média de uma colmeia alterada depois que o dia foi concluído a partir do agregado completo.
+@Component
+public class RedisDailyMeasurementAggregateAdapter implements DailyMeasurementAggregatePort {
+    private static final String KEY_PREFIX = "measurements:daily:";
+    private static final String CHANGED_KEY_PREFIX = "measurements:daily:changed:";
+    private static final String[] METRIC_PREFIXES = {"t", "h", "c"};
+
+    private static final RedisScript<Long> RECORD_AGGREGATES_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/record-daily-aggregates.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration ttl;
+    private final String ttlSecondsArg;
+
+    public RedisDailyMeasurementAggregateAdapter(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${app.daily-aggregates.ttl:P4D}") Duration ttl
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = ttl;
+        this.ttlSecondsArg = String.valueOf(ttl.toSeconds());
+    }
+
+    @Override
+    public void record(UUID hiveId, Collection<Measurement> measurements) {
+        if (measurements == null || measurements.isEmpty()) {
+            return;
+        }
+
+        Map<LocalDate, Accumulator> byDay = new TreeMap<>();
+        for (Measurement measurement : measurements) {
+            byDay.computeIfAbsent(measurement.getMeasuredAt().toLocalDate(), date -> new Accumulator())
+                    .add(measurement.getTemperature(), measurement.getHumidity(), measurement.getCo2());
+        }
+
+        record(hiveId, byDay);
+    }
+
+    @Override
+    public void record(UUID hiveId, MeasurementReadings readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+
+        // Lotes quase sempre caem em um só dia: só cria o LocalDate quando o dia muda
+        Map<LocalDate, Accumulator> byDay = new TreeMap<>();
+        long currentDay = Long.MIN_VALUE;
+        Accumulator accumulator = null;
+        for (int i = 0; i < readings.size(); i++) {
+            long epochDay = readings.epochDay(i);
+            if (epochDay != currentDay) {
+                currentDay = epochDay;
+                accumulator = byDay.computeIfAbsent(LocalDate.ofEpochDay(epochDay), date -> new Accumulator());
+            }
+            accumulator.add(readings.temperature(i), readings.humidity(i), readings.co2(i));
+        }
+
+        record(hiveId, byDay);
+    }
+
+    private void record(UUID hiveId, Map<LocalDate, Accumulator> byDay) {
+        List<String> keys = new ArrayList<>(byDay.size() * 2);
+        List<String> args = new ArrayList<>(2 + byDay.size() * 13);
+        args.add(ttlSecondsArg);
+        args.add(hiveId.toString());
+
+        for (Map.Entry<LocalDate, Accumulator> day : byDay.entrySet()) {
+            keys.add(key(hiveId, day.getKey()));
+            day.getValue().appendArgs(args);
+        }
+        for (LocalDate date : byDay.keySet()) {
+            keys.add(changedKey(date));
+        }
+
+        stringRedisTemplate.execute(RECORD_AGGREGATES_SCRIPT, keys, args.toArray());
+    }
+
+    @Override
+    public Map<UUID, DailyMeasurementAggregate> findAll(Collection<UUID> hiveIds, LocalDate date) {
+        if (hiveIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UUID> ids = List.copyOf(hiveIds);
+        List<Object> hashes = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (UUID hiveId : ids) {
+                stringConnection.hGetAll(key(hiveId, date));
+            }
+            return null;
+        });
+
+        Map<UUID, DailyMeasurementAggregate> aggregates = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (hashes.get(i) instanceof Map<?, ?> hash && !hash.isEmpty()) {
+                aggregates.put(ids.get(i), toAggregate(ids.get(i), date, hash));
+            }
+        }
+        return aggregates;
+    }
+
+    @Override
+    public Set<UUID> takeChanged(LocalDate date, int count) {
+        List<String> members = stringRedisTemplate.opsForSet().pop(changedKey(date), count);
+        if (members == null || members.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<UUID> hiveIds = new HashSet<>(members.size());
+        for (String member : members) {
+            hiveIds.add(UUID.fromString(member));
+        }
+        return hiveIds;
+    }
+
+    @Override
+    public void markChanged(Collection<UUID> hiveIds, LocalDate date) {
+        if (hiveIds.isEmpty()) {
+            return;
+        }
+
+        String[] members = hiveIds.stream().map(UUID::toString).toArray(String[]::new);
+        stringRedisTemplate.opsForSet().add(changedKey(date), members);
+        stringRedisTemplate.expire(changedKey(date), ttl);
+    }
+
+    @Override
+    public void clearChanged(LocalDate date) {
+        stringRedisTemplate.delete(changedKey(date));
+    }
+
+    private static DailyMeasurementAggregate toAggregate(UUID hiveId, LocalDate date, Map<?, ?> hash) {
+        return DailyMeasurementAggregate.builder()
+                .hiveId(hiveId)
+                .date(date)
+                .count(Long.parseLong((String) hash.get("n")))
+                .temperature(toStats(hash, METRIC_PREFIXES[0]))
+                .humidity(toStats(hash, METRIC_PREFIXES[1]))
+                .co2(toStats(hash, METRIC_PREFIXES[2]))
+                .build();
+    }
+
+    private static DailyMeasurementAggregate.MetricStats toStats(Map<?, ?> hash, String prefix) {
+        return new DailyMeasurementAggregate.MetricStats(
+                Double.parseDouble((String) hash.get(prefix + "_sum")),
+                Double.parseDouble((String) hash.get(prefix + "_min")),
+                Double.parseDouble((String) hash.get(prefix + "_max")),
+                Double.parseDouble((String) hash.get(prefix + "_sq"))
+        );
+    }
+
+    private static String key(UUID hiveId, LocalDate date) {
+        return KEY_PREFIX + hiveId + ":" + date;
+    }
+
+    private static String changedKey(LocalDate date) {
+        return CHANGED_KEY_PREFIX + date;
+    }
+
+    // Resumo do lote para um dia: temperatura, umidade e CO2 nas posições 0, 1 e 2
+    private static final class Accumulator {
+        private long count;
+        private final double[] sum = new double[3];
+        private final double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        private final double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        private final double[] sumOfSquares = new double[3];
+
+        void add(double temperature, double humidity, double co2) {
+            count++;
+            add(0, temperature);
+            add(1, humidity);
+            add(2, co2);
+        }
+
+        private void add(int metric, double value) {
+            sum[metric] += value;
+            sumOfSquares[metric] += value * value;
+            min[metric] = Math.min(min[metric], value);
+            max[metric] = Math.max(max[metric], value);
+        }
+
+        void appendArgs(List<String> args) {
+            args.add(String.valueOf(count));
+            for (int metric = 0; metric < 3; metric++) {
+                args.add(String.valueOf(sum[metric]));
+                args.add(String.valueOf(min[metric]));
+                args.add(String.valueOf(max[metric]));
+                args.add(String.valueOf(sumOfSquares[metric]));
+            }
+        }
+    }
+}
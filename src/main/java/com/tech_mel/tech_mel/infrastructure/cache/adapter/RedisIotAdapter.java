@@ -1,61 +1,130 @@
 package com.tech_mel.tech_mel.infrastructure.cache.adapter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
 import com.tech_mel.tech_mel.domain.port.output.RedisIotPort;
+import com.tech_mel.tech_mel.infrastructure.cache.serializer.MeasurementRedisSerializer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.iot.storage", havingValue = "list", matchIfMissing = true)
 public class RedisIotAdapter implements RedisIotPort {
-    private final RedisTemplate<String, Object> iotRedisTemplate;
+    private final RedisTemplate<String, Measurement> iotRedisTemplate;
 
     private static final String MEASUREMENT_KEY_PREFIX = "measurements:";
+    private static final String LATEST_MEASUREMENT_KEY_PREFIX = "measurements:latest:";
     private static final long DEFAULT_TTL_HOURS = 24; // TTL de 24 horas para as medições
+    private static final int MAX_MEASUREMENTS_PER_HIVE = 1000;
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule());
+    // LPUSH + LTRIM + EXPIRE (e a chave de última medição) executados no servidor; o RedisTemplate usa EVALSHA e só envia o script
+    // completo (EVAL) quando o Redis ainda não o tem em cache
+    private static final RedisScript<Long> APPEND_MEASUREMENTS_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/append-measurements.lua"), Long.class);
+
+    private static final byte[] MAX_MEASUREMENTS_ARG =
+            String.valueOf(MAX_MEASUREMENTS_PER_HIVE).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TTL_SECONDS_ARG =
+            String.valueOf(DEFAULT_TTL_HOURS * 3600).getBytes(StandardCharsets.UTF_8);
 
     @Override
     public void saveMeasurement(String apiKey, Measurement measurement) {
-        String key = MEASUREMENT_KEY_PREFIX + apiKey;
+        saveMeasurements(apiKey, List.of(measurement));
+    }
+
+    @Override
+    public void saveMeasurements(String apiKey, List<Measurement> measurements) {
+        if (measurements == null || measurements.isEmpty()) {
+            return;
+        }
+
+        RedisSerializer<Measurement> valueSerializer = valueSerializer();
+
+        // Medições da mais antiga para a mais recente: a última enviada fica no início da lista
+        List<byte[]> args = new ArrayList<>(measurements.size() + 2);
+        args.add(MAX_MEASUREMENTS_ARG);
+        args.add(TTL_SECONDS_ARG);
+        for (Measurement measurement : measurements) {
+            args.add(valueSerializer.serialize(measurement));
+        }
+
+        append(apiKey, args);
+    }
+
+    @Override
+    public void saveReadings(String apiKey, MeasurementReadings readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
 
-        // Define TTL para a chave se ela não existir
-        if (!iotRedisTemplate.hasKey(key)) {
-            iotRedisTemplate.expire(key, java.time.Duration.ofHours(DEFAULT_TTL_HOURS));
+        List<byte[]> args = new ArrayList<>(readings.size() + 2);
+        args.add(MAX_MEASUREMENTS_ARG);
+        args.add(TTL_SECONDS_ARG);
+        for (int i = 0; i < readings.size(); i++) {
+            args.add(MeasurementRedisSerializer.encode(readings, i));
         }
 
-        // Adiciona a medição no início da lista (mais recente primeiro)
-        iotRedisTemplate.opsForList().leftPush(key, measurement);
+        append(apiKey, args);
+    }
 
-        // Mantém apenas as últimas 1000 medições para evitar crescimento excessivo
-        iotRedisTemplate.opsForList().trim(key, 0, 999);
+    private void append(String apiKey, List<byte[]> args) {
+        iotRedisTemplate.execute(
+                APPEND_MEASUREMENTS_SCRIPT,
+                RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(MEASUREMENT_KEY_PREFIX + apiKey, LATEST_MEASUREMENT_KEY_PREFIX + apiKey),
+                args.toArray()
+        );
     }
 
     @Override
     public List<Measurement> getMeasurements(String apiKey, int limit) {
         String key = MEASUREMENT_KEY_PREFIX + apiKey;
 
-        List<Object> rawMeasurements = iotRedisTemplate.opsForList().range(key, 0, limit - 1);
+        List<Measurement> measurements = iotRedisTemplate.opsForList().range(key, 0, limit - 1);
 
-        if (rawMeasurements == null) {
+        if (measurements == null) {
             return List.of();
         }
 
-        return rawMeasurements.stream()
+        return measurements.stream()
                 .filter(Objects::nonNull)
-                .map(obj -> objectMapper.convertValue(obj, Measurement.class))
                 .toList();
     }
 
+    @Override
+    public List<Measurement> getMeasurementsBetween(String apiKey, LocalDateTime start, LocalDateTime end, int limit) {
+        // Sem índice por measuredAt: lê tudo o que está retido para a colmeia e filtra
+        List<Measurement> retained = getMeasurements(apiKey, MAX_MEASUREMENTS_PER_HIVE);
+        List<Measurement> measurements = new ArrayList<>();
+
+        for (int i = retained.size() - 1; i >= 0 && measurements.size() < limit; i--) {
+            Measurement measurement = retained.get(i);
+            LocalDateTime measuredAt = measurement.getMeasuredAt();
+            if (measuredAt != null && !measuredAt.isBefore(start) && measuredAt.isBefore(end)) {
+                measurements.add(measurement);
+            }
+        }
+
+        return measurements;
+    }
+
     @Override
     public Map<String, Measurement> getLatestMeasurementsForMultipleHives(List<String> apiKeys) {
         // Evita NPE ao lidar com lista nula ou vazia
@@ -63,31 +132,67 @@ public class RedisIotAdapter implements RedisIotPort {
             return Map.of();
         }
 
-        // Filtra apiKeys nulas antes e só cria o entry quando a measurement não é nula
-        return apiKeys.stream()
+        List<String> validApiKeys = apiKeys.stream()
                 .filter(Objects::nonNull)
-                .map(apiKey -> {
-                    Measurement latest = getLatestMeasurement(apiKey);
-                    return latest == null ? null : Map.entry(apiKey, latest);
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .distinct()
+                .toList();
+
+        // Um único MGET nas chaves de última medição, independente da quantidade de colmeias
+        List<Measurement> latest = iotRedisTemplate.opsForValue().multiGet(validApiKeys.stream()
+                .map(apiKey -> LATEST_MEASUREMENT_KEY_PREFIX + apiKey)
+                .toList());
+
+        Map<String, Measurement> result = new HashMap<>(validApiKeys.size());
+        List<String> missing = new ArrayList<>();
+
+        for (int i = 0; i < validApiKeys.size(); i++) {
+            Measurement measurement = latest != null ? latest.get(i) : null;
+            if (measurement != null) {
+                result.put(validApiKeys.get(i), measurement);
+            } else {
+                missing.add(validApiKeys.get(i));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            // Listas gravadas antes da chave de última medição existir: um LINDEX por colmeia no mesmo pipeline
+            List<Object> fallback = iotRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String apiKey : missing) {
+                    connection.listCommands().lIndex(
+                            (MEASUREMENT_KEY_PREFIX + apiKey).getBytes(StandardCharsets.UTF_8), 0);
+                }
+                return null;
+            }, null);
+
+            RedisSerializer<Measurement> valueSerializer = valueSerializer();
+            for (int i = 0; i < missing.size(); i++) {
+                if (fallback.get(i) instanceof byte[] bytes) {
+                    result.put(missing.get(i), valueSerializer.deserialize(bytes));
+                }
+            }
+        }
+
+        return result;
     }
 
     @Override
     public Measurement getLatestMeasurement(String apiKey) {
-        String key = MEASUREMENT_KEY_PREFIX + apiKey;
+        Measurement latest = iotRedisTemplate.opsForValue().get(LATEST_MEASUREMENT_KEY_PREFIX + apiKey);
 
-        Object latestMeasurement = iotRedisTemplate.opsForList().index(key, 0);
+        if (latest != null) {
+            return latest;
+        }
 
-        return latestMeasurement != null
-                ? objectMapper.convertValue(latestMeasurement, Measurement.class)
-                : null;
+        return iotRedisTemplate.opsForList().index(MEASUREMENT_KEY_PREFIX + apiKey, 0);
     }
 
     @Override
     public void clearMeasurements(String apiKey) {
-        String key = MEASUREMENT_KEY_PREFIX + apiKey;
-        iotRedisTemplate.delete(key);
+        iotRedisTemplate.delete(List.of(MEASUREMENT_KEY_PREFIX + apiKey, LATEST_MEASUREMENT_KEY_PREFIX + apiKey));
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Measurement> valueSerializer() {
+        return (RedisSerializer<Measurement>) iotRedisTemplate.getValueSerializer();
     }
 }
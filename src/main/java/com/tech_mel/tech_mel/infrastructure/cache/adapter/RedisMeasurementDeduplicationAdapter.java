@@ -0,0 +1,58 @@
+package com.tech_mel.tech_mel.infrastructure.cache.adapter;
+
+import com.tech_mel.tech_mel.domain.port.output.MeasurementDeduplicationPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+// Uma chave por leitura vista (SET NX EX), todas do lote em um único pipeline. O SET NX é atômico no
+// Redis, então duas instâncias recebendo o mesmo reenvio concordam sobre qual delas processa a leitura.
+@Component
+@RequiredArgsConstructor
+public class RedisMeasurementDeduplicationAdapter implements MeasurementDeduplicationPort {
+    private static final String KEY_PREFIX = "measurements:seen:";
+    private static final String MARKER = "1";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public boolean[] claim(UUID hiveId, List<String> readingKeys, Duration ttl) {
+        Expiration expiration = Expiration.seconds(Math.max(ttl.toSeconds(), 1));
+        String prefix = KEY_PREFIX + hiveId + ":";
+
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String readingKey : readingKeys) {
+                stringConnection.set(prefix + readingKey, MARKER, expiration,
+                        RedisStringCommands.SetOption.ifAbsent());
+            }
+            return null;
+        });
+
+        boolean[] claimed = new boolean[readingKeys.size()];
+        for (int i = 0; i < claimed.length; i++) {
+            claimed[i] = Boolean.TRUE.equals(results.get(i));
+        }
+        return claimed;
+    }
+
+    @Override
+    public void release(UUID hiveId, List<String> readingKeys) {
+        if (readingKeys.isEmpty()) {
+            return;
+        }
+
+        String prefix = KEY_PREFIX + hiveId + ":";
+        stringRedisTemplate.delete(readingKeys.stream()
+                .map(readingKey -> prefix + readingKey)
+                .toList());
+    }
+}
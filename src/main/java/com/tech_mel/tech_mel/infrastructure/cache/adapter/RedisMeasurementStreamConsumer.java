@@ -0,0 +1,279 @@
+package com.tech_mel.tech_mel.infrastructure.cache.adapter;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementStreamProcessor;
+import com.tech_mel.tech_mel.infrastructure.cache.serializer.MeasurementRedisSerializer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Um consumer group por MeasurementStreamProcessor sobre o log global de medições (archival, alerts e
+// aggregation, que neste modo substituem os estágios equivalentes do pipeline). Entradas só recebem
+// XACK depois de processadas; no reinício o consumidor relê primeiro as suas pendentes e, periodicamente,
+// assume as entradas paradas de consumidores que caíram.
+@Component
+@ConditionalOnProperty(name = "app.iot.storage", havingValue = "stream")
+@Slf4j
+public class RedisMeasurementStreamConsumer {
+    private final RedisTemplate<String, Measurement> iotRedisTemplate;
+    private final List<MeasurementStreamProcessor> processors;
+    private final MeasurementRedisSerializer measurementSerializer = new MeasurementRedisSerializer();
+
+    private final byte[] logStreamKey;
+    private final String consumerName;
+    private final int readCount;
+    private final Duration readBlock;
+    private final Duration claimIdle;
+    private final int maxDeliveries;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public RedisMeasurementStreamConsumer(
+            RedisTemplate<String, Measurement> iotRedisTemplate,
+            ObjectProvider<MeasurementStreamProcessor> processors,
+            @Value("${app.iot.stream.log-key:measurements:log}") String logStreamKey,
+            @Value("${app.iot.stream.consumer-name:${HOSTNAME:tech-mel}}") String consumerName,
+            @Value("${app.iot.stream.read-count:200}") int readCount,
+            @Value("${app.iot.stream.read-block:PT2S}") Duration readBlock,
+            @Value("${app.iot.stream.claim-idle:PT1M}") Duration claimIdle,
+            @Value("${app.iot.stream.max-deliveries:5}") int maxDeliveries
+    ) {
+        this.iotRedisTemplate = iotRedisTemplate;
+        this.processors = processors.orderedStream().toList();
+        this.logStreamKey = logStreamKey.getBytes(StandardCharsets.UTF_8);
+        this.consumerName = consumerName;
+        this.readCount = readCount;
+        this.readBlock = readBlock;
+        this.claimIdle = claimIdle;
+        this.maxDeliveries = maxDeliveries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+
+        for (MeasurementStreamProcessor processor : processors) {
+            Thread worker = new Thread(() -> consume(processor), "measurement-stream-" + processor.getGroupName());
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        log.info("Started {} measurement stream consumer(s) as '{}'", workers.size(), consumerName);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+
+        for (Thread worker : workers) {
+            worker.join(readBlock.toMillis() * 2);
+        }
+    }
+
+    private void consume(MeasurementStreamProcessor processor) {
+        Consumer consumer = Consumer.from(processor.getGroupName(), consumerName);
+        boolean groupReady = false;
+        String pendingOffset = "0";
+        boolean drainingOwnPending = true;
+        long nextClaimAt = 0;
+
+        while (running) {
+            try {
+                if (!groupReady) {
+                    createGroupIfMissing(processor.getGroupName());
+                    groupReady = true;
+                }
+
+                if (drainingOwnPending) {
+                    // A partir do ID 0: entregas anteriores a este consumidor que ainda não receberam XACK
+                    List<ByteRecord> pending = read(consumer, ReadOffset.from(pendingOffset), false);
+                    if (pending.isEmpty()) {
+                        drainingOwnPending = false;
+                    } else {
+                        handle(processor, pending);
+                        pendingOffset = pending.get(pending.size() - 1).getId().getValue();
+                    }
+                    continue;
+                }
+
+                if (System.currentTimeMillis() >= nextClaimAt) {
+                    claimAbandoned(processor, consumer);
+                    nextClaimAt = System.currentTimeMillis() + claimIdle.toMillis();
+                }
+
+                handle(processor, read(consumer, ReadOffset.lastConsumed(), true));
+            } catch (Exception e) {
+                log.warn("Measurement stream consumer '{}' failed: {}", processor.getGroupName(), e.getMessage());
+                sleepQuietly(readBlock);
+            }
+        }
+    }
+
+    private void createGroupIfMissing(String group) {
+        try {
+            iotRedisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.streamCommands().xGroupCreate(logStreamKey, group, ReadOffset.from("0"), true));
+            log.info("Created measurement stream consumer group '{}'", group);
+        } catch (Exception e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private List<ByteRecord> read(Consumer consumer, ReadOffset offset, boolean block) {
+        StreamReadOptions options = StreamReadOptions.empty().count(readCount);
+        if (block) {
+            options = options.block(readBlock);
+        }
+
+        StreamReadOptions readOptions = options;
+        // Array já tipado: passar o offset direto ao varargs genérico cria um array genérico (unchecked)
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        StreamOffset<byte[]>[] streams = new StreamOffset[]{StreamOffset.create(logStreamKey, offset)};
+        List<ByteRecord> records = iotRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xReadGroup(consumer, readOptions, streams));
+
+        return records != null ? records : List.of();
+    }
+
+    private void claimAbandoned(MeasurementStreamProcessor processor, Consumer consumer) {
+        String group = processor.getGroupName();
+
+        PendingMessages pending = iotRedisTemplate.execute((RedisCallback<PendingMessages>) connection ->
+                connection.streamCommands().xPending(logStreamKey, group, Range.unbounded(), (long) readCount));
+
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+
+        List<RecordId> toClaim = new ArrayList<>();
+        List<RecordId> toDiscard = new ArrayList<>();
+
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) < 0) {
+                continue;
+            }
+            if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                toDiscard.add(message.getId());
+            } else {
+                toClaim.add(message.getId());
+            }
+        }
+
+        if (!toDiscard.isEmpty()) {
+            log.error("Discarding {} measurement(s) from group '{}' after {} delivery attempts",
+                    toDiscard.size(), group, maxDeliveries);
+            acknowledge(group, toDiscard);
+        }
+
+        if (toClaim.isEmpty()) {
+            return;
+        }
+
+        List<ByteRecord> claimed = iotRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xClaim(logStreamKey, group, consumer.getName(),
+                        RedisStreamCommands.XClaimOptions.minIdle(claimIdle).ids(toClaim)));
+
+        if (claimed != null && !claimed.isEmpty()) {
+            log.info("Claimed {} idle measurement(s) for group '{}'", claimed.size(), group);
+            handle(processor, claimed);
+        }
+    }
+
+    private void handle(MeasurementStreamProcessor processor, List<ByteRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        // Agrupa por colmeia mantendo a ordem do log; cada grupo é confirmado separadamente
+        Map<String, List<Measurement>> measurementsByApiKey = new LinkedHashMap<>();
+        Map<String, List<RecordId>> idsByApiKey = new LinkedHashMap<>();
+        List<RecordId> unreadable = new ArrayList<>();
+
+        for (ByteRecord record : records) {
+            String apiKey = null;
+            Measurement measurement = null;
+
+            for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+                if (Arrays.equals(field.getKey(), RedisStreamIotAdapter.API_KEY_FIELD)) {
+                    apiKey = new String(field.getValue(), StandardCharsets.UTF_8);
+                } else if (Arrays.equals(field.getKey(), RedisStreamIotAdapter.DATA_FIELD)) {
+                    measurement = measurementSerializer.deserialize(field.getValue());
+                }
+            }
+
+            // Entradas pendentes já removidas pelo MAXLEN voltam sem campos
+            if (apiKey == null || measurement == null) {
+                unreadable.add(record.getId());
+                continue;
+            }
+
+            measurementsByApiKey.computeIfAbsent(apiKey, key -> new ArrayList<>()).add(measurement);
+            idsByApiKey.computeIfAbsent(apiKey, key -> new ArrayList<>()).add(record.getId());
+        }
+
+        List<RecordId> processed = new ArrayList<>(unreadable);
+
+        for (Map.Entry<String, List<Measurement>> entry : measurementsByApiKey.entrySet()) {
+            try {
+                processor.process(entry.getKey(), entry.getValue());
+                processed.addAll(idsByApiKey.get(entry.getKey()));
+            } catch (Exception e) {
+                // Sem XACK: a entrada fica pendente e será reprocessada
+                log.warn("Processor '{}' failed for {} measurement(s): {}",
+                        processor.getGroupName(), entry.getValue().size(), e.getMessage());
+            }
+        }
+
+        acknowledge(processor.getGroupName(), processed);
+    }
+
+    private void acknowledge(String group, List<RecordId> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        RecordId[] recordIds = ids.toArray(RecordId[]::new);
+        iotRedisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.streamCommands().xAck(logStreamKey, group, recordIds));
+    }
+
+    private void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
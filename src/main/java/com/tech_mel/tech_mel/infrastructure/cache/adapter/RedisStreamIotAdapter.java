@@ -0,0 +1,235 @@
+package com.tech_mel.tech_mel.infrastructure.cache.adapter;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.output.RedisIotPort;
+import com.tech_mel.tech_mel.infrastructure.cache.serializer.MeasurementRedisSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Alternativa à lista limitada: cada colmeia tem um stream com as leituras recentes e todas as medições
+// também vão para um log global, lido por consumer groups (ver RedisMeasurementStreamConsumer)
+@Component
+@ConditionalOnProperty(name = "app.iot.storage", havingValue = "stream")
+public class RedisStreamIotAdapter implements RedisIotPort {
+    public static final byte[] API_KEY_FIELD = "k".getBytes(StandardCharsets.UTF_8);
+    public static final byte[] DATA_FIELD = "d".getBytes(StandardCharsets.UTF_8);
+
+    private static final String HIVE_STREAM_KEY_PREFIX = "measurements:stream:";
+    private static final String LATEST_MEASUREMENT_KEY_PREFIX = "measurements:latest:";
+
+    private static final RedisScript<Long> APPEND_MEASUREMENTS_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/append-measurements-stream.lua"), Long.class);
+
+    private final RedisTemplate<String, Measurement> iotRedisTemplate;
+    private final MeasurementRedisSerializer measurementSerializer = new MeasurementRedisSerializer();
+    private final String logStreamKey;
+    private final int hiveMaxLen;
+    private final byte[] hiveMaxLenArg;
+    private final byte[] logMaxLenArg;
+    private final byte[] hiveTtlSecondsArg;
+
+    public RedisStreamIotAdapter(
+            RedisTemplate<String, Measurement> iotRedisTemplate,
+            @Value("${app.iot.stream.log-key:measurements:log}") String logStreamKey,
+            @Value("${app.iot.stream.hive-max-len:20000}") long hiveMaxLen,
+            @Value("${app.iot.stream.log-max-len:1000000}") long logMaxLen,
+            @Value("${app.iot.stream.hive-ttl:PT24H}") Duration hiveTtl
+    ) {
+        this.iotRedisTemplate = iotRedisTemplate;
+        this.logStreamKey = logStreamKey;
+        this.hiveMaxLen = (int) hiveMaxLen;
+        this.hiveMaxLenArg = toArg(hiveMaxLen);
+        this.logMaxLenArg = toArg(logMaxLen);
+        this.hiveTtlSecondsArg = toArg(hiveTtl.toSeconds());
+    }
+
+    @Override
+    public void saveMeasurement(String apiKey, Measurement measurement) {
+        saveMeasurements(apiKey, List.of(measurement));
+    }
+
+    @Override
+    public void saveMeasurements(String apiKey, List<Measurement> measurements) {
+        if (measurements == null || measurements.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> args = appendArgs(apiKey, measurements.size());
+        for (Measurement measurement : measurements) {
+            args.add(measurementSerializer.serialize(measurement));
+        }
+
+        append(apiKey, args);
+    }
+
+    @Override
+    public void saveReadings(String apiKey, MeasurementReadings readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> args = appendArgs(apiKey, readings.size());
+        for (int i = 0; i < readings.size(); i++) {
+            args.add(MeasurementRedisSerializer.encode(readings, i));
+        }
+
+        append(apiKey, args);
+    }
+
+    private List<byte[]> appendArgs(String apiKey, int measurements) {
+        List<byte[]> args = new ArrayList<>(measurements + 4);
+        args.add(hiveMaxLenArg);
+        args.add(logMaxLenArg);
+        args.add(hiveTtlSecondsArg);
+        args.add(apiKey.getBytes(StandardCharsets.UTF_8));
+        return args;
+    }
+
+    private void append(String apiKey, List<byte[]> args) {
+        iotRedisTemplate.execute(
+                APPEND_MEASUREMENTS_SCRIPT,
+                RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(HIVE_STREAM_KEY_PREFIX + apiKey, logStreamKey, LATEST_MEASUREMENT_KEY_PREFIX + apiKey),
+                args.toArray()
+        );
+    }
+
+    @Override
+    public List<Measurement> getMeasurements(String apiKey, int limit) {
+        byte[] key = (HIVE_STREAM_KEY_PREFIX + apiKey).getBytes(StandardCharsets.UTF_8);
+
+        List<ByteRecord> records = iotRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRevRange(key, Range.unbounded(), Limit.limit().count(limit)));
+
+        if (records == null) {
+            return List.of();
+        }
+
+        return records.stream()
+                .map(this::toMeasurement)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<Measurement> getMeasurementsBetween(String apiKey, LocalDateTime start, LocalDateTime end, int limit) {
+        // Sem índice por measuredAt: lê tudo o que está retido para a colmeia e filtra
+        List<Measurement> retained = getMeasurements(apiKey, hiveMaxLen);
+        List<Measurement> measurements = new ArrayList<>();
+
+        for (int i = retained.size() - 1; i >= 0 && measurements.size() < limit; i--) {
+            Measurement measurement = retained.get(i);
+            LocalDateTime measuredAt = measurement.getMeasuredAt();
+            if (measuredAt != null && !measuredAt.isBefore(start) && measuredAt.isBefore(end)) {
+                measurements.add(measurement);
+            }
+        }
+
+        return measurements;
+    }
+
+    @Override
+    public Map<String, Measurement> getLatestMeasurementsForMultipleHives(List<String> apiKeys) {
+        if (apiKeys == null || apiKeys.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> validApiKeys = apiKeys.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        // Um único MGET nas chaves de última medição, independente da quantidade de colmeias
+        List<Measurement> latest = iotRedisTemplate.opsForValue().multiGet(validApiKeys.stream()
+                .map(apiKey -> LATEST_MEASUREMENT_KEY_PREFIX + apiKey)
+                .toList());
+
+        Map<String, Measurement> result = new HashMap<>(validApiKeys.size());
+        List<String> missing = new ArrayList<>();
+
+        for (int i = 0; i < validApiKeys.size(); i++) {
+            Measurement measurement = latest != null ? latest.get(i) : null;
+            if (measurement != null) {
+                result.put(validApiKeys.get(i), measurement);
+            } else {
+                missing.add(validApiKeys.get(i));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            // Streams gravados antes da chave de última medição existir: um XREVRANGE por colmeia no mesmo pipeline
+            List<Object> fallback = iotRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String apiKey : missing) {
+                    connection.streamCommands().xRevRange((HIVE_STREAM_KEY_PREFIX + apiKey).getBytes(StandardCharsets.UTF_8),
+                            Range.unbounded(), Limit.limit().count(1));
+                }
+                return null;
+            }, null);
+
+            for (int i = 0; i < missing.size(); i++) {
+                if (fallback.get(i) instanceof List<?> records && !records.isEmpty()
+                        && records.get(0) instanceof ByteRecord record) {
+                    Measurement measurement = toMeasurement(record);
+                    if (measurement != null) {
+                        result.put(missing.get(i), measurement);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Measurement getLatestMeasurement(String apiKey) {
+        Measurement latest = iotRedisTemplate.opsForValue().get(LATEST_MEASUREMENT_KEY_PREFIX + apiKey);
+
+        if (latest != null) {
+            return latest;
+        }
+
+        List<Measurement> recent = getMeasurements(apiKey, 1);
+        return recent.isEmpty() ? null : recent.get(0);
+    }
+
+    @Override
+    public void clearMeasurements(String apiKey) {
+        // Só remove as leituras recentes da colmeia; o log global continua disponível para os consumer groups
+        iotRedisTemplate.delete(List.of(HIVE_STREAM_KEY_PREFIX + apiKey, LATEST_MEASUREMENT_KEY_PREFIX + apiKey));
+    }
+
+    private Measurement toMeasurement(ByteRecord record) {
+        for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+            if (Arrays.equals(field.getKey(), DATA_FIELD)) {
+                return measurementSerializer.deserialize(field.getValue());
+            }
+        }
+        return null;
+    }
+
+    private static byte[] toArg(long value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,125 @@
+package com.tech_mel.tech_mel.infrastructure.cache.serializer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+// Formato binário de largura fixa (50 bytes) para medições no Redis:
+// versão (1) | campos nulos (1) | measuredAt em epoch millis UTC (8) | temperatura, umidade, CO2 (3 x 8) | id (16)
+public class MeasurementRedisSerializer implements RedisSerializer<Measurement> {
+    public static final int ENCODED_SIZE = 50;
+
+    private static final byte VERSION = 1;
+
+    private static final int NULL_ID = 1;
+    private static final int NULL_MEASURED_AT = 1 << 1;
+    private static final int NULL_TEMPERATURE = 1 << 2;
+    private static final int NULL_HUMIDITY = 1 << 3;
+    private static final int NULL_CO2 = 1 << 4;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    // Entradas gravadas antes da migração continuam em JSON (GenericJackson2JsonRedisSerializer)
+    // até saírem da lista pelo LTRIM ou expirarem
+    private final ObjectMapper legacyObjectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Override
+    public byte[] serialize(Measurement measurement) throws SerializationException {
+        if (measurement == null) {
+            return null;
+        }
+
+        int nulls = 0;
+        if (measurement.getId() == null) nulls |= NULL_ID;
+        if (measurement.getMeasuredAt() == null) nulls |= NULL_MEASURED_AT;
+        if (measurement.getTemperature() == null) nulls |= NULL_TEMPERATURE;
+        if (measurement.getHumidity() == null) nulls |= NULL_HUMIDITY;
+        if (measurement.getCo2() == null) nulls |= NULL_CO2;
+
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_SIZE);
+        buffer.put(VERSION);
+        buffer.put((byte) nulls);
+        buffer.putLong(measurement.getMeasuredAt() != null
+                ? measurement.getMeasuredAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L);
+        buffer.putDouble(measurement.getTemperature() != null ? measurement.getTemperature() : 0d);
+        buffer.putDouble(measurement.getHumidity() != null ? measurement.getHumidity() : 0d);
+        buffer.putDouble(measurement.getCo2() != null ? measurement.getCo2() : 0d);
+        buffer.putLong(measurement.getId() != null ? measurement.getId().getMostSignificantBits() : 0L);
+        buffer.putLong(measurement.getId() != null ? measurement.getId().getLeastSignificantBits() : 0L);
+
+        return buffer.array();
+    }
+
+    // Mesma codificação de serialize, escrita direto dos primitivos do lote: o único objeto criado é o byte[]
+    public static byte[] encode(MeasurementReadings readings, int index) {
+        byte[] bytes = new byte[ENCODED_SIZE];
+        bytes[0] = VERSION;
+        LONG.set(bytes, 2, readings.measuredAt(index));
+        LONG.set(bytes, 10, Double.doubleToRawLongBits(readings.temperature(index)));
+        LONG.set(bytes, 18, Double.doubleToRawLongBits(readings.humidity(index)));
+        LONG.set(bytes, 26, Double.doubleToRawLongBits(readings.co2(index)));
+        LONG.set(bytes, 34, readings.idMostSignificantBits(index));
+        LONG.set(bytes, 42, readings.idLeastSignificantBits(index));
+        return bytes;
+    }
+
+    @Override
+    public Measurement deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (bytes[0] == '{') {
+            return deserializeLegacyJson(bytes);
+        }
+
+        if (bytes[0] != VERSION || bytes.length != ENCODED_SIZE) {
+            throw new SerializationException("Unsupported measurement encoding (version " + bytes[0]
+                    + ", " + bytes.length + " bytes)");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, ENCODED_SIZE - 1);
+        int nulls = buffer.get();
+        long epochMillis = buffer.getLong();
+        double temperature = buffer.getDouble();
+        double humidity = buffer.getDouble();
+        double co2 = buffer.getDouble();
+        long idMostSignificantBits = buffer.getLong();
+        long idLeastSignificantBits = buffer.getLong();
+
+        return Measurement.builder()
+                .id((nulls & NULL_ID) != 0 ? null : new UUID(idMostSignificantBits, idLeastSignificantBits))
+                .measuredAt((nulls & NULL_MEASURED_AT) != 0
+                        ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC))
+                .temperature((nulls & NULL_TEMPERATURE) != 0 ? null : temperature)
+                .humidity((nulls & NULL_HUMIDITY) != 0 ? null : humidity)
+                .co2((nulls & NULL_CO2) != 0 ? null : co2)
+                .build();
+    }
+
+    private Measurement deserializeLegacyJson(byte[] bytes) {
+        try {
+            return legacyObjectMapper.readValue(bytes, Measurement.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read legacy JSON measurement", e);
+        }
+    }
+}
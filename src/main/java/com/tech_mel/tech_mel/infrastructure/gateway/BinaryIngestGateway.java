@@ -0,0 +1,487 @@
+package com.tech_mel.tech_mel.infrastructure.gateway;
+
+import com.tech_mel.tech_mel.application.exception.BadRequestException;
+import com.tech_mel.tech_mel.application.exception.ConflictException;
+import com.tech_mel.tech_mel.application.exception.NotFoundException;
+import com.tech_mel.tech_mel.application.exception.TooManyRequestsException;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.input.MeasurementUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Listener opcional de ingestão em porta própria, TCP e UDP, falando o BinaryIngestProtocol. Um único
+// thread com Selector aceita conexões, lê e escreve sem bloquear; os quadros completos vão para um pool
+// pequeno, que chama o mesmo MeasurementUseCase da API REST (validação da colmeia, deduplicação e pipeline),
+// porque essa chamada pode esperar o Redis ou o anel. Pool cheio responde BUSY na hora. Uma conexão com
+// max-in-flight quadros sem ack deixa de ser lida até os acks saírem, então um dispositivo não enche o pool
+// sozinho.
+@Component
+@ConditionalOnProperty(name = "app.ingest.gateway.enabled", havingValue = "true")
+@Slf4j
+public class BinaryIngestGateway {
+    private static final String TCP = "tcp";
+    private static final String UDP = "udp";
+
+    private final MeasurementUseCase measurementUseCase;
+
+    private final int tcpPort;
+    private final int udpPort;
+    private final int maxFrameBytes;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final int maxConnections;
+    private final long idleTimeoutMillis;
+
+    private final ThreadPoolExecutor workers;
+    private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<MeasurementReadings> buffers =
+            ThreadLocal.withInitial(() -> new MeasurementReadings(16));
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final Counter[][] frames;
+    private final Counter tcpReadings;
+    private final Counter udpReadings;
+    private final Counter tcpBytes;
+    private final Counter udpBytes;
+
+    private Selector selector;
+    private ServerSocketChannel tcpChannel;
+    private DatagramChannel udpChannel;
+    private Thread selectorThread;
+    private volatile boolean running = true;
+    private long lastIdleCheck;
+
+    public BinaryIngestGateway(
+            MeasurementUseCase measurementUseCase,
+            MeterRegistry meterRegistry,
+            @Value("${app.ingest.gateway.tcp-port:7070}") int tcpPort,
+            @Value("${app.ingest.gateway.udp-port:7070}") int udpPort,
+            @Value("${app.ingest.gateway.max-frame-bytes:8192}") int maxFrameBytes,
+            @Value("${app.measurements.batch.max-size:500}") int maxBatchSize,
+            @Value("${app.ingest.gateway.max-in-flight:32}") int maxInFlight,
+            @Value("${app.ingest.gateway.max-connections:10000}") int maxConnections,
+            @Value("${app.ingest.gateway.idle-timeout:PT5M}") Duration idleTimeout,
+            @Value("${app.ingest.gateway.worker-threads:4}") int workerThreads,
+            @Value("${app.ingest.gateway.queue-capacity:1024}") int queueCapacity
+    ) {
+        this.measurementUseCase = measurementUseCase;
+        this.tcpPort = tcpPort;
+        this.udpPort = udpPort;
+        this.maxFrameBytes = Math.min(maxFrameBytes, 0xFFFF);
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.maxConnections = maxConnections;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                workerThreads,
+                workerThreads,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ingest-gateway-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        String[] transports = {TCP, UDP};
+        BinaryIngestProtocol.Status[] statuses = BinaryIngestProtocol.Status.values();
+        this.frames = new Counter[transports.length][statuses.length];
+        for (int t = 0; t < transports.length; t++) {
+            for (BinaryIngestProtocol.Status status : statuses) {
+                frames[t][status.code()] = Counter.builder("ingest.gateway.frames")
+                        .description("Quadros recebidos pelo gateway binário, por transporte e status do ack")
+                        .tag("transport", transports[t])
+                        .tag("status", status.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+        }
+        this.tcpReadings = readingsCounter(meterRegistry, TCP);
+        this.udpReadings = readingsCounter(meterRegistry, UDP);
+        this.tcpBytes = bytesCounter(meterRegistry, TCP);
+        this.udpBytes = bytesCounter(meterRegistry, UDP);
+        Gauge.builder("ingest.gateway.connections", connections, AtomicInteger::get)
+                .description("Conexões TCP abertas no gateway binário")
+                .register(meterRegistry);
+    }
+
+    private static Counter readingsCounter(MeterRegistry meterRegistry, String transport) {
+        return Counter.builder("ingest.gateway.readings")
+                .description("Leituras aceitas pelo gateway binário")
+                .tag("transport", transport)
+                .register(meterRegistry);
+    }
+
+    private static Counter bytesCounter(MeterRegistry meterRegistry, String transport) {
+        return Counter.builder("ingest.gateway.bytes")
+                .description("Bytes de quadros recebidos pelo gateway binário")
+                .tag("transport", transport)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        selector = Selector.open();
+
+        if (tcpPort >= 0) {
+            tcpChannel = ServerSocketChannel.open();
+            tcpChannel.bind(new InetSocketAddress(tcpPort), 1024);
+            tcpChannel.configureBlocking(false);
+            tcpChannel.register(selector, SelectionKey.OP_ACCEPT);
+        }
+        if (udpPort >= 0) {
+            udpChannel = DatagramChannel.open();
+            udpChannel.bind(new InetSocketAddress(udpPort));
+            udpChannel.configureBlocking(false);
+            udpChannel.register(selector, SelectionKey.OP_READ);
+        }
+
+        selectorThread = new Thread(this::run, "ingest-gateway-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        log.info("Binary ingest gateway listening on tcp {} and udp {}", tcpPort, udpPort);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        selector.wakeup();
+        selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Binary ingest gateway stopped with frames still being processed");
+        }
+    }
+
+    private void run() {
+        ByteBuffer datagram = ByteBuffer.allocateDirect(maxFrameBytes);
+
+        while (running) {
+            try {
+                selector.select(1000);
+
+                Runnable task;
+                while ((task = selectorTasks.poll()) != null) {
+                    task.run();
+                }
+
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.channel() == udpChannel) {
+                        receive(datagram);
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    }
+                }
+
+                closeIdleConnections();
+            } catch (IOException e) {
+                log.error("Binary ingest gateway selector failed: {}", e.getMessage(), e);
+            }
+        }
+
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Failed to close binary ingest gateway selector: {}", e.getMessage());
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = tcpChannel.accept()) != null) {
+            if (connections.get() >= maxConnections) {
+                channel.close();
+                continue;
+            }
+
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key));
+            connections.incrementAndGet();
+        }
+    }
+
+    // Lê todos os datagramas pendentes; o ack sai pelo próprio canal, de qualquer thread
+    private void receive(ByteBuffer datagram) throws IOException {
+        SocketAddress sender;
+        while (true) {
+            datagram.clear();
+            sender = udpChannel.receive(datagram);
+            if (sender == null) {
+                return;
+            }
+
+            datagram.flip();
+            byte[] frame = new byte[datagram.remaining()];
+            datagram.get(frame);
+            udpBytes.increment(frame.length);
+
+            SocketAddress replyTo = sender;
+            dispatch(frame, UDP, ack -> {
+                try {
+                    udpChannel.send(ack, replyTo);
+                } catch (IOException e) {
+                    log.debug("Failed to send ack to {}: {}", replyTo, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private void dispatch(byte[] frame, String transport, Consumer<ByteBuffer> reply) {
+        try {
+            workers.execute(() -> reply.accept(process(frame, transport)));
+        } catch (RejectedExecutionException e) {
+            reply.accept(ack(transport, BinaryIngestProtocol.Status.BUSY,
+                    BinaryIngestProtocol.peekFrameId(ByteBuffer.wrap(frame)), 0, 0));
+        }
+    }
+
+    private ByteBuffer process(byte[] frame, String transport) {
+        MeasurementReadings readings = buffers.get();
+        readings.clear();
+
+        BinaryIngestProtocol.Frame header;
+        try {
+            header = BinaryIngestProtocol.decode(ByteBuffer.wrap(frame), readings, maxBatchSize);
+        } catch (BinaryIngestProtocol.MalformedFrameException e) {
+            log.debug("Malformed {} frame: {}", transport, e.getMessage());
+            return ack(transport, BinaryIngestProtocol.Status.INVALID, e.frameId(), 0, 0);
+        }
+
+        int received = readings.size();
+        BinaryIngestProtocol.Status status;
+        try {
+            measurementUseCase.registerReadings(header.apiKey(), readings);
+            status = BinaryIngestProtocol.Status.OK;
+        } catch (NotFoundException e) {
+            status = BinaryIngestProtocol.Status.UNKNOWN_KEY;
+        } catch (ConflictException e) {
+            status = BinaryIngestProtocol.Status.INACTIVE;
+        } catch (TooManyRequestsException e) {
+            status = BinaryIngestProtocol.Status.BUSY;
+        } catch (BadRequestException e) {
+            status = BinaryIngestProtocol.Status.INVALID;
+        } catch (RuntimeException e) {
+            log.error("Binary ingest gateway failed to register {} measurements: {}", received, e.getMessage(), e);
+            status = BinaryIngestProtocol.Status.ERROR;
+        }
+
+        if (status != BinaryIngestProtocol.Status.OK) {
+            return ack(transport, status, header.frameId(), 0, 0);
+        }
+
+        (TCP.equals(transport) ? tcpReadings : udpReadings).increment(readings.size());
+        return ack(transport, status, header.frameId(), readings.size(), received - readings.size());
+    }
+
+    private ByteBuffer ack(String transport, BinaryIngestProtocol.Status status, long frameId, int accepted,
+                           int duplicates) {
+        frames[TCP.equals(transport) ? 0 : 1][status.code()].increment();
+
+        boolean framed = TCP.equals(transport);
+        ByteBuffer ack = ByteBuffer.allocate(BinaryIngestProtocol.ACK_LENGTH + (framed ? 2 : 0));
+        if (framed) {
+            ack.putShort((short) BinaryIngestProtocol.ACK_LENGTH);
+        }
+        BinaryIngestProtocol.writeAck(ack, status, frameId, accepted, duplicates);
+        return ack.flip();
+    }
+
+    private void closeIdleConnections() {
+        long now = System.currentTimeMillis();
+        if (now - lastIdleCheck < 1000) {
+            return;
+        }
+        lastIdleCheck = now;
+
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection
+                    && connection.inFlight == 0
+                    && now - connection.lastActivity > idleTimeoutMillis) {
+                connection.close();
+            }
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // Desligando: nada a fazer com a falha
+        }
+    }
+
+    // Estado de uma conexão TCP; só o thread do selector mexe nele
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer input = ByteBuffer.allocate(2 + maxFrameBytes);
+        private final Queue<ByteBuffer> output = new ArrayDeque<>();
+        private int inFlight;
+        private long lastActivity = System.currentTimeMillis();
+        private boolean closed;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void read() {
+            try {
+                if (channel.read(input) < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+
+            lastActivity = System.currentTimeMillis();
+            drainFrames();
+        }
+
+        // Despacha os quadros completos do buffer; com max-in-flight atingido para de ler do socket
+        private void drainFrames() {
+            input.flip();
+            while (inFlight < maxInFlight && input.remaining() >= 2) {
+                int length = input.getShort(input.position()) & 0xFFFF;
+                if (length == 0 || length > maxFrameBytes) {
+                    log.debug("Closing gateway connection after frame of {} bytes", length);
+                    close();
+                    return;
+                }
+                if (input.remaining() < 2 + length) {
+                    break;
+                }
+
+                input.position(input.position() + 2);
+                byte[] frame = new byte[length];
+                input.get(frame);
+                tcpBytes.increment(length);
+
+                inFlight++;
+                dispatch(frame, TCP, ack -> {
+                    selectorTasks.add(() -> send(ack));
+                    selector.wakeup();
+                });
+            }
+            input.compact();
+
+            updateInterest();
+        }
+
+        private void send(ByteBuffer ack) {
+            inFlight--;
+            if (closed) {
+                return;
+            }
+
+            output.add(ack);
+            flush();
+
+            // Quadros que ficaram no buffer enquanto a conexão estava no limite
+            if (!closed && inFlight < maxInFlight && input.position() > 0) {
+                drainFrames();
+            }
+        }
+
+        void flush() {
+            try {
+                ByteBuffer next;
+                while ((next = output.peek()) != null) {
+                    channel.write(next);
+                    if (next.hasRemaining()) {
+                        break;
+                    }
+                    output.poll();
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+
+            updateInterest();
+        }
+
+        private void updateInterest() {
+            if (closed) {
+                return;
+            }
+
+            int ops = inFlight < maxInFlight ? SelectionKey.OP_READ : 0;
+            if (!output.isEmpty()) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+            try {
+                key.interestOps(ops);
+            } catch (CancelledKeyException e) {
+                close();
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            connections.decrementAndGet();
+            key.cancel();
+            closeQuietly(key);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.tech_mel.tech_mel.infrastructure.gateway;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Protocolo binário do gateway de ingestão para dispositivos com pouca bateria. Inteiros em big-endian;
+// varint é LEB128 sem sinal e zigzag mapeia valores com sinal para ele. No TCP cada quadro vem precedido
+// de um u16 com o tamanho; no UDP cada datagrama é um quadro, sem o prefixo.
+//
+// Quadro de leituras:
+//   u8 versão (1) | u8 flags (bit 0: há sequência do dispositivo) | u8 tamanho da API key | API key (ASCII)
+//   u32 frameId (devolvido no ack) | varint quantidade | i64 measuredAt da primeira leitura (epoch ms UTC)
+//   [varint sequência da primeira leitura; as seguintes somam 1]
+//   por leitura: zigzag Δms desde a anterior (0 na primeira), zigzag Δtemperatura (centésimos de °C),
+//   zigzag Δumidade (centésimos de %), zigzag ΔCO2 (décimos de ppm); a primeira leitura parte de zero.
+//
+// Ack: u8 versão | u8 status | u32 frameId | u16 aceitas | u16 repetidas. Acks de uma conexão podem chegar
+// fora de ordem: o dispositivo casa pelo frameId.
+public final class BinaryIngestProtocol {
+    public static final int VERSION = 1;
+    public static final int FLAG_SEQUENCES = 1;
+    public static final int ACK_LENGTH = 10;
+    public static final int MAX_API_KEY_LENGTH = 128;
+
+    private static final double TEMPERATURE_SCALE = 100;
+    private static final double HUMIDITY_SCALE = 100;
+    private static final double CO2_SCALE = 10;
+
+    private BinaryIngestProtocol() {
+    }
+
+    public enum Status {
+        OK,
+        INVALID,
+        UNKNOWN_KEY,
+        INACTIVE,
+        BUSY,
+        ERROR;
+
+        private static final Status[] VALUES = values();
+
+        public int code() {
+            return ordinal();
+        }
+
+        public static Status of(int code) {
+            return code >= 0 && code < VALUES.length ? VALUES[code] : ERROR;
+        }
+    }
+
+    public record Frame(String apiKey, long frameId) {
+    }
+
+    public record Ack(Status status, long frameId, int accepted, int duplicates) {
+    }
+
+    public static final class MalformedFrameException extends RuntimeException {
+        private final long frameId;
+
+        public MalformedFrameException(String message, long frameId) {
+            super(message);
+            this.frameId = frameId;
+        }
+
+        public long frameId() {
+            return frameId;
+        }
+    }
+
+    // Sinal interno de readVarint, convertido em decode para MalformedFrameException com o frameId já lido
+    private static final class VarintTooLongException extends RuntimeException {
+        private static final VarintTooLongException INSTANCE = new VarintTooLongException();
+
+        private VarintTooLongException() {
+            super(null, null, false, false);
+        }
+    }
+
+    // Lê o quadro inteiro para readings (que não é limpo antes); ids das leituras como no parser JSON
+    public static Frame decode(ByteBuffer frame, MeasurementReadings readings, int maxReadings) {
+        long frameId = 0;
+        try {
+            int version = frame.get() & 0xFF;
+            if (version != VERSION) {
+                throw new MalformedFrameException("Unsupported protocol version " + version, frameId);
+            }
+            int flags = frame.get() & 0xFF;
+
+            int keyLength = frame.get() & 0xFF;
+            if (keyLength == 0 || keyLength > MAX_API_KEY_LENGTH) {
+                throw new MalformedFrameException("Invalid API key length", frameId);
+            }
+            byte[] key = new byte[keyLength];
+            frame.get(key);
+            frameId = frame.getInt() & 0xFFFFFFFFL;
+
+            long count = readVarint(frame);
+            if (count == 0 || count > maxReadings) {
+                throw new MalformedFrameException("Frame must carry between 1 and " + maxReadings + " readings",
+                        frameId);
+            }
+
+            long measuredAt = frame.getLong();
+            long sequence = (flags & FLAG_SEQUENCES) != 0 ? readVarint(frame) : MeasurementReadings.NO_SEQUENCE;
+            // Um varint de 64 bits pode ser negativo (NO_SEQUENCE, por exemplo) e sequence + i não pode estourar
+            if ((flags & FLAG_SEQUENCES) != 0 && (sequence < 0 || sequence > Long.MAX_VALUE - (count - 1))) {
+                throw new MalformedFrameException("Invalid device sequence", frameId);
+            }
+            long temperature = 0;
+            long humidity = 0;
+            long co2 = 0;
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < count; i++) {
+                measuredAt += readZigzag(frame);
+                temperature += readZigzag(frame);
+                humidity += readZigzag(frame);
+                co2 += readZigzag(frame);
+
+                long idMsb = random.nextLong() & ~0xF000L | 0x4000L;
+                long idLsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+                readings.add(idMsb, idLsb, measuredAt,
+                        sequence == MeasurementReadings.NO_SEQUENCE ? sequence : sequence + i,
+                        temperature / TEMPERATURE_SCALE, humidity / HUMIDITY_SCALE, co2 / CO2_SCALE);
+            }
+
+            if (frame.hasRemaining()) {
+                throw new MalformedFrameException("Unexpected bytes after the last reading", frameId);
+            }
+            return new Frame(new String(key, StandardCharsets.US_ASCII), frameId);
+        } catch (BufferUnderflowException e) {
+            throw new MalformedFrameException("Truncated frame", frameId);
+        } catch (VarintTooLongException e) {
+            throw new MalformedFrameException("Varint too long", frameId);
+        }
+    }
+
+    // frameId de um quadro que não chegou a ser lido, para responder BUSY; 0 se o quadro nem chega lá
+    public static long peekFrameId(ByteBuffer frame) {
+        int start = frame.position();
+        if (frame.limit() - start < 3) {
+            return 0;
+        }
+        int offset = start + 3 + (frame.get(start + 2) & 0xFF);
+        return offset + 4 <= frame.limit() ? frame.getInt(offset) & 0xFFFFFFFFL : 0;
+    }
+
+    // Usado pelos clientes (gerador de carga, firmware de referência); valores arredondados à escala
+    public static byte[] encode(String apiKey, long frameId, MeasurementReadings readings, boolean withSequences) {
+        byte[] key = apiKey.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocate(3 + key.length + 4 + 10 + 8 + 10 + readings.size() * 4 * 10);
+
+        buffer.put((byte) VERSION);
+        buffer.put((byte) (withSequences ? FLAG_SEQUENCES : 0));
+        buffer.put((byte) key.length);
+        buffer.put(key);
+        buffer.putInt((int) frameId);
+        writeVarint(buffer, readings.size());
+        buffer.putLong(readings.measuredAt(0));
+        if (withSequences) {
+            writeVarint(buffer, readings.deviceSequence(0));
+        }
+
+        long previousAt = readings.measuredAt(0);
+        long temperature = 0;
+        long humidity = 0;
+        long co2 = 0;
+        for (int i = 0; i < readings.size(); i++) {
+            long scaledTemperature = Math.round(readings.temperature(i) * TEMPERATURE_SCALE);
+            long scaledHumidity = Math.round(readings.humidity(i) * HUMIDITY_SCALE);
+            long scaledCo2 = Math.round(readings.co2(i) * CO2_SCALE);
+
+            writeZigzag(buffer, readings.measuredAt(i) - previousAt);
+            writeZigzag(buffer, scaledTemperature - temperature);
+            writeZigzag(buffer, scaledHumidity - humidity);
+            writeZigzag(buffer, scaledCo2 - co2);
+
+            previousAt = readings.measuredAt(i);
+            temperature = scaledTemperature;
+            humidity = scaledHumidity;
+            co2 = scaledCo2;
+        }
+
+        byte[] frame = new byte[buffer.position()];
+        buffer.flip().get(frame);
+        return frame;
+    }
+
+    public static void writeAck(ByteBuffer target, Status status, long frameId, int accepted, int duplicates) {
+        target.put((byte) VERSION);
+        target.put((byte) status.code());
+        target.putInt((int) frameId);
+        target.putShort((short) Math.min(accepted, 0xFFFF));
+        target.putShort((short) Math.min(duplicates, 0xFFFF));
+    }
+
+    public static Ack readAck(ByteBuffer source) {
+        source.get();
+        Status status = Status.of(source.get() & 0xFF);
+        long frameId = source.getInt() & 0xFFFFFFFFL;
+        int accepted = source.getShort() & 0xFFFF;
+        int duplicates = source.getShort() & 0xFFFF;
+        return new Ack(status, frameId, accepted, duplicates);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw VarintTooLongException.INSTANCE;
+    }
+
+    private static long readZigzag(ByteBuffer buffer) {
+        long value = readVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static void writeZigzag(ByteBuffer buffer, long value) {
+        writeVarint(buffer, (value << 1) ^ (value >> 63));
+    }
+}
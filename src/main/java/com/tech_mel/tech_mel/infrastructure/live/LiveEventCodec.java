@@ -0,0 +1,134 @@
+package com.tech_mel.tech_mel.infrastructure.live;
+
+import com.tech_mel.tech_mel.domain.model.Alert;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.infrastructure.cache.serializer.MeasurementRedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// Formato binário das mensagens do barramento entre instâncias:
+// versão (1) | tipo (1) | nó de origem (16) | colmeia (16) | quantidade (2) | itens.
+// Medições reaproveitam os 50 bytes do MeasurementRedisSerializer; alertas ocupam 35 bytes.
+final class LiveEventCodec {
+    static final byte MEASUREMENTS = 1;
+    static final byte ALERTS = 2;
+
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 1 + 1 + 16 + 16 + 2;
+    private static final int ALERT_SIZE = 16 + 1 + 1 + 1 + 8 + 8;
+    private static final int MAX_ITEMS = 0xFFFF;
+
+    private static final MeasurementRedisSerializer MEASUREMENT_SERIALIZER = new MeasurementRedisSerializer();
+    private static final Alert.AlertType[] ALERT_TYPES = Alert.AlertType.values();
+    private static final Alert.AlertSeverity[] ALERT_SEVERITIES = Alert.AlertSeverity.values();
+    private static final Alert.AlertStatus[] ALERT_STATUSES = Alert.AlertStatus.values();
+
+    private LiveEventCodec() {
+    }
+
+    static byte[] encodeMeasurements(UUID origin, UUID hiveId, List<Measurement> measurements) {
+        int count = Math.min(measurements.size(), MAX_ITEMS);
+        ByteBuffer buffer = header(MEASUREMENTS, origin, hiveId, count, MeasurementRedisSerializer.ENCODED_SIZE);
+
+        for (int i = 0; i < count; i++) {
+            buffer.put(MEASUREMENT_SERIALIZER.serialize(measurements.get(i)));
+        }
+
+        return buffer.array();
+    }
+
+    static byte[] encodeAlerts(UUID origin, UUID hiveId, List<Alert> alerts) {
+        int count = Math.min(alerts.size(), MAX_ITEMS);
+        ByteBuffer buffer = header(ALERTS, origin, hiveId, count, ALERT_SIZE);
+
+        for (int i = 0; i < count; i++) {
+            Alert alert = alerts.get(i);
+            putUuid(buffer, alert.getId());
+            buffer.put((byte) alert.getType().ordinal());
+            buffer.put((byte) alert.getSeverity().ordinal());
+            buffer.put((byte) alert.getStatus().ordinal());
+            buffer.putDouble(alert.getValue() != null ? alert.getValue() : Double.NaN);
+            buffer.putLong(alert.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+
+        return buffer.array();
+    }
+
+    // null para mensagens de versão desconhecida ou truncadas
+    static Frame decode(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_SIZE || bytes[0] != VERSION) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.get();
+        byte type = buffer.get();
+        UUID origin = getUuid(buffer);
+        UUID hiveId = getUuid(buffer);
+        int count = Short.toUnsignedInt(buffer.getShort());
+
+        if (type == MEASUREMENTS && buffer.remaining() == count * MeasurementRedisSerializer.ENCODED_SIZE) {
+            List<Measurement> measurements = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int offset = buffer.position();
+                measurements.add(MEASUREMENT_SERIALIZER.deserialize(
+                        Arrays.copyOfRange(bytes, offset, offset + MeasurementRedisSerializer.ENCODED_SIZE)));
+                buffer.position(offset + MeasurementRedisSerializer.ENCODED_SIZE);
+            }
+            return new Frame(origin, hiveId, measurements, List.of());
+        }
+
+        if (type == ALERTS && buffer.remaining() == count * ALERT_SIZE) {
+            List<Alert> alerts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = getUuid(buffer);
+                Alert.AlertType alertType = ALERT_TYPES[buffer.get()];
+                Alert.AlertSeverity severity = ALERT_SEVERITIES[buffer.get()];
+                Alert.AlertStatus status = ALERT_STATUSES[buffer.get()];
+                double value = buffer.getDouble();
+                long timestamp = buffer.getLong();
+
+                alerts.add(Alert.builder()
+                        .id(id)
+                        .type(alertType)
+                        .severity(severity)
+                        .status(status)
+                        .value(Double.isNaN(value) ? null : value)
+                        .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC))
+                        .build());
+            }
+            return new Frame(origin, hiveId, List.of(), alerts);
+        }
+
+        return null;
+    }
+
+    private static ByteBuffer header(byte type, UUID origin, UUID hiveId, int count, int itemSize) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * itemSize);
+        buffer.put(VERSION);
+        buffer.put(type);
+        putUuid(buffer, origin);
+        putUuid(buffer, hiveId);
+        buffer.putShort((short) count);
+        return buffer;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    record Frame(UUID origin, UUID hiveId, List<Measurement> measurements, List<Alert> alerts) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.tech_mel.tech_mel.infrastructure.live;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Uma conexão SSE. Os eventos ficam em um buffer limitado que descarta os mais antigos quando o cliente
+// não acompanha; o envio acontece fora da thread de ingestão.
+class LiveSubscriber {
+    @Getter
+    private final UUID id = UUID.randomUUID();
+    @Getter
+    private final UUID userId;
+    @Getter
+    private final Set<UUID> hiveIds;
+    @Getter
+    private final SseEmitter emitter;
+
+    private final ArrayDeque<LiveEvent> buffer;
+    private final int bufferSize;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    LiveSubscriber(UUID userId, Set<UUID> hiveIds, SseEmitter emitter, int bufferSize) {
+        this.userId = userId;
+        this.hiveIds = hiveIds;
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+        this.buffer = new ArrayDeque<>(bufferSize);
+    }
+
+    // Retorna quantos eventos antigos foram descartados para abrir espaço
+    synchronized int offer(LiveEvent event) {
+        int dropped = 0;
+        while (buffer.size() >= bufferSize) {
+            buffer.pollFirst();
+            dropped++;
+        }
+        buffer.addLast(event);
+        return dropped;
+    }
+
+    // Garante um único envio em andamento por assinante
+    boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void drain() throws IOException {
+        try {
+            LiveEvent event;
+            while (!closed && (event = poll()) != null) {
+                emitter.send(SseEmitter.event()
+                        .name(event.name())
+                        .data(event.data(), MediaType.APPLICATION_JSON));
+            }
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    boolean hasPending() {
+        synchronized (this) {
+            return !buffer.isEmpty();
+        }
+    }
+
+    void sendHeartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private synchronized LiveEvent poll() {
+        return buffer.pollFirst();
+    }
+
+    record LiveEvent(String name, Object data) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.tech_mel.tech_mel.infrastructure.live;
+
+import java.util.UUID;
+
+// Avisado sempre que assinantes locais de uma colmeia entram ou saem. A implementação deve consultar
+// SseLiveEventRegistry.hasSubscribers em vez de assumir a ordem dos avisos.
+public interface LiveSubscriptionListener {
+    void subscriptionChanged(UUID hiveId);
+}
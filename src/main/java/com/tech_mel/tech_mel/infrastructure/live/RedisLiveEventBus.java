@@ -0,0 +1,203 @@
+package com.tech_mel.tech_mel.infrastructure.live;
+
+import com.tech_mel.tech_mel.domain.model.Alert;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.port.output.LiveEventPublisherPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Barramento de eventos ao vivo entre instâncias via Redis pub/sub, um canal por colmeia.
+// Cada instância entrega os próprios eventos direto ao registro local e só assina os canais das colmeias
+// com assinantes SSE conectados nela. A publicação passa por uma fila limitada esvaziada em pipeline
+// por uma thread dedicada; com a fila cheia o evento é descartado (a ingestão nunca espera o Redis).
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.live.bus", havingValue = "redis")
+@Slf4j
+public class RedisLiveEventBus implements LiveEventPublisherPort, MessageListener {
+    private final UUID nodeId = UUID.randomUUID();
+
+    private final SseLiveEventRegistry sseLiveEventRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String channelPrefix;
+    private final int publishBatchSize;
+
+    private final BlockingQueue<OutgoingEvent> queue;
+    private final Set<UUID> subscribedHives = new HashSet<>();
+    private final Thread publisher;
+    private volatile boolean running = true;
+
+    private final Timer publishLatency;
+    private final Counter droppedQueueFull;
+    private final Counter droppedPublishFailed;
+    private final Counter received;
+
+    public RedisLiveEventBus(
+            SseLiveEventRegistry sseLiveEventRegistry,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer liveEventListenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.live.bus.channel-prefix:live:hive:}") String channelPrefix,
+            @Value("${app.live.bus.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.live.bus.publish-batch-size:256}") int publishBatchSize
+    ) {
+        this.sseLiveEventRegistry = sseLiveEventRegistry;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = liveEventListenerContainer;
+        this.channelPrefix = channelPrefix;
+        this.publishBatchSize = publishBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.publisher = new Thread(this::publishLoop, "live-events-bus-publisher");
+        this.publisher.setDaemon(true);
+
+        this.publishLatency = Timer.builder("live.bus.publish.latency")
+                .description("Tempo entre enfileirar um evento e publicá-lo no Redis")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.droppedQueueFull = Counter.builder("live.bus.events.dropped")
+                .description("Eventos não publicados no barramento")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.droppedPublishFailed = Counter.builder("live.bus.events.dropped")
+                .description("Eventos não publicados no barramento")
+                .tag("reason", "publish_failed")
+                .register(meterRegistry);
+        this.received = Counter.builder("live.bus.events.received")
+                .description("Eventos recebidos de outras instâncias")
+                .register(meterRegistry);
+        Gauge.builder("live.bus.queue.size", queue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        sseLiveEventRegistry.setSubscriptionListener(this::syncSubscription);
+        sseLiveEventRegistry.subscribedHiveIds().forEach(this::syncSubscription);
+        publisher.start();
+        log.info("Live event bus started on node {}", nodeId);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        publisher.interrupt();
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void publishMeasurements(UUID hiveId, List<Measurement> measurements) {
+        sseLiveEventRegistry.publishMeasurements(hiveId, measurements);
+        enqueue(hiveId, LiveEventCodec.encodeMeasurements(nodeId, hiveId, measurements));
+    }
+
+    @Override
+    public void publishAlerts(UUID hiveId, List<Alert> alerts) {
+        sseLiveEventRegistry.publishAlerts(hiveId, alerts);
+        enqueue(hiveId, LiveEventCodec.encodeAlerts(nodeId, hiveId, alerts));
+    }
+
+    // Executado na thread de I/O do Redis: só decodifica e enfileira nos buffers dos assinantes
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        LiveEventCodec.Frame frame = LiveEventCodec.decode(message.getBody());
+        if (frame == null) {
+            log.warn("Discarding malformed live event from channel {}",
+                    new String(message.getChannel(), StandardCharsets.UTF_8));
+            return;
+        }
+
+        if (nodeId.equals(frame.origin())) {
+            return;
+        }
+
+        received.increment();
+        if (!frame.measurements().isEmpty()) {
+            sseLiveEventRegistry.publishMeasurements(frame.hiveId(), frame.measurements());
+        }
+        if (!frame.alerts().isEmpty()) {
+            sseLiveEventRegistry.publishAlerts(frame.hiveId(), frame.alerts());
+        }
+    }
+
+    // Reconsulta o registro a cada aviso, então avisos fora de ordem não deixam assinaturas erradas
+    private synchronized void syncSubscription(UUID hiveId) {
+        boolean wanted = sseLiveEventRegistry.hasSubscribers(hiveId);
+        ChannelTopic topic = ChannelTopic.of(channelPrefix + hiveId);
+
+        if (wanted && subscribedHives.add(hiveId)) {
+            listenerContainer.addMessageListener(this, topic);
+        } else if (!wanted && subscribedHives.remove(hiveId)) {
+            listenerContainer.removeMessageListener(this, topic);
+        }
+    }
+
+    private void enqueue(UUID hiveId, byte[] body) {
+        if (!queue.offer(new OutgoingEvent(channelPrefix + hiveId, body, System.nanoTime()))) {
+            droppedQueueFull.increment();
+        }
+    }
+
+    private void publishLoop() {
+        List<OutgoingEvent> batch = new ArrayList<>(publishBatchSize);
+
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, publishBatchSize - 1);
+                publish(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                droppedPublishFailed.increment(batch.size());
+                log.error("Failed to publish {} live events: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publish(List<OutgoingEvent> batch) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (OutgoingEvent event : batch) {
+                connection.publish(event.channel().getBytes(StandardCharsets.UTF_8), event.body());
+            }
+            return null;
+        });
+
+        long now = System.nanoTime();
+        for (OutgoingEvent event : batch) {
+            publishLatency.record(now - event.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record OutgoingEvent(String channel, byte[] body, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,224 @@
+package com.tech_mel.tech_mel.infrastructure.live;
+
+import com.tech_mel.tech_mel.application.exception.TooManyRequestsException;
+import com.tech_mel.tech_mel.domain.model.Alert;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.port.output.LiveEventPublisherPort;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.alert.AlertResponse;
+import com.tech_mel.tech_mel.infrastructure.api.dto.response.live.LiveMeasurementEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+// Fan-out em processo dos eventos de colmeia para as conexões SSE abertas, indexadas por ID da colmeia.
+// Sem assinantes para a colmeia, publicar custa só uma consulta ao mapa.
+@Component
+@Slf4j
+public class SseLiveEventRegistry implements LiveEventPublisherPort {
+    private final Map<UUID, Set<LiveSubscriber>> subscribersByHive = new ConcurrentHashMap<>();
+    private final Map<UUID, LiveSubscriber> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+
+    private final Counter delivered;
+    private final Counter dropped;
+
+    private volatile LiveSubscriptionListener subscriptionListener;
+
+    public SseLiveEventRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${app.live.buffer-size:256}") int bufferSize,
+            @Value("${app.live.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.live.emitter-timeout:PT30M}") Duration emitterTimeout,
+            @Value("${app.live.sender-threads:4}") int senderThreads
+    ) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-events-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.delivered = Counter.builder("live.events.published")
+                .description("Eventos enfileirados para assinantes SSE")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("live.events.dropped")
+                .description("Eventos descartados por buffer de assinante cheio")
+                .register(meterRegistry);
+        Gauge.builder("live.subscribers", subscribers, Map::size)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID userId, Set<UUID> hiveIds) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Too many live connections, try again later.");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        LiveSubscriber subscriber = new LiveSubscriber(userId, Set.copyOf(hiveIds), emitter, bufferSize);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        subscribers.put(subscriber.getId(), subscriber);
+        for (UUID hiveId : subscriber.getHiveIds()) {
+            subscribersByHive.computeIfAbsent(hiveId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+            notifySubscriptionChanged(hiveId);
+        }
+
+        log.debug("Live subscriber {} connected for user {} ({} hives)", subscriber.getId(), userId, hiveIds.size());
+        return emitter;
+    }
+
+    @Override
+    public void publishMeasurements(UUID hiveId, List<Measurement> measurements) {
+        Set<LiveSubscriber> hiveSubscribers = subscribersByHive.get(hiveId);
+        if (hiveSubscribers == null || hiveSubscribers.isEmpty()) {
+            return;
+        }
+
+        for (Measurement measurement : measurements) {
+            publish(hiveSubscribers, new LiveSubscriber.LiveEvent("measurement", LiveMeasurementEvent.builder()
+                    .hiveId(hiveId)
+                    .measurement(measurement)
+                    .build()));
+        }
+    }
+
+    @Override
+    public void publishAlerts(UUID hiveId, List<Alert> alerts) {
+        Set<LiveSubscriber> hiveSubscribers = subscribersByHive.get(hiveId);
+        if (hiveSubscribers == null || hiveSubscribers.isEmpty()) {
+            return;
+        }
+
+        for (Alert alert : alerts) {
+            publish(hiveSubscribers, new LiveSubscriber.LiveEvent("alert", AlertResponse.builder()
+                    .id(alert.getId().toString())
+                    .type(alert.getType().name())
+                    .timestamp(alert.getTimestamp().toString())
+                    .severity(alert.getSeverity().name())
+                    .value(alert.getValue())
+                    .status(alert.getStatus().name())
+                    .hiveId(hiveId.toString())
+                    .build()));
+        }
+    }
+
+    public boolean hasSubscribers(UUID hiveId) {
+        return subscribersByHive.containsKey(hiveId);
+    }
+
+    public Set<UUID> subscribedHiveIds() {
+        return Set.copyOf(subscribersByHive.keySet());
+    }
+
+    public void setSubscriptionListener(LiveSubscriptionListener subscriptionListener) {
+        this.subscriptionListener = subscriptionListener;
+    }
+
+    // Comentários periódicos mantêm proxies abertos e revelam conexões mortas (o envio falha)
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        for (LiveSubscriber subscriber : subscribers.values()) {
+            try {
+                subscriber.sendHeartbeat();
+            } catch (Exception e) {
+                subscriber.getEmitter().completeWithError(e);
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(subscriber -> subscriber.getEmitter().complete());
+        sender.shutdownNow();
+    }
+
+    private void publish(Set<LiveSubscriber> hiveSubscribers, LiveSubscriber.LiveEvent event) {
+        for (LiveSubscriber subscriber : hiveSubscribers) {
+            int droppedEvents = subscriber.offer(event);
+            if (droppedEvents > 0) {
+                dropped.increment(droppedEvents);
+            }
+            delivered.increment();
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void scheduleDrain(LiveSubscriber subscriber) {
+        if (!subscriber.tryStartDrain()) {
+            return;
+        }
+
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void drain(LiveSubscriber subscriber) {
+        try {
+            subscriber.drain();
+        } catch (Exception e) {
+            subscriber.getEmitter().completeWithError(e);
+            unsubscribe(subscriber);
+            return;
+        }
+
+        // Evento que chegou entre o fim do envio e a liberação do flag
+        if (subscriber.hasPending() && !subscriber.isClosed()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void notifySubscriptionChanged(UUID hiveId) {
+        LiveSubscriptionListener listener = subscriptionListener;
+        if (listener != null) {
+            listener.subscriptionChanged(hiveId);
+        }
+    }
+
+    private void unsubscribe(LiveSubscriber subscriber) {
+        subscriber.close();
+
+        if (subscribers.remove(subscriber.getId()) == null) {
+            return;
+        }
+
+        for (UUID hiveId : subscriber.getHiveIds()) {
+            subscribersByHive.computeIfPresent(hiveId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+            notifySubscriptionChanged(hiveId);
+        }
+
+        log.debug("Live subscriber {} disconnected", subscriber.getId());
+    }
+}
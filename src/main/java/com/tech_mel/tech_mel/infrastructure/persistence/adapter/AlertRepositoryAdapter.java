@@ -8,8 +8,16 @@ import com.tech_mel.tech_mel.infrastructure.persistence.repository.AlertJpaRepos
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +26,29 @@ import java.util.UUID;
 public class AlertRepositoryAdapter implements AlertRepositoryPort {
     private final AlertMapper alertMapper;
     private final AlertJpaRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Com reWriteBatchedInserts o driver envia o lote inteiro como um único INSERT multi-linha.
+    // Alertas já abertos são atualizados (pico e severidade) sem sobrescrever um status VIEWED ou RESOLVED
+    // definido pelo usuário; apenas a resolução automática troca o status.
+    private static final String UPSERT_ALERT_SQL = """
+            INSERT INTO alert (id, type, severity, value, status, timestamp, hive_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET
+                value = EXCLUDED.value,
+                severity = EXCLUDED.severity,
+                status = CASE WHEN EXCLUDED.status = 'RESOLVED' THEN 'RESOLVED' ELSE alert.status END
+            """;
+
+    private static final String LATEST_OPEN_BY_TYPE_SQL = """
+            SELECT DISTINCT ON (type) id, type, severity, value, status, timestamp
+            FROM alert
+            WHERE hive_id = ? AND status IN ('NEW', 'VIEWED')
+            ORDER BY type, timestamp DESC
+            """;
+
+    private static final List<AlertEntity.AlertStatus> OPEN_STATUSES =
+            List.of(AlertEntity.AlertStatus.NEW, AlertEntity.AlertStatus.VIEWED);
 
     @Override
     public Alert save(Alert alert) {
@@ -28,6 +59,41 @@ public class AlertRepositoryAdapter implements AlertRepositoryPort {
         return alertMapper.toDomain(savedEntity);
     }
 
+    @Override
+    public List<Alert> saveAll(List<Alert> alerts) {
+        if (alerts.isEmpty()) {
+            return List.of();
+        }
+
+        // Um mesmo alerta pode aparecer várias vezes no lote (aberto e depois atualizado); o ON CONFLICT
+        // não aceita afetar a mesma linha duas vezes no mesmo comando, então fica só a última versão
+        Map<UUID, Alert> latestById = new LinkedHashMap<>();
+        for (Alert alert : alerts) {
+            if (alert.getId() == null) {
+                alert.setId(UUID.randomUUID());
+            }
+            latestById.put(alert.getId(), alert);
+        }
+
+        // IDs atribuídos pela aplicação: o insert em lote não precisa ler nada de volta do banco
+        List<Object[]> rows = new ArrayList<>(latestById.size());
+        for (Alert alert : latestById.values()) {
+            rows.add(new Object[]{
+                    alert.getId(),
+                    alert.getType().name(),
+                    alert.getSeverity().name(),
+                    alert.getValue(),
+                    alert.getStatus().name(),
+                    alert.getTimestamp(),
+                    alert.getHive().getId()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_ALERT_SQL, rows);
+
+        return alerts;
+    }
+
     @Override
     public Optional<Alert> findById(UUID alertId) {
         return repository.findById(alertId)
@@ -53,4 +119,29 @@ public class AlertRepositoryAdapter implements AlertRepositoryPort {
 
         return alertEntityPage.map(alertMapper::toDomain);
     }
+
+    @Override
+    public List<Alert> findLatestOpenByHiveId(UUID hiveId) {
+        return jdbcTemplate.query(LATEST_OPEN_BY_TYPE_SQL, (rs, rowNum) -> Alert.builder()
+                .id(rs.getObject("id", UUID.class))
+                .timestamp(rs.getObject("timestamp", LocalDateTime.class))
+                .type(Alert.AlertType.valueOf(rs.getString("type")))
+                .severity(Alert.AlertSeverity.valueOf(rs.getString("severity")))
+                .value(rs.getDouble("value"))
+                .status(Alert.AlertStatus.valueOf(rs.getString("status")))
+                .build(), hiveId);
+    }
+
+    @Override
+    public Map<UUID, Long> countOpenByHiveIds(Collection<UUID> hiveIds) {
+        if (hiveIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : repository.countByHiveIdInAndStatusIn(hiveIds, OPEN_STATUSES)) {
+            counts.put((UUID) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
 }
@@ -0,0 +1,29 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.adapter;
+
+import com.tech_mel.tech_mel.domain.model.DailyAverageCheckpoint;
+import com.tech_mel.tech_mel.domain.port.output.DailyAverageCheckpointRepositoryPort;
+import com.tech_mel.tech_mel.infrastructure.persistence.mapper.DailyAverageCheckpointMapper;
+import com.tech_mel.tech_mel.infrastructure.persistence.repository.DailyAverageCheckpointJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class DailyAverageCheckpointRepositoryAdapter implements DailyAverageCheckpointRepositoryPort {
+    private final DailyAverageCheckpointMapper dailyAverageCheckpointMapper;
+    private final DailyAverageCheckpointJpaRepository repository;
+
+    @Override
+    public DailyAverageCheckpoint save(DailyAverageCheckpoint checkpoint) {
+        return dailyAverageCheckpointMapper.toDomain(repository.save(dailyAverageCheckpointMapper.toEntity(checkpoint)));
+    }
+
+    @Override
+    public Optional<DailyAverageCheckpoint> findByDate(LocalDate date) {
+        return repository.findById(date)
+                .map(dailyAverageCheckpointMapper::toDomain);
+    }
+}
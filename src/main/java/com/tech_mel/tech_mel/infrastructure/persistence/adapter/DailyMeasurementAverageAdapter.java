@@ -5,11 +5,18 @@ import com.tech_mel.tech_mel.domain.port.output.DailyMeasurementAverageRepositor
 import com.tech_mel.tech_mel.infrastructure.persistence.entity.DailyMeasurementAverageEntity;
 import com.tech_mel.tech_mel.infrastructure.persistence.mapper.DailyMeasurementAverageMapper;
 import com.tech_mel.tech_mel.infrastructure.persistence.repository.DailyMeasurementAverageRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,6 +26,51 @@ public class DailyMeasurementAverageAdapter implements DailyMeasurementAverageRe
 
     private final DailyMeasurementAverageMapper dailyMeasurementAverageMapper;
     private final DailyMeasurementAverageRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO daily_measurement_averages (id, hive_id, date, sample_count,
+                avg_temperature, min_temperature, max_temperature, stddev_temperature,
+                avg_humidity, min_humidity, max_humidity, stddev_humidity,
+                avg_co2, min_co2, max_co2, stddev_co2)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (hive_id, date)
+            """;
+
+    // Ignora colmeias que já têm média no dia: trechos refeitos ou execuções concorrentes não duplicam linhas
+    private static final String INSERT_IF_ABSENT_SQL = INSERT_SQL + "DO NOTHING";
+
+    // Um agregado que expirou no Redis e recomeçou só com leituras atrasadas tem menos amostras que a média
+    // gravada e não a substitui
+    private static final String UPSERT_SQL = INSERT_SQL + """
+            DO UPDATE SET sample_count = excluded.sample_count,
+                avg_temperature = excluded.avg_temperature, min_temperature = excluded.min_temperature,
+                max_temperature = excluded.max_temperature, stddev_temperature = excluded.stddev_temperature,
+                avg_humidity = excluded.avg_humidity, min_humidity = excluded.min_humidity,
+                max_humidity = excluded.max_humidity, stddev_humidity = excluded.stddev_humidity,
+                avg_co2 = excluded.avg_co2, min_co2 = excluded.min_co2,
+                max_co2 = excluded.max_co2, stddev_co2 = excluded.stddev_co2
+            WHERE excluded.sample_count >= COALESCE(daily_measurement_averages.sample_count, 0)
+            """;
+
+    // O ON CONFLICT depende do índice único; duplicatas gravadas antes dele (execuções concorrentes do job)
+    // são removidas antes, mantendo uma linha por colmeia e dia
+    @PostConstruct
+    public void initializeSchema() {
+        Boolean indexed = jdbcTemplate.queryForObject(
+                "SELECT to_regclass('uk_daily_measurement_averages_hive_date') IS NOT NULL", Boolean.class);
+        if (Boolean.TRUE.equals(indexed)) {
+            return;
+        }
+
+        jdbcTemplate.execute("""
+                DELETE FROM daily_measurement_averages a
+                USING daily_measurement_averages b
+                WHERE a.hive_id = b.hive_id AND a.date = b.date AND a.id > b.id
+                """);
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_daily_measurement_averages_hive_date "
+                + "ON daily_measurement_averages (hive_id, date)");
+    }
 
     @Override
     public DailyMeasurementAverage save(DailyMeasurementAverage dailyMeasurementAverage) {
@@ -27,6 +79,47 @@ public class DailyMeasurementAverageAdapter implements DailyMeasurementAverageRe
         return dailyMeasurementAverageMapper.toDomain(savedEntity);
     }
 
+    @Override
+    public void saveAll(List<DailyMeasurementAverage> averages) {
+        write(INSERT_IF_ABSENT_SQL, averages);
+    }
+
+    @Override
+    public void replaceAll(List<DailyMeasurementAverage> averages) {
+        write(UPSERT_SQL, averages);
+    }
+
+    private void write(String sql, List<DailyMeasurementAverage> averages) {
+        if (averages.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(averages.size());
+        for (DailyMeasurementAverage average : averages) {
+            UUID hiveId = average.getHive().getId();
+            rows.add(new Object[]{
+                    average.getId() != null ? average.getId() : UUID.randomUUID(),
+                    hiveId,
+                    average.getDate(),
+                    average.getSampleCount(),
+                    average.getAvgTemperature(),
+                    average.getMinTemperature(),
+                    average.getMaxTemperature(),
+                    average.getStddevTemperature(),
+                    average.getAvgHumidity(),
+                    average.getMinHumidity(),
+                    average.getMaxHumidity(),
+                    average.getStddevHumidity(),
+                    average.getAvgCo2(),
+                    average.getMinCo2(),
+                    average.getMaxCo2(),
+                    average.getStddevCo2()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
     @Override
     public Optional<DailyMeasurementAverage> findById(UUID id) {
         return repository.findById(id)
@@ -39,6 +132,35 @@ public class DailyMeasurementAverageAdapter implements DailyMeasurementAverageRe
         return dailyMeasurementAverageEntityPage.map(dailyMeasurementAverageMapper::toDomain);
     }
 
+    @Override
+    public Map<UUID, DailyMeasurementAverage> findLatestByHiveIds(Collection<UUID> hiveIds) {
+        if (hiveIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, DailyMeasurementAverage> averages = new HashMap<>();
+        for (DailyMeasurementAverageEntity entity : repository.findLatestByHiveIdIn(hiveIds)) {
+            averages.put(entity.getHive().getId(), DailyMeasurementAverage.builder()
+                    .id(entity.getId())
+                    .date(entity.getDate())
+                    .avgTemperature(entity.getAvgTemperature())
+                    .avgHumidity(entity.getAvgHumidity())
+                    .avgCo2(entity.getAvgCo2())
+                    .sampleCount(entity.getSampleCount())
+                    .minTemperature(entity.getMinTemperature())
+                    .maxTemperature(entity.getMaxTemperature())
+                    .stddevTemperature(entity.getStddevTemperature())
+                    .minHumidity(entity.getMinHumidity())
+                    .maxHumidity(entity.getMaxHumidity())
+                    .stddevHumidity(entity.getStddevHumidity())
+                    .minCo2(entity.getMinCo2())
+                    .maxCo2(entity.getMaxCo2())
+                    .stddevCo2(entity.getStddevCo2())
+                    .build());
+        }
+        return averages;
+    }
+
     @Override
     public void deleteById(UUID id) {
         repository.deleteById(id);
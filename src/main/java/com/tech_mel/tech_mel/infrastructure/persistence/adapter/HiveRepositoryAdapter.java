@@ -1,15 +1,18 @@
 package com.tech_mel.tech_mel.infrastructure.persistence.adapter;
 
 import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
 import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
 import com.tech_mel.tech_mel.infrastructure.persistence.entity.HiveEntity;
 import com.tech_mel.tech_mel.infrastructure.persistence.mapper.HiveMapper;
 import com.tech_mel.tech_mel.infrastructure.persistence.repository.HiveJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,6 +41,11 @@ public class HiveRepositoryAdapter implements HiveRepositoryPort {
                 .map(hiveMapper::toDomain);
     }
 
+    @Override
+    public Optional<HiveDescriptor> findDescriptorByApiKey(String apiKey) {
+        return repository.findDescriptorByApiKey(apiKey);
+    }
+
     @Override
     public Page<Hive> findByOwnerId(UUID ownerId, Pageable pageable) {
         Page<HiveEntity> hiveEntityPage = repository.findByOwner_Id(ownerId, pageable);
@@ -51,6 +59,15 @@ public class HiveRepositoryAdapter implements HiveRepositoryPort {
         return hiveEntityPage.map(hiveMapper::toDomain);
     }
 
+    @Override
+    public List<UUID> findIdsAfter(UUID afterId, int limit) {
+        Pageable page = PageRequest.ofSize(limit);
+
+        return afterId == null
+                ? repository.findIds(page)
+                : repository.findIdsAfter(afterId, page);
+    }
+
     @Override
     public void deleteById(UUID hiveId) {
         repository.deleteById(hiveId);
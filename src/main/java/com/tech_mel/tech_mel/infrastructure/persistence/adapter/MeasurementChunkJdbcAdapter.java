@@ -0,0 +1,143 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.adapter;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementChunkRepositoryPort;
+import com.tech_mel.tech_mel.infrastructure.persistence.codec.GorillaChunkCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+// Chunks Gorilla em bytea. Cada linha cobre um dia de uma colmeia; as consultas por intervalo escolhem os
+// chunks pelo dia e por first_at/last_at e decodificam um de cada vez, parando no fim do intervalo.
+@Component
+@RequiredArgsConstructor
+public class MeasurementChunkJdbcAdapter implements MeasurementChunkRepositoryPort {
+    // Chunks têm dezenas de KB; poucos por ida ao banco mantêm a memória constante
+    private static final int STREAM_FETCH_SIZE = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initializeSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS measurement_chunks (
+                    hive_id uuid NOT NULL,
+                    chunk_start date NOT NULL,
+                    first_at timestamp NOT NULL,
+                    last_at timestamp NOT NULL,
+                    sample_count integer NOT NULL,
+                    payload bytea NOT NULL,
+                    PRIMARY KEY (hive_id, chunk_start)
+                )
+                """);
+
+        // O payload já vem comprimido: EXTERNAL evita a tentativa inútil de compressão pelo TOAST
+        jdbcTemplate.execute("ALTER TABLE measurement_chunks ALTER COLUMN payload SET STORAGE EXTERNAL");
+    }
+
+    @Override
+    @Transactional
+    public void saveChunk(UUID hiveId, LocalDate day, List<Measurement> measurements) {
+        if (measurements.isEmpty()) {
+            return;
+        }
+
+        int inserted = jdbcTemplate.update("""
+                        INSERT INTO measurement_chunks (hive_id, chunk_start, first_at, last_at, sample_count, payload)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        ON CONFLICT (hive_id, chunk_start) DO NOTHING
+                        """,
+                hiveId, day,
+                measurements.get(0).getMeasuredAt(),
+                measurements.get(measurements.size() - 1).getMeasuredAt(),
+                measurements.size(),
+                GorillaChunkCodec.encode(measurements)
+        );
+
+        if (inserted == 0) {
+            merge(hiveId, day, measurements);
+        }
+    }
+
+    // O driver do PostgreSQL só usa cursor (fetch size) com autocommit desligado, daí a transação
+    @Override
+    @Transactional(readOnly = true)
+    public void streamRange(UUID hiveId, LocalDateTime start, LocalDateTime end, Predicate<Measurement> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    SELECT payload
+                    FROM measurement_chunks
+                    WHERE hive_id = ? AND chunk_start >= ? AND chunk_start < ?
+                      AND last_at >= ? AND first_at < ?
+                    ORDER BY chunk_start
+                    """);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setObject(1, hiveId);
+            statement.setObject(2, start.toLocalDate());
+            statement.setObject(3, end);
+            statement.setObject(4, start);
+            statement.setObject(5, end);
+            return statement;
+        }, (ResultSetExtractor<Void>) rs -> {
+            while (rs.next()) {
+                GorillaChunkCodec.Decoder decoder = GorillaChunkCodec.decoder(hiveId, rs.getBytes("payload"));
+
+                while (decoder.hasNext()) {
+                    Measurement measurement = decoder.next();
+                    if (measurement.getMeasuredAt().isBefore(start)) {
+                        continue;
+                    }
+                    if (!measurement.getMeasuredAt().isBefore(end) || !consumer.test(measurement)) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int deleteBefore(LocalDate day) {
+        return jdbcTemplate.update("DELETE FROM measurement_chunks WHERE chunk_start < ?", day);
+    }
+
+    private void merge(UUID hiveId, LocalDate day, List<Measurement> measurements) {
+        byte[] existing = jdbcTemplate.queryForObject(
+                "SELECT payload FROM measurement_chunks WHERE hive_id = ? AND chunk_start = ? FOR UPDATE",
+                byte[].class,
+                hiveId, day
+        );
+
+        List<Measurement> merged = new ArrayList<>(GorillaChunkCodec.count(existing) + measurements.size());
+        GorillaChunkCodec.Decoder decoder = GorillaChunkCodec.decoder(hiveId, existing);
+        while (decoder.hasNext()) {
+            merged.add(decoder.next());
+        }
+        merged.addAll(measurements);
+        merged.sort(Comparator.comparing(Measurement::getMeasuredAt));
+
+        jdbcTemplate.update("""
+                        UPDATE measurement_chunks
+                        SET first_at = ?, last_at = ?, sample_count = ?, payload = ?
+                        WHERE hive_id = ? AND chunk_start = ?
+                        """,
+                merged.get(0).getMeasuredAt(),
+                merged.get(merged.size() - 1).getMeasuredAt(),
+                merged.size(),
+                GorillaChunkCodec.encode(merged),
+                hiveId, day
+        );
+    }
+}
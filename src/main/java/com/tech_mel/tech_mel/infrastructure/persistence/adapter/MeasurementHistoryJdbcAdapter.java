@@ -0,0 +1,264 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.adapter;
+
+import com.tech_mel.tech_mel.domain.model.ArchivedMeasurement;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementRangeQuery;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementHistoryRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Histórico bruto das medições em uma tabela particionada por mês (measured_at). O Hibernate não gerencia
+// tabelas particionadas, então o esquema e as partições são criados aqui via JDBC.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MeasurementHistoryJdbcAdapter implements MeasurementHistoryRepositoryPort {
+    private static final String TABLE = "measurement_history";
+    private static final String PARTITION_PREFIX = TABLE + "_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+
+    // Limite de parâmetros por statement no PostgreSQL é 65535; 6 colunas x 1000 linhas fica bem abaixo
+    private static final int ROWS_PER_INSERT = 1000;
+
+    // Linhas buscadas por ida ao banco ao percorrer intervalos longos
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void initializeSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS measurement_history (
+                    hive_id uuid NOT NULL,
+                    measured_at timestamp NOT NULL,
+                    id uuid NOT NULL,
+                    temperature double precision,
+                    humidity double precision,
+                    co2 double precision
+                ) PARTITION BY RANGE (measured_at)
+                """);
+
+        // BRIN é minúsculo e eficiente para dados inseridos em ordem de tempo; o btree atende consultas por colmeia
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_measurement_history_measured_at_brin "
+                + "ON measurement_history USING brin (measured_at)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_measurement_history_hive_measured_at "
+                + "ON measurement_history (hive_id, measured_at)");
+
+        knownPartitions.addAll(listPartitions());
+    }
+
+    @Override
+    public void saveAll(List<ArchivedMeasurement> measurements) {
+        if (measurements.isEmpty()) {
+            return;
+        }
+
+        // O serviço só manda meses dentro da janela de partições mantida; aqui a partição do mês corrente pode
+        // ainda não existir se a manutenção não rodou desde a virada
+        Set<YearMonth> months = new TreeSet<>();
+        for (ArchivedMeasurement archived : measurements) {
+            months.add(YearMonth.from(archived.getMeasurement().getMeasuredAt()));
+        }
+        months.forEach(this::createPartition);
+
+        for (int from = 0; from < measurements.size(); from += ROWS_PER_INSERT) {
+            List<ArchivedMeasurement> chunk = measurements.subList(from, Math.min(from + ROWS_PER_INSERT, measurements.size()));
+            insertChunk(chunk);
+        }
+    }
+
+    @Override
+    public List<Measurement> findByHiveIdAndPeriod(UUID hiveId, LocalDateTime start, LocalDateTime end, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, temperature, humidity, co2, measured_at
+                        FROM measurement_history
+                        WHERE hive_id = ? AND measured_at >= ? AND measured_at < ?
+                        ORDER BY measured_at
+                        LIMIT ?
+                        """,
+                MEASUREMENT_ROW_MAPPER,
+                hiveId, start, end, limit
+        );
+    }
+
+    // O driver do PostgreSQL só usa cursor (fetch size) com autocommit desligado, daí a transação
+    @Override
+    @Transactional(readOnly = true)
+    public int streamRange(MeasurementRangeQuery query, Consumer<Measurement> consumer) {
+        boolean resume = query.getAfterMeasuredAt() != null && query.getAfterId() != null;
+        String sql = """
+                SELECT id, temperature, humidity, co2, measured_at
+                FROM measurement_history
+                WHERE hive_id = ? AND measured_at >= ? AND measured_at < ?
+                """
+                + (resume ? "AND (measured_at, id) > (?, ?) " : "")
+                + "ORDER BY measured_at, id LIMIT ?";
+
+        int[] count = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+
+            int index = 1;
+            statement.setObject(index++, query.getHiveId());
+            statement.setObject(index++, query.getFrom());
+            statement.setObject(index++, query.getTo());
+            if (resume) {
+                statement.setObject(index++, query.getAfterMeasuredAt());
+                statement.setObject(index++, query.getAfterId());
+            }
+            statement.setInt(index, query.getLimit());
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(MEASUREMENT_ROW_MAPPER.mapRow(rs, count[0]++)));
+
+        return count[0];
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamPeriod(LocalDateTime start, LocalDateTime end, Consumer<ArchivedMeasurement> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    SELECT hive_id, id, temperature, humidity, co2, measured_at
+                    FROM measurement_history
+                    WHERE measured_at >= ? AND measured_at < ?
+                    ORDER BY hive_id, measured_at, id
+                    """);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setObject(1, start);
+            statement.setObject(2, end);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(new ArchivedMeasurement(
+                rs.getObject("hive_id", UUID.class),
+                MEASUREMENT_ROW_MAPPER.mapRow(rs, 0)
+        )));
+    }
+
+    @Override
+    public void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+    }
+
+    @Override
+    public List<YearMonth> findPartitions() {
+        return listPartitions();
+    }
+
+    @Override
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+        knownPartitions.remove(month);
+    }
+
+    @Override
+    public List<YearMonth> dropPartitionsBefore(YearMonth month) {
+        List<YearMonth> dropped = new ArrayList<>();
+
+        // Apagar a partição inteira evita DELETE em massa, bloat e VACUUM
+        for (YearMonth partition : listPartitions()) {
+            if (partition.isBefore(month)) {
+                dropPartition(partition);
+                dropped.add(partition);
+            }
+        }
+
+        return dropped;
+    }
+
+    private void insertChunk(List<ArchivedMeasurement> chunk) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO measurement_history (hive_id, measured_at, id, temperature, humidity, co2) VALUES ");
+        Object[] args = new Object[chunk.size() * 6];
+
+        int i = 0;
+        for (ArchivedMeasurement archived : chunk) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append("(?,?,?,?,?,?)");
+
+            Measurement measurement = archived.getMeasurement();
+            args[i++] = archived.getHiveId();
+            args[i++] = measurement.getMeasuredAt();
+            args[i++] = measurement.getId();
+            args[i++] = measurement.getTemperature();
+            args[i++] = measurement.getHumidity();
+            args[i++] = measurement.getCo2();
+        }
+
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private void createPartition(YearMonth month) {
+        if (knownPartitions.contains(month)) {
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        knownPartitions.add(month);
+
+        log.info("Measurement history partition ready: {}", partitionName(month));
+    }
+
+    private List<YearMonth> listPartitions() {
+        List<String> names = jdbcTemplate.queryForList("""
+                        SELECT child.relname
+                        FROM pg_inherits
+                        JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                        WHERE parent.relname = ?
+                        """,
+                String.class,
+                TABLE
+        );
+
+        List<YearMonth> partitions = new ArrayList<>();
+        for (String name : names) {
+            if (name.startsWith(PARTITION_PREFIX)) {
+                try {
+                    partitions.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+                } catch (RuntimeException e) {
+                    log.warn("Ignoring unexpected measurement history partition: {}", name);
+                }
+            }
+        }
+
+        return partitions;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static final RowMapper<Measurement> MEASUREMENT_ROW_MAPPER = (rs, rowNum) -> Measurement.builder()
+            .id(rs.getObject("id", UUID.class))
+            .temperature(rs.getObject("temperature", Double.class))
+            .humidity(rs.getObject("humidity", Double.class))
+            .co2(rs.getObject("co2", Double.class))
+            .measuredAt(rs.getObject("measured_at", LocalDateTime.class))
+            .build();
+}
@@ -0,0 +1,225 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.adapter;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementResolution;
+import com.tech_mel.tech_mel.domain.model.MeasurementRollup;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementRollupRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Rollups horários, semanais e mensais. Cada tabela guarda soma, soma dos quadrados, mínimo e máximo por métrica,
+// então uma resolução pode ser derivada da anterior sem perder precisão: horas vêm do histórico bruto, semanas
+// e meses vêm das médias diárias (que já guardam contagem e desvio padrão populacional). As leituras da
+// resolução diária usam a própria daily_measurement_averages.
+@Component
+@RequiredArgsConstructor
+public class MeasurementRollupJdbcAdapter implements MeasurementRollupRepositoryPort {
+    private static final String[] METRICS = {"temperature", "humidity", "co2"};
+
+    private static final String ROLLUP_COLUMNS = "hive_id, bucket_start, sample_count, "
+            + "temperature_sum, temperature_sum_sq, temperature_min, temperature_max, "
+            + "humidity_sum, humidity_sum_sq, humidity_min, humidity_max, "
+            + "co2_sum, co2_sum_sq, co2_min, co2_max";
+
+    private static final String UPSERT = " ON CONFLICT (hive_id, bucket_start) DO UPDATE SET "
+            + "sample_count = EXCLUDED.sample_count, "
+            + "temperature_sum = EXCLUDED.temperature_sum, temperature_sum_sq = EXCLUDED.temperature_sum_sq, "
+            + "temperature_min = EXCLUDED.temperature_min, temperature_max = EXCLUDED.temperature_max, "
+            + "humidity_sum = EXCLUDED.humidity_sum, humidity_sum_sq = EXCLUDED.humidity_sum_sq, "
+            + "humidity_min = EXCLUDED.humidity_min, humidity_max = EXCLUDED.humidity_max, "
+            + "co2_sum = EXCLUDED.co2_sum, co2_sum_sq = EXCLUDED.co2_sum_sq, "
+            + "co2_min = EXCLUDED.co2_min, co2_max = EXCLUDED.co2_max";
+
+    private static final String FROM_DAILY = """
+            SELECT hive_id, date_trunc('%s', date)::timestamp, sum(n),
+                   sum(n * avg_temperature),
+                   sum(n * (power(coalesce(stddev_temperature, 0), 2) + power(avg_temperature, 2))),
+                   min(coalesce(min_temperature, avg_temperature)), max(coalesce(max_temperature, avg_temperature)),
+                   sum(n * avg_humidity),
+                   sum(n * (power(coalesce(stddev_humidity, 0), 2) + power(avg_humidity, 2))),
+                   min(coalesce(min_humidity, avg_humidity)), max(coalesce(max_humidity, avg_humidity)),
+                   sum(n * avg_co2),
+                   sum(n * (power(coalesce(stddev_co2, 0), 2) + power(avg_co2, 2))),
+                   min(coalesce(min_co2, avg_co2)), max(coalesce(max_co2, avg_co2))
+            FROM (
+                SELECT d.*, coalesce(d.sample_count, 1) AS n
+                FROM daily_measurement_averages d
+                WHERE d.date >= ? AND d.date < ?
+            ) daily
+            GROUP BY 1, 2
+            """;
+
+    private static final RowMapper<MeasurementRollup> ROLLUP_ROW_MAPPER = (rs, rowNum) -> {
+        long count = rs.getLong("sample_count");
+        double[] stats = new double[12];
+        for (int metric = 0; metric < METRICS.length; metric++) {
+            String name = METRICS[metric];
+            double mean = rs.getDouble(name + "_sum") / count;
+            stats[metric * 4] = mean;
+            stats[metric * 4 + 1] = rs.getDouble(name + "_min");
+            stats[metric * 4 + 2] = rs.getDouble(name + "_max");
+            stats[metric * 4 + 3] = Math.sqrt(Math.max(0, rs.getDouble(name + "_sum_sq") / count - mean * mean));
+        }
+
+        return MeasurementRollup.builder()
+                .bucketStart(rs.getTimestamp("bucket_start").toLocalDateTime())
+                .sampleCount(count)
+                .avgTemperature(stats[0])
+                .minTemperature(stats[1])
+                .maxTemperature(stats[2])
+                .stddevTemperature(stats[3])
+                .avgHumidity(stats[4])
+                .minHumidity(stats[5])
+                .maxHumidity(stats[6])
+                .stddevHumidity(stats[7])
+                .avgCo2(stats[8])
+                .minCo2(stats[9])
+                .maxCo2(stats[10])
+                .stddevCo2(stats[11])
+                .build();
+    };
+
+    // Médias diárias antigas não têm contagem nem extremos: valem como uma amostra com min = max = média
+    private static final RowMapper<MeasurementRollup> DAILY_ROW_MAPPER = (rs, rowNum) -> MeasurementRollup.builder()
+            .bucketStart(rs.getDate("date").toLocalDate().atStartOfDay())
+            .sampleCount(rs.getLong("sample_count"))
+            .avgTemperature(rs.getDouble("avg_temperature"))
+            .minTemperature(rs.getDouble("min_temperature"))
+            .maxTemperature(rs.getDouble("max_temperature"))
+            .stddevTemperature(rs.getDouble("stddev_temperature"))
+            .avgHumidity(rs.getDouble("avg_humidity"))
+            .minHumidity(rs.getDouble("min_humidity"))
+            .maxHumidity(rs.getDouble("max_humidity"))
+            .stddevHumidity(rs.getDouble("stddev_humidity"))
+            .avgCo2(rs.getDouble("avg_co2"))
+            .minCo2(rs.getDouble("min_co2"))
+            .maxCo2(rs.getDouble("max_co2"))
+            .stddevCo2(rs.getDouble("stddev_co2"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initializeSchema() {
+        for (MeasurementResolution resolution : List.of(
+                MeasurementResolution.HOURLY, MeasurementResolution.WEEKLY, MeasurementResolution.MONTHLY)) {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        hive_id uuid NOT NULL,
+                        bucket_start timestamp NOT NULL,
+                        sample_count bigint NOT NULL,
+                        temperature_sum double precision NOT NULL,
+                        temperature_sum_sq double precision NOT NULL,
+                        temperature_min double precision NOT NULL,
+                        temperature_max double precision NOT NULL,
+                        humidity_sum double precision NOT NULL,
+                        humidity_sum_sq double precision NOT NULL,
+                        humidity_min double precision NOT NULL,
+                        humidity_max double precision NOT NULL,
+                        co2_sum double precision NOT NULL,
+                        co2_sum_sq double precision NOT NULL,
+                        co2_min double precision NOT NULL,
+                        co2_max double precision NOT NULL,
+                        PRIMARY KEY (hive_id, bucket_start)
+                    )
+                    """.formatted(table(resolution)));
+
+            // A retenção apaga por bucket_start sem filtrar colmeia
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table(resolution) + "_bucket_start "
+                    + "ON " + table(resolution) + " (bucket_start)");
+        }
+    }
+
+    @Override
+    public int rollupHourly(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update("INSERT INTO measurement_rollup_hourly (" + ROLLUP_COLUMNS + ") " + """
+                        SELECT hive_id, date_trunc('hour', measured_at), count(*),
+                               sum(temperature), sum(temperature * temperature), min(temperature), max(temperature),
+                               sum(humidity), sum(humidity * humidity), min(humidity), max(humidity),
+                               sum(co2), sum(co2 * co2), min(co2), max(co2)
+                        FROM measurement_history
+                        WHERE measured_at >= ? AND measured_at < ?
+                          AND temperature IS NOT NULL AND humidity IS NOT NULL AND co2 IS NOT NULL
+                        GROUP BY 1, 2
+                        """ + UPSERT,
+                from, to
+        );
+    }
+
+    @Override
+    public int rollupWeekly(LocalDate from, LocalDate to) {
+        return jdbcTemplate.update("INSERT INTO measurement_rollup_weekly (" + ROLLUP_COLUMNS + ") "
+                        + FROM_DAILY.formatted("week") + UPSERT,
+                from, to
+        );
+    }
+
+    @Override
+    public int rollupMonthly(LocalDate from, LocalDate to) {
+        return jdbcTemplate.update("INSERT INTO measurement_rollup_monthly (" + ROLLUP_COLUMNS + ") "
+                        + FROM_DAILY.formatted("month") + UPSERT,
+                from, to
+        );
+    }
+
+    @Override
+    public List<MeasurementRollup> findByHiveIdAndPeriod(
+            UUID hiveId,
+            MeasurementResolution resolution,
+            LocalDateTime start,
+            LocalDateTime end
+    ) {
+        if (resolution == MeasurementResolution.DAILY) {
+            return jdbcTemplate.query("""
+                            SELECT date, coalesce(sample_count, 1) AS sample_count,
+                                   avg_temperature, coalesce(min_temperature, avg_temperature) AS min_temperature,
+                                   coalesce(max_temperature, avg_temperature) AS max_temperature,
+                                   coalesce(stddev_temperature, 0) AS stddev_temperature,
+                                   avg_humidity, coalesce(min_humidity, avg_humidity) AS min_humidity,
+                                   coalesce(max_humidity, avg_humidity) AS max_humidity,
+                                   coalesce(stddev_humidity, 0) AS stddev_humidity,
+                                   avg_co2, coalesce(min_co2, avg_co2) AS min_co2,
+                                   coalesce(max_co2, avg_co2) AS max_co2,
+                                   coalesce(stddev_co2, 0) AS stddev_co2
+                            FROM daily_measurement_averages
+                            WHERE hive_id = ? AND date >= ? AND date < ?
+                            ORDER BY date
+                            """,
+                    DAILY_ROW_MAPPER,
+                    hiveId, start.toLocalDate(), end.toLocalDate()
+            );
+        }
+
+        return jdbcTemplate.query(
+                "SELECT " + ROLLUP_COLUMNS + " FROM " + table(resolution)
+                        + " WHERE hive_id = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+                ROLLUP_ROW_MAPPER,
+                hiveId, start, end
+        );
+    }
+
+    @Override
+    public int deleteBefore(MeasurementResolution resolution, LocalDateTime cutoff) {
+        if (resolution == MeasurementResolution.DAILY) {
+            return jdbcTemplate.update("DELETE FROM daily_measurement_averages WHERE date < ?", cutoff.toLocalDate());
+        }
+
+        return jdbcTemplate.update("DELETE FROM " + table(resolution) + " WHERE bucket_start < ?", cutoff);
+    }
+
+    private static String table(MeasurementResolution resolution) {
+        return switch (resolution) {
+            case HOURLY -> "measurement_rollup_hourly";
+            case WEEKLY -> "measurement_rollup_weekly";
+            case MONTHLY -> "measurement_rollup_monthly";
+            default -> throw new IllegalArgumentException("No rollup table for resolution " + resolution);
+        };
+    }
+}
@@ -0,0 +1,241 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.adapter;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.output.RedisIotPort;
+import com.tech_mel.tech_mel.infrastructure.persistence.segment.HiveSegmentLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Armazenamento das medições recentes em arquivos locais mapeados em memória, para instalações de um nó só
+// ou na borda, sem Redis para as medições. Cada colmeia tem um diretório (hash da API key) com segmentos
+// de registros de tamanho fixo; ver HiveSegmentLog e MeasurementSegment. Só as colmeias ativas ficam com o log
+// aberto e os segmentos mapeados: logs sem uso por idle-timeout são fechados.
+@Component
+@ConditionalOnProperty(name = "app.iot.storage", havingValue = "mmap")
+@Slf4j
+public class MmapMeasurementStoreAdapter implements RedisIotPort {
+    private final Path baseDirectory;
+    private final int segmentCapacity;
+    private final int maxSegments;
+    private final Duration retention;
+    private final Duration idleTimeout;
+
+    private final Map<Path, HiveSegmentLog> logs = new ConcurrentHashMap<>();
+
+    public MmapMeasurementStoreAdapter(
+            @Value("${app.iot.mmap.directory:data/measurements}") String directory,
+            @Value("${app.iot.mmap.segment-records:65536}") int segmentCapacity,
+            @Value("${app.iot.mmap.max-segments-per-hive:8}") int maxSegments,
+            @Value("${app.iot.mmap.retention:P7D}") Duration retention,
+            @Value("${app.iot.mmap.idle-timeout:PT10M}") Duration idleTimeout
+    ) {
+        this.baseDirectory = Path.of(directory);
+        this.segmentCapacity = segmentCapacity;
+        this.maxSegments = maxSegments;
+        this.retention = retention;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public void saveMeasurement(String apiKey, Measurement measurement) {
+        saveMeasurements(apiKey, List.of(measurement));
+    }
+
+    @Override
+    public void saveMeasurements(String apiKey, List<Measurement> measurements) {
+        if (measurements == null || measurements.isEmpty()) {
+            return;
+        }
+
+        withLog(directory(apiKey), segmentLog -> {
+            segmentLog.append(measurements);
+            return null;
+        });
+    }
+
+    @Override
+    public void saveReadings(String apiKey, MeasurementReadings readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+
+        withLog(directory(apiKey), segmentLog -> {
+            segmentLog.append(readings);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Measurement> getMeasurements(String apiKey, int limit) {
+        return withExistingLog(apiKey, segmentLog -> segmentLog.last(limit), List.of());
+    }
+
+    @Override
+    public List<Measurement> getMeasurementsBetween(String apiKey, LocalDateTime start, LocalDateTime end, int limit) {
+        return withExistingLog(apiKey, segmentLog -> segmentLog.range(start, end, limit), List.of());
+    }
+
+    @Override
+    public Map<String, Measurement> getLatestMeasurementsForMultipleHives(List<String> apiKeys) {
+        if (apiKeys == null || apiKeys.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Measurement> result = new HashMap<>(apiKeys.size());
+        for (String apiKey : apiKeys) {
+            if (apiKey == null || result.containsKey(apiKey)) {
+                continue;
+            }
+
+            Measurement latest = getLatestMeasurement(apiKey);
+            if (latest != null) {
+                result.put(apiKey, latest);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Measurement getLatestMeasurement(String apiKey) {
+        return withExistingLog(apiKey, HiveSegmentLog::latest, null);
+    }
+
+    @Override
+    public void clearMeasurements(String apiKey) {
+        // Dentro do compute ninguém abre o log desta colmeia; quem ainda tem o log antigo o encontra fechado
+        logs.compute(directory(apiKey), (directory, segmentLog) -> {
+            if (segmentLog == null && Files.isDirectory(directory)) {
+                segmentLog = HiveSegmentLog.open(directory, segmentCapacity, maxSegments);
+            }
+            if (segmentLog != null) {
+                segmentLog.deleteAll();
+            }
+            return null;
+        });
+    }
+
+    // As páginas sujas vão para o disco pelo sistema operacional; o force periódico limita a perda numa queda
+    // da máquina (numa queda só do processo nada se perde, o mapeamento é do kernel)
+    @Scheduled(fixedDelayString = "${app.iot.mmap.force-interval:PT1S}")
+    public void force() {
+        logs.values().forEach(HiveSegmentLog::force);
+    }
+
+    // Fecha os logs das colmeias que não gravaram nem foram lidas no último idle-timeout
+    @Scheduled(fixedDelayString = "${app.iot.mmap.idle-check-interval:PT1M}")
+    public void closeIdleLogs() {
+        long idleNanos = idleTimeout.toNanos();
+        int closed = 0;
+
+        for (Path directory : logs.keySet()) {
+            HiveSegmentLog open = logs.computeIfPresent(directory,
+                    (path, segmentLog) -> segmentLog.closeIfIdle(idleNanos) ? null : segmentLog);
+            if (open == null) {
+                closed++;
+            }
+        }
+
+        if (closed > 0) {
+            log.debug("Closed {} idle measurement logs, {} still open", closed, logs.size());
+        }
+    }
+
+    // Percorre os diretórios no disco, não só os logs abertos: colmeias sem atividade desde o início do processo
+    // também perdem os segmentos antigos. Diretórios sem log aberto não são abertos: a decisão sai do cabeçalho
+    // dos segmentos fechados
+    @Scheduled(fixedDelayString = "${app.iot.mmap.retention-check-interval:PT1H}")
+    public void applyRetention() {
+        if (!Files.isDirectory(baseDirectory)) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = 0;
+
+        try (Stream<Path> directories = Files.list(baseDirectory)) {
+            for (Path directory : directories.filter(Files::isDirectory).toList()) {
+                deleted += deleteOlderThan(directory, cutoff);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list measurement segments in " + baseDirectory, e);
+        }
+
+        if (deleted > 0) {
+            log.info("Deleted {} measurement segments older than {}", deleted, cutoff);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        force();
+    }
+
+    // O compute impede que a colmeia seja aberta enquanto os arquivos dela são apagados
+    private int deleteOlderThan(Path directory, LocalDateTime cutoff) {
+        int[] deleted = new int[1];
+        logs.compute(directory, (path, segmentLog) -> {
+            deleted[0] = segmentLog != null
+                    ? segmentLog.deleteOlderThan(cutoff)
+                    : HiveSegmentLog.deleteOlderThan(path, cutoff);
+            return segmentLog;
+        });
+        return deleted[0];
+    }
+
+    // Executa sob o lock do log (o mesmo dos métodos de HiveSegmentLog); um log fechado entre a busca no mapa e o
+    // lock já saiu do mapa, então a próxima volta abre outro
+    private <T> T withLog(Path directory, Function<HiveSegmentLog, T> action) {
+        while (true) {
+            HiveSegmentLog segmentLog = logs.computeIfAbsent(directory,
+                    path -> HiveSegmentLog.open(path, segmentCapacity, maxSegments));
+            synchronized (segmentLog) {
+                if (!segmentLog.isClosed()) {
+                    return action.apply(segmentLog);
+                }
+            }
+        }
+    }
+
+    // Leituras não criam diretório para colmeias que nunca gravaram
+    private <T> T withExistingLog(String apiKey, Function<HiveSegmentLog, T> action, T absent) {
+        Path directory = directory(apiKey);
+        if (!logs.containsKey(directory) && !Files.isDirectory(directory)) {
+            return absent;
+        }
+        return withLog(directory, action);
+    }
+
+    // A API key não vai para o nome do diretório: quem lista os arquivos não consegue se passar pela colmeia
+    private Path directory(String apiKey) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(
+                    Objects.requireNonNull(apiKey).getBytes(StandardCharsets.UTF_8));
+            return baseDirectory.resolve(HexFormat.of().formatHex(hash));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -8,6 +8,9 @@ import com.tech_mel.tech_mel.infrastructure.persistence.repository.ThresholdJpaR
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,4 +40,26 @@ public class ThresholdRepositoryAdapter implements ThresholdRepositoryPort {
         return repository.findByHiveId(hiveId)
                 .map(thresholdMapper::toDomain);
     }
+
+    @Override
+    public Map<UUID, Threshold> findAllByHiveIds(Collection<UUID> hiveIds) {
+        if (hiveIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // getHive().getId() não inicializa o proxy lazy da colmeia
+        Map<UUID, Threshold> thresholds = new HashMap<>();
+        for (ThresholdEntity entity : repository.findAllByHiveIdIn(hiveIds)) {
+            thresholds.put(entity.getHive().getId(), Threshold.builder()
+                    .id(entity.getId())
+                    .temperatureMin(entity.getTemperatureMin())
+                    .temperatureMax(entity.getTemperatureMax())
+                    .humidityMin(entity.getHumidityMin())
+                    .humidityMax(entity.getHumidityMax())
+                    .co2Min(entity.getCo2Min())
+                    .co2Max(entity.getCo2Max())
+                    .build());
+        }
+        return thresholds;
+    }
 }
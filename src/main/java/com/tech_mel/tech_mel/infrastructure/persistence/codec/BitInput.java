@@ -0,0 +1,35 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.codec;
+
+// Leitura de bits MSB-first sobre um array de bytes
+final class BitInput {
+    private final byte[] bytes;
+    private long position;
+
+    BitInput(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    boolean readBit() {
+        int value = bytes[(int) (position >>> 3)] >>> (7 - (int) (position & 7));
+        position++;
+        return (value & 1) != 0;
+    }
+
+    // count entre 1 e 64
+    long readBits(int count) {
+        long result = 0;
+
+        while (count > 0) {
+            int offset = (int) (position & 7);
+            int available = 8 - offset;
+            int take = Math.min(available, count);
+            int bits = ((bytes[(int) (position >>> 3)] & 0xFF) >>> (available - take)) & ((1 << take) - 1);
+
+            result = (result << take) | bits;
+            count -= take;
+            position += take;
+        }
+
+        return result;
+    }
+}
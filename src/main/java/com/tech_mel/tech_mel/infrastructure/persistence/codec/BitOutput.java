@@ -0,0 +1,63 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.codec;
+
+import java.util.Arrays;
+
+// Escrita de bits MSB-first acumulando em uma palavra de 64 bits
+final class BitOutput {
+    private byte[] bytes;
+    private int size;
+    private long current;
+    private int currentBits;
+
+    BitOutput(int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    // count entre 1 e 64; bits acima de count são ignorados
+    void writeBits(long value, int count) {
+        if (count < 64) {
+            value &= (1L << count) - 1;
+        }
+
+        int free = 64 - currentBits;
+        if (count <= free) {
+            current |= value << (free - count);
+            currentBits += count;
+            if (currentBits == 64) {
+                flushWord();
+            }
+            return;
+        }
+
+        int overflow = count - free;
+        current |= value >>> overflow;
+        currentBits = 64;
+        flushWord();
+        current = value << (64 - overflow);
+        currentBits = overflow;
+    }
+
+    byte[] toByteArray() {
+        int tailBytes = (currentBits + 7) / 8;
+        byte[] result = Arrays.copyOf(bytes, size + tailBytes);
+        for (int i = 0; i < tailBytes; i++) {
+            result[size + i] = (byte) (current >>> (56 - 8 * i));
+        }
+        return result;
+    }
+
+    private void flushWord() {
+        if (size + 8 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        for (int i = 0; i < 8; i++) {
+            bytes[size++] = (byte) (current >>> (56 - 8 * i));
+        }
+        current = 0;
+        currentBits = 0;
+    }
+}
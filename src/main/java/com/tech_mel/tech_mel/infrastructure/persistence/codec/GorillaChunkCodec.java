@@ -0,0 +1,255 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.codec;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+// Chunk comprimido com as medições de uma colmeia em uma janela de tempo, no estilo do Gorilla (Facebook):
+// timestamps em milissegundos codificados como delta-of-delta e cada métrica como XOR com o valor anterior.
+// Intervalos regulares custam 1 bit por timestamp e valores que mudam devagar poucos bits por métrica.
+//
+// Formato: versão (8 bits) | quantidade (32 bits) | primeiro timestamp (64) | 3 valores brutos (64 cada) |
+// para cada medição seguinte: delta-of-delta do timestamp e o XOR de temperatura, umidade e CO2.
+// Os IDs originais não são guardados; a decodificação gera IDs determinísticos por (colmeia, timestamp, posição).
+public final class GorillaChunkCodec {
+    private static final int VERSION = 1;
+    private static final int METRICS = 3;
+
+    private GorillaChunkCodec() {
+    }
+
+    // As medições devem estar em ordem crescente de measuredAt; valores nulos viram NaN
+    public static byte[] encode(List<Measurement> measurements) {
+        BitOutput output = new BitOutput(16 + measurements.size() * 4);
+        output.writeBits(VERSION, 8);
+        output.writeBits(measurements.size(), 32);
+
+        if (measurements.isEmpty()) {
+            return output.toByteArray();
+        }
+
+        long previousTimestamp = toEpochMilli(measurements.get(0).getMeasuredAt());
+        long previousDelta = 0;
+        ValueEncoder[] encoders = new ValueEncoder[METRICS];
+
+        output.writeBits(previousTimestamp, 64);
+        for (int metric = 0; metric < METRICS; metric++) {
+            encoders[metric] = new ValueEncoder(value(measurements.get(0), metric));
+            output.writeBits(encoders[metric].previous, 64);
+        }
+
+        for (int i = 1; i < measurements.size(); i++) {
+            Measurement measurement = measurements.get(i);
+            long timestamp = toEpochMilli(measurement.getMeasuredAt());
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(output, delta - previousDelta);
+            previousTimestamp = timestamp;
+            previousDelta = delta;
+
+            for (int metric = 0; metric < METRICS; metric++) {
+                encoders[metric].write(output, value(measurement, metric));
+            }
+        }
+
+        return output.toByteArray();
+    }
+
+    public static int count(byte[] chunk) {
+        BitInput input = new BitInput(chunk);
+        readVersion(input);
+        return (int) input.readBits(32);
+    }
+
+    public static Decoder decoder(UUID hiveId, byte[] chunk) {
+        return new Decoder(hiveId, chunk);
+    }
+
+    // Faixas em zigzag: 0 -> '0'; < 2^7 -> '10'; < 2^9 -> '110'; < 2^12 -> '1110'; senão '1111' + 64 bits
+    private static void writeDeltaOfDelta(BitOutput output, long deltaOfDelta) {
+        long zigzag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+
+        if (zigzag == 0) {
+            output.writeBit(false);
+        } else if (Long.compareUnsigned(zigzag, 1L << 7) < 0) {
+            output.writeBits(0b10, 2);
+            output.writeBits(zigzag, 7);
+        } else if (Long.compareUnsigned(zigzag, 1L << 9) < 0) {
+            output.writeBits(0b110, 3);
+            output.writeBits(zigzag, 9);
+        } else if (Long.compareUnsigned(zigzag, 1L << 12) < 0) {
+            output.writeBits(0b1110, 4);
+            output.writeBits(zigzag, 12);
+        } else {
+            output.writeBits(0b1111, 4);
+            output.writeBits(zigzag, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitInput input) {
+        int bits;
+        if (!input.readBit()) {
+            return 0;
+        } else if (!input.readBit()) {
+            bits = 7;
+        } else if (!input.readBit()) {
+            bits = 9;
+        } else if (!input.readBit()) {
+            bits = 12;
+        } else {
+            bits = 64;
+        }
+
+        long zigzag = input.readBits(bits);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static void readVersion(BitInput input) {
+        int version = (int) input.readBits(8);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported measurement chunk version: " + version);
+        }
+    }
+
+    private static long value(Measurement measurement, int metric) {
+        Double value = switch (metric) {
+            case 0 -> measurement.getTemperature();
+            case 1 -> measurement.getHumidity();
+            default -> measurement.getCo2();
+        };
+        return Double.doubleToRawLongBits(value != null ? value : Double.NaN);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // XOR com o valor anterior: '0' se igual; '10' + bits significativos se cabem na janela anterior de
+    // zeros à esquerda/direita; '11' + zeros à esquerda (5 bits) + tamanho - 1 (6 bits) + bits significativos
+    private static final class ValueEncoder {
+        private long previous;
+        private int leading = -1;
+        private int trailing;
+
+        ValueEncoder(long first) {
+            this.previous = first;
+        }
+
+        void write(BitOutput output, long bits) {
+            long xor = bits ^ previous;
+            previous = bits;
+
+            if (xor == 0) {
+                output.writeBit(false);
+                return;
+            }
+
+            int newLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int newTrailing = Long.numberOfTrailingZeros(xor);
+
+            if (leading >= 0 && newLeading >= leading && newTrailing >= trailing) {
+                output.writeBits(0b10, 2);
+                output.writeBits(xor >>> trailing, 64 - leading - trailing);
+                return;
+            }
+
+            int significant = 64 - newLeading - newTrailing;
+            output.writeBits(0b11, 2);
+            output.writeBits(newLeading, 5);
+            output.writeBits(significant - 1, 6);
+            output.writeBits(xor >>> newTrailing, significant);
+            leading = newLeading;
+            trailing = newTrailing;
+        }
+    }
+
+    private static final class ValueDecoder {
+        private long previous;
+        private int leading;
+        private int trailing;
+
+        long read(BitInput input) {
+            if (!input.readBit()) {
+                return previous;
+            }
+
+            if (input.readBit()) {
+                leading = (int) input.readBits(5);
+                int significant = (int) input.readBits(6) + 1;
+                trailing = 64 - leading - significant;
+            }
+
+            previous ^= input.readBits(64 - leading - trailing) << trailing;
+            return previous;
+        }
+    }
+
+    // Decodificação incremental: nada além da medição corrente é materializado, então quem lê pode parar
+    // no fim do intervalo pedido sem decodificar o resto do chunk
+    public static final class Decoder {
+        private final BitInput input;
+        private final int count;
+        private final long hiveMostSignificantBits;
+        private final long hiveLeastSignificantBits;
+        private final ValueDecoder[] values = new ValueDecoder[METRICS];
+
+        private int index;
+        private long timestamp;
+        private long delta;
+
+        private Decoder(UUID hiveId, byte[] chunk) {
+            this.input = new BitInput(chunk);
+            readVersion(input);
+            this.count = (int) input.readBits(32);
+            this.hiveMostSignificantBits = hiveId.getMostSignificantBits();
+            this.hiveLeastSignificantBits = hiveId.getLeastSignificantBits();
+            for (int metric = 0; metric < METRICS; metric++) {
+                values[metric] = new ValueDecoder();
+            }
+        }
+
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        public Measurement next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            if (index == 0) {
+                timestamp = input.readBits(64);
+                for (ValueDecoder value : values) {
+                    value.previous = input.readBits(64);
+                }
+            } else {
+                delta += readDeltaOfDelta(input);
+                timestamp += delta;
+                for (ValueDecoder value : values) {
+                    value.read(input);
+                }
+            }
+
+            // Único por colmeia: XOR com constantes preserva a distinção entre pares (timestamp, posição)
+            UUID id = new UUID(hiveMostSignificantBits ^ timestamp, hiveLeastSignificantBits ^ index);
+            index++;
+
+            return Measurement.builder()
+                    .id(id)
+                    .temperature(toValue(values[0].previous))
+                    .humidity(toValue(values[1].previous))
+                    .co2(toValue(values[2].previous))
+                    .measuredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC))
+                    .build();
+        }
+
+        private static Double toValue(long bits) {
+            double value = Double.longBitsToDouble(bits);
+            return Double.isNaN(value) ? null : value;
+        }
+    }
+}
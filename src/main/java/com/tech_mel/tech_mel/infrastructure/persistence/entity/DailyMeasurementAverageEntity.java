@@ -32,6 +32,37 @@ public class DailyMeasurementAverageEntity {
     @Column(nullable = false)
     private LocalDate date;
 
+    // Nulas em linhas gravadas antes dos agregados incrementais
+    @Column
+    private Long sampleCount;
+
+    @Column
+    private Double minTemperature;
+
+    @Column
+    private Double maxTemperature;
+
+    @Column
+    private Double stddevTemperature;
+
+    @Column
+    private Double minHumidity;
+
+    @Column
+    private Double maxHumidity;
+
+    @Column
+    private Double stddevHumidity;
+
+    @Column
+    private Double minCo2;
+
+    @Column
+    private Double maxCo2;
+
+    @Column
+    private Double stddevCo2;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hive_id", nullable = false)
     @OnDelete(action = OnDeleteAction.NO_ACTION)
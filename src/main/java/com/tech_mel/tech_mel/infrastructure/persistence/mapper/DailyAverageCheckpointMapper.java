@@ -0,0 +1,34 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.mapper;
+
+import com.tech_mel.tech_mel.domain.model.DailyAverageCheckpoint;
+import com.tech_mel.tech_mel.infrastructure.persistence.entity.DailyAverageCheckpointEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DailyAverageCheckpointMapper {
+    public DailyAverageCheckpoint toDomain(DailyAverageCheckpointEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return DailyAverageCheckpoint.builder()
+                .date(entity.getDate())
+                .lastHiveId(entity.getLastHiveId())
+                .completed(entity.isCompleted())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+
+    public DailyAverageCheckpointEntity toEntity(DailyAverageCheckpoint domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return DailyAverageCheckpointEntity.builder()
+                .date(domain.getDate())
+                .lastHiveId(domain.getLastHiveId())
+                .completed(domain.isCompleted())
+                .updatedAt(domain.getUpdatedAt())
+                .build();
+    }
+}
@@ -23,6 +23,16 @@ public class DailyMeasurementAverageMapper {
                 .avgTemperature(entity.getAvgTemperature())
                 .avgHumidity(entity.getAvgHumidity())
                 .avgCo2(entity.getAvgCo2())
+                .sampleCount(entity.getSampleCount())
+                .minTemperature(entity.getMinTemperature())
+                .maxTemperature(entity.getMaxTemperature())
+                .stddevTemperature(entity.getStddevTemperature())
+                .minHumidity(entity.getMinHumidity())
+                .maxHumidity(entity.getMaxHumidity())
+                .stddevHumidity(entity.getStddevHumidity())
+                .minCo2(entity.getMinCo2())
+                .maxCo2(entity.getMaxCo2())
+                .stddevCo2(entity.getStddevCo2())
                 .hive(hiveMapper.toDomain(entity.getHive()))
                 .build();
     }
@@ -38,6 +48,16 @@ public class DailyMeasurementAverageMapper {
                 .avgTemperature(domain.getAvgTemperature())
                 .avgHumidity(domain.getAvgHumidity())
                 .avgCo2(domain.getAvgCo2())
+                .sampleCount(domain.getSampleCount())
+                .minTemperature(domain.getMinTemperature())
+                .maxTemperature(domain.getMaxTemperature())
+                .stddevTemperature(domain.getStddevTemperature())
+                .minHumidity(domain.getMinHumidity())
+                .maxHumidity(domain.getMaxHumidity())
+                .stddevHumidity(domain.getStddevHumidity())
+                .minCo2(domain.getMinCo2())
+                .maxCo2(domain.getMaxCo2())
+                .stddevCo2(domain.getStddevCo2())
                 .hive(hiveMapper.toEntity(domain.getHive()))
                 .build();
     }
@@ -4,12 +4,24 @@ import com.tech_mel.tech_mel.infrastructure.persistence.entity.AlertEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface AlertJpaRepository extends JpaRepository<AlertEntity, UUID> {
     Page<AlertEntity> findAllByHiveIdAndStatus(UUID hiveId, AlertEntity.AlertStatus status, Pageable pageable);
 
     Page<AlertEntity> findAllByHiveId(UUID hiveId, Pageable pageable);
+
+    // Linhas [hiveId, quantidade]
+    @Query("SELECT a.hive.id, COUNT(a) FROM AlertEntity a " +
+            "WHERE a.hive.id IN :hiveIds AND a.status IN :statuses GROUP BY a.hive.id")
+    List<Object[]> countByHiveIdInAndStatusIn(
+            @Param("hiveIds") Collection<UUID> hiveIds,
+            @Param("statuses") Collection<AlertEntity.AlertStatus> statuses
+    );
 }
 
@@ -0,0 +1,9 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.repository;
+
+import com.tech_mel.tech_mel.infrastructure.persistence.entity.DailyAverageCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+public interface DailyAverageCheckpointJpaRepository extends JpaRepository<DailyAverageCheckpointEntity, LocalDate> {
+}
@@ -4,11 +4,20 @@ import com.tech_mel.tech_mel.infrastructure.persistence.entity.DailyMeasurementA
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface DailyMeasurementAverageRepository extends JpaRepository<DailyMeasurementAverageEntity, UUID> {
     Page<DailyMeasurementAverageEntity> findAllByHive_Id(UUID hiveId, Pageable pageable);
+
+    // Média mais recente de cada colmeia em uma única consulta
+    @Query(value = "SELECT DISTINCT ON (hive_id) * FROM daily_measurement_averages " +
+            "WHERE hive_id IN (:hiveIds) ORDER BY hive_id, date DESC", nativeQuery = true)
+    List<DailyMeasurementAverageEntity> findLatestByHiveIdIn(@Param("hiveIds") Collection<UUID> hiveIds);
 }
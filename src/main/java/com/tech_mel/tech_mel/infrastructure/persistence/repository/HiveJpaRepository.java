@@ -1,11 +1,15 @@
 package com.tech_mel.tech_mel.infrastructure.persistence.repository;
 
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
 import com.tech_mel.tech_mel.infrastructure.persistence.entity.HiveEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +18,14 @@ public interface HiveJpaRepository extends JpaRepository<HiveEntity, UUID> {
     Page<HiveEntity> findByOwner_Id(UUID ownerId, Pageable pageable);
 
     Optional<HiveEntity> findByApiKey(String apiKey);
+
+    @Query("select new com.tech_mel.tech_mel.domain.model.HiveDescriptor(h.id, h.apiKey, h.hiveStatus, h.owner.id) " +
+            "from HiveEntity h where h.apiKey = :apiKey")
+    Optional<HiveDescriptor> findDescriptorByApiKey(@Param("apiKey") String apiKey);
+
+    @Query("select h.id from HiveEntity h order by h.id")
+    List<UUID> findIds(Pageable pageable);
+
+    @Query("select h.id from HiveEntity h where h.id > :afterId order by h.id")
+    List<UUID> findIdsAfter(@Param("afterId") UUID afterId, Pageable pageable);
 }
@@ -0,0 +1,220 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.segment;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Log de medições de uma colmeia: segmentos em ordem de sequência, só o último recebe acréscimos.
+// Segmentos cheios são trocados por um novo; a retenção apaga segmentos inteiros, nunca registros.
+// Um log fechado (colmeia ociosa ou apagada) solta os mapeamentos e não aceita mais operações: quem ainda tem a
+// referência confere isClosed sob o mesmo lock e abre o log de novo.
+public final class HiveSegmentLog {
+    private final Path directory;
+    private final int segmentCapacity;
+    private final int maxSegments;
+    private final List<MeasurementSegment> segments = new ArrayList<>();
+    private long lastUsedNanos = System.nanoTime();
+    private boolean closed;
+
+    private HiveSegmentLog(Path directory, int segmentCapacity, int maxSegments) {
+        this.directory = directory;
+        this.segmentCapacity = segmentCapacity;
+        this.maxSegments = Math.max(1, maxSegments);
+    }
+
+    public static HiveSegmentLog open(Path directory, int segmentCapacity, int maxSegments) {
+        HiveSegmentLog segmentLog = new HiveSegmentLog(directory, segmentCapacity, maxSegments);
+
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(MeasurementSegment.FILE_SUFFIX))
+                        .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                        .forEach(file -> segmentLog.segments.add(MeasurementSegment.open(file)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open measurement segments in " + directory, e);
+        }
+
+        return segmentLog;
+    }
+
+    public synchronized void append(List<Measurement> measurements) {
+        lastUsedNanos = System.nanoTime();
+        for (Measurement measurement : measurements) {
+            MeasurementSegment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+
+            if (active == null || !active.append(measurement)) {
+                rotate(active).append(measurement);
+            }
+        }
+    }
+
+    public synchronized void append(MeasurementReadings readings) {
+        lastUsedNanos = System.nanoTime();
+        for (int i = 0; i < readings.size(); i++) {
+            MeasurementSegment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+
+            if (active == null || !active.append(readings, i)) {
+                rotate(active).append(readings, i);
+            }
+        }
+    }
+
+    // Fecha o segmento cheio (ou nenhum, no log vazio) e abre o próximo
+    private MeasurementSegment rotate(MeasurementSegment active) {
+        if (active != null) {
+            active.seal();
+            active.force();
+        }
+
+        long nextSequence = active == null ? 0 : active.getBaseSequence() + active.getCount();
+        MeasurementSegment next = MeasurementSegment.create(directory, nextSequence, segmentCapacity);
+        segments.add(next);
+
+        while (segments.size() > maxSegments) {
+            segments.remove(0).delete();
+        }
+        return next;
+    }
+
+    public synchronized Measurement latest() {
+        lastUsedNanos = System.nanoTime();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            MeasurementSegment segment = segments.get(i);
+            if (segment.getCount() > 0) {
+                return segment.read(segment.getCount() - 1);
+            }
+        }
+        return null;
+    }
+
+    // Da mais recente para a mais antiga, na ordem de chegada
+    public synchronized List<Measurement> last(int limit) {
+        lastUsedNanos = System.nanoTime();
+        List<Measurement> measurements = new ArrayList<>(Math.min(limit, 1024));
+
+        for (int i = segments.size() - 1; i >= 0 && measurements.size() < limit; i--) {
+            MeasurementSegment segment = segments.get(i);
+            for (int index = segment.getCount() - 1; index >= 0 && measurements.size() < limit; index--) {
+                measurements.add(segment.read(index));
+            }
+        }
+
+        return measurements;
+    }
+
+    // Medições com measuredAt em [start, end), na ordem de chegada; só percorre segmentos que cobrem o intervalo
+    // e, dentro deles, começa no bloco indicado pelo índice esparso
+    public synchronized List<Measurement> range(LocalDateTime start, LocalDateTime end, int limit) {
+        lastUsedNanos = System.nanoTime();
+        long from = start.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long to = end.toInstant(ZoneOffset.UTC).toEpochMilli();
+        List<Measurement> measurements = new ArrayList<>();
+
+        for (MeasurementSegment segment : segments) {
+            if (segment.getCount() == 0 || segment.getMaxTimestamp() < from || segment.getMinTimestamp() >= to) {
+                continue;
+            }
+
+            for (int index = segment.seek(from); index < segment.getCount(); index++) {
+                long timestamp = segment.timestampAt(index);
+                if (timestamp >= from && timestamp < to) {
+                    measurements.add(segment.read(index));
+                    if (measurements.size() == limit) {
+                        return measurements;
+                    }
+                }
+            }
+        }
+
+        return measurements;
+    }
+
+    // Apaga segmentos fechados cujas medições são todas anteriores ao corte; retorna quantos apagou
+    public synchronized int deleteOlderThan(LocalDateTime cutoff) {
+        long cutoffMillis = cutoff.toInstant(ZoneOffset.UTC).toEpochMilli();
+        int deleted = 0;
+
+        while (segments.size() > 1 && segments.get(0).getMaxTimestamp() < cutoffMillis) {
+            segments.remove(0).delete();
+            deleted++;
+        }
+
+        return deleted;
+    }
+
+    // Mesma regra para um diretório sem log aberto, lendo só a listagem e o cabeçalho dos segmentos fechados
+    public static int deleteOlderThan(Path directory, LocalDateTime cutoff) {
+        long cutoffMillis = cutoff.toInstant(ZoneOffset.UTC).toEpochMilli();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(MeasurementSegment.FILE_SUFFIX))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list measurement segments in " + directory, e);
+        }
+
+        int deleted = 0;
+        while (deleted < files.size() - 1 && MeasurementSegment.maxTimestamp(files.get(deleted)) < cutoffMillis) {
+            try {
+                Files.deleteIfExists(files.get(deleted));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not delete measurement segment " + files.get(deleted), e);
+            }
+            deleted++;
+        }
+
+        return deleted;
+    }
+
+    // Fecha o log sem uso há idleNanos: grava o segmento ativo e solta os mapeamentos (o kernel os desfaz quando
+    // os buffers são coletados). Retorna se fechou
+    public synchronized boolean closeIfIdle(long idleNanos) {
+        if (closed || System.nanoTime() - lastUsedNanos < idleNanos) {
+            return closed;
+        }
+
+        force();
+        segments.clear();
+        closed = true;
+        return true;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.stream().allMatch(segment -> segment.getCount() == 0);
+    }
+
+    public synchronized void force() {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).force();
+        }
+    }
+
+    public synchronized void deleteAll() {
+        segments.forEach(MeasurementSegment::delete);
+        segments.clear();
+        closed = true;
+
+        try {
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete measurement segments in " + directory, e);
+        }
+    }
+}
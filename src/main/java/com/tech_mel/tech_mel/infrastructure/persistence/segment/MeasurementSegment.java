@@ -0,0 +1,309 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.segment;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+// Arquivo de segmento mapeado em memória com registros de tamanho fixo, só de acréscimo.
+// Cabeçalho (16): magic | versão | tamanho do registro | capacidade | maior measuredAt em epoch segundos
+// (arredondado para cima, gravado ao fechar o segmento; 0 nos segmentos abertos ou de versões anteriores).
+// Registro (56): versão (1) | campos nulos (1) | reservado (2) | CRC32C dos bytes 8..56 (4) |
+// measuredAt em epoch millis UTC (8) | temperatura, umidade, CO2 (3 x 8) | id (16).
+// A versão do registro é escrita por último: um registro sem versão ou com CRC inválido marca o fim dos dados.
+@Slf4j
+final class MeasurementSegment {
+    static final int RECORD_SIZE = 56;
+    static final String FILE_SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x544D5347;
+    private static final short FILE_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SEALED_MAX_OFFSET = 12;
+    private static final byte RECORD_VERSION = 1;
+    private static final int CHECKSUMMED_FROM = 8;
+
+    // Uma entrada do índice esparso a cada INDEX_INTERVAL registros
+    private static final int INDEX_INTERVAL = 128;
+
+    private static final int NULL_ID = 1;
+    private static final int NULL_MEASURED_AT = 1 << 1;
+    private static final int NULL_TEMPERATURE = 1 << 2;
+    private static final int NULL_HUMIDITY = 1 << 3;
+    private static final int NULL_CO2 = 1 << 4;
+
+    private final Path path;
+    private final long baseSequence;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+
+    // Maior measuredAt visto até o fim de cada bloco de INDEX_INTERVAL registros. Sendo um máximo acumulado,
+    // continua correto com medições fora de ordem: todo registro antes de um bloco com máximo < t é < t.
+    private final long[] runningMaxIndex;
+
+    private volatile int count;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+
+    private MeasurementSegment(Path path, long baseSequence, int capacity, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.runningMaxIndex = new long[(capacity + INDEX_INTERVAL - 1) / INDEX_INTERVAL];
+        Arrays.fill(runningMaxIndex, Long.MIN_VALUE);
+    }
+
+    static MeasurementSegment create(Path directory, long baseSequence, int capacity) {
+        Path path = directory.resolve(fileName(baseSequence));
+        MappedByteBuffer buffer = map(path, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, FILE_VERSION);
+        buffer.putShort(6, (short) RECORD_SIZE);
+        buffer.putInt(8, capacity);
+
+        return new MeasurementSegment(path, baseSequence, capacity, buffer);
+    }
+
+    // Reabre um segmento existente e descarta registros parciais no fim (queda no meio de uma escrita)
+    static MeasurementSegment open(Path path) {
+        long baseSequence = Long.parseLong(path.getFileName().toString().replace(FILE_SUFFIX, ""));
+        MappedByteBuffer buffer = map(path, -1);
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getShort(4) != FILE_VERSION
+                || buffer.getShort(6) != RECORD_SIZE) {
+            throw new IllegalStateException("Not a measurement segment: " + path);
+        }
+
+        int capacity = Math.min(buffer.getInt(8), (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE);
+        MeasurementSegment segment = new MeasurementSegment(path, baseSequence, capacity, buffer);
+        segment.recover();
+        return segment;
+    }
+
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    // Retorna false quando o segmento está cheio. Chamado sob o lock do log da colmeia
+    boolean append(Measurement measurement) {
+        if (count == capacity) {
+            return false;
+        }
+
+        int nulls = 0;
+        if (measurement.getId() == null) nulls |= NULL_ID;
+        if (measurement.getMeasuredAt() == null) nulls |= NULL_MEASURED_AT;
+        if (measurement.getTemperature() == null) nulls |= NULL_TEMPERATURE;
+        if (measurement.getHumidity() == null) nulls |= NULL_HUMIDITY;
+        if (measurement.getCo2() == null) nulls |= NULL_CO2;
+
+        write(nulls,
+                measurement.getMeasuredAt() != null
+                        ? measurement.getMeasuredAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                        : 0L,
+                measurement.getTemperature() != null ? measurement.getTemperature() : 0d,
+                measurement.getHumidity() != null ? measurement.getHumidity() : 0d,
+                measurement.getCo2() != null ? measurement.getCo2() : 0d,
+                measurement.getId() != null ? measurement.getId().getMostSignificantBits() : 0L,
+                measurement.getId() != null ? measurement.getId().getLeastSignificantBits() : 0L);
+        return true;
+    }
+
+    // Leitura do lote de ingestão: todos os campos presentes
+    boolean append(MeasurementReadings readings, int index) {
+        if (count == capacity) {
+            return false;
+        }
+
+        write(0, readings.measuredAt(index), readings.temperature(index), readings.humidity(index),
+                readings.co2(index), readings.idMostSignificantBits(index), readings.idLeastSignificantBits(index));
+        return true;
+    }
+
+    private void write(int nulls, long timestamp, double temperature, double humidity, double co2,
+                       long idMsb, long idLsb) {
+        int offset = offset(count);
+        buffer.put(offset + 1, (byte) nulls);
+        buffer.putLong(offset + 8, timestamp);
+        buffer.putDouble(offset + 16, temperature);
+        buffer.putDouble(offset + 24, humidity);
+        buffer.putDouble(offset + 32, co2);
+        buffer.putLong(offset + 40, idMsb);
+        buffer.putLong(offset + 48, idLsb);
+        buffer.putInt(offset + 4, checksum(offset));
+        buffer.put(offset, RECORD_VERSION);
+
+        track(count, timestamp);
+        count++;
+    }
+
+    // Leitura direta do buffer mapeado, sem cópia intermediária; leituras absolutas não alteram o estado do buffer
+    Measurement read(int index) {
+        int offset = offset(index);
+        int nulls = buffer.get(offset + 1);
+
+        return Measurement.builder()
+                .id((nulls & NULL_ID) != 0
+                        ? null
+                        : new UUID(buffer.getLong(offset + 40), buffer.getLong(offset + 48)))
+                .measuredAt((nulls & NULL_MEASURED_AT) != 0
+                        ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong(offset + 8)), ZoneOffset.UTC))
+                .temperature((nulls & NULL_TEMPERATURE) != 0 ? null : buffer.getDouble(offset + 16))
+                .humidity((nulls & NULL_HUMIDITY) != 0 ? null : buffer.getDouble(offset + 24))
+                .co2((nulls & NULL_CO2) != 0 ? null : buffer.getDouble(offset + 32))
+                .build();
+    }
+
+    long timestampAt(int index) {
+        return buffer.getLong(offset(index) + 8);
+    }
+
+    // Primeiro registro que pode ter measuredAt >= timestamp: pula os blocos inteiros cujo máximo acumulado é menor
+    int seek(long timestamp) {
+        int low = 0;
+        int high = (count + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (runningMaxIndex[middle] < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return Math.min(low * INDEX_INTERVAL, count);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    // Grava no cabeçalho o maior measuredAt do segmento cheio, para a retenção decidir sem mapear o arquivo
+    void seal() {
+        long seconds = Math.floorDiv(maxTimestamp, 1000) + (Math.floorMod(maxTimestamp, 1000) > 0 ? 1 : 0);
+        buffer.putInt(SEALED_MAX_OFFSET, (int) Math.min(Math.max(seconds, 1), 0xFFFFFFFFL));
+    }
+
+    // Maior measuredAt de um segmento no disco: lê só o cabeçalho quando o segmento foi fechado; segmentos
+    // gravados antes do selo são mapeados e percorridos uma vez
+    static long maxTimestamp(Path path) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read measurement segment header " + path, e);
+        }
+
+        long sealedSeconds = header.hasRemaining() || header.getInt(0) != MAGIC
+                ? 0
+                : Integer.toUnsignedLong(header.getInt(SEALED_MAX_OFFSET));
+        return sealedSeconds > 0 ? sealedSeconds * 1000 : open(path).getMaxTimestamp();
+    }
+
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete measurement segment " + path, e);
+        }
+    }
+
+    static String fileName(long baseSequence) {
+        return String.format("%020d%s", baseSequence, FILE_SUFFIX);
+    }
+
+    private void recover() {
+        int valid = 0;
+        while (valid < capacity) {
+            int offset = offset(valid);
+            if (buffer.get(offset) != RECORD_VERSION || buffer.getInt(offset + 4) != checksum(offset)) {
+                break;
+            }
+            track(valid, buffer.getLong(offset + 8));
+            valid++;
+        }
+        count = valid;
+
+        // Zera o que sobrou de uma escrita interrompida para o próximo acréscimo começar de um registro limpo
+        int end = HEADER_SIZE + capacity * RECORD_SIZE;
+        boolean dirty = false;
+        for (int position = offset(valid); position < end; position++) {
+            if (buffer.get(position) != 0) {
+                buffer.put(position, (byte) 0);
+                dirty = true;
+            }
+        }
+
+        if (dirty) {
+            log.warn("Truncated partial records after {} valid records in measurement segment {}", valid, path);
+        }
+    }
+
+    private void track(int index, long timestamp) {
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+
+        int block = index / INDEX_INTERVAL;
+        long previous = block > 0 ? runningMaxIndex[block - 1] : Long.MIN_VALUE;
+        runningMaxIndex[block] = Math.max(Math.max(runningMaxIndex[block], previous), timestamp);
+    }
+
+    private int checksum(int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + CHECKSUMMED_FROM, RECORD_SIZE - CHECKSUMMED_FROM));
+        return (int) crc.getValue();
+    }
+
+    private static int offset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    // size < 0 mapeia o arquivo existente inteiro; o canal pode ser fechado, o mapeamento continua válido
+    private static MappedByteBuffer map(Path path, long size) {
+        try (FileChannel channel = size < 0
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size < 0 ? channel.size() : size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map measurement segment " + path, e);
+        }
+    }
+}
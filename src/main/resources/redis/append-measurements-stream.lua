@@ -0,0 +1,21 @@
+-- Acrescenta medições ao stream da colmeia e ao log global em uma única ida ao Redis
+-- KEYS[1] = stream de medições da colmeia (leituras recentes)
+-- KEYS[2] = stream global consumido pelos grupos de processamento
+-- KEYS[3] = chave com a última medição da colmeia (lida em lote via MGET)
+-- ARGV[1] = tamanho aproximado máximo do stream da colmeia (MAXLEN ~)
+-- ARGV[2] = tamanho aproximado máximo do log global (MAXLEN ~)
+-- ARGV[3] = TTL do stream da colmeia em segundos (renovado a cada escrita)
+-- ARGV[4] = API key da colmeia
+-- ARGV[5..n] = medições já serializadas, da mais antiga para a mais recente
+local hiveKey = KEYS[1]
+local logKey = KEYS[2]
+
+for i = 5, #ARGV do
+    redis.call('XADD', hiveKey, 'MAXLEN', '~', ARGV[1], '*', 'd', ARGV[i])
+    redis.call('XADD', logKey, 'MAXLEN', '~', ARGV[2], '*', 'k', ARGV[4], 'd', ARGV[i])
+end
+
+redis.call('EXPIRE', hiveKey, tonumber(ARGV[3]))
+redis.call('SET', KEYS[3], ARGV[#ARGV], 'EX', tonumber(ARGV[3]))
+
+return #ARGV - 4
@@ -0,0 +1,19 @@
+-- Acrescenta medições à lista da colmeia em uma única ida ao Redis
+-- KEYS[1] = lista de medições da colmeia
+-- KEYS[2] = chave com a última medição da colmeia (lida em lote via MGET)
+-- ARGV[1] = quantidade máxima de medições mantidas na lista
+-- ARGV[2] = TTL da lista em segundos (renovado a cada escrita)
+-- ARGV[3..n] = medições já serializadas, da mais antiga para a mais recente
+local key = KEYS[1]
+
+for i = 3, #ARGV do
+    redis.call('LPUSH', key, ARGV[i])
+end
+
+redis.call('LTRIM', key, 0, tonumber(ARGV[1]) - 1)
+
+redis.call('EXPIRE', key, tonumber(ARGV[2]))
+
+redis.call('SET', KEYS[2], ARGV[#ARGV], 'EX', tonumber(ARGV[2]))
+
+return #ARGV - 2
@@ -0,0 +1,42 @@
+-- Soma agregados parciais (já calculados pela aplicação) aos agregados diários das colmeias e marca a colmeia
+-- como alterada em cada dia, para o job refazer médias de dias já concluídos
+-- KEYS[i] = hash do agregado de um dia de uma colmeia; KEYS[days + i] = conjunto de colmeias alteradas no dia
+-- ARGV[1] = TTL dos hashes e conjuntos em segundos
+-- ARGV[2] = ID da colmeia
+-- ARGV[3 + (i - 1) * 13 ...] = count e, para temperatura, umidade e CO2: soma, mínimo, máximo, soma dos quadrados
+local ttl = tonumber(ARGV[1])
+local hiveId = ARGV[2]
+local days = #KEYS / 2
+local metrics = { 't', 'h', 'c' }
+
+for i = 1, days do
+    local key = KEYS[i]
+    local base = 3 + (i - 1) * 13
+
+    redis.call('HINCRBY', key, 'n', ARGV[base])
+
+    for m = 1, 3 do
+        local offset = base + 1 + (m - 1) * 4
+        local prefix = metrics[m]
+
+        redis.call('HINCRBYFLOAT', key, prefix .. '_sum', ARGV[offset])
+        redis.call('HINCRBYFLOAT', key, prefix .. '_sq', ARGV[offset + 3])
+
+        local min = redis.call('HGET', key, prefix .. '_min')
+        if not min or tonumber(ARGV[offset + 1]) < tonumber(min) then
+            redis.call('HSET', key, prefix .. '_min', ARGV[offset + 1])
+        end
+
+        local max = redis.call('HGET', key, prefix .. '_max')
+        if not max or tonumber(ARGV[offset + 2]) > tonumber(max) then
+            redis.call('HSET', key, prefix .. '_max', ARGV[offset + 2])
+        end
+    end
+
+    redis.call('EXPIRE', key, ttl)
+
+    redis.call('SADD', KEYS[days + i], hiveId)
+    redis.call('EXPIRE', KEYS[days + i], ttl)
+end
+
+return days
@@ -0,0 +1,277 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.application.exception.TooManyRequestsException;
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeasurementCoalescerTest {
+    private static final HiveDescriptor HIVE = hive("6f1c2a9e-3b4d-4e5f-8a7b-9c0d1e2f3a4b", "hive-a");
+    private static final HiveDescriptor OTHER_HIVE = hive("0b7e4d2c-1a3f-4c5d-9e8f-7a6b5c4d3e2f", "hive-b");
+    private static final long START = 1_740_787_200_000L;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingPipeline pipeline = new RecordingPipeline(meterRegistry);
+    private MeasurementCoalescer coalescer;
+
+    @AfterEach
+    void stopCoalescer() throws InterruptedException {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    void flushesEachHiveWhenItsWindowEnds() throws Exception {
+        coalescer = coalescer(Duration.ofMillis(50), 256, "flush-async", Duration.ofSeconds(1));
+
+        assertEquals(0, coalescer.submit(HIVE, HIVE.getApiKey(), readings(0, 2)));
+        assertEquals(1, coalescer.submit(OTHER_HIVE, OTHER_HIVE.getApiKey(), readings(10, 1)));
+        assertEquals(2, coalescer.submit(HIVE, HIVE.getApiKey(), readings(2, 1)));
+
+        awaitFlushes("window", 2);
+        assertEquals(List.of(START, START + 1_000, START + 2_000), pipeline.measuredAt(HIVE));
+        assertEquals(List.of(START + 10_000), pipeline.measuredAt(OTHER_HIVE));
+        assertEquals(0, flushes("size"));
+    }
+
+    @Test
+    void flushesFullBatchesBeforeTheWindow() throws Exception {
+        coalescer = coalescer(Duration.ofHours(1), 4, "flush-async", Duration.ofSeconds(1));
+
+        coalescer.submit(HIVE, HIVE.getApiKey(), readings(0, 2));
+        coalescer.submit(HIVE, HIVE.getApiKey(), readings(2, 2));
+        coalescer.submit(HIVE, HIVE.getApiKey(), readings(4, 1));
+
+        awaitFlushes("size", 1);
+        assertEquals(4, pipeline.batches.get(0).readings().size());
+
+        // A leitura que sobrou espera a janela de uma hora, ou o desligamento
+        Thread.sleep(50);
+        assertEquals(1, pipeline.batches.size());
+        coalescer.shutdown();
+        assertEquals(2, pipeline.batches.size());
+        assertEquals(5, pipeline.measuredAt(HIVE).size());
+    }
+
+    @Test
+    void keepsEveryReadingAndTheOrderOfEachHiveUnderContention() throws Exception {
+        // Lotes pequenos e janela curta: os produtores e o flusher fecham lotes o tempo todo, e quem encontra
+        // o lote fechado precisa recomeçar num novo em vez de escrever num lote que já saiu
+        coalescer = coalescer(Duration.ofMillis(1), 8, "flush-async", Duration.ofSeconds(1));
+        HiveDescriptor[] hives = {HIVE, OTHER_HIVE, hive("3c9a1f7e-5d2b-4a8c-b6e4-1f0d9c8b7a65", "hive-c")};
+        Map<Long, Long> sequenceByMeasuredAt = new ConcurrentHashMap<>();
+        AtomicInteger submitted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int producer = t;
+            producers.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    HiveDescriptor hive = hives[(producer + i) % hives.length];
+                    int count = 1 + i % 3;
+                    long first = (producer * 1_000L + i) * 4;
+                    long sequence = coalescer.submit(hive, hive.getApiKey(), readings(first, count));
+                    for (int j = 0; j < count; j++) {
+                        sequenceByMeasuredAt.put(START + (first + j) * 1_000, sequence);
+                    }
+                    submitted.addAndGet(count);
+                }
+            }));
+        }
+        for (Future<?> producer : producers) {
+            producer.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        coalescer.shutdown();
+
+        int received = 0;
+        for (HiveDescriptor hive : hives) {
+            long previous = -1;
+            for (long measuredAt : pipeline.measuredAt(hive)) {
+                Long sequence = sequenceByMeasuredAt.remove(measuredAt);
+                assertTrue(sequence != null, "reading at " + measuredAt + " sent twice or never submitted");
+                assertTrue(sequence >= previous, "hive " + hive.getApiKey() + " out of order");
+                previous = sequence;
+                received++;
+            }
+        }
+        assertEquals(submitted.get(), received);
+        assertTrue(sequenceByMeasuredAt.isEmpty());
+    }
+
+    @Test
+    void retriesFlushesWhileThePipelineIsFull() throws Exception {
+        coalescer = coalescer(Duration.ofMillis(10), 256, "flush-async", Duration.ofSeconds(1));
+        pipeline.rejections.set(20);
+
+        coalescer.submit(HIVE, HIVE.getApiKey(), readings(0, 3));
+
+        pipeline.awaitBatches(1);
+        assertEquals(3, pipeline.measuredAt(HIVE).size());
+        assertEquals(0, pipeline.rejections.get());
+    }
+
+    @Test
+    void flushOnAckWaitsForTheStorageStage() {
+        coalescer = coalescer(Duration.ofMillis(10), 256, "flush-on-ack", Duration.ofSeconds(5));
+        pipeline.onEnqueue = stored -> stored.complete(41L);
+
+        // A requisição recebe a sequência do agrupamento, não a do lote no pipeline
+        assertEquals(0, coalescer.submit(HIVE, HIVE.getApiKey(), readings(0, 1)));
+        assertEquals(1, coalescer.submit(HIVE, HIVE.getApiKey(), readings(1, 1)));
+
+        pipeline.onEnqueue = stored -> stored.completeExceptionally(new IllegalStateException("Redis unavailable"));
+        assertThrows(IllegalStateException.class, () -> coalescer.submit(HIVE, HIVE.getApiKey(), readings(2, 1)));
+    }
+
+    @Test
+    void flushOnAckGivesUpAfterTheAckTimeout() {
+        coalescer = coalescer(Duration.ofMillis(10), 256, "flush-on-ack", Duration.ofMillis(100));
+        pipeline.onEnqueue = stored -> {
+        };
+
+        long start = System.nanoTime();
+        assertThrows(TooManyRequestsException.class, () -> coalescer.submit(HIVE, HIVE.getApiKey(), readings(0, 1)));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void rejectsWhenTooManyReadingsAreWaiting() {
+        coalescer = new MeasurementCoalescer(pipeline, meterRegistry, Duration.ofHours(1), 256, 4,
+                "flush-async", Duration.ofSeconds(1));
+        coalescer.start();
+
+        coalescer.submit(HIVE, HIVE.getApiKey(), readings(0, 3));
+        assertThrows(TooManyRequestsException.class, () -> coalescer.submit(HIVE, HIVE.getApiKey(), readings(3, 2)));
+        coalescer.submit(HIVE, HIVE.getApiKey(), readings(3, 1));
+    }
+
+    @Test
+    void sendsEachRequestWhenTheWindowIsZero() {
+        coalescer = coalescer(Duration.ZERO, 256, "flush-async", Duration.ofSeconds(1));
+
+        assertEquals(0, coalescer.submit(HIVE, HIVE.getApiKey(), readings(0, 2)));
+        assertEquals(1, coalescer.submit(HIVE, HIVE.getApiKey(), readings(2, 1)));
+        assertEquals(2, pipeline.batches.size());
+    }
+
+    private MeasurementCoalescer coalescer(
+            Duration window,
+            int maxBatchReadings,
+            String durability,
+            Duration ackTimeout
+    ) {
+        MeasurementCoalescer created = new MeasurementCoalescer(
+                pipeline, meterRegistry, window, maxBatchReadings, 100_000, durability, ackTimeout);
+        created.start();
+        return created;
+    }
+
+    // O contador sobe logo depois do lote chegar ao pipeline
+    private void awaitFlushes(String reason, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flushes(reason) < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, flushes(reason));
+        assertEquals(count, pipeline.batches.size());
+    }
+
+    private double flushes(String reason) {
+        return meterRegistry.get("ingest.coalescer.flushes").tag("reason", reason).counter().count();
+    }
+
+    // Leituras de segundo em segundo a partir de START + first segundos
+    private static MeasurementReadings readings(long first, int count) {
+        MeasurementReadings readings = new MeasurementReadings(count);
+        for (long index = first; index < first + count; index++) {
+            readings.add(index, index, START + index * 1_000, 34.5, 60.0, 450.0);
+        }
+        return readings;
+    }
+
+    private static HiveDescriptor hive(String id, String apiKey) {
+        return HiveDescriptor.builder().id(UUID.fromString(id)).apiKey(apiKey).build();
+    }
+
+    private record Batch(HiveDescriptor hive, MeasurementReadings readings) {
+    }
+
+    // Pipeline sem estágios: guarda os lotes recebidos, pode recusar as primeiras chamadas com o anel cheio e
+    // decide o que fazer com o future de quem espera a gravação
+    private static final class RecordingPipeline extends MeasurementIngestPipeline {
+        private final List<Batch> batches = new CopyOnWriteArrayList<>();
+        private final AtomicInteger rejections = new AtomicInteger();
+        private final AtomicInteger sequences = new AtomicInteger();
+        private volatile Consumer<CompletableFuture<Long>> onEnqueue = stored -> {
+        };
+
+        RecordingPipeline(MeterRegistry meterRegistry) {
+            super(null, null, null, null, null, null, null, null, meterRegistry, "list", 4, 1,
+                    Duration.ZERO, Duration.ZERO, Duration.ofMillis(1), 1);
+        }
+
+        @Override
+        public long enqueue(
+                HiveDescriptor hive,
+                String apiKey,
+                MeasurementReadings readings,
+                CompletableFuture<Long> stored
+        ) {
+            if (rejections.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+                throw new TooManyRequestsException("Ingestion pipeline is full, try again later.");
+            }
+            MeasurementReadings copy = new MeasurementReadings(readings.size());
+            copy.addAll(readings);
+            batches.add(new Batch(hive, copy));
+            if (stored != null) {
+                onEnqueue.accept(stored);
+            }
+            return sequences.getAndIncrement();
+        }
+
+        void awaitBatches(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (batches.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(count, batches.size());
+        }
+
+        List<Long> measuredAt(HiveDescriptor hive) {
+            List<Long> measuredAt = new ArrayList<>();
+            for (Batch batch : batches) {
+                if (batch.hive().getId().equals(hive.getId())) {
+                    for (int i = 0; i < batch.readings().size(); i++) {
+                        measuredAt.add(batch.readings().measuredAt(i));
+                    }
+                }
+            }
+            return measuredAt;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementDeduplicationPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeasurementDeduplicatorTest {
+    private static final UUID HIVE_ID = UUID.fromString("6f1c2a9e-3b4d-4e5f-8a7b-9c0d1e2f3a4b");
+    private static final long START = 1_740_787_200_000L;
+    private static final int WINDOW = 64;
+
+    @Test
+    void dropsExactResendsLocallyWithoutAskingRedis() {
+        FakeDeduplicationPort port = new FakeDeduplicationPort();
+        MeasurementDeduplicator deduplicator = deduplicator(port);
+
+        assertEquals(0, deduplicator.removeDuplicates(HIVE_ID, sequenced(1, 3, START)));
+        assertEquals(1, port.claims);
+
+        MeasurementReadings resend = sequenced(1, 3, START);
+        assertEquals(3, deduplicator.removeDuplicates(HIVE_ID, resend));
+        assertTrue(resend.isEmpty());
+        assertEquals(1, port.claims);
+    }
+
+    @Test
+    void keepsReadingsOfARestartedCounterWithAClockBehind() {
+        FakeDeduplicationPort port = new FakeDeduplicationPort();
+        MeasurementDeduplicator deduplicator = deduplicator(port);
+        deduplicator.removeDuplicates(HIVE_ID, sequenced(1, 10, START));
+
+        // O dispositivo reiniciou: o contador volta a 1 e o relógio ficou um minuto atrás. As chaves do Redis
+        // são outras, então a janela local também não pode tratar essas leituras como repetidas
+        MeasurementReadings restarted = sequenced(1, 5, START - 60_000);
+        assertEquals(0, deduplicator.removeDuplicates(HIVE_ID, restarted));
+        assertEquals(5, restarted.size());
+        assertEquals(2, port.claims);
+
+        // O reenvio das novas leituras é repetido; o das antigas continua repetido para o Redis
+        assertEquals(5, deduplicator.removeDuplicates(HIVE_ID, sequenced(1, 5, START - 60_000)));
+        assertEquals(5, deduplicator.removeDuplicates(HIVE_ID, sequenced(1, 5, START)));
+    }
+
+    @Test
+    void releasedReadingsAreAcceptedAgain() {
+        FakeDeduplicationPort port = new FakeDeduplicationPort();
+        MeasurementDeduplicator deduplicator = deduplicator(port);
+        MeasurementReadings readings = sequenced(1, 3, START);
+        deduplicator.removeDuplicates(HIVE_ID, readings);
+
+        deduplicator.release(HIVE_ID, readings);
+
+        assertEquals(0, deduplicator.removeDuplicates(HIVE_ID, sequenced(1, 3, START)));
+    }
+
+    @Test
+    void acceptsEverythingWhenRedisFails() {
+        FakeDeduplicationPort port = new FakeDeduplicationPort();
+        port.failing = true;
+        MeasurementDeduplicator deduplicator = deduplicator(port);
+
+        assertEquals(0, deduplicator.removeDuplicates(HIVE_ID, sequenced(1, 3, START)));
+        // A janela local ainda pega o reenvio exato
+        assertEquals(3, deduplicator.removeDuplicates(HIVE_ID, sequenced(1, 3, START)));
+    }
+
+    @Test
+    void slidingWindowForgetsKeysThatFallBehind() {
+        MeasurementDeduplicator.SlidingWindow window = new MeasurementDeduplicator.SlidingWindow(WINDOW, true);
+        window.add(10, 1);
+        window.add(10 + WINDOW - 1, 2);
+        assertTrue(window.contains(10, 1));
+
+        // Deslizar limpa as posições reaproveitadas: 10 e 10 + WINDOW caem no mesmo bit
+        window.add(10 + WINDOW, 3);
+        assertFalse(window.contains(10, 1));
+        assertTrue(window.contains(10 + WINDOW - 1, 2));
+        assertTrue(window.contains(10 + WINDOW, 3));
+        assertFalse(window.contains(11, 0));
+    }
+
+    @Test
+    void slidingWindowRestartsOnKeysFarBehindOrAhead() {
+        MeasurementDeduplicator.SlidingWindow window = new MeasurementDeduplicator.SlidingWindow(WINDOW, false);
+        window.add(1_000, 0);
+        window.add(999, 0);
+
+        window.add(3, 0);
+        assertTrue(window.contains(3, 0));
+        assertFalse(window.contains(1_000, 0));
+        assertFalse(window.contains(999, 0));
+
+        window.add(3 + 10 * WINDOW, 0);
+        assertFalse(window.contains(3, 0));
+        assertTrue(window.contains(3 + 10 * WINDOW, 0));
+    }
+
+    @Test
+    void slidingWindowMatchesStoredValues() {
+        MeasurementDeduplicator.SlidingWindow window = new MeasurementDeduplicator.SlidingWindow(WINDOW, true);
+        window.add(5, START);
+        assertFalse(window.contains(5, START - 1));
+
+        // Remover com outro valor não desfaz a marca da leitura que está na janela
+        window.remove(5, START - 1);
+        assertTrue(window.contains(5, START));
+
+        window.add(5, START - 1);
+        assertTrue(window.contains(5, START - 1));
+        assertFalse(window.contains(5, START));
+
+        window.remove(5, START - 1);
+        assertFalse(window.contains(5, START - 1));
+    }
+
+    private static MeasurementDeduplicator deduplicator(MeasurementDeduplicationPort port) {
+        return new MeasurementDeduplicator(port, new SimpleMeterRegistry(), true, Duration.ofMinutes(15), WINDOW, 100);
+    }
+
+    // Leituras de 30 em 30 segundos com sequências first..last
+    private static MeasurementReadings sequenced(long first, long last, long start) {
+        MeasurementReadings readings = new MeasurementReadings((int) (last - first + 1));
+        for (long sequence = first; sequence <= last; sequence++) {
+            readings.add(sequence, sequence, start + (sequence - first) * 30_000, sequence, 34.5, 60.0, 450.0);
+        }
+        return readings;
+    }
+
+    // SET NX em memória, sem ttl
+    private static final class FakeDeduplicationPort implements MeasurementDeduplicationPort {
+        private final Set<String> keys = new HashSet<>();
+        private int claims;
+        private boolean failing;
+
+        @Override
+        public boolean[] claim(UUID hiveId, List<String> readingKeys, Duration ttl) {
+            claims++;
+            if (failing) {
+                throw new IllegalStateException("Redis unavailable");
+            }
+            boolean[] claimed = new boolean[readingKeys.size()];
+            for (int i = 0; i < claimed.length; i++) {
+                claimed[i] = keys.add(hiveId + readingKeys.get(i));
+            }
+            return claimed;
+        }
+
+        @Override
+        public void release(UUID hiveId, List<String> readingKeys) {
+            for (String key : readingKeys) {
+                keys.remove(hiveId + key);
+            }
+        }
+    }
+}
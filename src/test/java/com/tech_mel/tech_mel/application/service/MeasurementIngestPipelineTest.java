@@ -0,0 +1,307 @@
+package com.tech_mel.tech_mel.application.service;
+
+import com.tech_mel.tech_mel.application.exception.TooManyRequestsException;
+import com.tech_mel.tech_mel.domain.model.Alert;
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.domain.port.output.LiveEventPublisherPort;
+import com.tech_mel.tech_mel.domain.port.output.MeasurementDeduplicationPort;
+import com.tech_mel.tech_mel.domain.port.output.RedisIotPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeasurementIngestPipelineTest {
+    private static final HiveDescriptor HIVE = hive("6f1c2a9e-3b4d-4e5f-8a7b-9c0d1e2f3a4b", "hive-a");
+    private static final HiveDescriptor OTHER_HIVE = hive("0b7e4d2c-1a3f-4c5d-9e8f-7a6b5c4d3e2f", "hive-b");
+    private static final long START = 1_740_787_200_000L;
+    private static final int BUFFER_SIZE = 4;
+
+    private final FakeRedisIotPort redis = new FakeRedisIotPort();
+    private final FakeDeduplicationPort deduplication = new FakeDeduplicationPort();
+    private MeasurementIngestPipeline pipeline;
+
+    @AfterEach
+    void stopPipeline() throws InterruptedException {
+        redis.unblock();
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void reusesSlotsWithoutMixingEvents() throws Exception {
+        pipeline = pipeline(Duration.ofSeconds(5));
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+        // Muitas voltas num anel de quatro posições; lotes maiores que a posição ganham arrays próprios
+        for (int i = 0; i < 100; i++) {
+            CompletableFuture<Long> stored = new CompletableFuture<>();
+            pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(i * 20L, i % 7 == 0 ? 20 : 1), stored);
+            futures.add(stored);
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        List<Long> saved = redis.savedAt(HIVE.getApiKey());
+        int expected = 0;
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < (i % 7 == 0 ? 20 : 1); j++) {
+                assertEquals(START + (i * 20L + j) * 1_000, saved.get(expected++), "reading " + j + " of event " + i);
+            }
+        }
+        assertEquals(expected, saved.size());
+    }
+
+    @Test
+    void rejectsWhenEverySlotIsStillInUse() throws Exception {
+        pipeline = pipeline(Duration.ofMillis(50));
+        redis.block();
+
+        // O armazenamento segura a primeira posição, então nenhuma das quatro pode ser reaproveitada
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < BUFFER_SIZE; i++) {
+            CompletableFuture<Long> stored = new CompletableFuture<>();
+            pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(i, 1), stored);
+            futures.add(stored);
+        }
+        assertThrows(TooManyRequestsException.class,
+                () -> pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(BUFFER_SIZE, 1)));
+
+        redis.unblock();
+        for (CompletableFuture<Long> stored : futures) {
+            stored.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(BUFFER_SIZE, pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(BUFFER_SIZE, 1)));
+    }
+
+    @Test
+    void failsOnlyTheFuturesOfFailedHives() throws Exception {
+        pipeline = pipeline(Duration.ofSeconds(5));
+        redis.failing.add(OTHER_HIVE.getApiKey());
+        redis.block();
+
+        // Com o armazenamento segurando o primeiro evento, os dois seguintes chegam juntos ao estágio
+        CompletableFuture<Long> first = new CompletableFuture<>();
+        CompletableFuture<Long> failed = new CompletableFuture<>();
+        CompletableFuture<Long> stored = new CompletableFuture<>();
+        pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(0, 1), first);
+        pipeline.enqueue(OTHER_HIVE, OTHER_HIVE.getApiKey(), readings(1, 2), failed);
+        pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(3, 2), stored);
+        redis.unblock();
+
+        assertEquals(0, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, stored.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertEquals(3, redis.savedAt(HIVE.getApiKey()).size());
+        assertTrue(redis.savedAt(OTHER_HIVE.getApiKey()).isEmpty());
+        // Quem esperava a gravação recebe o erro e reenvia: nada vai para o reprocessamento
+        assertTrue(deduplication.released.isEmpty());
+        pipeline.retryDeadLetters();
+        assertTrue(redis.savedAt(OTHER_HIVE.getApiKey()).isEmpty());
+    }
+
+    @Test
+    void deadLettersAcknowledgedEventsOfFailedHives() throws Exception {
+        pipeline = pipeline(Duration.ofSeconds(5));
+        redis.failing.add(OTHER_HIVE.getApiKey());
+
+        pipeline.enqueue(OTHER_HIVE, OTHER_HIVE.getApiKey(), readings(0, 3));
+        CompletableFuture<Long> after = new CompletableFuture<>();
+        pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(3, 1), after);
+        after.get(5, TimeUnit.SECONDS);
+
+        // As chaves de deduplicação foram liberadas para o reenvio do dispositivo passar
+        assertEquals(3, deduplication.released.size());
+        assertTrue(redis.savedAt(OTHER_HIVE.getApiKey()).isEmpty());
+
+        // Com o Redis ainda fora a leitura continua na fila
+        pipeline.retryDeadLetters();
+        assertTrue(redis.savedAt(OTHER_HIVE.getApiKey()).isEmpty());
+
+        redis.failing.clear();
+        pipeline.retryDeadLetters();
+        assertEquals(List.of(START, START + 1_000, START + 2_000), redis.savedAt(OTHER_HIVE.getApiKey()));
+        pipeline.retryDeadLetters();
+        assertEquals(3, redis.savedAt(OTHER_HIVE.getApiKey()).size());
+    }
+
+    @Test
+    void shutdownDrainsAcceptedEventsAndStopsAccepting() throws Exception {
+        pipeline = pipeline(Duration.ofSeconds(5));
+        redis.delayMillis = 20;
+
+        for (int i = 0; i < 10; i++) {
+            pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(i, 1));
+        }
+        pipeline.shutdown();
+
+        assertEquals(10, redis.savedAt(HIVE.getApiKey()).size());
+        assertThrows(TooManyRequestsException.class,
+                () -> pipeline.enqueue(HIVE, HIVE.getApiKey(), readings(10, 1)));
+    }
+
+    @Test
+    void rejectsBufferSizesThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> pipeline(6, Duration.ofSeconds(1)));
+    }
+
+    private MeasurementIngestPipeline pipeline(Duration enqueueTimeout) {
+        MeasurementIngestPipeline created = pipeline(BUFFER_SIZE, enqueueTimeout);
+        created.start();
+        return created;
+    }
+
+    // Com storage=stream o pipeline só grava no Redis, alimenta a janela quente e publica ao vivo
+    private MeasurementIngestPipeline pipeline(int bufferSize, Duration enqueueTimeout) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new MeasurementIngestPipeline(
+                redis,
+                null,
+                null,
+                null,
+                null,
+                new MeasurementHotWindow(meterRegistry, 64, 10, Duration.ofHours(1)),
+                new NoOpLiveEventPublisher(),
+                new MeasurementDeduplicator(deduplication, meterRegistry, true, Duration.ofMinutes(15), 64, 10),
+                meterRegistry,
+                "stream",
+                bufferSize,
+                8,
+                enqueueTimeout,
+                Duration.ofSeconds(5),
+                Duration.ofMillis(1),
+                16
+        );
+    }
+
+    // Leituras de segundo em segundo a partir de START + first segundos, com sequências first..first + count - 1
+    private static MeasurementReadings readings(long first, int count) {
+        MeasurementReadings readings = new MeasurementReadings(count);
+        for (long sequence = first; sequence < first + count; sequence++) {
+            readings.add(sequence, sequence, START + sequence * 1_000, sequence, 34.5, 60.0, 450.0);
+        }
+        return readings;
+    }
+
+    private static HiveDescriptor hive(String id, String apiKey) {
+        return HiveDescriptor.builder().id(UUID.fromString(id)).apiKey(apiKey).build();
+    }
+
+    // Guarda os measuredAt gravados por API key; pode falhar por API key, atrasar ou segurar a gravação
+    private static final class FakeRedisIotPort implements RedisIotPort {
+        private final Map<String, List<Long>> saved = new ConcurrentHashMap<>();
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile long delayMillis;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+
+        List<Long> savedAt(String apiKey) {
+            return saved.getOrDefault(apiKey, List.of());
+        }
+
+        @Override
+        public void saveMeasurements(String apiKey, List<Measurement> measurements) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing.contains(apiKey)) {
+                throw new IllegalStateException("Redis unavailable");
+            }
+            List<Long> timestamps = saved.computeIfAbsent(apiKey, key -> new CopyOnWriteArrayList<>());
+            for (Measurement measurement : measurements) {
+                timestamps.add(measurement.getMeasuredAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            }
+        }
+
+        @Override
+        public void saveMeasurement(String apiKey, Measurement measurement) {
+            saveMeasurements(apiKey, List.of(measurement));
+        }
+
+        @Override
+        public List<Measurement> getMeasurements(String apiKey, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public List<Measurement> getMeasurementsBetween(
+                String apiKey, LocalDateTime start, LocalDateTime end, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Map<String, Measurement> getLatestMeasurementsForMultipleHives(List<String> apiKeys) {
+            return Map.of();
+        }
+
+        @Override
+        public Measurement getLatestMeasurement(String apiKey) {
+            return null;
+        }
+
+        @Override
+        public void clearMeasurements(String apiKey) {
+            saved.remove(apiKey);
+        }
+    }
+
+    // Aceita toda leitura e registra as chaves liberadas
+    private static final class FakeDeduplicationPort implements MeasurementDeduplicationPort {
+        private final List<String> released = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean[] claim(UUID hiveId, List<String> readingKeys, Duration ttl) {
+            boolean[] claimed = new boolean[readingKeys.size()];
+            Arrays.fill(claimed, true);
+            return claimed;
+        }
+
+        @Override
+        public void release(UUID hiveId, List<String> readingKeys) {
+            released.addAll(readingKeys);
+        }
+    }
+
+    private static final class NoOpLiveEventPublisher implements LiveEventPublisherPort {
+        @Override
+        public void publishMeasurements(UUID hiveId, List<Measurement> measurements) {
+        }
+
+        @Override
+        public void publishAlerts(UUID hiveId, List<Alert> alerts) {
+        }
+    }
+}
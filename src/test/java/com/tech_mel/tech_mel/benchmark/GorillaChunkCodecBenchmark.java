@@ -0,0 +1,108 @@
+package com.tech_mel.tech_mel.benchmark;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.infrastructure.persistence.codec.GorillaChunkCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Chunk de um dia de uma colmeia (uma leitura a cada ~30 s com jitter de relógio): vazão de codificação e
+// decodificação em leituras por segundo. Os contadores auxiliares mostram bytes por leitura e a taxa de
+// compressão em relação às colunas de uma linha do histórico (hive_id, id, measured_at e três doubles = 64 bytes).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@org.openjdk.jmh.annotations.Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GorillaChunkCodecBenchmark {
+    private static final int READINGS_PER_DAY = 2880;
+    private static final int HISTORY_ROW_BYTES = 16 + 16 + 8 + 3 * 8;
+
+    private final UUID hiveId = UUID.randomUUID();
+    private List<Measurement> day;
+    private byte[] chunk;
+
+    @Setup
+    public void setUp() {
+        day = realisticDay(new Random(42));
+        chunk = GorillaChunkCodec.encode(day);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Compression {
+        public double bytesPerReading;
+        public double compressionRatio;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerReading = 0;
+            compressionRatio = 0;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS_PER_DAY)
+    public byte[] encode(Compression compression) {
+        byte[] bytes = GorillaChunkCodec.encode(day);
+        compression.bytesPerReading = (double) bytes.length / READINGS_PER_DAY;
+        compression.compressionRatio = (double) HISTORY_ROW_BYTES * READINGS_PER_DAY / bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS_PER_DAY)
+    public void decode(Blackhole blackhole) {
+        GorillaChunkCodec.Decoder decoder = GorillaChunkCodec.decoder(hiveId, chunk);
+        while (decoder.hasNext()) {
+            blackhole.consume(decoder.next());
+        }
+    }
+
+    // Temperatura regulada pela cria (~34,5 °C), umidade com ciclo diário, CO2 subindo à noite com a colônia
+    // recolhida; valores arredondados à resolução típica dos sensores (0,1 °C, 0,1 %, 1 ppm)
+    private static List<Measurement> realisticDay(Random random) {
+        List<Measurement> readings = new ArrayList<>(READINGS_PER_DAY);
+        LocalDateTime measuredAt = LocalDateTime.of(2025, 1, 15, 0, 0);
+        double temperature = 34.5;
+
+        for (int i = 0; i < READINGS_PER_DAY; i++) {
+            double hourOfDay = i / 120.0;
+            double daylight = Math.sin((hourOfDay - 6) / 24 * 2 * Math.PI);
+
+            temperature += (34.5 - temperature) * 0.05 + random.nextGaussian() * 0.05;
+            double humidity = 62 - 6 * daylight + random.nextGaussian() * 0.3;
+            double co2 = 900 - 400 * daylight + random.nextGaussian() * 15;
+
+            readings.add(Measurement.builder()
+                    .id(UUID.randomUUID())
+                    .temperature(Math.round(temperature * 10) / 10.0)
+                    .humidity(Math.round(humidity * 10) / 10.0)
+                    .co2((double) Math.round(co2))
+                    .measuredAt(measuredAt)
+                    .build());
+
+            measuredAt = measuredAt.plusNanos((30_000L + random.nextInt(41) - 20) * 1_000_000L);
+        }
+
+        return readings;
+    }
+}
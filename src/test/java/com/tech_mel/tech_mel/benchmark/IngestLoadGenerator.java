@@ -0,0 +1,279 @@
+package com.tech_mel.tech_mel.benchmark;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.infrastructure.gateway.BinaryIngestProtocol;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Gerador de carga da ingestão: manda lotes de leituras de uma colmeia pela API REST (/iot/batch em JSON) ou
+// pelo gateway binário (TCP com vários quadros em voo por conexão, UDP um quadro por vez) e mostra leituras
+// aceitas por segundo. No fim imprime bytes enviados e CPU do cliente por leitura e, com load.server-pid
+// (processo na mesma máquina, Linux), a CPU do servidor por leitura lida de /proc. Cada leitura leva uma
+// sequência nova, então a deduplicação não descarta nada.
+//
+//   ./mvnw test-compile
+//   java -cp "target/classes:target/test-classes:$(./mvnw -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+//       -Dload.mode=tcp -Dload.api-key=... -Dload.server-pid=$(pgrep -f TechMelApplication) \
+//       com.tech_mel.tech_mel.benchmark.IngestLoadGenerator
+public class IngestLoadGenerator {
+    private static final DateTimeFormatter MEASURED_AT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS").withZone(ZoneOffset.UTC);
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+
+    private final String mode = System.getProperty("load.mode", "tcp");
+    private final String host = System.getProperty("load.host", "localhost");
+    private final int httpPort = Integer.getInteger("load.http-port", 8080);
+    private final int gatewayPort = Integer.getInteger("load.gateway-port", 7070);
+    private final String apiKey = System.getProperty("load.api-key", "");
+    private final int connections = Integer.getInteger("load.connections", 8);
+    private final int batchSize = Integer.getInteger("load.batch", 10);
+    private final int inFlight = Integer.getInteger("load.in-flight", 8);
+    private final Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private final String serverPid = System.getProperty("load.server-pid");
+
+    private final AtomicLong sequences = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicInteger frameIds = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        new IngestLoadGenerator().run();
+    }
+
+    private void run() throws Exception {
+        if (apiKey.isEmpty()) {
+            throw new IllegalArgumentException("load.api-key is required");
+        }
+
+        System.out.printf(Locale.ROOT, "mode=%s connections=%d batch=%d duration=%s%n",
+                mode, connections, batchSize, duration);
+
+        List<Thread> clients = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            Thread client = new Thread(this::client, "load-" + i);
+            client.setDaemon(true);
+            clients.add(client);
+        }
+
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long clientCpuStart = os.getProcessCpuTime();
+        long serverCpuStart = serverCpuNanos();
+        long startNanos = System.nanoTime();
+
+        clients.forEach(Thread::start);
+
+        long previous = 0;
+        long deadline = startNanos + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(1000);
+            long total = accepted.sum();
+            System.out.printf(Locale.ROOT, "%,12d readings/s  (failed %d)%n", total - previous, failed.sum());
+            previous = total;
+        }
+
+        running = false;
+        for (Thread client : clients) {
+            client.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long readings = Math.max(accepted.sum(), 1);
+        long clientCpu = os.getProcessCpuTime() - clientCpuStart;
+
+        System.out.printf(Locale.ROOT, "%nmode=%s readings=%,d failed=%,d%n", mode, accepted.sum(), failed.sum());
+        System.out.printf(Locale.ROOT, "throughput      %,.0f readings/s%n", accepted.sum() / seconds);
+        System.out.printf(Locale.ROOT, "request bytes   %.1f per reading%n", (double) bytesSent.sum() / readings);
+        System.out.printf(Locale.ROOT, "client cpu      %.2f us per reading%n", clientCpu / 1e3 / readings);
+        if (serverCpuStart >= 0) {
+            long serverCpu = serverCpuNanos() - serverCpuStart;
+            System.out.printf(Locale.ROOT, "server cpu      %.2f us per reading%n", serverCpu / 1e3 / readings);
+        }
+    }
+
+    private void client() {
+        try {
+            switch (mode) {
+                case "rest" -> rest();
+                case "tcp" -> tcp();
+                case "udp" -> udp();
+                default -> throw new IllegalArgumentException("load.mode must be rest, tcp or udp");
+            }
+        } catch (IOException e) {
+            System.err.println(Thread.currentThread().getName() + " stopped: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rest() throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri = URI.create("http://" + host + ":" + httpPort + "/api/measurements/iot/batch");
+        MeasurementReadings readings = new MeasurementReadings(batchSize);
+
+        while (running) {
+            fill(readings);
+            byte[] body = json(readings);
+            bytesSent.add(body.length);
+
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .header("X-API-Key", apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            (response.statusCode() / 100 == 2 ? accepted : failed).add(readings.size());
+        }
+    }
+
+    // Um thread escreve enquanto houver vaga em load.in-flight e outro lê os acks, que liberam as vagas
+    private void tcp() throws IOException, InterruptedException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, gatewayPort))) {
+            Semaphore window = new Semaphore(inFlight);
+
+            Thread acks = new Thread(() -> {
+                ByteBuffer ack = ByteBuffer.allocate(2 + BinaryIngestProtocol.ACK_LENGTH);
+                try {
+                    while (running || window.availablePermits() < inFlight) {
+                        ack.clear();
+                        while (ack.hasRemaining()) {
+                            if (channel.read(ack) < 0) {
+                                return;
+                            }
+                        }
+                        ack.flip().position(2);
+                        count(BinaryIngestProtocol.readAck(ack));
+                        window.release();
+                    }
+                } catch (IOException e) {
+                    if (running) {
+                        System.err.println(Thread.currentThread().getName() + " stopped: " + e);
+                    }
+                }
+            }, Thread.currentThread().getName() + "-acks");
+            acks.setDaemon(true);
+            acks.start();
+
+            MeasurementReadings readings = new MeasurementReadings(batchSize);
+            while (running) {
+                if (!window.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+                fill(readings);
+                byte[] frame = BinaryIngestProtocol.encode(apiKey, frameIds.incrementAndGet(), readings, true);
+
+                ByteBuffer framed = ByteBuffer.allocate(2 + frame.length);
+                framed.putShort((short) frame.length).put(frame).flip();
+                while (framed.hasRemaining()) {
+                    channel.write(framed);
+                }
+                bytesSent.add(framed.capacity());
+            }
+
+            acks.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    // Pare e espere: um quadro por vez, sem ack em 1 s conta como perdido
+    private void udp() throws IOException {
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            channel.connect(new InetSocketAddress(host, gatewayPort));
+            channel.socket().setSoTimeout(1000);
+
+            MeasurementReadings readings = new MeasurementReadings(batchSize);
+            byte[] ack = new byte[BinaryIngestProtocol.ACK_LENGTH];
+            DatagramPacket packet = new DatagramPacket(ack, ack.length);
+
+            while (running) {
+                fill(readings);
+                byte[] frame = BinaryIngestProtocol.encode(apiKey, frameIds.incrementAndGet(), readings, true);
+                channel.socket().send(new DatagramPacket(frame, frame.length));
+                bytesSent.add(frame.length);
+
+                try {
+                    channel.socket().receive(packet);
+                    count(BinaryIngestProtocol.readAck(ByteBuffer.wrap(ack)));
+                } catch (SocketTimeoutException e) {
+                    failed.add(readings.size());
+                }
+            }
+        }
+    }
+
+    private void count(BinaryIngestProtocol.Ack ack) {
+        if (ack.status() == BinaryIngestProtocol.Status.OK) {
+            accepted.add(ack.accepted());
+        } else {
+            failed.add(batchSize);
+        }
+    }
+
+    // Leituras de um segundo em um segundo até agora, com sequências contíguas
+    private void fill(MeasurementReadings readings) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long firstSequence = sequences.getAndAdd(batchSize);
+        long firstAt = System.currentTimeMillis() / 1000 * 1000 - (batchSize - 1) * 1000L;
+
+        readings.clear();
+        for (int i = 0; i < batchSize; i++) {
+            readings.add(random.nextLong(), random.nextLong(), firstAt + i * 1000L, firstSequence + i,
+                    Math.round((33 + random.nextDouble() * 3) * 100) / 100.0,
+                    Math.round((55 + random.nextDouble() * 10) * 100) / 100.0,
+                    Math.round((400 + random.nextDouble() * 200) * 10) / 10.0);
+        }
+    }
+
+    private static byte[] json(MeasurementReadings readings) {
+        StringBuilder body = new StringBuilder(96 * readings.size()).append("{\"measurements\":[");
+        for (int i = 0; i < readings.size(); i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append(String.format(Locale.ROOT,
+                            "{\"temperature\":%.2f,\"humidity\":%.2f,\"co2\":%.1f,\"measuredAt\":\"%s\",\"sequence\":%d}",
+                            readings.temperature(i), readings.humidity(i), readings.co2(i),
+                            MEASURED_AT.format(Instant.ofEpochMilli(readings.measuredAt(i))),
+                            readings.deviceSequence(i)));
+        }
+        return body.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // utime + stime do processo em /proc/<pid>/stat (campos 14 e 15, em ticks); -1 sem load.server-pid
+    private long serverCpuNanos() throws IOException {
+        if (serverPid == null) {
+            return -1;
+        }
+
+        String stat = Files.readString(Path.of("/proc", serverPid, "stat"));
+        String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+        long ticks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+        return ticks * TimeUnit.SECONDS.toNanos(1) / CLOCK_TICKS_PER_SECOND;
+    }
+}
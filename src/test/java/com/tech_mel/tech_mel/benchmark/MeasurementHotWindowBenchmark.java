@@ -0,0 +1,95 @@
+package com.tech_mel.tech_mel.benchmark;
+
+import com.tech_mel.tech_mel.application.service.MeasurementHotWindow;
+import com.tech_mel.tech_mel.application.service.ThresholdEvaluator;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Média e taxa da última hora de uma colmeia: janela quente contra a lista de Measurement com Double
+// que a leitura do Redis devolve. Rodar com "-prof gc" para confirmar que a janela não aloca por leitura.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@org.openjdk.jmh.annotations.Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeasurementHotWindowBenchmark {
+    private static final int READINGS = 512;
+
+    private final UUID hiveId = UUID.randomUUID();
+    private MeasurementHotWindow window;
+    private List<Measurement> measurements;
+    private long fromMillis;
+    private long toMillis;
+
+    @Setup
+    public void setUp() {
+        window = new MeasurementHotWindow(new SimpleMeterRegistry(), READINGS, 16, Duration.ofHours(2));
+        measurements = new ArrayList<>(READINGS);
+
+        // Uma leitura a cada 10 s, as mais recentes dentro da última hora
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now(ZoneOffset.UTC).minusSeconds(READINGS * 10L);
+        for (int i = 0; i < READINGS; i++) {
+            measurements.add(Measurement.builder()
+                    .id(UUID.randomUUID())
+                    .temperature(33 + random.nextGaussian())
+                    .humidity(65 + random.nextGaussian() * 3)
+                    .co2(420 + random.nextGaussian() * 20)
+                    .measuredAt(start.plusSeconds(i * 10L))
+                    .build());
+        }
+
+        MeasurementReadings readings = new MeasurementReadings(READINGS);
+        for (Measurement measurement : measurements) {
+            readings.add(measurement.getId().getMostSignificantBits(), measurement.getId().getLeastSignificantBits(),
+                    measurement.getMeasuredAt().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                    measurement.getTemperature(), measurement.getHumidity(), measurement.getCo2());
+        }
+        window.record(hiveId, readings);
+
+        toMillis = System.currentTimeMillis();
+        fromMillis = toMillis - Duration.ofHours(1).toMillis();
+    }
+
+    @Benchmark
+    public double hotWindowAverage() {
+        return window.average(hiveId, ThresholdEvaluator.TEMPERATURE, fromMillis, toMillis);
+    }
+
+    @Benchmark
+    public double hotWindowRate() {
+        return window.ratePerMinute(hiveId, ThresholdEvaluator.TEMPERATURE, fromMillis, toMillis);
+    }
+
+    @Benchmark
+    public double boxedListAverage() {
+        return measurements.stream()
+                .filter(m -> {
+                    long timestamp = m.getMeasuredAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+                    return timestamp >= fromMillis && timestamp <= toMillis;
+                })
+                .mapToDouble(Measurement::getTemperature)
+                .average()
+                .orElse(Double.NaN);
+    }
+}
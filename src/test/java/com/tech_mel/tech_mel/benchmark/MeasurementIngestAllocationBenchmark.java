@@ -0,0 +1,116 @@
+package com.tech_mel.tech_mel.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementIngestResult;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import com.tech_mel.tech_mel.infrastructure.api.dto.request.measurement.CreateMeasurementBatchRequest;
+import com.tech_mel.tech_mel.infrastructure.api.dto.request.measurement.CreateMeasurementRequest;
+import com.tech_mel.tech_mel.infrastructure.api.reader.MeasurementJsonReader;
+import com.tech_mel.tech_mel.infrastructure.cache.serializer.MeasurementRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Caminho da requisição de ingestão até os bytes gravados no Redis: databind (CreateMeasurementRequest,
+// Double, LocalDateTime e Measurement por leitura) contra o JsonParser de streaming direto para o
+// MeasurementReadings reaproveitado. Rodar com "-prof gc" para comparar a alocação por leitura.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@org.openjdk.jmh.annotations.Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeasurementIngestAllocationBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private MeasurementJsonReader reader;
+    private MeasurementRedisSerializer serializer;
+    private byte[] singleBody;
+    private byte[] batchBody;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        reader = new MeasurementJsonReader(objectMapper, 500);
+        serializer = new MeasurementRedisSerializer();
+
+        singleBody = reading(0).getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder batch = new StringBuilder("{\"measurements\":[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.append(i == 0 ? "" : ",").append(reading(i));
+        }
+        batchBody = batch.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String reading(int i) {
+        return String.format(Locale.ROOT,
+                "{\"temperature\":%.2f,\"humidity\":%.1f,\"co2\":%.1f,\"measuredAt\":\"2025-06-01T12:%02d:%02d\"}",
+                33 + i % 10 * 0.13, 60 + i % 7 * 0.5, 410.0 + i % 30, i / 60 % 60, i % 60);
+    }
+
+    @Benchmark
+    public byte[] databindSingle() throws IOException {
+        CreateMeasurementRequest request =
+                objectMapper.readValue(new ByteArrayInputStream(singleBody), CreateMeasurementRequest.class);
+        return serializer.serialize(toMeasurement(request));
+    }
+
+    @Benchmark
+    public byte[] streamingSingle() {
+        MeasurementReadings readings = reader.readSingle(new ByteArrayInputStream(singleBody));
+        return MeasurementRedisSerializer.encode(readings, 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void databindBatch(Blackhole blackhole) throws IOException {
+        CreateMeasurementBatchRequest request =
+                objectMapper.readValue(new ByteArrayInputStream(batchBody), CreateMeasurementBatchRequest.class);
+        for (CreateMeasurementRequest item : request.measurements()) {
+            blackhole.consume(serializer.serialize(toMeasurement(item)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void streamingBatch(Blackhole blackhole) {
+        List<MeasurementIngestResult> rejected = new ArrayList<>(0);
+        MeasurementReadings readings = reader.readBatch(new ByteArrayInputStream(batchBody), rejected);
+        for (int i = 0; i < readings.size(); i++) {
+            blackhole.consume(MeasurementRedisSerializer.encode(readings, i));
+        }
+    }
+
+    // O que o serviço fazia com cada item antes do parser de streaming
+    private static Measurement toMeasurement(CreateMeasurementRequest request) {
+        return Measurement.builder()
+                .id(UUID.randomUUID())
+                .temperature(request.temperature())
+                .humidity(request.humidity())
+                .co2(request.co2())
+                .measuredAt(request.measuredAt())
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.tech_mel.tech_mel.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.infrastructure.cache.serializer.MeasurementRedisSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Codificação/decodificação de uma medição: JSON (formato antigo) contra o binário de 50 bytes.
+// O tamanho por leitura aparece como contador auxiliar "bytesPerReading".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@org.openjdk.jmh.annotations.Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeasurementRedisSerializerBenchmark {
+    private ObjectMapper objectMapper;
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private MeasurementRedisSerializer binarySerializer;
+    private Measurement measurement;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        binarySerializer = new MeasurementRedisSerializer();
+
+        measurement = Measurement.builder()
+                .id(UUID.randomUUID())
+                .temperature(34.5)
+                .humidity(61.2)
+                .co2(412.0)
+                .measuredAt(LocalDateTime.now())
+                .build();
+
+        jsonBytes = jsonSerializer.serialize(measurement);
+        binaryBytes = binarySerializer.serialize(measurement);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long bytesPerReading;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerReading = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeJson(EncodedSize size) {
+        byte[] bytes = jsonSerializer.serialize(measurement);
+        size.bytesPerReading = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(EncodedSize size) {
+        byte[] bytes = binarySerializer.serialize(measurement);
+        size.bytesPerReading = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Measurement decodeJson() {
+        // Caminho antigo: deserialização genérica seguida do convertValue que o adapter fazia
+        return objectMapper.convertValue(jsonSerializer.deserialize(jsonBytes), Measurement.class);
+    }
+
+    @Benchmark
+    public Measurement decodeBinary() {
+        return binarySerializer.deserialize(binaryBytes);
+    }
+
+    @Benchmark
+    public Measurement decodeLegacyJsonWithBinarySerializer() {
+        return binarySerializer.deserialize(jsonBytes);
+    }
+}
@@ -0,0 +1,84 @@
+package com.tech_mel.tech_mel.benchmark;
+
+import com.tech_mel.tech_mel.config.RedisConfig;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.infrastructure.cache.adapter.RedisIotAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Latência por leitura ao gravar uma medição no Redis: fluxo antigo (hasKey, expire, leftPush, trim)
+// contra o script Lua (uma ida e volta). Requer um Redis local, ver README.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@org.openjdk.jmh.annotations.Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisMeasurementAppendBenchmark {
+    private static final String API_KEY = "benchmark-append";
+    private static final String KEY = "measurements:" + API_KEY;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Measurement> iotRedisTemplate;
+    private RedisIotAdapter adapter;
+    private Measurement measurement;
+
+    @Setup
+    public void setUp() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379)
+        );
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        iotRedisTemplate = new RedisConfig().iotRedisTemplate(connectionFactory);
+        adapter = new RedisIotAdapter(iotRedisTemplate);
+        measurement = Measurement.builder()
+                .id(UUID.randomUUID())
+                .temperature(34.5)
+                .humidity(61.2)
+                .co2(412.0)
+                .measuredAt(LocalDateTime.now())
+                .build();
+
+        iotRedisTemplate.delete(KEY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        iotRedisTemplate.delete(KEY);
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void legacyFourRoundTrips() {
+        if (!iotRedisTemplate.hasKey(KEY)) {
+            iotRedisTemplate.expire(KEY, Duration.ofHours(24));
+        }
+        iotRedisTemplate.opsForList().leftPush(KEY, measurement);
+        iotRedisTemplate.opsForList().trim(KEY, 0, 999);
+    }
+
+    @Benchmark
+    public void luaScriptSingleRoundTrip() {
+        adapter.saveMeasurement(API_KEY, measurement);
+    }
+}
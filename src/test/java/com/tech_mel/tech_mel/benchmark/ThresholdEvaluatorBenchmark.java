@@ -0,0 +1,100 @@
+package com.tech_mel.tech_mel.benchmark;
+
+import com.tech_mel.tech_mel.application.service.ThresholdEvaluator;
+import com.tech_mel.tech_mel.domain.model.Threshold;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Avaliações por segundo: avaliador compilado contra a cadeia de ifs com Double do AlertService antigo.
+// Rodar com "-prof gc" para confirmar que o avaliador não aloca.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@org.openjdk.jmh.annotations.Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThresholdEvaluatorBenchmark {
+    private static final int READINGS = 1024;
+
+    private Threshold threshold;
+    private ThresholdEvaluator evaluator;
+    private ThresholdEvaluator.RuleState state;
+
+    private final double[] temperatures = new double[READINGS];
+    private final double[] humidities = new double[READINGS];
+    private final double[] co2s = new double[READINGS];
+    private final Double[] boxedTemperatures = new Double[READINGS];
+    private final Double[] boxedHumidities = new Double[READINGS];
+    private final Double[] boxedCo2s = new Double[READINGS];
+    private long timestamp;
+
+    @Setup
+    public void setUp() {
+        threshold = Threshold.builder()
+                .temperatureMin(32.0).temperatureMax(36.0)
+                .humidityMin(50.0).humidityMax(70.0)
+                .co2Min(300.0).co2Max(1000.0)
+                .build();
+        evaluator = ThresholdEvaluator.compile(threshold,
+                new ThresholdEvaluator.RuleSettings(5, 0.5, 2, 50, 60_000));
+        state = new ThresholdEvaluator.RuleState();
+
+        // ~20% das leituras fora da faixa
+        Random random = new Random(42);
+        for (int i = 0; i < READINGS; i++) {
+            temperatures[i] = 31 + random.nextDouble() * 6;
+            humidities[i] = 46 + random.nextDouble() * 28;
+            co2s[i] = 250 + random.nextDouble() * 900;
+            boxedTemperatures[i] = temperatures[i];
+            boxedHumidities[i] = humidities[i];
+            boxedCo2s[i] = co2s[i];
+        }
+        timestamp = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public void compiledEvaluator(Blackhole blackhole) {
+        for (int i = 0; i < READINGS; i++) {
+            timestamp += 30_000;
+            blackhole.consume(evaluator.evaluate(temperatures[i], humidities[i], co2s[i], timestamp, state));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public void legacyIfChain(Blackhole blackhole) {
+        for (int i = 0; i < READINGS; i++) {
+            int alerts = 0;
+            if (boxedTemperatures[i] < threshold.getTemperatureMin() || boxedTemperatures[i] > threshold.getTemperatureMax()) {
+                alerts += legacySeverity(boxedTemperatures[i], threshold.getTemperatureMin(), threshold.getTemperatureMax());
+            }
+            if (boxedHumidities[i] < threshold.getHumidityMin() || boxedHumidities[i] > threshold.getHumidityMax()) {
+                alerts += legacySeverity(boxedHumidities[i], threshold.getHumidityMin(), threshold.getHumidityMax());
+            }
+            if (boxedCo2s[i] < threshold.getCo2Min() || boxedCo2s[i] > threshold.getCo2Max()) {
+                alerts += legacySeverity(boxedCo2s[i], threshold.getCo2Min(), threshold.getCo2Max());
+            }
+            blackhole.consume(alerts);
+        }
+    }
+
+    private static int legacySeverity(Double value, Double min, Double max) {
+        double distance = value < min ? min - value : value - max;
+        double range = max - min;
+        double percentage = (range == 0) ? 100 : (distance / range) * 100;
+        return percentage <= 10 ? 1 : percentage <= 30 ? 2 : 3;
+    }
+}
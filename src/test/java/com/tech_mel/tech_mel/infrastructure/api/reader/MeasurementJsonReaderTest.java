@@ -0,0 +1,105 @@
+package com.tech_mel.tech_mel.infrastructure.api.reader;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MeasurementJsonReaderTest {
+    private static final DateTimeFormatter[] FORMATS = {
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.S"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSS"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS")
+    };
+
+    @Test
+    void matchesLocalDateTimeAcrossTheCalendar() {
+        Random random = new Random(2025);
+        long min = LocalDateTime.of(0, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long max = LocalDateTime.of(9999, 12, 31, 23, 59, 59).toEpochSecond(ZoneOffset.UTC);
+
+        for (int i = 0; i < 20_000; i++) {
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond(
+                    min + (long) (random.nextDouble() * (max - min)), random.nextInt(1_000_000_000), ZoneOffset.UTC);
+            String text = dateTime.format(FORMATS[i % FORMATS.length]);
+
+            assertEquals(expected(text), parse(text), text);
+            assertEquals(expected(text), parse(text + "Z"), text + "Z");
+        }
+    }
+
+    @Test
+    void acceptsLeapDaysOnlyInLeapYears() {
+        assertEquals(expected("2024-02-29T12:00"), parse("2024-02-29T12:00"));
+        assertEquals(expected("2000-02-29T00:00:00"), parse("2000-02-29T00:00:00"));
+        assertEquals(expected("1600-02-29T23:59:59.999"), parse("1600-02-29T23:59:59.999"));
+
+        assertInvalid("2023-02-29T12:00");
+        assertInvalid("1900-02-29T12:00");
+        assertInvalid("2100-02-29T12:00:00");
+    }
+
+    @Test
+    void handlesMonthEndsAndEpochBoundaries() {
+        String[] texts = {"1970-01-01T00:00", "1969-12-31T23:59:59.999", "1970-01-01T00:00:00.001",
+                "0000-01-01T00:00", "0000-03-01T00:00", "2024-04-30T23:59:59", "2024-12-31T23:59:59.9",
+                "9999-12-31T23:59:59.999999999"};
+
+        for (String text : texts) {
+            assertEquals(expected(text), parse(text), text);
+        }
+    }
+
+    @Test
+    void truncatesFractionsToMillis() {
+        assertEquals(parse("2025-03-01T10:00:00") + 500, parse("2025-03-01T10:00:00.5"));
+        assertEquals(parse("2025-03-01T10:00:00") + 120, parse("2025-03-01T10:00:00.12"));
+        assertEquals(parse("2025-03-01T10:00:00") + 123, parse("2025-03-01T10:00:00.123999999"));
+        assertEquals(parse("2025-03-01T10:00:00") + 9, parse("2025-03-01T10:00:00.009999"));
+    }
+
+    @Test
+    void rejectsMalformedAndOutOfRangeFields() {
+        String[] texts = {"", "Z", "2025-03-01", "2025-03-01T10", "2025-03-01T10:0", "2025-03-01 10:00",
+                "2025/03/01T10:00", "2025-3-01T10:00:00", "2025-13-01T10:00", "2025-00-01T10:00",
+                "2025-04-31T10:00", "2025-03-00T10:00", "2025-03-01T24:00", "2025-03-01T10:60",
+                "2025-03-01T10:00:60", "2025-03-01T10:00:5", "2025-03-01T10:00:00.", "2025-03-01T10:00:00.1234567890",
+                "2025-03-01T10:00:00.12a", "2025-03-01T1a:00", "2025-03-01T10:00:00+01:00", "+2025-03-01T10:00",
+                "2025-03-01T10:00ZZ", "2025-03-01T10:00.5"};
+
+        for (String text : texts) {
+            assertInvalid(text);
+        }
+    }
+
+    @Test
+    void readsOnlyTheGivenSliceOfTheBuffer() {
+        // O parser entrega o buffer interno dele, com outros caracteres antes e depois do valor
+        char[] buffer = "{\"measuredAt\":\"2025-03-01T10:15:30.250\",\"temperature\":34.5}".toCharArray();
+        int offset = "{\"measuredAt\":\"".length();
+
+        assertEquals(expected("2025-03-01T10:15:30.250"),
+                MeasurementJsonReader.parseIsoLocalDateTime(buffer, offset, "2025-03-01T10:15:30.250".length()));
+        assertEquals(MeasurementJsonReader.INVALID_TIMESTAMP,
+                MeasurementJsonReader.parseIsoLocalDateTime(buffer, offset, 10));
+    }
+
+    private static long parse(String text) {
+        return MeasurementJsonReader.parseIsoLocalDateTime(text.toCharArray(), 0, text.length());
+    }
+
+    private static long expected(String text) {
+        return LocalDateTime.parse(text).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static void assertInvalid(String text) {
+        assertEquals(MeasurementJsonReader.INVALID_TIMESTAMP, parse(text), text);
+    }
+}
@@ -0,0 +1,186 @@
+package com.tech_mel.tech_mel.infrastructure.cache.adapter;
+
+import com.tech_mel.tech_mel.domain.model.Hive;
+import com.tech_mel.tech_mel.domain.model.HiveDescriptor;
+import com.tech_mel.tech_mel.domain.port.output.HiveRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryHiveLookupCacheAdapterTest {
+    private static final String API_KEY = "hive-key-123";
+    private static final UUID HIVE_ID = UUID.fromString("6f1c2a9e-3b4d-4e5f-8a7b-9c0d1e2f3a4b");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FakeHiveRepository repository = new FakeHiveRepository();
+
+    @Test
+    void servesKnownHivesFromTheCache() {
+        repository.hives.put(API_KEY, descriptor(Hive.HiveStatus.ACTIVE));
+        InMemoryHiveLookupCacheAdapter cache = cache(Duration.ofMinutes(1));
+
+        assertEquals(HIVE_ID, cache.findByApiKey(API_KEY).orElseThrow().getId());
+        assertEquals(HIVE_ID, cache.findByApiKey(API_KEY).orElseThrow().getId());
+
+        assertEquals(1, repository.lookups);
+        assertEquals(1, requests("hit"));
+        assertEquals(1, requests("miss"));
+    }
+
+    @Test
+    void remembersUnknownKeysUntilEvicted() {
+        InMemoryHiveLookupCacheAdapter cache = cache(Duration.ofMinutes(1));
+
+        assertTrue(cache.findByApiKey(API_KEY).isEmpty());
+        assertTrue(cache.findByApiKey(API_KEY).isEmpty());
+        assertEquals(1, repository.lookups);
+        assertEquals(1, requests("negative_hit"));
+
+        // A colmeia criada com essa chave invalida a entrada negativa
+        repository.hives.put(API_KEY, descriptor(Hive.HiveStatus.ACTIVE));
+        cache.evict(API_KEY);
+
+        assertTrue(cache.findByApiKey(API_KEY).isPresent());
+        assertEquals(2, repository.lookups);
+    }
+
+    @Test
+    void asksTheDatabaseAgainOnceTheNegativeEntryExpires() throws InterruptedException {
+        InMemoryHiveLookupCacheAdapter cache = cache(Duration.ofMillis(20));
+        cache.findByApiKey(API_KEY);
+
+        Thread.sleep(40);
+        repository.hives.put(API_KEY, descriptor(Hive.HiveStatus.ACTIVE));
+
+        assertTrue(cache.findByApiKey(API_KEY).isPresent());
+        assertEquals(2, repository.lookups);
+    }
+
+    @Test
+    void doesNotCacheALoadThatRacedWithAnEviction() {
+        repository.hives.put(API_KEY, descriptor(Hive.HiveStatus.ACTIVE));
+        InMemoryHiveLookupCacheAdapter cache = cache(Duration.ofMinutes(1));
+
+        // A colmeia é atualizada depois da consulta ao banco e antes da carga entrar no cache
+        repository.afterLookup = () -> {
+            repository.hives.put(API_KEY, descriptor(Hive.HiveStatus.INACTIVE));
+            cache.evict(API_KEY);
+        };
+        assertEquals(Hive.HiveStatus.ACTIVE, cache.findByApiKey(API_KEY).orElseThrow().getHiveStatus());
+
+        repository.afterLookup = () -> {
+        };
+        assertEquals(Hive.HiveStatus.INACTIVE, cache.findByApiKey(API_KEY).orElseThrow().getHiveStatus());
+        assertEquals(Hive.HiveStatus.INACTIVE, cache.findByApiKey(API_KEY).orElseThrow().getHiveStatus());
+        assertEquals(2, repository.lookups);
+    }
+
+    @Test
+    void doesNotCacheAMissThatRacedWithTheHiveCreation() {
+        InMemoryHiveLookupCacheAdapter cache = cache(Duration.ofMinutes(1));
+
+        repository.afterLookup = () -> {
+            repository.hives.put(API_KEY, descriptor(Hive.HiveStatus.ACTIVE));
+            cache.evict(API_KEY);
+        };
+        assertTrue(cache.findByApiKey(API_KEY).isEmpty());
+
+        repository.afterLookup = () -> {
+        };
+        assertTrue(cache.findByApiKey(API_KEY).isPresent());
+    }
+
+    @Test
+    void unknownKeysDoNotPushOutKnownHives() {
+        repository.hives.put(API_KEY, descriptor(Hive.HiveStatus.ACTIVE));
+        InMemoryHiveLookupCacheAdapter cache = new InMemoryHiveLookupCacheAdapter(
+                repository, meterRegistry, 10, 10, Duration.ofMinutes(5), Duration.ofMinutes(1));
+        cache.findByApiKey(API_KEY);
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(cache.findByApiKey("unknown-" + i).isPresent());
+        }
+
+        int lookups = repository.lookups;
+        assertTrue(cache.findByApiKey(API_KEY).isPresent());
+        assertEquals(lookups, repository.lookups);
+        assertTrue(meterRegistry.get("hive.apikey.cache.size").tag("type", "unknown").gauge().value() <= 10);
+    }
+
+    private InMemoryHiveLookupCacheAdapter cache(Duration negativeTtl) {
+        return new InMemoryHiveLookupCacheAdapter(
+                repository, meterRegistry, 100, 100, Duration.ofMinutes(5), negativeTtl);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("hive.apikey.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static HiveDescriptor descriptor(Hive.HiveStatus status) {
+        return HiveDescriptor.builder().id(HIVE_ID).apiKey(API_KEY).hiveStatus(status).build();
+    }
+
+    // Só a busca do descritor por API key é usada pelo cache; afterLookup roda entre a consulta e o retorno
+    private static final class FakeHiveRepository implements HiveRepositoryPort {
+        private final Map<String, HiveDescriptor> hives = new HashMap<>();
+        private Runnable afterLookup = () -> {
+        };
+        private int lookups;
+
+        @Override
+        public Optional<HiveDescriptor> findDescriptorByApiKey(String apiKey) {
+            lookups++;
+            Optional<HiveDescriptor> descriptor = Optional.ofNullable(hives.get(apiKey));
+            afterLookup.run();
+            return descriptor;
+        }
+
+        @Override
+        public Hive save(Hive hive) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Hive> findById(UUID hiveId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Hive> findByApiKey(String apiKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Page<Hive> findByOwnerId(UUID ownerId, Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Page<Hive> findAllHives(Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UUID> findIdsAfter(UUID afterId, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteById(UUID hiveId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
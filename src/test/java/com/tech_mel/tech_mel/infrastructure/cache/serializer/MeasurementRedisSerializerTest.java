@@ -0,0 +1,133 @@
+package com.tech_mel.tech_mel.infrastructure.cache.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MeasurementRedisSerializerTest {
+    private static final UUID ID = UUID.fromString("6f1c2a9e-3b4d-4e5f-8a7b-9c0d1e2f3a4b");
+    private static final LocalDateTime MEASURED_AT = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 250_000_000);
+
+    private final MeasurementRedisSerializer serializer = new MeasurementRedisSerializer();
+
+    @Test
+    void roundTripsEveryCombinationOfNullFields() {
+        for (int nulls = 0; nulls < 32; nulls++) {
+            Measurement measurement = Measurement.builder()
+                    .id((nulls & 1) != 0 ? null : ID)
+                    .measuredAt((nulls & 2) != 0 ? null : MEASURED_AT)
+                    .temperature((nulls & 4) != 0 ? null : 34.57)
+                    .humidity((nulls & 8) != 0 ? null : -0.0)
+                    .co2((nulls & 16) != 0 ? null : 0.0)
+                    .build();
+
+            byte[] bytes = serializer.serialize(measurement);
+
+            assertEquals(MeasurementRedisSerializer.ENCODED_SIZE, bytes.length);
+            assertSameMeasurement(measurement, serializer.deserialize(bytes), "nulls " + nulls);
+        }
+    }
+
+    @Test
+    void keepsZeroApartFromNull() {
+        // O zero gravado no lugar de um campo nulo só vira null pela flag
+        Measurement zeros = Measurement.builder()
+                .id(new UUID(0, 0))
+                .measuredAt(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC))
+                .temperature(0.0)
+                .humidity(0.0)
+                .co2(0.0)
+                .build();
+
+        Measurement decoded = serializer.deserialize(serializer.serialize(zeros));
+
+        assertSameMeasurement(zeros, decoded, "zeros");
+        assertNull(serializer.deserialize(serializer.serialize(new Measurement())).getMeasuredAt());
+    }
+
+    @Test
+    void encodesReadingsLikeSerialize() {
+        MeasurementReadings readings = new MeasurementReadings(2);
+        readings.add(ID.getMostSignificantBits(), ID.getLeastSignificantBits(),
+                MEASURED_AT.toInstant(ZoneOffset.UTC).toEpochMilli(), 34.57, 61.2, 455.5);
+        readings.add(-1, 1, -86_400_000L, -5.03, Double.MIN_VALUE, Double.MAX_VALUE);
+
+        for (int i = 0; i < readings.size(); i++) {
+            assertArrayEquals(serializer.serialize(readings.measurement(i)),
+                    MeasurementRedisSerializer.encode(readings, i), "reading " + i);
+        }
+    }
+
+    @Test
+    void readsLegacyJsonEntries() {
+        // Mesma configuração do serializador JSON que gravava as medições antes do formato binário
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Measurement measurement = Measurement.builder()
+                .id(ID)
+                .measuredAt(MEASURED_AT)
+                .temperature(34.57)
+                .humidity(61.2)
+                .co2(null)
+                .build();
+
+        byte[] legacy = new GenericJackson2JsonRedisSerializer(objectMapper).serialize(measurement);
+
+        assertSameMeasurement(measurement, serializer.deserialize(legacy), "legacy");
+    }
+
+    @Test
+    void ignoresUnknownPropertiesOfLegacyJson() {
+        String json = "{\"@class\":\"com.tech_mel.tech_mel.domain.model.Measurement\",\"id\":\"" + ID + "\","
+                + "\"temperature\":34.5,\"humidity\":60.0,\"co2\":450.0,\"measuredAt\":\"2025-03-01T10:15:30.25\","
+                + "\"hive\":null}";
+
+        Measurement decoded = serializer.deserialize(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(ID, decoded.getId());
+        assertEquals(MEASURED_AT, decoded.getMeasuredAt());
+        assertEquals(Double.valueOf(450.0), decoded.getCo2());
+    }
+
+    @Test
+    void rejectsUnknownEncodings() {
+        byte[] bytes = serializer.serialize(Measurement.builder().id(ID).measuredAt(MEASURED_AT).build());
+
+        byte[] otherVersion = bytes.clone();
+        otherVersion[0] = 2;
+        assertThrows(SerializationException.class, () -> serializer.deserialize(otherVersion));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, 49)));
+        assertThrows(SerializationException.class,
+                () -> serializer.deserialize("{\"temperature\":".getBytes(StandardCharsets.UTF_8)));
+
+        assertNull(serializer.serialize(null));
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    // Double.equals compara os bits: distingue 0.0 de -0.0
+    private static void assertSameMeasurement(Measurement expected, Measurement actual, String message) {
+        assertEquals(expected.getId(), actual.getId(), message);
+        assertEquals(expected.getMeasuredAt(), actual.getMeasuredAt(), message);
+        assertEquals(expected.getTemperature(), actual.getTemperature(), message);
+        assertEquals(expected.getHumidity(), actual.getHumidity(), message);
+        assertEquals(expected.getCo2(), actual.getCo2(), message);
+    }
+}
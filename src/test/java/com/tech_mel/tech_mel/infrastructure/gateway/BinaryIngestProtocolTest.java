@@ -0,0 +1,208 @@
+package com.tech_mel.tech_mel.infrastructure.gateway;
+
+import com.tech_mel.tech_mel.domain.model.MeasurementReadings;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryIngestProtocolTest {
+    private static final String API_KEY = "hive-key-123";
+    private static final long START = 1_740_787_200_000L;
+    private static final int FLAGS_NONE = 0;
+
+    @Test
+    void roundTripsReadingsWithSequences() {
+        MeasurementReadings readings = new MeasurementReadings(8);
+        readings.add(1, 1, START, 41, 34.57, 61.23, 455.5);
+        readings.add(2, 2, START + 30_000, 42, 34.61, 61.2, 455.5);
+        readings.add(3, 3, START + 29_000, 43, -5.03, 0.0, 0.1);
+        readings.add(4, 4, START + 90_000, 44, -5.03, 100.0, 12_000.0);
+
+        MeasurementReadings decoded = roundTrip(readings, 0xFFFF_FFFFL, true);
+
+        assertSameReadings(readings, decoded);
+    }
+
+    @Test
+    void decodesFramesWithoutSequences() {
+        MeasurementReadings readings = new MeasurementReadings(2);
+        readings.add(1, 1, START, 33.0, 60.0, 400.0);
+        readings.add(2, 2, START + 1_000, 33.5, 59.5, 401.0);
+
+        MeasurementReadings decoded = roundTrip(readings, 1, false);
+
+        assertEquals(MeasurementReadings.NO_SEQUENCE, decoded.deviceSequence(0));
+        assertEquals(MeasurementReadings.NO_SEQUENCE, decoded.deviceSequence(1));
+        assertSameReadings(readings, decoded);
+    }
+
+    @Test
+    void roundTripsTenByteVarintsAndZigzagExtremes() {
+        // Δms de 0 a Long.MAX_VALUE (zigzag 2^64 - 2, varint de 10 bytes) e de volta ao mínimo (soma com estouro),
+        // sequência perto do máximo e valores escalados com os maiores deltas de sinal trocado
+        MeasurementReadings readings = new MeasurementReadings(4);
+        readings.add(1, 1, 0, Long.MAX_VALUE - 3, -9.0e15, 9.0e15, -9.0e16);
+        readings.add(2, 2, Long.MAX_VALUE, Long.MAX_VALUE - 2, 9.0e15, -9.0e15, 9.0e16);
+        readings.add(3, 3, Long.MIN_VALUE, Long.MAX_VALUE - 1, 0.0, 0.0, 0.0);
+        readings.add(4, 4, -1, Long.MAX_VALUE, -0.01, 0.01, -0.1);
+
+        assertSameReadings(readings, roundTrip(readings, 7, true));
+    }
+
+    @Test
+    void encodesSmallDeltasInOneByte() {
+        MeasurementReadings one = new MeasurementReadings(2);
+        one.add(1, 1, START, 7, 34.5, 60.0, 450.0);
+        MeasurementReadings two = new MeasurementReadings(2);
+        two.addAll(one);
+        two.add(2, 2, START + 60, 8, 34.81, 59.69, 456.3);
+
+        // Δms 60, Δtemperatura 31, Δumidade -31 e ΔCO2 63 cabem num byte cada depois do zigzag
+        int oneLength = BinaryIngestProtocol.encode(API_KEY, 1, one, true).length;
+        int twoLength = BinaryIngestProtocol.encode(API_KEY, 1, two, true).length;
+        assertEquals(4, twoLength - oneLength);
+    }
+
+    @Test
+    void rejectsVarintLongerThanSixtyFourBits() {
+        ByteBuffer frame = header(FLAGS_NONE, 5);
+        for (int i = 0; i < 10; i++) {
+            frame.put((byte) 0x80);
+        }
+        frame.put((byte) 0x01).flip();
+
+        BinaryIngestProtocol.MalformedFrameException e = assertThrows(
+                BinaryIngestProtocol.MalformedFrameException.class,
+                () -> BinaryIngestProtocol.decode(frame, new MeasurementReadings(1), 100));
+        assertEquals("Varint too long", e.getMessage());
+        assertEquals(5, e.frameId());
+    }
+
+    @Test
+    void rejectsNegativeAndOverflowingSequences() {
+        // -1 (NO_SEQUENCE) em varint de 10 bytes
+        ByteBuffer negative = header(BinaryIngestProtocol.FLAG_SEQUENCES, 8).put((byte) 1).putLong(START);
+        for (int i = 0; i < 9; i++) {
+            negative.put((byte) 0xFF);
+        }
+        negative.put((byte) 0x01).put(new byte[4]).flip();
+
+        BinaryIngestProtocol.MalformedFrameException e = assertThrows(
+                BinaryIngestProtocol.MalformedFrameException.class,
+                () -> BinaryIngestProtocol.decode(negative, new MeasurementReadings(1), 100));
+        assertEquals("Invalid device sequence", e.getMessage());
+        assertEquals(8, e.frameId());
+
+        // A segunda leitura passaria de Long.MAX_VALUE
+        MeasurementReadings readings = new MeasurementReadings(2);
+        readings.add(1, 1, START, Long.MAX_VALUE, 34.5, 60.0, 450.0);
+        readings.add(2, 2, START + 1_000, Long.MAX_VALUE, 34.5, 60.0, 450.0);
+        ByteBuffer overflowing = ByteBuffer.wrap(BinaryIngestProtocol.encode(API_KEY, 9, readings, true));
+
+        e = assertThrows(BinaryIngestProtocol.MalformedFrameException.class,
+                () -> BinaryIngestProtocol.decode(overflowing, new MeasurementReadings(2), 100));
+        assertEquals(9, e.frameId());
+    }
+
+    @Test
+    void rejectsTruncatedFramesWithTheirFrameId() {
+        MeasurementReadings readings = new MeasurementReadings(2);
+        readings.add(1, 1, START, 9, 34.5, 60.0, 450.0);
+        readings.add(2, 2, START + 1_000, 10, 34.6, 60.1, 451.0);
+        byte[] frame = BinaryIngestProtocol.encode(API_KEY, 1234, readings, true);
+
+        for (int length = 3 + API_KEY.length() + 4; length < frame.length; length++) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(frame, length));
+            BinaryIngestProtocol.MalformedFrameException e = assertThrows(
+                    BinaryIngestProtocol.MalformedFrameException.class,
+                    () -> BinaryIngestProtocol.decode(truncated, new MeasurementReadings(2), 100));
+            assertEquals(1234, e.frameId(), "frame cut at " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        MeasurementReadings readings = new MeasurementReadings(1);
+        readings.add(1, 1, START, 34.5, 60.0, 450.0);
+        byte[] frame = BinaryIngestProtocol.encode(API_KEY, 99, readings, false);
+        ByteBuffer padded = ByteBuffer.wrap(Arrays.copyOf(frame, frame.length + 1));
+
+        BinaryIngestProtocol.MalformedFrameException e = assertThrows(
+                BinaryIngestProtocol.MalformedFrameException.class,
+                () -> BinaryIngestProtocol.decode(padded, new MeasurementReadings(1), 100));
+        assertEquals(99, e.frameId());
+    }
+
+    @Test
+    void rejectsReadingCountsOutsideTheLimit() {
+        ByteBuffer empty = header(FLAGS_NONE, 5).put((byte) 0).flip();
+        assertThrows(BinaryIngestProtocol.MalformedFrameException.class,
+                () -> BinaryIngestProtocol.decode(empty, new MeasurementReadings(1), 100));
+
+        // O limite é conferido antes de ler qualquer leitura
+        ByteBuffer tooMany = header(FLAGS_NONE, 5).put((byte) 101).flip();
+        assertThrows(BinaryIngestProtocol.MalformedFrameException.class,
+                () -> BinaryIngestProtocol.decode(tooMany, new MeasurementReadings(1), 100));
+    }
+
+    @Test
+    void roundTripsAcks() {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryIngestProtocol.ACK_LENGTH);
+        BinaryIngestProtocol.writeAck(buffer, BinaryIngestProtocol.Status.BUSY, 0xFFFF_FFFEL, 70_000, 3);
+        assertEquals(BinaryIngestProtocol.ACK_LENGTH, buffer.position());
+
+        BinaryIngestProtocol.Ack ack = BinaryIngestProtocol.readAck(buffer.flip());
+        assertEquals(BinaryIngestProtocol.Status.BUSY, ack.status());
+        assertEquals(0xFFFF_FFFEL, ack.frameId());
+        assertEquals(0xFFFF, ack.accepted());
+        assertEquals(3, ack.duplicates());
+    }
+
+    @Test
+    void peeksFrameIdWithoutDecoding() {
+        MeasurementReadings readings = new MeasurementReadings(1);
+        readings.add(1, 1, START, 34.5, 60.0, 450.0);
+        ByteBuffer frame = ByteBuffer.wrap(BinaryIngestProtocol.encode(API_KEY, 0xABCD_EF01L, readings, false));
+
+        assertEquals(0xABCD_EF01L, BinaryIngestProtocol.peekFrameId(frame));
+        assertEquals(0, frame.position());
+        assertEquals(0, BinaryIngestProtocol.peekFrameId(ByteBuffer.wrap(new byte[]{1, 0})));
+        assertEquals(0, BinaryIngestProtocol.peekFrameId(ByteBuffer.wrap(Arrays.copyOf(frame.array(), 8))));
+    }
+
+    // Versão, flags, API key e frameId; o restante fica para o teste
+    private static ByteBuffer header(int flags, long frameId) {
+        ByteBuffer frame = ByteBuffer.allocate(64);
+        frame.put((byte) BinaryIngestProtocol.VERSION).put((byte) flags).put((byte) API_KEY.length());
+        frame.put(API_KEY.getBytes(StandardCharsets.US_ASCII)).putInt((int) frameId);
+        return frame;
+    }
+
+    private static MeasurementReadings roundTrip(MeasurementReadings readings, long frameId, boolean withSequences) {
+        byte[] frame = BinaryIngestProtocol.encode(API_KEY, frameId, readings, withSequences);
+        MeasurementReadings decoded = new MeasurementReadings(readings.size());
+
+        BinaryIngestProtocol.Frame header = BinaryIngestProtocol.decode(ByteBuffer.wrap(frame), decoded, 100);
+
+        assertEquals(API_KEY, header.apiKey());
+        assertEquals(frameId, header.frameId());
+        assertEquals(readings.size(), decoded.size());
+        return decoded;
+    }
+
+    // Os valores dos testes já estão na escala do protocolo, então voltam exatos
+    private static void assertSameReadings(MeasurementReadings expected, MeasurementReadings actual) {
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.measuredAt(i), actual.measuredAt(i), "measuredAt " + i);
+            assertEquals(expected.deviceSequence(i), actual.deviceSequence(i), "sequence " + i);
+            assertEquals(expected.temperature(i), actual.temperature(i), "temperature " + i);
+            assertEquals(expected.humidity(i), actual.humidity(i), "humidity " + i);
+            assertEquals(expected.co2(i), actual.co2(i), "co2 " + i);
+        }
+    }
+}
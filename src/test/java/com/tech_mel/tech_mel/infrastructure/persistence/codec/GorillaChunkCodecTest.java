@@ -0,0 +1,275 @@
+package com.tech_mel.tech_mel.infrastructure.persistence.codec;
+
+import com.tech_mel.tech_mel.domain.model.Measurement;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GorillaChunkCodecTest {
+    private static final UUID HIVE_ID = UUID.fromString("6f1c2a9e-3b4d-4e5f-8a7b-9c0d1e2f3a4b");
+    private static final long START = LocalDateTime.of(2025, 3, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    @Test
+    void roundTripsEveryDeltaOfDeltaRange() {
+        // Intervalos que geram delta-of-delta zero, positivo e negativo em cada faixa do zigzag, inclusive
+        // os limites 2^7, 2^9 e 2^12 e um salto que só cabe nos 64 bits
+        long[] deltas = {30_000, 30_000, 30_063, 30_000, 29_936, 30_191, 29_808, 31_000, 29_000,
+                32_047, 30_000, 28_000, 86_400_000, 30_000, 1, 0, 0, 5};
+        List<Measurement> measurements = new ArrayList<>();
+        long timestamp = START;
+        measurements.add(measurement(timestamp, 34.5, 60.0, 450.0));
+        for (long delta : deltas) {
+            timestamp += delta;
+            measurements.add(measurement(timestamp, 34.5, 60.0, 450.0));
+        }
+
+        assertRoundTrip(measurements);
+    }
+
+    @Test
+    void roundTripsDecreasingTimestamps() {
+        // Fora do contrato (ordem crescente), mas o delta negativo não pode corromper o chunk
+        List<Measurement> measurements = List.of(
+                measurement(START, 34.0, 60.0, 400.0),
+                measurement(START - 1_000, 34.1, 60.1, 401.0),
+                measurement(START - 61_000, 34.2, 60.2, 402.0),
+                measurement(START + 5_000, 34.3, 60.3, 403.0),
+                measurement(Long.MIN_VALUE / 4, 34.4, 60.4, 404.0),
+                measurement(Long.MAX_VALUE / 4, 34.5, 60.5, 405.0)
+        );
+
+        assertRoundTrip(measurements);
+    }
+
+    @Test
+    void encodesRepeatedIntervalsAndValuesWithOneBitPerField() {
+        List<Measurement> measurements = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            measurements.add(measurement(START + i * 30_000L, 35.25, 62.5, 512.0));
+        }
+
+        byte[] chunk = assertRoundTrip(measurements);
+
+        // Cabeçalho (8 + 32 + 4 x 64 bits); a segunda leitura paga o primeiro delta (4 + 64 bits) e três bits
+        // de valores repetidos; da terceira em diante são 4 bits por leitura
+        assertEquals((8 + 32 + 4 * 64 + 68 + 3 + 998 * 4 + 7) / 8, chunk.length);
+    }
+
+    @Test
+    void roundTripsNaNNullsAndSignedZeros() {
+        List<Measurement> measurements = List.of(
+                measurement(START, 0.0, -0.0, null),
+                measurement(START + 1_000, -0.0, 0.0, 0.0),
+                measurement(START + 2_000, null, null, -0.0),
+                measurement(START + 3_000, Double.MIN_VALUE, -Double.MIN_VALUE, null),
+                measurement(START + 4_000, Double.MAX_VALUE, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY),
+                measurement(START + 5_000, -0.0, null, 0.0)
+        );
+
+        assertRoundTrip(measurements);
+    }
+
+    @Test
+    void decodesNaNAsNull() {
+        byte[] chunk = GorillaChunkCodec.encode(List.of(measurement(START, Double.NaN, 1.0, Double.NaN)));
+        Measurement decoded = GorillaChunkCodec.decoder(HIVE_ID, chunk).next();
+
+        assertNull(decoded.getTemperature());
+        assertEquals(Double.valueOf(1.0), decoded.getHumidity());
+        assertNull(decoded.getCo2());
+    }
+
+    @Test
+    void roundTripsXorsWithMoreThan31LeadingZeros() {
+        // Vizinhos de ULP diferem só nos bits baixos: o XOR tem até 63 zeros à esquerda e o campo de 5 bits
+        // guarda no máximo 31, então os bits significativos incluem zeros que o decodificador precisa respeitar
+        double base = 34.5;
+        List<Measurement> measurements = List.of(
+                measurement(START, base, base, base),
+                measurement(START + 1_000, Math.nextUp(base), base, Math.nextDown(base)),
+                measurement(START + 2_000, Math.nextUp(Math.nextUp(base)), Math.nextUp(base), base),
+                measurement(START + 3_000, base, Math.nextUp(base), -base),
+                measurement(START + 4_000, Math.nextUp(base), base, Math.nextUp(-base)),
+                measurement(START + 5_000, Double.longBitsToDouble(Double.doubleToRawLongBits(base) ^ (1L << 32)),
+                        base, -base)
+        );
+
+        assertRoundTrip(measurements);
+    }
+
+    @Test
+    void roundTripsRandomWalks() {
+        Random random = new Random(42);
+        List<Measurement> measurements = new ArrayList<>();
+        long timestamp = START;
+        double temperature = 34;
+        double humidity = 60;
+        double co2 = 450;
+
+        for (int i = 0; i < 5_000; i++) {
+            timestamp += 30_000 + random.nextInt(2_001) - 1_000;
+            temperature += Math.round(random.nextGaussian() * 10) / 100.0;
+            humidity += Math.round(random.nextGaussian() * 10) / 100.0;
+            co2 += random.nextInt(5) == 0 ? Math.round(random.nextGaussian() * 50) / 10.0 : 0;
+            measurements.add(measurement(timestamp, temperature, humidity, random.nextInt(50) == 0 ? null : co2));
+        }
+
+        assertRoundTrip(measurements);
+    }
+
+    @Test
+    void roundTripsSingleReadingChunk() {
+        Measurement only = measurement(START, 33.3, 55.5, 444.4);
+        byte[] chunk = GorillaChunkCodec.encode(List.of(only));
+
+        assertEquals(1, GorillaChunkCodec.count(chunk));
+        assertRoundTrip(List.of(only));
+    }
+
+    @Test
+    void encodesEmptyChunk() {
+        byte[] chunk = GorillaChunkCodec.encode(List.of());
+
+        assertEquals(0, GorillaChunkCodec.count(chunk));
+        GorillaChunkCodec.Decoder decoder = GorillaChunkCodec.decoder(HIVE_ID, chunk);
+        assertFalse(decoder.hasNext());
+        assertThrows(NoSuchElementException.class, decoder::next);
+    }
+
+    @Test
+    void stopsDecodingMidChunk() {
+        List<Measurement> measurements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            measurements.add(measurement(START + i * 30_000L, 30 + i / 10.0, 60 - i / 20.0, 400.0 + i));
+        }
+        byte[] chunk = GorillaChunkCodec.encode(measurements);
+
+        GorillaChunkCodec.Decoder decoder = GorillaChunkCodec.decoder(HIVE_ID, chunk);
+        for (int i = 0; i < 37; i++) {
+            assertSameReading(measurements.get(i), decoder.next());
+        }
+        assertTrue(decoder.hasNext());
+
+        // Um decodificador novo sobre o mesmo chunk não depende do que foi lido pelo outro
+        GorillaChunkCodec.Decoder again = GorillaChunkCodec.decoder(HIVE_ID, chunk);
+        assertSameReading(measurements.get(0), again.next());
+        assertSameReading(measurements.get(37), decoder.next());
+    }
+
+    @Test
+    void generatesDistinctDeterministicIds() {
+        List<Measurement> measurements = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Timestamps repetidos: a posição ainda distingue as leituras
+            measurements.add(measurement(START + (i / 3) * 1_000L, 30.0, 60.0, 400.0));
+        }
+        byte[] chunk = GorillaChunkCodec.encode(measurements);
+
+        Set<UUID> ids = new HashSet<>();
+        GorillaChunkCodec.Decoder first = GorillaChunkCodec.decoder(HIVE_ID, chunk);
+        GorillaChunkCodec.Decoder second = GorillaChunkCodec.decoder(HIVE_ID, chunk);
+        while (first.hasNext()) {
+            UUID id = first.next().getId();
+            assertEquals(id, second.next().getId());
+            assertTrue(ids.add(id));
+        }
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] chunk = GorillaChunkCodec.encode(List.of(measurement(START, 1.0, 2.0, 3.0)));
+        chunk[0] = 2;
+
+        assertThrows(IllegalArgumentException.class, () -> GorillaChunkCodec.count(chunk));
+        assertThrows(IllegalArgumentException.class, () -> GorillaChunkCodec.decoder(HIVE_ID, chunk));
+    }
+
+    @Test
+    void bitStreamsRoundTripEveryWidth() {
+        Random random = new Random(7);
+        int[] widths = new int[10_000];
+        long[] values = new long[widths.length];
+        BitOutput output = new BitOutput(1);
+
+        for (int i = 0; i < widths.length; i++) {
+            widths[i] = 1 + random.nextInt(64);
+            values[i] = random.nextLong();
+            output.writeBits(values[i], widths[i]);
+        }
+
+        BitInput input = new BitInput(output.toByteArray());
+        for (int i = 0; i < widths.length; i++) {
+            long expected = widths[i] == 64 ? values[i] : values[i] & ((1L << widths[i]) - 1);
+            assertEquals(expected, input.readBits(widths[i]), "value " + i + " with " + widths[i] + " bits");
+        }
+    }
+
+    @Test
+    void bitStreamsKeepSingleBitsAndWordBoundaries() {
+        BitOutput output = new BitOutput(1);
+        output.writeBit(true);
+        output.writeBits(-1L, 63);
+        output.writeBit(false);
+        output.writeBits(0x8000000000000001L, 64);
+        output.writeBit(true);
+        byte[] bytes = output.toByteArray();
+
+        // 130 bits ocupam 17 bytes: o último leva o bit final do valor de 64 bits, o último bit e seis zeros
+        assertEquals(17, bytes.length);
+        assertEquals((byte) 0xC0, bytes[16]);
+
+        BitInput input = new BitInput(bytes);
+        assertTrue(input.readBit());
+        assertEquals((1L << 63) - 1, input.readBits(63));
+        assertFalse(input.readBit());
+        assertEquals(0x8000000000000001L, input.readBits(64));
+        assertTrue(input.readBit());
+        assertEquals(0, input.readBits(6));
+    }
+
+    private static byte[] assertRoundTrip(List<Measurement> measurements) {
+        byte[] chunk = GorillaChunkCodec.encode(measurements);
+        assertEquals(measurements.size(), GorillaChunkCodec.count(chunk));
+
+        GorillaChunkCodec.Decoder decoder = GorillaChunkCodec.decoder(HIVE_ID, chunk);
+        for (int i = 0; i < measurements.size(); i++) {
+            assertTrue(decoder.hasNext(), "missing reading " + i);
+            assertSameReading(measurements.get(i), decoder.next());
+        }
+        assertFalse(decoder.hasNext());
+        return chunk;
+    }
+
+    // Double.equals compara os bits: distingue 0.0 de -0.0
+    private static void assertSameReading(Measurement expected, Measurement actual) {
+        assertEquals(expected.getMeasuredAt(), actual.getMeasuredAt());
+        assertEquals(expected.getTemperature(), actual.getTemperature());
+        assertEquals(expected.getHumidity(), actual.getHumidity());
+        assertEquals(expected.getCo2(), actual.getCo2());
+    }
+
+    private static Measurement measurement(long epochMillis, Double temperature, Double humidity, Double co2) {
+        return Measurement.builder()
+                .id(UUID.randomUUID())
+                .measuredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC))
+                .temperature(temperature)
+                .humidity(humidity)
+                .co2(co2)
+                .build();
+    }
+}